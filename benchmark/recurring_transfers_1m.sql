@@ -0,0 +1,40 @@
+-- Seeds one million recurring transfers that all fall due at the same instant, to benchmark
+-- RecurringTransferScheduler. Run against an empty database after the application has migrated it:
+--
+--   docker compose exec -T db psql -U postgres -d transactions_db < benchmark/recurring_transfers_1m.sql
+--
+-- The next scheduler tick drains the backlog and logs "Recurring transfer run finished, ... runs/s".
+-- Scale out by starting more application instances against the same database: batches are
+-- claimed with SKIP LOCKED, so the instances share the work without executing a run twice.
+
+BEGIN;
+
+-- 1,000,000 funded source accounts and 10,000 destinations (several runs credit the same account)
+INSERT INTO accounts (document_number, balance, created_at, updated_at)
+SELECT 'bench-src-' || g, 1000.00, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+  FROM generate_series(1, 1000000) g;
+
+INSERT INTO accounts (document_number, balance, created_at, updated_at)
+SELECT 'bench-dst-' || g, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+  FROM generate_series(1, 10000) g;
+
+-- Every definition is due now
+INSERT INTO recurring_transfers (source_account_id, destination_account_id, amount, frequency,
+                                 start_at, next_run_at, run_count, status, created_at, updated_at)
+SELECT src.id, dst.id, 10.00, 'MONTHLY',
+       date_trunc('minute', CURRENT_TIMESTAMP), date_trunc('minute', CURRENT_TIMESTAMP), 0, 'ACTIVE',
+       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+  FROM accounts src
+  JOIN accounts dst ON dst.document_number = 'bench-dst-' || (1 + (substring(src.document_number FROM 11)::BIGINT % 10000))
+ WHERE src.document_number LIKE 'bench-src-%';
+
+COMMIT;
+
+ANALYZE accounts;
+ANALYZE recurring_transfers;
+
+-- After the run, throughput and outcomes straight from the database:
+--
+--   SELECT status, COUNT(*), MAX(created_at) - MIN(created_at) AS elapsed
+--     FROM recurring_transfer_executions
+--    GROUP BY status;
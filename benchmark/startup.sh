@@ -0,0 +1,81 @@
+#!/bin/bash
+
+# Compares the startup of the standard build with the fast-startup build (AOT + CDS archive).
+#
+# For every run it starts the application, polls until the first POST /v1/transactions returns
+# 201 Created, and reports that time together with the resident set size and used heap of the
+# process at that moment. The database must be up and migrated (docker compose up -d db), and both builds present:
+#
+#   ./mvnw package -DskipTests                  # target/transactions-routine-<version>.jar
+#   ./mvnw -Pfast-startup package -DskipTests   # target/fast-startup/
+#
+# USAGE:
+#   benchmark/startup.sh [runs]    (default 5 runs per build)
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+BASE_URL="http://localhost:8080/transactions-api"
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR_NAME="$(cd "$ROOT_DIR/target" && ls transactions-routine-*.jar | grep -v '\.original$' | head -n 1)"
+# Credit voucher on a seeded account, so the request succeeds on every run
+PAYLOAD='{"account_id": 1, "operation_type_id": 4, "amount": 1.00}'
+
+function now_millis() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+function rss_mb() {
+    echo $(( $(ps -o rss= -p "$1") / 1024 ))
+}
+
+function heap_used_mb() {
+    echo $(( $(jcmd "$1" GC.heap_info | grep -m 1 'used' | sed -E 's/.*used ([0-9]+)K.*/\1/') / 1024 ))
+}
+
+# Starts the command given as arguments and prints "<ms to first 201> <rss MB> <used heap MB>"
+function measure() {
+    local started
+    started=$(now_millis)
+    "$@" > /dev/null 2>&1 &
+    local pid=$!
+
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' -X POST "$BASE_URL/v1/transactions" \
+            -H 'Content-Type: application/json' -d "$PAYLOAD")" = "201" ]; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "Application exited before serving a request: $*" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+
+    local elapsed=$(( $(now_millis) - started ))
+    local rss heap
+    rss=$(rss_mb "$pid")
+    heap=$(heap_used_mb "$pid")
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$elapsed $rss $heap"
+}
+
+function run_build() {
+    local name="$1"
+    shift
+    local total_millis=0
+    local total_rss=0
+    local total_heap=0
+    for run in $(seq 1 "$RUNS"); do
+        read -r millis rss heap < <(measure "$@")
+        printf '%-14s run %d: %6d ms to first POST, %5d MB RSS, %5d MB heap used\n' "$name" "$run" "$millis" "$rss" "$heap"
+        total_millis=$(( total_millis + millis ))
+        total_rss=$(( total_rss + rss ))
+        total_heap=$(( total_heap + heap ))
+    done
+    printf '%-14s mean : %6d ms to first POST, %5d MB RSS, %5d MB heap used\n\n' "$name" \
+        $(( total_millis / RUNS )) $(( total_rss / RUNS )) $(( total_heap / RUNS ))
+}
+
+run_build "standard" java -jar "$ROOT_DIR/target/$JAR_NAME"
+
+cd "$ROOT_DIR/target/fast-startup"
+run_build "fast-startup" java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "$JAR_NAME"
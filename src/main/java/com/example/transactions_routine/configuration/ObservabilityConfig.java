@@ -0,0 +1,22 @@
+package com.example.transactions_routine.configuration;
+
+import com.example.transactions_routine.service.observability.ObservabilityProperties;
+import com.example.transactions_routine.service.observability.RequestTimingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class ObservabilityConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestTimingFilter> requestTimingFilter(MeterRegistry meterRegistry,
+                                                                           ObservabilityProperties properties) {
+        var registration = new FilterRegistrationBean<>(new RequestTimingFilter(meterRegistry, properties));
+        // Outermost, so the total also covers the other filters
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
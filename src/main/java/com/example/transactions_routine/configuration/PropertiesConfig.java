@@ -0,0 +1,19 @@
+package com.example.transactions_routine.configuration;
+
+import com.example.transactions_routine.service.activity.RecentActivityProperties;
+import com.example.transactions_routine.service.dataset.DatasetProperties;
+import com.example.transactions_routine.service.limit.DailyLimitProperties;
+import com.example.transactions_routine.service.memory.InMemoryStorageProperties;
+import com.example.transactions_routine.service.observability.ObservabilityProperties;
+import com.example.transactions_routine.service.queue.AsyncWriteProperties;
+import com.example.transactions_routine.service.sharding.ShardingProperties;
+import com.example.transactions_routine.service.velocity.VelocityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({VelocityProperties.class, DailyLimitProperties.class, ShardingProperties.class,
+        ObservabilityProperties.class, AsyncWriteProperties.class, InMemoryStorageProperties.class,
+        RecentActivityProperties.class, DatasetProperties.class})
+public class PropertiesConfig {
+}
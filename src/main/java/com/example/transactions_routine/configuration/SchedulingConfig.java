@@ -0,0 +1,14 @@
+package com.example.transactions_routine.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the {@code @Scheduled} jobs on the auto-configured scheduler, sized by
+ * {@code spring.task.scheduling.pool.size} to one thread per job: with Spring's default of one
+ * thread, a long installment or recurring transfer drain would hold back the hold expiry tick.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
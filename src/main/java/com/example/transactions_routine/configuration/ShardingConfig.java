@@ -0,0 +1,79 @@
+package com.example.transactions_routine.configuration;
+
+import com.example.transactions_routine.service.sharding.ShardIds;
+import com.example.transactions_routine.service.sharding.ShardRoutingDataSource;
+import com.example.transactions_routine.service.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Replaces the single {@code spring.datasource} pool with one pool per configured shard, routed by
+ * {@link ShardRoutingDataSource}, and runs the Flyway migrations on every shard with that shard's
+ * id range.
+ * <p>
+ * Open-in-view must be off: Hibernate holds a session's connection until the session closes, so a
+ * session opened for the whole HTTP request would pin the shard of its first transaction, and every
+ * later transaction of the request, whatever {@link com.example.transactions_routine.service.sharding.ShardContext}
+ * says, would silently run on that shard.
+ */
+@Configuration
+@ConditionalOnProperty(name = "transactions.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    public ShardingConfig(@Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (openInView) {
+            throw new IllegalStateException("transactions.sharding.enabled requires spring.jpa.open-in-view=false");
+        }
+    }
+
+    @Bean
+    public ShardRoutingDataSource dataSource(ShardingProperties properties, MeterRegistry meterRegistry) {
+        if (properties.shards().isEmpty()) {
+            throw new IllegalStateException("transactions.sharding.enabled requires at least one transactions.sharding.shards entry");
+        }
+        var shards = new ArrayList<DataSource>(properties.shards().size());
+        for (int shard = 0; shard < properties.shards().size(); shard++) {
+            var shardProperties = properties.shards().get(shard);
+            var pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shardProperties.url())
+                    .username(shardProperties.username())
+                    .password(shardProperties.password())
+                    .build();
+            pool.setPoolName("shard-" + shard);
+            pool.setMaximumPoolSize(shardProperties.maximumPoolSize());
+            // The shard pools are not beans, so Spring Boot does not bind their hikaricp.* metrics
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shards.add(pool);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    public FlywayMigrationStrategy shardedMigrationStrategy(ShardRoutingDataSource dataSource) {
+        return flyway -> {
+            for (int shard = 0; shard < dataSource.shards().size(); shard++) {
+                var placeholders = new HashMap<>(flyway.getConfiguration().getPlaceholders());
+                placeholders.put("shard_id_base", String.valueOf(ShardIds.base(shard)));
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(dataSource.shard(shard))
+                        .placeholders(placeholders)
+                        .load()
+                        .migrate();
+            }
+        };
+    }
+}
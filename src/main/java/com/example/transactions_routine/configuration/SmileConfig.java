@@ -0,0 +1,24 @@
+package com.example.transactions_routine.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Serves every endpoint as Jackson Smile ({@code application/x-jackson-smile}) when the client
+ * asks for it, as a compact binary alternative to JSON for internal callers. The Smile mapper is a
+ * copy of the application's JSON mapper, so it carries the {@link JacksonConfig} customizations
+ * (snake_case, ISO dates, no nulls) and payloads are field-for-field the same as the JSON ones.
+ * This bean replaces the default Smile converter Spring MVC would register without them.
+ */
+@Configuration
+public class SmileConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory()));
+    }
+
+}
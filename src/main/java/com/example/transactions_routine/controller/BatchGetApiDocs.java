@@ -0,0 +1,61 @@
+package com.example.transactions_routine.controller;
+
+import com.example.transactions_routine.controller.account.AccountResponse;
+import com.example.transactions_routine.controller.transaction.TransactionResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestBody;
+
+@Tag(name = "Batch Get", description = "Endpoints for resolving many accounts or transactions by ID in one call.")
+public interface BatchGetApiDocs {
+
+    @Operation(
+            summary = "Retrieve many accounts by ID",
+            description = "Resolves up to 1000 account IDs with a single query. IDs that do not exist are listed in `missing` instead of failing the request."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Accounts resolved.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiResponse.class),
+                            examples = @io.swagger.v3.oas.annotations.media.ExampleObject(
+                                    name = "Accounts partially found",
+                                    value = "{\"status\": 200, \"message\": \"Accounts found successfully.\", \"data\": {\"found\": [{\"id\": 1, \"document_number\": \"12345678900\", \"balance\": 100.00, \"held_amount\": 0.00}], \"missing\": [999]}}"
+                            ))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Bad Request - No IDs, too many IDs or a null ID.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiErrorResponse.class),
+                            examples = @io.swagger.v3.oas.annotations.media.ExampleObject(
+                                    name = "Empty ID list",
+                                    value = "{\"status\": 400, \"message\": \"Validation Failed\", \"errors\": {\"ids\": \"At least one ID is required\"}, \"timestamp\": \"2023-01-01T12:00:00Z\"}"
+                            )))
+    })
+    ResponseEntity<ApiResponse<BatchGetResponse<AccountResponse>>> batchGetAccounts(@Valid @RequestBody BatchGetRequest batchGetRequest);
+
+    @Operation(
+            summary = "Retrieve many transactions by ID",
+            description = "Resolves up to 1000 transaction IDs with a single query. IDs that do not exist are listed in `missing` instead of failing the request."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Transactions resolved.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiResponse.class),
+                            examples = @io.swagger.v3.oas.annotations.media.ExampleObject(
+                                    name = "Transactions partially found",
+                                    value = "{\"status\": 200, \"message\": \"Transactions found successfully.\", \"data\": {\"found\": [{\"id\": 1, \"account_id\": 1, \"operation_type_id\": 1, \"amount\": -50.00, \"event_date\": \"2020-01-01T10:32:07.719922\"}], \"missing\": [999]}}"
+                            ))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Bad Request - No IDs, too many IDs or a null ID.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiErrorResponse.class),
+                            examples = @io.swagger.v3.oas.annotations.media.ExampleObject(
+                                    name = "Empty ID list",
+                                    value = "{\"status\": 400, \"message\": \"Validation Failed\", \"errors\": {\"ids\": \"At least one ID is required\"}, \"timestamp\": \"2023-01-01T12:00:00Z\"}"
+                            )))
+    })
+    ResponseEntity<ApiResponse<BatchGetResponse<TransactionResponse>>> batchGetTransactions(@Valid @RequestBody BatchGetRequest batchGetRequest);
+}
@@ -0,0 +1,68 @@
+package com.example.transactions_routine.controller;
+
+import com.example.transactions_routine.controller.account.AccountResponse;
+import com.example.transactions_routine.controller.transaction.TransactionResponse;
+import com.example.transactions_routine.service.account.AccountServicePort;
+import com.example.transactions_routine.service.observability.QueryBudget;
+import com.example.transactions_routine.service.transaction.TransactionServicePort;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashSet;
+
+/**
+ * Custom-method endpoints ({@code /v1/accounts:batchGet}, {@code /v1/transactions:batchGet}) that
+ * resolve many IDs with a single query each. They live outside the resource controllers because a
+ * method mapping is always joined to the class mapping with a {@code /}.
+ */
+@RestController
+@RequestMapping("/v1")
+@Validated
+public class BatchGetController implements BatchGetApiDocs {
+
+    private final AccountServicePort accountServicePort;
+    private final TransactionServicePort transactionServicePort;
+
+    public BatchGetController(AccountServicePort accountServicePort, TransactionServicePort transactionServicePort) {
+        this.accountServicePort = accountServicePort;
+        this.transactionServicePort = transactionServicePort;
+    }
+
+    @Override
+    @PostMapping("/accounts:batchGet")
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<BatchGetResponse<AccountResponse>>> batchGetAccounts(@Valid @RequestBody BatchGetRequest batchGetRequest) {
+        var accounts = accountServicePort.findAllById(new LinkedHashSet<>(batchGetRequest.ids())).stream()
+                .map(AccountResponse::fromView)
+                .toList();
+        var apiResponse = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Accounts found successfully.",
+                BatchGetResponse.of(batchGetRequest.ids(), accounts, AccountResponse::id),
+                null
+        );
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @Override
+    @PostMapping("/transactions:batchGet")
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<BatchGetResponse<TransactionResponse>>> batchGetTransactions(@Valid @RequestBody BatchGetRequest batchGetRequest) {
+        var transactions = transactionServicePort.findAllById(new LinkedHashSet<>(batchGetRequest.ids())).stream()
+                .map(TransactionResponse::fromView)
+                .toList();
+        var apiResponse = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Transactions found successfully.",
+                BatchGetResponse.of(batchGetRequest.ids(), transactions, TransactionResponse::id),
+                null
+        );
+        return ResponseEntity.ok(apiResponse);
+    }
+}
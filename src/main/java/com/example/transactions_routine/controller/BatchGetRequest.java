@@ -0,0 +1,21 @@
+package com.example.transactions_routine.controller;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Schema(description = "Request payload for resolving many resources by ID in one call.")
+public record BatchGetRequest(
+        @Schema(description = "IDs to resolve; duplicates are resolved once", example = "[1, 2, 999]")
+        @NotEmpty(message = "At least one ID is required")
+        @Size(max = BatchGetRequest.MAX_IDS, message = "A batch get supports at most " + BatchGetRequest.MAX_IDS + " IDs")
+        List<@NotNull Long> ids
+) {
+    public static final int MAX_IDS = 1_000;
+}
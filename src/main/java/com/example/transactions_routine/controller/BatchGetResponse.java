@@ -0,0 +1,37 @@
+package com.example.transactions_routine.controller;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Schema(description = "Response payload of a batch get: the resources found, in request order, and the IDs that do not exist.")
+public record BatchGetResponse<T>(
+        @Schema(description = "Resources found, in the order their IDs were requested")
+        List<T> found,
+        @Schema(description = "Requested IDs that do not exist", example = "[999]")
+        List<Long> missing
+) {
+    public static <T> BatchGetResponse<T> of(List<Long> requestedIds, List<T> found, Function<T, Long> idOf) {
+        var foundById = new HashMap<Long, T>(found.size() * 2);
+        found.forEach(item -> foundById.put(idOf.apply(item), item));
+
+        var ordered = new ArrayList<T>(found.size());
+        var missing = new ArrayList<Long>();
+        for (var id : new LinkedHashSet<>(requestedIds)) {
+            var item = foundById.get(id);
+            if (item == null) {
+                missing.add(id);
+            } else {
+                ordered.add(item);
+            }
+        }
+        return new BatchGetResponse<>(ordered, missing);
+    }
+}
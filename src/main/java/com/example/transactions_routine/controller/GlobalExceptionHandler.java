@@ -3,15 +3,35 @@ package com.example.transactions_routine.controller;
 import com.example.transactions_routine.service.account.AccountDocumentAlreadyExistsException;
 import com.example.transactions_routine.service.account.AccountNotFoundException;
 import com.example.transactions_routine.service.account.InvalidAccountIdException;
+import com.example.transactions_routine.service.account.InvalidBalanceSlotsException;
 import com.example.transactions_routine.service.account.InvalidTransferAmountException;
 import com.example.transactions_routine.service.account.SameAccountTransferException;
+import com.example.transactions_routine.service.balance.ConcurrentBalanceUpdateException;
+import com.example.transactions_routine.service.hold.HoldNotActiveException;
+import com.example.transactions_routine.service.hold.HoldNotFoundException;
+import com.example.transactions_routine.service.hold.InvalidHoldException;
+import com.example.transactions_routine.service.installment.InvalidInstallmentsException;
+import com.example.transactions_routine.service.limit.DailyLimitExceededException;
+import com.example.transactions_routine.service.limit.InvalidDailyLimitException;
+import com.example.transactions_routine.service.memory.UnsupportedStorageOperationException;
+import com.example.transactions_routine.service.queue.AsyncWritesDisabledException;
+import com.example.transactions_routine.service.queue.QueuedTransactionNotFoundException;
+import com.example.transactions_routine.service.queue.TransactionQueueFullException;
+import com.example.transactions_routine.service.recurring.InvalidRecurringTransferException;
+import com.example.transactions_routine.service.recurring.RecurringTransferNotActiveException;
+import com.example.transactions_routine.service.recurring.RecurringTransferNotFoundException;
+import com.example.transactions_routine.service.sharding.CrossShardBatchTransferException;
+import com.example.transactions_routine.service.summary.InvalidSummaryPeriodException;
 import com.example.transactions_routine.service.transaction.InsufficientFundsException;
+import com.example.transactions_routine.service.transaction.InvalidTransactionSearchException;
 import com.example.transactions_routine.service.transaction.OperationTypeNotFoundException;
 import com.example.transactions_routine.service.transaction.TransactionNotFoundException;
+import com.example.transactions_routine.service.velocity.VelocityLimitExceededException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -57,6 +77,48 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    @ExceptionHandler(HoldNotFoundException.class)
+    public ResponseEntity<ApiErrorResponse> handleHoldNotFoundException(HoldNotFoundException ex) {
+        logger.warn("HoldNotFoundException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    @ExceptionHandler(HoldNotActiveException.class)
+    public ResponseEntity<ApiErrorResponse> handleHoldNotActiveException(HoldNotActiveException ex) {
+        logger.warn("HoldNotActiveException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    @ExceptionHandler(InvalidHoldException.class)
+    public ResponseEntity<ApiErrorResponse> handleInvalidHoldException(InvalidHoldException ex) {
+        logger.warn("InvalidHoldException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    @ExceptionHandler(RecurringTransferNotFoundException.class)
+    public ResponseEntity<ApiErrorResponse> handleRecurringTransferNotFoundException(RecurringTransferNotFoundException ex) {
+        logger.warn("RecurringTransferNotFoundException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    @ExceptionHandler(RecurringTransferNotActiveException.class)
+    public ResponseEntity<ApiErrorResponse> handleRecurringTransferNotActiveException(RecurringTransferNotActiveException ex) {
+        logger.warn("RecurringTransferNotActiveException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    @ExceptionHandler(InvalidRecurringTransferException.class)
+    public ResponseEntity<ApiErrorResponse> handleInvalidRecurringTransferException(InvalidRecurringTransferException ex) {
+        logger.warn("InvalidRecurringTransferException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
     @ExceptionHandler(OperationTypeNotFoundException.class)
     public ResponseEntity<ApiErrorResponse> handleOperationTypeNotFoundException(OperationTypeNotFoundException ex) {
         logger.warn("OperationTypeNotFoundException: {}", ex.getMessage());
@@ -85,9 +147,101 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errorResponse);
     }
 
+    @ExceptionHandler(VelocityLimitExceededException.class)
+    public ResponseEntity<ApiErrorResponse> handleVelocityLimitExceededException(VelocityLimitExceededException ex) {
+        logger.debug("VelocityLimitExceededException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(errorResponse);
+    }
+
+    @ExceptionHandler(TransactionQueueFullException.class)
+    public ResponseEntity<ApiErrorResponse> handleTransactionQueueFullException(TransactionQueueFullException ex) {
+        logger.warn("TransactionQueueFullException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").body(errorResponse);
+    }
+
+    @ExceptionHandler(AsyncWritesDisabledException.class)
+    public ResponseEntity<ApiErrorResponse> handleAsyncWritesDisabledException(AsyncWritesDisabledException ex) {
+        logger.warn("AsyncWritesDisabledException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
+    @ExceptionHandler(UnsupportedStorageOperationException.class)
+    public ResponseEntity<ApiErrorResponse> handleUnsupportedStorageOperationException(UnsupportedStorageOperationException ex) {
+        logger.warn("UnsupportedStorageOperationException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.NOT_IMPLEMENTED.value(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(errorResponse);
+    }
+
+    @ExceptionHandler(QueuedTransactionNotFoundException.class)
+    public ResponseEntity<ApiErrorResponse> handleQueuedTransactionNotFoundException(QueuedTransactionNotFoundException ex) {
+        logger.warn("QueuedTransactionNotFoundException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    @ExceptionHandler(DailyLimitExceededException.class)
+    public ResponseEntity<ApiErrorResponse> handleDailyLimitExceededException(DailyLimitExceededException ex) {
+        logger.warn("DailyLimitExceededException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    @ExceptionHandler(InvalidBalanceSlotsException.class)
+    public ResponseEntity<ApiErrorResponse> handleInvalidBalanceSlotsException(InvalidBalanceSlotsException ex) {
+        logger.warn("InvalidBalanceSlotsException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    @ExceptionHandler(InvalidDailyLimitException.class)
+    public ResponseEntity<ApiErrorResponse> handleInvalidDailyLimitException(InvalidDailyLimitException ex) {
+        logger.warn("InvalidDailyLimitException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    @ExceptionHandler(CrossShardBatchTransferException.class)
+    public ResponseEntity<ApiErrorResponse> handleCrossShardBatchTransferException(CrossShardBatchTransferException ex) {
+        logger.warn("CrossShardBatchTransferException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    @ExceptionHandler(ConcurrentBalanceUpdateException.class)
+    public ResponseEntity<ApiErrorResponse> handleConcurrentBalanceUpdateException(ConcurrentBalanceUpdateException ex) {
+        logger.warn("ConcurrentBalanceUpdateException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
     @ExceptionHandler(InsufficientFundsException.class)
     public ResponseEntity<ApiErrorResponse> handleInsufficientFundsException(InsufficientFundsException ex) {
-        logger.warn("InsufficientFundsException: {}", ex.getMessage());
+        // Like velocity limits, expected by the thousand under card testing; warning on each would flood the log
+        logger.debug("InsufficientFundsException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    @ExceptionHandler(InvalidInstallmentsException.class)
+    public ResponseEntity<ApiErrorResponse> handleInvalidInstallmentsException(InvalidInstallmentsException ex) {
+        logger.warn("InvalidInstallmentsException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    @ExceptionHandler(InvalidSummaryPeriodException.class)
+    public ResponseEntity<ApiErrorResponse> handleInvalidSummaryPeriodException(InvalidSummaryPeriodException ex) {
+        logger.warn("InvalidSummaryPeriodException: {}", ex.getMessage());
+        var errorResponse = new ApiErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    @ExceptionHandler(InvalidTransactionSearchException.class)
+    public ResponseEntity<ApiErrorResponse> handleInvalidTransactionSearchException(InvalidTransactionSearchException ex) {
+        logger.warn("InvalidTransactionSearchException: {}", ex.getMessage());
         var errorResponse = new ApiErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
         return ResponseEntity.badRequest().body(errorResponse);
     }
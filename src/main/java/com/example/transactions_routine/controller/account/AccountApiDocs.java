@@ -2,6 +2,7 @@ package com.example.transactions_routine.controller.account;
 
 import com.example.transactions_routine.controller.ApiErrorResponse;
 import com.example.transactions_routine.controller.ApiResponse;
+import com.example.transactions_routine.controller.transaction.TransactionResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,6 +15,10 @@ import jakarta.validation.Valid;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.time.LocalDate;
+import java.util.List;
 
 @Tag(name = "Account", description = "Endpoints for managing accounts")
 public interface AccountApiDocs {
@@ -123,5 +128,175 @@ public interface AccountApiDocs {
                     required = true
             ) @PathVariable Long id);
 
-}
+    @Operation(
+            summary = "Summarize an account by operation type",
+            description = "Returns the sum and count of the account's transactions per operation type between two days (inclusive). "
+                    + "Served from a daily rollup, so the cost depends on the number of days, not of transactions. "
+                    + "Defaults to the current month."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Account summary found",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiResponse.class),
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Success Response",
+                                            value = "{\"status\":200,\"message\":\"Account summary found successfully.\",\"data\":{\"account_id\":1,\"from\":\"2020-01-01\",\"to\":\"2020-01-31\",\"operation_types\":[{\"operation_type_id\":1,\"total_amount\":-92.20,\"transaction_count\":3},{\"operation_type_id\":4,\"total_amount\":60.00,\"transaction_count\":1}]}}"
+                                    )
+                            }
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid period",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Account not found",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    ResponseEntity<ApiResponse<AccountSummaryResponse>> summary(
+            @Parameter(description = "Unique identifier of the account.", example = "1", required = true) @PathVariable Long id,
+            @Parameter(description = "First day of the period (ISO date). Defaults to the first day of the current month.", example = "2020-01-01") @RequestParam(required = false) LocalDate from,
+            @Parameter(description = "Last day of the period (ISO date). Defaults to today.", example = "2020-01-31") @RequestParam(required = false) LocalDate to);
+
+    @Operation(
+            summary = "List an account's recent activity",
+            description = "Returns the account's last transactions, newest first. "
+                    + "Served from an in-memory buffer per account, filled on the first request and on every write after it."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Recent activity found",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiResponse.class),
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Success Response",
+                                            value = "{\"status\":200,\"message\":\"Recent activity found successfully.\",\"data\":[{\"id\":4,\"account_id\":1,\"operation_type_id\":4,\"amount\":60.00,\"event_date\":\"2020-01-05T09:34:18.5893223\"}]}"
+                                    )
+                            }
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Account not found",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    ResponseEntity<ApiResponse<List<TransactionResponse>>> recentActivity(
+            @Parameter(description = "Unique identifier of the account.", example = "1", required = true) @PathVariable Long id);
+
+    @Operation(
+            summary = "List an account's daily debit limits",
+            description = "Returns, for every operation type under a daily limit, the account's limit and what it has used today."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Daily limits found",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Account not found",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    ResponseEntity<ApiResponse<List<DailyLimitResponse>>> dailyLimits(
+            @Parameter(description = "Unique identifier of the account.", example = "1", required = true) @PathVariable Long id);
 
+    @Operation(
+            summary = "Set an account's daily debit limit",
+            description = "Overrides the configured default daily limit of an operation type for this account. Today's usage is kept."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Daily limit updated",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid limit or operation type without a daily limit",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Account not found",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    ResponseEntity<ApiResponse<DailyLimitResponse>> setDailyLimit(
+            @Parameter(description = "Unique identifier of the account.", example = "1", required = true) @PathVariable Long id,
+            @Parameter(description = "Operation type under a daily limit.", example = "3", required = true) @PathVariable Long operationTypeId,
+            @Valid @RequestBody DailyLimitRequest dailyLimitRequest);
+
+    @Operation(
+            summary = "Split an account's balance over balance slots",
+            description = "Spreads credits to a hot account over the given number of balance slot rows so concurrent credits "
+                    + "do not queue on one row lock. The reported balance is the sum of the account and its slots. "
+                    + "0 merges the slots back into the account; both directions apply online."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Balance slots updated",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid number of balance slots",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Account not found",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiErrorResponse.class)
+                    )
+            )
+    })
+    ResponseEntity<ApiResponse<AccountResponse>> setBalanceSlots(
+            @Parameter(description = "Unique identifier of the account.", example = "1", required = true) @PathVariable Long id,
+            @Valid @RequestBody BalanceSlotsRequest balanceSlotsRequest);
+
+}
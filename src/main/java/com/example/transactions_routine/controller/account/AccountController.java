@@ -3,22 +3,39 @@ package com.example.transactions_routine.controller.account;
 import com.example.transactions_routine.controller.ApiResponse;
 import com.example.transactions_routine.controller.transaction.TransactionResponse;
 import com.example.transactions_routine.service.account.AccountServicePort;
+import com.example.transactions_routine.service.activity.RecentActivityServicePort;
+import com.example.transactions_routine.service.limit.DailyLimitServicePort;
+import com.example.transactions_routine.service.observability.QueryBudget;
+import com.example.transactions_routine.service.summary.AccountSummaryServicePort;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @RestController
 @RequestMapping("/v1/accounts")
 @Validated
 public class AccountController implements AccountApiDocs {
 
     private final AccountServicePort accountServicePort;
+    private final AccountSummaryServicePort accountSummaryServicePort;
+    private final DailyLimitServicePort dailyLimitServicePort;
+    private final RecentActivityServicePort recentActivityServicePort;
 
-    public AccountController(AccountServicePort accountServicePort) {
+    public AccountController(AccountServicePort accountServicePort,
+                             AccountSummaryServicePort accountSummaryServicePort,
+                             DailyLimitServicePort dailyLimitServicePort,
+                             RecentActivityServicePort recentActivityServicePort) {
         this.accountServicePort = accountServicePort;
+        this.accountSummaryServicePort = accountSummaryServicePort;
+        this.dailyLimitServicePort = dailyLimitServicePort;
+        this.recentActivityServicePort = recentActivityServicePort;
     }
 
     @Override
@@ -44,6 +61,7 @@ public class AccountController implements AccountApiDocs {
 
     @Override
     @GetMapping("/{id}")
+    @QueryBudget(1)
     public ResponseEntity<ApiResponse<AccountResponse>> findById(@PathVariable Long id) {
         var account = accountServicePort.findById(id);
         var accountResponse = AccountResponse.fromDomain(account);
@@ -56,6 +74,87 @@ public class AccountController implements AccountApiDocs {
         return ResponseEntity.ok(apiResponse);
     }
 
+    @Override
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<ApiResponse<AccountSummaryResponse>> summary(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        var periodTo = to == null ? LocalDate.now() : to;
+        var periodFrom = from == null ? periodTo.withDayOfMonth(1) : from;
+
+        var operationTypes = accountSummaryServicePort.summarize(id, periodFrom, periodTo).stream()
+                .map(OperationTypeSummaryResponse::fromTotal)
+                .toList();
+        var apiResponse = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Account summary found successfully.",
+                new AccountSummaryResponse(id, periodFrom, periodTo, operationTypes),
+                null
+        );
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @Override
+    @GetMapping("/{id}/recent-activity")
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<List<TransactionResponse>>> recentActivity(@PathVariable Long id) {
+        var transactions = recentActivityServicePort.findRecentActivity(id).stream()
+                .map(TransactionResponse::fromView)
+                .toList();
+        var apiResponse = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Recent activity found successfully.",
+                transactions,
+                null
+        );
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @Override
+    @GetMapping("/{id}/daily-limits")
+    public ResponseEntity<ApiResponse<List<DailyLimitResponse>>> dailyLimits(@PathVariable Long id) {
+        var dailyLimits = dailyLimitServicePort.findDailyLimits(id, LocalDate.now()).stream()
+                .map(DailyLimitResponse::fromResult)
+                .toList();
+        var apiResponse = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Daily limits found successfully.",
+                dailyLimits,
+                null
+        );
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @Override
+    @PutMapping("/{id}/daily-limits/{operationTypeId}")
+    public ResponseEntity<ApiResponse<DailyLimitResponse>> setDailyLimit(@PathVariable Long id,
+                                                                         @PathVariable Long operationTypeId,
+                                                                         @Valid @RequestBody DailyLimitRequest dailyLimitRequest) {
+        var dailyLimit = dailyLimitServicePort.setDailyLimit(id, operationTypeId, dailyLimitRequest.dailyLimit(), LocalDate.now());
+        var apiResponse = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Daily limit updated successfully.",
+                DailyLimitResponse.fromResult(dailyLimit),
+                null
+        );
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @Override
+    @PutMapping("/{id}/balance-slots")
+    public ResponseEntity<ApiResponse<AccountResponse>> setBalanceSlots(@PathVariable Long id,
+                                                                        @Valid @RequestBody BalanceSlotsRequest balanceSlotsRequest) {
+        var account = accountServicePort.setBalanceSlots(id, balanceSlotsRequest.balanceSlots());
+        var apiResponse = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Account balance slots updated successfully.",
+                AccountResponse.fromDomain(account),
+                null
+        );
+        return ResponseEntity.ok(apiResponse);
+    }
+
     @PostMapping("/transfers")
     public ResponseEntity<ApiResponse<TransferResponse>> transfer(@Valid @RequestBody TransferRequest transferRequest) {
         var transferResult = accountServicePort.transfer(transferRequest);
@@ -74,4 +173,18 @@ public class AccountController implements AccountApiDocs {
         return ResponseEntity.ok(apiResponse);
     }
 
+    @PostMapping("/transfers/batch")
+    public ResponseEntity<ApiResponse<BatchTransferResponse>> batchTransfer(@Valid @RequestBody BatchTransferRequest batchTransferRequest) {
+        var batchTransferResult = accountServicePort.batchTransfer(batchTransferRequest);
+
+        var apiResponse = new ApiResponse<>(
+                HttpStatus.CREATED.value(),
+                "Batch transfer completed successfully.",
+                BatchTransferResponse.fromResult(batchTransferResult),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(apiResponse);
+    }
+
     }
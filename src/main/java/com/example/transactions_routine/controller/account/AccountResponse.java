@@ -2,6 +2,7 @@
 package com.example.transactions_routine.controller.account;
 
 import com.example.transactions_routine.model.Account;
+import com.example.transactions_routine.repository.AccountView;
 
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
@@ -16,13 +17,26 @@ public record AccountResponse(
         Long id,
         @Schema(description = "Document number for the account", example = "12345678900")
         String documentNumber,
-        BigDecimal balance
+        @Schema(description = "Available balance", example = "100.00")
+        BigDecimal balance,
+        @Schema(description = "Amount reserved by pending authorization holds", example = "0.00")
+        BigDecimal heldAmount
 ) {
     public static AccountResponse fromDomain(Account account) {
         return new AccountResponse(
                 account.getId(),
                 account.getDocumentNumber(),
-                account.getBalance()
+                account.getTotalBalance(),
+                account.getHeldAmount()
+        );
+    }
+
+    public static AccountResponse fromView(AccountView account) {
+        return new AccountResponse(
+                account.getId(),
+                account.getDocumentNumber(),
+                account.getBalance(),
+                account.getHeldAmount()
         );
     }
 }
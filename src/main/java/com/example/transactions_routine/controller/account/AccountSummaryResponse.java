@@ -0,0 +1,21 @@
+package com.example.transactions_routine.controller.account;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Schema(description = "Per operation type totals of an account over a period of days.")
+public record AccountSummaryResponse(
+        @Schema(description = "Unique identifier of the account", example = "1")
+        Long accountId,
+        @Schema(description = "First day of the period (inclusive)", example = "2025-01-01")
+        LocalDate from,
+        @Schema(description = "Last day of the period (inclusive)", example = "2025-01-31")
+        LocalDate to,
+        List<OperationTypeSummaryResponse> operationTypes
+) {
+}
@@ -0,0 +1,19 @@
+package com.example.transactions_routine.controller.account;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Schema(description = "Request payload for splitting an account's balance over balance slots")
+public record BalanceSlotsRequest(
+        @Schema(description = "Number of balance slots; 0 merges the account back into a single balance", example = "16", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "Balance slots is required")
+        @PositiveOrZero(message = "Balance slots cannot be negative")
+        @Max(value = 256, message = "Balance slots cannot exceed 256")
+        Integer balanceSlots
+) {
+}
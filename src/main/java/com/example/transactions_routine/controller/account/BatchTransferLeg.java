@@ -0,0 +1,19 @@
+package com.example.transactions_routine.controller.account;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record BatchTransferLeg(
+        @NotNull(message = "Destination Account ID is required")
+        Long destinationAccountId,
+
+        @NotNull(message = "Amount is required")
+        @Positive(message = "Amount must be positive")
+        BigDecimal amount
+) {
+}
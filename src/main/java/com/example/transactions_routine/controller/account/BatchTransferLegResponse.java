@@ -0,0 +1,15 @@
+package com.example.transactions_routine.controller.account;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.math.BigDecimal;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record BatchTransferLegResponse(
+        Long destinationAccountId,
+        BigDecimal amount,
+        Long debitTransactionId,
+        Long creditTransactionId
+) {
+}
@@ -0,0 +1,22 @@
+package com.example.transactions_routine.controller.account;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record BatchTransferRequest(
+        @NotNull(message = "Source Account ID is required")
+        Long sourceAccountId,
+
+        @NotEmpty(message = "At least one transfer leg is required")
+        @Size(max = BatchTransferRequest.MAX_LEGS, message = "A batch transfer supports at most " + BatchTransferRequest.MAX_LEGS + " legs")
+        List<@Valid @NotNull BatchTransferLeg> legs
+) {
+    public static final int MAX_LEGS = 10_000;
+}
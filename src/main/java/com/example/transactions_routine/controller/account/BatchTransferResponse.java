@@ -0,0 +1,32 @@
+package com.example.transactions_routine.controller.account;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record BatchTransferResponse(
+        LocalDateTime transferDate,
+        Long sourceAccountId,
+        BigDecimal totalAmount,
+        List<BatchTransferLegResponse> legs
+) {
+    public static BatchTransferResponse fromResult(BatchTransferResult result) {
+        var legs = new ArrayList<BatchTransferLegResponse>(result.creditTransactions().size());
+        for (int i = 0; i < result.creditTransactions().size(); i++) {
+            var debit = result.debitTransactions().get(i);
+            var credit = result.creditTransactions().get(i);
+            legs.add(new BatchTransferLegResponse(
+                    credit.getAccount().getId(),
+                    credit.getAmount(),
+                    debit.getId(),
+                    credit.getId()
+            ));
+        }
+        return new BatchTransferResponse(result.transferDate(), result.sourceAccountId(), result.totalAmount(), legs);
+    }
+}
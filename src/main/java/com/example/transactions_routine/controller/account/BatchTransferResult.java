@@ -0,0 +1,19 @@
+package com.example.transactions_routine.controller.account;
+
+import com.example.transactions_routine.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Outcome of a batch transfer. Debit and credit transactions are index-aligned with the request legs.
+ */
+public record BatchTransferResult(
+        LocalDateTime transferDate,
+        Long sourceAccountId,
+        BigDecimal totalAmount,
+        List<Transaction> debitTransactions,
+        List<Transaction> creditTransactions
+) {
+}
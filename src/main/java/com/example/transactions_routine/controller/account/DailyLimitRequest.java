@@ -0,0 +1,19 @@
+package com.example.transactions_routine.controller.account;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Schema(description = "Request payload for setting an account's own daily limit for an operation type")
+public record DailyLimitRequest(
+        @Schema(description = "Maximum debited per day; 0 blocks the operation type", example = "500.00", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "Daily limit is required")
+        @PositiveOrZero(message = "Daily limit cannot be negative")
+        BigDecimal dailyLimit
+) {
+}
@@ -0,0 +1,33 @@
+package com.example.transactions_routine.controller.account;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Schema(description = "Daily debit limit of an account for one operation type and today's usage.")
+public record DailyLimitResponse(
+        @Schema(description = "Unique identifier of the operation type", example = "3")
+        Long operationTypeId,
+        @Schema(description = "Day the usage refers to", example = "2025-01-31")
+        LocalDate day,
+        @Schema(description = "Maximum debited per day", example = "1000.00")
+        BigDecimal dailyLimit,
+        @Schema(description = "Debited so far on that day", example = "250.00")
+        BigDecimal usedAmount,
+        @Schema(description = "Still available on that day", example = "750.00")
+        BigDecimal remainingAmount
+) {
+    public static DailyLimitResponse fromResult(DailyLimitResult result) {
+        return new DailyLimitResponse(
+                result.operationTypeId(),
+                result.day(),
+                result.dailyLimit(),
+                result.usedAmount(),
+                result.remainingAmount()
+        );
+    }
+}
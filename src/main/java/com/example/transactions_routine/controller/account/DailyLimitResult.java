@@ -0,0 +1,13 @@
+package com.example.transactions_routine.controller.account;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyLimitResult(
+        Long operationTypeId,
+        LocalDate day,
+        BigDecimal dailyLimit,
+        BigDecimal usedAmount,
+        BigDecimal remainingAmount
+) {
+}
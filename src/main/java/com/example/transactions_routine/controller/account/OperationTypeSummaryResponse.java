@@ -0,0 +1,23 @@
+package com.example.transactions_routine.controller.account;
+
+import com.example.transactions_routine.repository.OperationTypeTotal;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Schema(description = "Totals of one operation type within the summary period.")
+public record OperationTypeSummaryResponse(
+        @Schema(description = "Unique identifier of the operation type", example = "3")
+        Long operationTypeId,
+        @Schema(description = "Sum of the signed transaction amounts. Debits are negative.", example = "-250.00")
+        BigDecimal totalAmount,
+        @Schema(description = "Number of transactions", example = "4")
+        Long transactionCount
+) {
+    public static OperationTypeSummaryResponse fromTotal(OperationTypeTotal total) {
+        return new OperationTypeSummaryResponse(total.operationTypeId(), total.totalAmount(), total.transactionCount());
+    }
+}
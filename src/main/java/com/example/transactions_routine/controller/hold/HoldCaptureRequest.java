@@ -0,0 +1,17 @@
+package com.example.transactions_routine.controller.hold;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Schema(description = "Request payload for capturing a hold")
+public record HoldCaptureRequest(
+        @Schema(description = "Amount to capture, at most the held amount. Defaults to the full hold; any remainder is released.", example = "42.10")
+        @Positive(message = "Amount must be positive")
+        BigDecimal amount
+) {
+}
@@ -0,0 +1,86 @@
+package com.example.transactions_routine.controller.hold;
+
+import com.example.transactions_routine.controller.ApiResponse;
+import com.example.transactions_routine.controller.transaction.TransactionResponse;
+import com.example.transactions_routine.service.hold.HoldServicePort;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@RestController
+@Profile("!in-memory")
+@RequestMapping("/v1/holds")
+@Validated
+public class HoldController implements HoldApiDocs {
+
+    private final HoldServicePort holdServicePort;
+
+    public HoldController(HoldServicePort holdServicePort) {
+        this.holdServicePort = holdServicePort;
+    }
+
+    @Override
+    @PostMapping
+    public ResponseEntity<ApiResponse<HoldResponse>> authorize(@Valid @RequestBody HoldRequest holdRequest) {
+        var hold = holdServicePort.authorize(holdRequest);
+        var holdResponse = HoldResponse.fromDomain(hold);
+
+        var apiResponse = new ApiResponse<>(
+                HttpStatus.CREATED.value(),
+                "Hold authorized successfully.",
+                holdResponse,
+                null
+        );
+
+        var location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(holdResponse.id())
+                .toUri();
+
+        return ResponseEntity.created(location).body(apiResponse);
+    }
+
+    @Override
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<HoldResponse>> findById(@PathVariable Long id) {
+        var hold = holdServicePort.findById(id);
+        var apiResponse = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Hold found successfully.",
+                HoldResponse.fromDomain(hold),
+                null
+        );
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @Override
+    @PostMapping("/{id}/capture")
+    public ResponseEntity<ApiResponse<TransactionResponse>> capture(@PathVariable Long id,
+                                                                    @Valid @RequestBody(required = false) HoldCaptureRequest holdCaptureRequest) {
+        var transaction = holdServicePort.capture(id, holdCaptureRequest);
+        var apiResponse = new ApiResponse<>(
+                HttpStatus.CREATED.value(),
+                "Hold captured successfully.",
+                TransactionResponse.fromDomain(transaction),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.CREATED).body(apiResponse);
+    }
+
+    @Override
+    @PostMapping("/{id}/release")
+    public ResponseEntity<ApiResponse<HoldResponse>> release(@PathVariable Long id) {
+        var hold = holdServicePort.release(id);
+        var apiResponse = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Hold released successfully.",
+                HoldResponse.fromDomain(hold),
+                null
+        );
+        return ResponseEntity.ok(apiResponse);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.transactions_routine.controller.hold;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Schema(description = "Request payload for authorizing (reserving) funds on an account")
+public record HoldRequest(
+        @Schema(description = "Unique identifier of the account", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "Account ID is required")
+        Long accountId,
+
+        @Schema(description = "Debit operation type the hold will be captured as", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "Operation type ID is required")
+        Long operationTypeId,
+
+        @Schema(description = "Amount to reserve (always positive)", example = "50.00", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "Amount is required")
+        @Positive(message = "Amount must be positive")
+        BigDecimal amount,
+
+        @Schema(description = "Seconds until an uncaptured hold expires and its funds are released. Defaults to 7 days.", example = "3600")
+        @Positive(message = "Expiry must be positive")
+        @Max(value = 2_592_000, message = "Expiry must be at most 30 days")
+        Long expiresInSeconds
+) {
+}
@@ -0,0 +1,44 @@
+package com.example.transactions_routine.controller.hold;
+
+import com.example.transactions_routine.model.Hold;
+import com.example.transactions_routine.model.HoldStatus;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Schema(description = "Response payload containing the state of an authorization hold.")
+public record HoldResponse(
+        @Schema(description = "Unique identifier of the hold", example = "1")
+        Long id,
+        @Schema(description = "Unique identifier of the account", example = "1")
+        Long accountId,
+        @Schema(description = "Unique identifier of the operation type", example = "1")
+        Long operationTypeId,
+        @Schema(description = "Reserved amount", example = "50.00")
+        BigDecimal amount,
+        @Schema(description = "Hold status", example = "AUTHORIZED")
+        HoldStatus status,
+        @Schema(description = "When an uncaptured hold expires", example = "2025-01-01T12:00:00")
+        LocalDateTime expiresAt,
+        @Schema(description = "Captured amount, once captured", example = "42.10")
+        BigDecimal capturedAmount,
+        @Schema(description = "Transaction booked by the capture", example = "10")
+        Long transactionId
+) {
+    public static HoldResponse fromDomain(Hold hold) {
+        return new HoldResponse(
+                hold.getId(),
+                hold.getAccount().getId(),
+                hold.getOperationType().getId(),
+                hold.getAmount(),
+                hold.getStatus(),
+                hold.getExpiresAt(),
+                hold.getCapturedAmount(),
+                hold.getTransactionId()
+        );
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.transactions_routine.controller.recurring;
+
+import com.example.transactions_routine.controller.ApiResponse;
+import com.example.transactions_routine.service.recurring.RecurringTransferServicePort;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@RestController
+@Profile("!in-memory")
+@RequestMapping("/v1/recurring-transfers")
+@Validated
+public class RecurringTransferController implements RecurringTransferApiDocs {
+
+    private final RecurringTransferServicePort recurringTransferServicePort;
+
+    public RecurringTransferController(RecurringTransferServicePort recurringTransferServicePort) {
+        this.recurringTransferServicePort = recurringTransferServicePort;
+    }
+
+    @Override
+    @PostMapping
+    public ResponseEntity<ApiResponse<RecurringTransferResponse>> create(@Valid @RequestBody RecurringTransferRequest recurringTransferRequest) {
+        var recurringTransfer = recurringTransferServicePort.create(recurringTransferRequest);
+        var recurringTransferResponse = RecurringTransferResponse.fromDomain(recurringTransfer);
+
+        var apiResponse = new ApiResponse<>(
+                HttpStatus.CREATED.value(),
+                "Recurring transfer created successfully.",
+                recurringTransferResponse,
+                null
+        );
+
+        var location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(recurringTransferResponse.id())
+                .toUri();
+
+        return ResponseEntity.created(location).body(apiResponse);
+    }
+
+    @Override
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<RecurringTransferResponse>> findById(@PathVariable Long id) {
+        var recurringTransfer = recurringTransferServicePort.findById(id);
+        var apiResponse = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Recurring transfer found successfully.",
+                RecurringTransferResponse.fromDomain(recurringTransfer),
+                null
+        );
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @Override
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<ApiResponse<RecurringTransferResponse>> cancel(@PathVariable Long id) {
+        var recurringTransfer = recurringTransferServicePort.cancel(id);
+        var apiResponse = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Recurring transfer cancelled successfully.",
+                RecurringTransferResponse.fromDomain(recurringTransfer),
+                null
+        );
+        return ResponseEntity.ok(apiResponse);
+    }
+}
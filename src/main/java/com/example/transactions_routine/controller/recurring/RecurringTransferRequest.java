@@ -0,0 +1,39 @@
+package com.example.transactions_routine.controller.recurring;
+
+import com.example.transactions_routine.model.RecurringTransferFrequency;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Schema(description = "Request payload for creating a standing order between two accounts")
+public record RecurringTransferRequest(
+        @Schema(description = "Account debited on every run", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "Source Account ID is required")
+        Long sourceAccountId,
+
+        @Schema(description = "Account credited on every run", example = "2", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "Destination Account ID is required")
+        Long destinationAccountId,
+
+        @Schema(description = "Amount moved on every run (always positive)", example = "100.00", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "Amount is required")
+        @Positive(message = "Amount must be positive")
+        BigDecimal amount,
+
+        @Schema(description = "How often the transfer runs", example = "MONTHLY", requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "Frequency is required")
+        RecurringTransferFrequency frequency,
+
+        @Schema(description = "First run. Defaults to now.", example = "2025-01-31T09:00:00")
+        LocalDateTime startAt,
+
+        @Schema(description = "No runs are scheduled after this instant. Runs forever when omitted.", example = "2025-12-31T23:59:59")
+        LocalDateTime endAt
+) {
+}
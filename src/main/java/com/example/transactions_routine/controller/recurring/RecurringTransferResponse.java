@@ -0,0 +1,51 @@
+package com.example.transactions_routine.controller.recurring;
+
+import com.example.transactions_routine.model.RecurringTransfer;
+import com.example.transactions_routine.model.RecurringTransferFrequency;
+import com.example.transactions_routine.model.RecurringTransferStatus;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Schema(description = "Response payload containing a standing order and its next run.")
+public record RecurringTransferResponse(
+        @Schema(description = "Unique identifier of the recurring transfer", example = "1")
+        Long id,
+        @Schema(description = "Account debited on every run", example = "1")
+        Long sourceAccountId,
+        @Schema(description = "Account credited on every run", example = "2")
+        Long destinationAccountId,
+        @Schema(description = "Amount moved on every run", example = "100.00")
+        BigDecimal amount,
+        @Schema(description = "How often the transfer runs", example = "MONTHLY")
+        RecurringTransferFrequency frequency,
+        @Schema(description = "First run", example = "2025-01-31T09:00:00")
+        LocalDateTime startAt,
+        @Schema(description = "No runs are scheduled after this instant", example = "2025-12-31T23:59:59")
+        LocalDateTime endAt,
+        @Schema(description = "Next scheduled run", example = "2025-02-28T09:00:00")
+        LocalDateTime nextRunAt,
+        @Schema(description = "Number of runs claimed so far", example = "1")
+        int runCount,
+        @Schema(description = "Recurring transfer status", example = "ACTIVE")
+        RecurringTransferStatus status
+) {
+    public static RecurringTransferResponse fromDomain(RecurringTransfer recurringTransfer) {
+        return new RecurringTransferResponse(
+                recurringTransfer.getId(),
+                recurringTransfer.getSourceAccount().getId(),
+                recurringTransfer.getDestinationAccount().getId(),
+                recurringTransfer.getAmount(),
+                recurringTransfer.getFrequency(),
+                recurringTransfer.getStartAt(),
+                recurringTransfer.getEndAt(),
+                recurringTransfer.getNextRunAt(),
+                recurringTransfer.getRunCount(),
+                recurringTransfer.getStatus()
+        );
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.transactions_routine.controller.transaction;
+
+import com.example.transactions_routine.service.queue.QueuedTransaction;
+import com.example.transactions_routine.service.queue.QueuedTransactionStatus;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Schema(description = "Where a transaction accepted for asynchronous processing stands.")
+public record QueuedTransactionResponse(
+        @Schema(description = "Tracking identifier returned when the transaction was accepted", example = "3f2b8c1e-6a4d-4e0b-9c57-1d2e3f4a5b6c")
+        UUID trackingId,
+        @Schema(description = "QUEUED until applied, then COMPLETED or FAILED", example = "COMPLETED")
+        QueuedTransactionStatus status,
+        @Schema(description = "Identifier of the booked transaction, once completed", example = "1")
+        Long transactionId,
+        @Schema(description = "Why the transaction was rejected, if failed", example = "Insufficient funds for transaction. Account ID: 1, Requested amount: -50.00")
+        String failureReason
+) {
+
+    public static QueuedTransactionResponse fromDomain(QueuedTransaction queuedTransaction) {
+        return new QueuedTransactionResponse(
+                queuedTransaction.trackingId(),
+                queuedTransaction.status(),
+                queuedTransaction.transactionId(),
+                queuedTransaction.failureReason()
+        );
+    }
+}
@@ -13,6 +13,11 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Tag(name = "Transactions", description = "Endpoints for creating and retrieving financial transactions.")
 public interface TransactionApiDocs {
@@ -52,6 +57,91 @@ public interface TransactionApiDocs {
     })
     ResponseEntity<ApiResponse<TransactionResponse>> save(@Valid @RequestBody TransactionRequest transactionRequest);
 
+    @Operation(
+            summary = "Accept a transaction for asynchronous processing",
+            description = "Validates the transaction and queues it, returning a tracking id instead of waiting for the commit. "
+                    + "Transactions of an account are applied in the order they were accepted. Poll the Location header "
+                    + "for the outcome. Only available when transactions.async-writes.enabled is set."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Transaction accepted for processing.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiResponse.class),
+                            examples = @io.swagger.v3.oas.annotations.media.ExampleObject(
+                                    name = "Accepted transaction",
+                                    value = "{\"status\": 202, \"message\": \"Transaction accepted for processing.\", \"data\": {\"tracking_id\": \"3f2b8c1e-6a4d-4e0b-9c57-1d2e3f4a5b6c\", \"status\": \"QUEUED\"}}"
+                            ))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Bad Request - The request is malformed, contains invalid fields, or fails validation.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Not Found - The specified Account ID or Operation Type ID does not exist.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "Too Many Requests - The queue is full, retry after the Retry-After delay.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiErrorResponse.class),
+                            examples = @io.swagger.v3.oas.annotations.media.ExampleObject(
+                                    name = "Queue full",
+                                    value = "{\"status\": 429, \"message\": \"Transaction queue is full, retry later\", \"errors\": {\"message\": \"Transaction queue is full, retry later\"}, \"timestamp\": \"2023-01-01T12:00:00Z\"}"
+                            ))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Service Unavailable - Asynchronous writes are not enabled.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    ResponseEntity<ApiResponse<QueuedTransactionResponse>> saveAsync(@Valid @RequestBody TransactionRequest transactionRequest);
+
+    @Operation(
+            summary = "Retrieve the status of an asynchronously accepted transaction",
+            description = "Returns QUEUED until the transaction is applied, then COMPLETED with the transaction id or FAILED with the reason."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Queued transaction found successfully.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiResponse.class),
+                            examples = @io.swagger.v3.oas.annotations.media.ExampleObject(
+                                    name = "Completed transaction",
+                                    value = "{\"status\": 200, \"message\": \"Queued transaction found successfully.\", \"data\": {\"tracking_id\": \"3f2b8c1e-6a4d-4e0b-9c57-1d2e3f4a5b6c\", \"status\": \"COMPLETED\", \"transaction_id\": 1}}"
+                            ))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Queued transaction not found.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    ResponseEntity<ApiResponse<QueuedTransactionResponse>> findQueued(
+            @Parameter(
+                    description = "Tracking identifier returned when the transaction was accepted.",
+                    example = "3f2b8c1e-6a4d-4e0b-9c57-1d2e3f4a5b6c",
+                    required = true
+            ) @PathVariable UUID trackingId
+    );
+
+    @Operation(
+            summary = "Search transactions",
+            description = "Finds transactions by account, operation type, amount range (as booked, negative for debits) and "
+                    + "event date range, newest first. Needs an account id, an operation type id or a start date. "
+                    + "Pass the returned next_cursor to fetch the following page."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Transactions found successfully.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Bad Request - Missing selective filter, invalid range, limit or cursor.",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ApiErrorResponse.class),
+                            examples = @io.swagger.v3.oas.annotations.media.ExampleObject(
+                                    name = "Missing selective filter",
+                                    value = "{\"status\": 400, \"message\": \"Search requires an account id, an operation type id or a start date\", \"errors\": {\"message\": \"Search requires an account id, an operation type id or a start date\"}, \"timestamp\": \"2023-01-01T12:00:00Z\"}"
+                            )))
+    })
+    ResponseEntity<ApiResponse<TransactionSearchResponse>> search(
+            @Parameter(description = "Only transactions of this account.", example = "1") @RequestParam(name = "account_id", required = false) Long accountId,
+            @Parameter(description = "Only transactions of this operation type.", example = "4") @RequestParam(name = "operation_type_id", required = false) Long operationTypeId,
+            @Parameter(description = "Smallest amount as booked.", example = "-100.00") @RequestParam(name = "min_amount", required = false) BigDecimal minAmount,
+            @Parameter(description = "Largest amount as booked.", example = "100.00") @RequestParam(name = "max_amount", required = false) BigDecimal maxAmount,
+            @Parameter(description = "Earliest event date (ISO date-time, inclusive).", example = "2025-01-01T00:00:00") @RequestParam(required = false) LocalDateTime from,
+            @Parameter(description = "Latest event date (ISO date-time, exclusive).", example = "2025-02-01T00:00:00") @RequestParam(required = false) LocalDateTime to,
+            @Parameter(description = "next_cursor of the previous page.") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 500.", example = "50") @RequestParam(defaultValue = "50") int limit);
+
     @Operation(
             summary = "Retrieve a transaction by ID",
             description = "Fetches the details of a single transaction by its unique identifier."
@@ -1,23 +1,34 @@
 package com.example.transactions_routine.controller.transaction;
 
 import com.example.transactions_routine.controller.ApiResponse;
+import com.example.transactions_routine.repository.TransactionSearchCriteria;
+import com.example.transactions_routine.service.observability.QueryBudget;
+import com.example.transactions_routine.service.queue.TransactionQueuePort;
 import com.example.transactions_routine.service.transaction.TransactionServicePort;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/v1/transactions")
 @Validated
 public class TransactionController implements TransactionApiDocs{
 
     private final TransactionServicePort transactionServicePort;
+    private final TransactionQueuePort transactionQueuePort;
 
-    public TransactionController(TransactionServicePort transactionServicePort) {
+    public TransactionController(TransactionServicePort transactionServicePort,
+                                 TransactionQueuePort transactionQueuePort) {
         this.transactionServicePort = transactionServicePort;
+        this.transactionQueuePort = transactionQueuePort;
     }
 
     @Override
@@ -41,8 +52,71 @@ public class TransactionController implements TransactionApiDocs{
         return ResponseEntity.created(location).body(apiResponse);
     }
 
+    @Override
+    @PostMapping("/async")
+    public ResponseEntity<ApiResponse<QueuedTransactionResponse>> saveAsync(@Valid @RequestBody TransactionRequest transactionRequest) {
+        var queuedTransaction = transactionQueuePort.accept(transactionRequest);
+        var apiResponse = new ApiResponse<>(
+                HttpStatus.ACCEPTED.value(),
+                "Transaction accepted for processing.",
+                QueuedTransactionResponse.fromDomain(queuedTransaction),
+                null
+        );
+
+        var location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{trackingId}")
+                .buildAndExpand(queuedTransaction.trackingId())
+                .toUri();
+
+        return ResponseEntity.accepted().location(location).body(apiResponse);
+    }
+
+    @Override
+    @GetMapping("/async/{trackingId}")
+    public ResponseEntity<ApiResponse<QueuedTransactionResponse>> findQueued(@PathVariable UUID trackingId) {
+        var queuedTransaction = transactionQueuePort.findByTrackingId(trackingId);
+        var apiResponse = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Queued transaction found successfully.",
+                QueuedTransactionResponse.fromDomain(queuedTransaction),
+                null
+        );
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @Override
+    @GetMapping("/search")
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<TransactionSearchResponse>> search(
+            @RequestParam(name = "account_id", required = false) Long accountId,
+            @RequestParam(name = "operation_type_id", required = false) Long operationTypeId,
+            @RequestParam(name = "min_amount", required = false) BigDecimal minAmount,
+            @RequestParam(name = "max_amount", required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        var criteria = TransactionSearchCriteria.builder()
+                .accountId(accountId)
+                .operationTypeId(operationTypeId)
+                .minAmount(minAmount)
+                .maxAmount(maxAmount)
+                .from(from)
+                .to(to)
+                .build();
+        var result = transactionServicePort.search(criteria, cursor, limit);
+        var apiResponse = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                "Transactions found successfully.",
+                TransactionSearchResponse.fromResult(result),
+                null
+        );
+        return ResponseEntity.ok(apiResponse);
+    }
+
     @Override
     @GetMapping("/{id}")
+    @QueryBudget(1)
     public ResponseEntity<ApiResponse<TransactionResponse>> findById(@PathVariable Long id) {
         var transaction = transactionServicePort.findById(id);
         var transactionResponse = TransactionResponse.fromDomain(transaction);
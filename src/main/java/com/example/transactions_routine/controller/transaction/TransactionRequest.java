@@ -3,6 +3,7 @@ package com.example.transactions_routine.controller.transaction;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
@@ -22,6 +23,14 @@ public record TransactionRequest(
         @Schema(description = "Transaction amount (always positive, sign is determined by operation type)", example = "123.45", requiredMode = Schema.RequiredMode.REQUIRED)
         @NotNull(message = "Amount is required")
         @Positive(message = "Amount must be positive")
-        BigDecimal amount
+        BigDecimal amount,
+
+        @Schema(description = "Number of monthly installments, only for Purchase with installments. The first one is booked immediately.", example = "3")
+        @Positive(message = "Installments must be positive")
+        @Max(value = 48, message = "Installments must be at most 48")
+        Integer installments
 ) {
+    public TransactionRequest(Long accountId, Long operationTypeId, BigDecimal amount) {
+        this(accountId, operationTypeId, amount, null);
+    }
 }
@@ -1,6 +1,7 @@
 package com.example.transactions_routine.controller.transaction;
 
 import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.TransactionView;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -20,7 +21,9 @@ public record TransactionResponse(
         @Schema(description = "Transaction amount. A negative value indicates a debit, and a positive value indicates a credit.", example = "-123.45")
         BigDecimal amount,
         @Schema(description = "Timestamp of when the transaction was recorded", example = "2023-01-01T12:00:00Z")
-        LocalDateTime eventDate
+        LocalDateTime eventDate,
+        @Schema(description = "Balance of the account right after this transaction, held amounts included; null when unknown", example = "876.55")
+        BigDecimal balanceAfter
 ) {
     public static TransactionResponse fromDomain(Transaction transaction) {
         return new TransactionResponse(
@@ -28,7 +31,19 @@ public record TransactionResponse(
                 transaction.getAccount().getId(),
                 transaction.getOperationType().getId(),
                 transaction.getAmount(),
-                transaction.getEventDate()
+                transaction.getEventDate(),
+                transaction.getBalanceAfter()
+        );
+    }
+
+    public static TransactionResponse fromView(TransactionView transaction) {
+        return new TransactionResponse(
+                transaction.getId(),
+                transaction.getAccountId(),
+                transaction.getOperationTypeId(),
+                transaction.getAmount(),
+                transaction.getEventDate(),
+                transaction.getBalanceAfter()
         );
     }
 }
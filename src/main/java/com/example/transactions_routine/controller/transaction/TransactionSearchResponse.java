@@ -0,0 +1,23 @@
+package com.example.transactions_routine.controller.transaction;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Schema(description = "One page of transactions matching a search, newest first.")
+public record TransactionSearchResponse(
+        List<TransactionResponse> transactions,
+        @Schema(description = "Cursor of the next page, absent on the last page", example = "MjAyNS0wMS0wMVQxMjowMCwxMjM")
+        String nextCursor
+) {
+
+    public static TransactionSearchResponse fromResult(TransactionSearchResult result) {
+        return new TransactionSearchResponse(
+                result.transactions().stream().map(TransactionResponse::fromView).toList(),
+                result.nextCursor()
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.transactions_routine.controller.transaction;
+
+import com.example.transactions_routine.repository.TransactionView;
+
+import java.util.List;
+
+/**
+ * One page of a transaction search; {@code nextCursor} is null on the last page.
+ */
+public record TransactionSearchResult(
+        List<TransactionView> transactions,
+        String nextCursor
+) {
+}
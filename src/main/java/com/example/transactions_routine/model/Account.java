@@ -2,6 +2,7 @@
 package com.example.transactions_routine.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Formula;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -28,6 +29,23 @@ public class Account {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal balance = BigDecimal.ZERO;
 
+    // Reserved by pending authorization holds, already deducted from balance
+    @Column(name = "held_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal heldAmount = BigDecimal.ZERO;
+
+    // Number of balance slots of a split account, 0 if the account is not split
+    @Column(name = "balance_slots", nullable = false)
+    private int balanceSlots;
+
+    // Sum of the balance slots of a split account, read-only
+    @Formula("(CASE WHEN balance_slots > 0 THEN (SELECT COALESCE(SUM(s.balance), 0) FROM account_balance_slots s WHERE s.account_id = id) ELSE 0 END)")
+    private BigDecimal slotBalance;
+
+    // Bumped by every balance UPDATE, compared by the optimistic balance update strategy
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Package-private constructor for Hibernate/JPA
     Account() {
     }
@@ -39,6 +57,8 @@ public class Account {
         this.createdAt = builder.createdAt;
         this.updatedAt = builder.updatedAt;
         this.balance = builder.balance == null ? BigDecimal.ZERO : builder.balance;
+        this.heldAmount = builder.heldAmount == null ? BigDecimal.ZERO : builder.heldAmount;
+        this.balanceSlots = builder.balanceSlots;
     }
 
     public static Builder builder() {
@@ -77,6 +97,29 @@ public class Account {
         return balance;
     }
 
+    public BigDecimal getHeldAmount() {
+        return heldAmount;
+    }
+
+    public int getBalanceSlots() {
+        return balanceSlots;
+    }
+
+    public boolean isSplit() {
+        return balanceSlots > 0;
+    }
+
+    /**
+     * The balance including what has been credited to the slots of a split account.
+     */
+    public BigDecimal getTotalBalance() {
+        return slotBalance == null ? balance : balance.add(slotBalance);
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -96,6 +139,8 @@ public class Account {
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
         private BigDecimal balance;
+        private BigDecimal heldAmount;
+        private int balanceSlots;
 
         private Builder() {
         }
@@ -125,6 +170,16 @@ public class Account {
             return this;
         }
 
+        public Builder heldAmount(BigDecimal heldAmount) {
+            this.heldAmount = heldAmount;
+            return this;
+        }
+
+        public Builder balanceSlots(int balanceSlots) {
+            this.balanceSlots = balanceSlots;
+            return this;
+        }
+
         public Account build() {
             return new Account(this);
         }
@@ -0,0 +1,116 @@
+package com.example.transactions_routine.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Per-account limit override and daily usage counter for one limited operation type. Rows are
+ * only written through the upserts in AccountDailyLimitRepository and AccountRepository.
+ */
+@Entity
+@Table(name = "account_daily_limits")
+public class AccountDailyLimit {
+
+    @EmbeddedId
+    private AccountDailyLimitId id;
+
+    // Null when the account uses the configured default
+    @Column(name = "daily_limit", precision = 10, scale = 2)
+    private BigDecimal dailyLimit;
+
+    @Column(name = "usage_date")
+    private LocalDate usageDate;
+
+    // Always positive, the debits booked on usage_date
+    @Column(name = "used_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal usedAmount;
+
+    // Package-private constructor for Hibernate/JPA
+    AccountDailyLimit() {
+    }
+
+    // Private constructor for builder pattern - forces use of builder
+    private AccountDailyLimit(Builder builder) {
+        this.id = builder.id;
+        this.dailyLimit = builder.dailyLimit;
+        this.usageDate = builder.usageDate;
+        this.usedAmount = builder.usedAmount == null ? BigDecimal.ZERO : builder.usedAmount;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public AccountDailyLimitId getId() {
+        return id;
+    }
+
+    public BigDecimal getDailyLimit() {
+        return dailyLimit;
+    }
+
+    public LocalDate getUsageDate() {
+        return usageDate;
+    }
+
+    public BigDecimal getUsedAmount() {
+        return usedAmount;
+    }
+
+    /**
+     * The usage counted against the limit of {@code day}; usage of an earlier day has expired.
+     */
+    public BigDecimal usedOn(LocalDate day) {
+        return day.equals(usageDate) ? usedAmount : BigDecimal.ZERO;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AccountDailyLimit that = (AccountDailyLimit) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    public static final class Builder {
+        private AccountDailyLimitId id;
+        private BigDecimal dailyLimit;
+        private LocalDate usageDate;
+        private BigDecimal usedAmount;
+
+        private Builder() {
+        }
+
+        public Builder id(AccountDailyLimitId id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder dailyLimit(BigDecimal dailyLimit) {
+            this.dailyLimit = dailyLimit;
+            return this;
+        }
+
+        public Builder usageDate(LocalDate usageDate) {
+            this.usageDate = usageDate;
+            return this;
+        }
+
+        public Builder usedAmount(BigDecimal usedAmount) {
+            this.usedAmount = usedAmount;
+            return this;
+        }
+
+        public AccountDailyLimit build() {
+            return new AccountDailyLimit(this);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.transactions_routine.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class AccountDailyLimitId implements Serializable {
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "operation_type_id", nullable = false)
+    private Long operationTypeId;
+
+    // Package-private constructor for Hibernate/JPA
+    AccountDailyLimitId() {
+    }
+
+    public AccountDailyLimitId(Long accountId, Long operationTypeId) {
+        this.accountId = accountId;
+        this.operationTypeId = operationTypeId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public Long getOperationTypeId() {
+        return operationTypeId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AccountDailyLimitId that = (AccountDailyLimitId) o;
+        return Objects.equals(accountId, that.accountId)
+                && Objects.equals(operationTypeId, that.operationTypeId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(accountId, operationTypeId);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.transactions_routine.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Per account, day and operation type rollup of transactions. Rows are only written
+ * through the upserts in AccountDailySummaryRepository, never through the entity.
+ */
+@Entity
+@Table(name = "account_daily_summaries")
+public class AccountDailySummary {
+
+    @EmbeddedId
+    private AccountDailySummaryId id;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    // Package-private constructor for Hibernate/JPA
+    AccountDailySummary() {
+    }
+
+    public AccountDailySummaryId getId() {
+        return id;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AccountDailySummary that = (AccountDailySummary) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
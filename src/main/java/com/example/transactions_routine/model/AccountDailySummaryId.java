@@ -0,0 +1,58 @@
+package com.example.transactions_routine.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Embeddable
+public class AccountDailySummaryId implements Serializable {
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Column(name = "operation_type_id", nullable = false)
+    private Long operationTypeId;
+
+    // Package-private constructor for Hibernate/JPA
+    AccountDailySummaryId() {
+    }
+
+    public AccountDailySummaryId(Long accountId, LocalDate day, Long operationTypeId) {
+        this.accountId = accountId;
+        this.day = day;
+        this.operationTypeId = operationTypeId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public Long getOperationTypeId() {
+        return operationTypeId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AccountDailySummaryId that = (AccountDailySummaryId) o;
+        return Objects.equals(accountId, that.accountId)
+                && Objects.equals(day, that.day)
+                && Objects.equals(operationTypeId, that.operationTypeId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(accountId, day, operationTypeId);
+    }
+}
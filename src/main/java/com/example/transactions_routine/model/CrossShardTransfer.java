@@ -0,0 +1,209 @@
+package com.example.transactions_routine.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A transfer whose destination account lives on another shard. It is written on the source shard
+ * in the same database transaction as the debit, and stays PENDING until the credit on the
+ * destination shard is confirmed or the debit is given back.
+ */
+@Entity
+@Table(name = "cross_shard_transfers")
+public class CrossShardTransfer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "source_account_id", nullable = false, updatable = false)
+    private Long sourceAccountId;
+
+    @Column(name = "destination_account_id", nullable = false, updatable = false)
+    private Long destinationAccountId;
+
+    // Always positive, the amount moved
+    @Column(nullable = false, updatable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CrossShardTransferStatus status = CrossShardTransferStatus.PENDING;
+
+    @Column(name = "debit_transaction_id", nullable = false, updatable = false)
+    private Long debitTransactionId;
+
+    @Column(name = "credit_transaction_id")
+    private Long creditTransactionId;
+
+    @Column(name = "failure_reason")
+    private String failureReason;
+
+    @Column(nullable = false, updatable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false, name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Package-private constructor for Hibernate/JPA
+    CrossShardTransfer() {
+    }
+
+    // Private constructor for builder pattern - forces use of builder
+    private CrossShardTransfer(Builder builder) {
+        this.id = builder.id;
+        this.sourceAccountId = builder.sourceAccountId;
+        this.destinationAccountId = builder.destinationAccountId;
+        this.amount = builder.amount;
+        this.status = builder.status == null ? CrossShardTransferStatus.PENDING : builder.status;
+        this.debitTransactionId = builder.debitTransactionId;
+        this.creditTransactionId = builder.creditTransactionId;
+        this.failureReason = builder.failureReason;
+        this.createdAt = builder.createdAt;
+        this.updatedAt = builder.updatedAt;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        var now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Long getSourceAccountId() {
+        return sourceAccountId;
+    }
+
+    public Long getDestinationAccountId() {
+        return destinationAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public CrossShardTransferStatus getStatus() {
+        return status;
+    }
+
+    public Long getDebitTransactionId() {
+        return debitTransactionId;
+    }
+
+    public Long getCreditTransactionId() {
+        return creditTransactionId;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CrossShardTransfer that = (CrossShardTransfer) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    public static final class Builder {
+        private UUID id;
+        private Long sourceAccountId;
+        private Long destinationAccountId;
+        private BigDecimal amount;
+        private CrossShardTransferStatus status;
+        private Long debitTransactionId;
+        private Long creditTransactionId;
+        private String failureReason;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+
+        private Builder() {
+        }
+
+        public Builder id(UUID id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder sourceAccountId(Long sourceAccountId) {
+            this.sourceAccountId = sourceAccountId;
+            return this;
+        }
+
+        public Builder destinationAccountId(Long destinationAccountId) {
+            this.destinationAccountId = destinationAccountId;
+            return this;
+        }
+
+        public Builder amount(BigDecimal amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        public Builder status(CrossShardTransferStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder debitTransactionId(Long debitTransactionId) {
+            this.debitTransactionId = debitTransactionId;
+            return this;
+        }
+
+        public Builder creditTransactionId(Long creditTransactionId) {
+            this.creditTransactionId = creditTransactionId;
+            return this;
+        }
+
+        public Builder failureReason(String failureReason) {
+            this.failureReason = failureReason;
+            return this;
+        }
+
+        public Builder createdAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+            return this;
+        }
+
+        public Builder updatedAt(LocalDateTime updatedAt) {
+            this.updatedAt = updatedAt;
+            return this;
+        }
+
+        public CrossShardTransfer build() {
+            return new CrossShardTransfer(this);
+        }
+    }
+}
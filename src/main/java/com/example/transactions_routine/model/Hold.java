@@ -0,0 +1,205 @@
+package com.example.transactions_routine.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "holds")
+public class Hold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(updatable = false, nullable = false)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "operation_type_id", nullable = false)
+    private OperationType operationType;
+
+    // Always positive, the amount reserved from the account
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private HoldStatus status = HoldStatus.AUTHORIZED;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "captured_amount", precision = 10, scale = 2)
+    private BigDecimal capturedAmount;
+
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Column(nullable = false, updatable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false, name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Package-private constructor for Hibernate/JPA
+    Hold() {
+    }
+
+    // Private constructor for builder pattern - forces use of builder
+    private Hold(Builder builder) {
+        this.id = builder.id;
+        this.account = builder.account;
+        this.operationType = builder.operationType;
+        this.amount = builder.amount;
+        this.status = builder.status == null ? HoldStatus.AUTHORIZED : builder.status;
+        this.expiresAt = builder.expiresAt;
+        this.capturedAmount = builder.capturedAmount;
+        this.transactionId = builder.transactionId;
+        this.createdAt = builder.createdAt;
+        this.updatedAt = builder.updatedAt;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        var now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Account getAccount() {
+        return account;
+    }
+
+    public OperationType getOperationType() {
+        return operationType;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public HoldStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public BigDecimal getCapturedAmount() {
+        return capturedAmount;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Hold hold = (Hold) o;
+        return Objects.equals(id, hold.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    public static final class Builder {
+        private Long id;
+        private Account account;
+        private OperationType operationType;
+        private BigDecimal amount;
+        private HoldStatus status;
+        private LocalDateTime expiresAt;
+        private BigDecimal capturedAmount;
+        private Long transactionId;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+
+        private Builder() {
+        }
+
+        public Builder id(Long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder account(Account account) {
+            this.account = account;
+            return this;
+        }
+
+        public Builder operationType(OperationType operationType) {
+            this.operationType = operationType;
+            return this;
+        }
+
+        public Builder amount(BigDecimal amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        public Builder status(HoldStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder expiresAt(LocalDateTime expiresAt) {
+            this.expiresAt = expiresAt;
+            return this;
+        }
+
+        public Builder capturedAmount(BigDecimal capturedAmount) {
+            this.capturedAmount = capturedAmount;
+            return this;
+        }
+
+        public Builder transactionId(Long transactionId) {
+            this.transactionId = transactionId;
+            return this;
+        }
+
+        public Builder createdAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+            return this;
+        }
+
+        public Builder updatedAt(LocalDateTime updatedAt) {
+            this.updatedAt = updatedAt;
+            return this;
+        }
+
+        public Hold build() {
+            return new Hold(this);
+        }
+    }
+}
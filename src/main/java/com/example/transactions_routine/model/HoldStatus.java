@@ -0,0 +1,8 @@
+package com.example.transactions_routine.model;
+
+public enum HoldStatus {
+    AUTHORIZED,
+    CAPTURED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,207 @@
+package com.example.transactions_routine.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "installments")
+public class Installment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "installments_id_seq")
+    @SequenceGenerator(name = "installments_id_seq", sequenceName = "installments_id_seq", allocationSize = 50)
+    @Column(updatable = false, nullable = false)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "installment_plan_id", nullable = false)
+    private InstallmentPlan installmentPlan;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    private Account account;
+
+    @Column(name = "installment_number", nullable = false)
+    private int installmentNumber;
+
+    // Signed like Transaction.amount: negative for debit operation types
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private InstallmentStatus status = InstallmentStatus.PENDING;
+
+    @Column(name = "posted_at")
+    private LocalDateTime postedAt;
+
+    @Column(nullable = false, updatable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false, name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Package-private constructor for Hibernate/JPA
+    Installment() {
+    }
+
+    // Private constructor for builder pattern - forces use of builder
+    private Installment(Builder builder) {
+        this.id = builder.id;
+        this.installmentPlan = builder.installmentPlan;
+        this.account = builder.account;
+        this.installmentNumber = builder.installmentNumber;
+        this.amount = builder.amount;
+        this.dueDate = builder.dueDate;
+        this.status = builder.status == null ? InstallmentStatus.PENDING : builder.status;
+        this.postedAt = builder.postedAt;
+        this.createdAt = builder.createdAt;
+        this.updatedAt = builder.updatedAt;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        var now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public InstallmentPlan getInstallmentPlan() {
+        return installmentPlan;
+    }
+
+    public Account getAccount() {
+        return account;
+    }
+
+    public int getInstallmentNumber() {
+        return installmentNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public InstallmentStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getPostedAt() {
+        return postedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Installment that = (Installment) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    public static final class Builder {
+        private Long id;
+        private InstallmentPlan installmentPlan;
+        private Account account;
+        private int installmentNumber;
+        private BigDecimal amount;
+        private LocalDate dueDate;
+        private InstallmentStatus status;
+        private LocalDateTime postedAt;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+
+        private Builder() {
+        }
+
+        public Builder id(Long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder installmentPlan(InstallmentPlan installmentPlan) {
+            this.installmentPlan = installmentPlan;
+            return this;
+        }
+
+        public Builder account(Account account) {
+            this.account = account;
+            return this;
+        }
+
+        public Builder installmentNumber(int installmentNumber) {
+            this.installmentNumber = installmentNumber;
+            return this;
+        }
+
+        public Builder amount(BigDecimal amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        public Builder dueDate(LocalDate dueDate) {
+            this.dueDate = dueDate;
+            return this;
+        }
+
+        public Builder status(InstallmentStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder postedAt(LocalDateTime postedAt) {
+            this.postedAt = postedAt;
+            return this;
+        }
+
+        public Builder createdAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+            return this;
+        }
+
+        public Builder updatedAt(LocalDateTime updatedAt) {
+            this.updatedAt = updatedAt;
+            return this;
+        }
+
+        public Installment build() {
+            return new Installment(this);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.transactions_routine.model;
+
+public enum InstallmentStatus {
+    PENDING,
+    POSTED,
+    FAILED
+}
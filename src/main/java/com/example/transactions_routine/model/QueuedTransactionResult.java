@@ -0,0 +1,66 @@
+package com.example.transactions_routine.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Outcome of a transaction accepted by the asynchronous write mode: the booked transaction, or why
+ * it was rejected. Rows are only written through the inserts in QueuedTransactionResultRepository.
+ */
+@Entity
+@Table(name = "queued_transaction_results")
+public class QueuedTransactionResult {
+
+    @Id
+    @Column(name = "tracking_id", updatable = false, nullable = false)
+    private UUID trackingId;
+
+    @Column(name = "transaction_id", updatable = false)
+    private Long transactionId;
+
+    @Column(name = "failure_reason", updatable = false)
+    private String failureReason;
+
+    @Column(nullable = false, updatable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Package-private constructor for Hibernate/JPA
+    QueuedTransactionResult() {
+    }
+
+    public UUID getTrackingId() {
+        return trackingId;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public boolean isCompleted() {
+        return transactionId != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        QueuedTransactionResult that = (QueuedTransactionResult) o;
+        return Objects.equals(trackingId, that.trackingId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(trackingId);
+    }
+}
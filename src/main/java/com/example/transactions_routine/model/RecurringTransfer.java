@@ -0,0 +1,235 @@
+package com.example.transactions_routine.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "recurring_transfers")
+public class RecurringTransfer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(updatable = false, nullable = false)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "source_account_id", nullable = false)
+    private Account sourceAccount;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "destination_account_id", nullable = false)
+    private Account destinationAccount;
+
+    // Always positive, the amount moved on every run
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecurringTransferFrequency frequency;
+
+    @Column(name = "start_at", nullable = false)
+    private LocalDateTime startAt;
+
+    @Column(name = "end_at")
+    private LocalDateTime endAt;
+
+    // Always start_at + run_count * frequency, advanced by the scheduler when a run is claimed
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+
+    @Column(name = "run_count", nullable = false)
+    private int runCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecurringTransferStatus status = RecurringTransferStatus.ACTIVE;
+
+    @Column(nullable = false, updatable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false, name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Package-private constructor for Hibernate/JPA
+    RecurringTransfer() {
+    }
+
+    // Private constructor for builder pattern - forces use of builder
+    private RecurringTransfer(Builder builder) {
+        this.id = builder.id;
+        this.sourceAccount = builder.sourceAccount;
+        this.destinationAccount = builder.destinationAccount;
+        this.amount = builder.amount;
+        this.frequency = builder.frequency;
+        this.startAt = builder.startAt;
+        this.endAt = builder.endAt;
+        this.nextRunAt = builder.nextRunAt == null ? builder.startAt : builder.nextRunAt;
+        this.runCount = builder.runCount;
+        this.status = builder.status == null ? RecurringTransferStatus.ACTIVE : builder.status;
+        this.createdAt = builder.createdAt;
+        this.updatedAt = builder.updatedAt;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        var now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Account getSourceAccount() {
+        return sourceAccount;
+    }
+
+    public Account getDestinationAccount() {
+        return destinationAccount;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public RecurringTransferFrequency getFrequency() {
+        return frequency;
+    }
+
+    public LocalDateTime getStartAt() {
+        return startAt;
+    }
+
+    public LocalDateTime getEndAt() {
+        return endAt;
+    }
+
+    public LocalDateTime getNextRunAt() {
+        return nextRunAt;
+    }
+
+    public int getRunCount() {
+        return runCount;
+    }
+
+    public RecurringTransferStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RecurringTransfer that = (RecurringTransfer) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    public static final class Builder {
+        private Long id;
+        private Account sourceAccount;
+        private Account destinationAccount;
+        private BigDecimal amount;
+        private RecurringTransferFrequency frequency;
+        private LocalDateTime startAt;
+        private LocalDateTime endAt;
+        private LocalDateTime nextRunAt;
+        private int runCount;
+        private RecurringTransferStatus status;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+
+        private Builder() {
+        }
+
+        public Builder id(Long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder sourceAccount(Account sourceAccount) {
+            this.sourceAccount = sourceAccount;
+            return this;
+        }
+
+        public Builder destinationAccount(Account destinationAccount) {
+            this.destinationAccount = destinationAccount;
+            return this;
+        }
+
+        public Builder amount(BigDecimal amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        public Builder frequency(RecurringTransferFrequency frequency) {
+            this.frequency = frequency;
+            return this;
+        }
+
+        public Builder startAt(LocalDateTime startAt) {
+            this.startAt = startAt;
+            return this;
+        }
+
+        public Builder endAt(LocalDateTime endAt) {
+            this.endAt = endAt;
+            return this;
+        }
+
+        public Builder nextRunAt(LocalDateTime nextRunAt) {
+            this.nextRunAt = nextRunAt;
+            return this;
+        }
+
+        public Builder runCount(int runCount) {
+            this.runCount = runCount;
+            return this;
+        }
+
+        public Builder status(RecurringTransferStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder createdAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+            return this;
+        }
+
+        public Builder updatedAt(LocalDateTime updatedAt) {
+            this.updatedAt = updatedAt;
+            return this;
+        }
+
+        public RecurringTransfer build() {
+            return new RecurringTransfer(this);
+        }
+    }
+}
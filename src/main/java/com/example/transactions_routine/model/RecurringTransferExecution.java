@@ -0,0 +1,201 @@
+package com.example.transactions_routine.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "recurring_transfer_executions")
+public class RecurringTransferExecution {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recurring_transfer_executions_id_seq")
+    @SequenceGenerator(name = "recurring_transfer_executions_id_seq", sequenceName = "recurring_transfer_executions_id_seq", allocationSize = 50)
+    @Column(updatable = false, nullable = false)
+    private Long id;
+
+    @Column(name = "recurring_transfer_id", nullable = false, updatable = false)
+    private Long recurringTransferId;
+
+    @Column(name = "scheduled_for", nullable = false, updatable = false)
+    private LocalDateTime scheduledFor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecurringTransferExecutionStatus status;
+
+    @Column(name = "debit_transaction_id")
+    private Long debitTransactionId;
+
+    @Column(name = "credit_transaction_id")
+    private Long creditTransactionId;
+
+    @Column(name = "failure_reason")
+    private String failureReason;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(nullable = false, updatable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Package-private constructor for Hibernate/JPA
+    RecurringTransferExecution() {
+    }
+
+    // Private constructor for builder pattern - forces use of builder
+    private RecurringTransferExecution(Builder builder) {
+        this.id = builder.id;
+        this.recurringTransferId = builder.recurringTransferId;
+        this.scheduledFor = builder.scheduledFor;
+        this.status = builder.status;
+        this.debitTransactionId = builder.debitTransactionId;
+        this.creditTransactionId = builder.creditTransactionId;
+        this.failureReason = builder.failureReason;
+        this.claimedAt = builder.claimedAt;
+        this.createdAt = builder.createdAt;
+        this.updatedAt = builder.updatedAt;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRecurringTransferId() {
+        return recurringTransferId;
+    }
+
+    public LocalDateTime getScheduledFor() {
+        return scheduledFor;
+    }
+
+    public RecurringTransferExecutionStatus getStatus() {
+        return status;
+    }
+
+    public Long getDebitTransactionId() {
+        return debitTransactionId;
+    }
+
+    public Long getCreditTransactionId() {
+        return creditTransactionId;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RecurringTransferExecution that = (RecurringTransferExecution) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    public static final class Builder {
+        private Long id;
+        private Long recurringTransferId;
+        private LocalDateTime scheduledFor;
+        private RecurringTransferExecutionStatus status;
+        private Long debitTransactionId;
+        private Long creditTransactionId;
+        private String failureReason;
+        private LocalDateTime claimedAt;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+
+        private Builder() {
+        }
+
+        public Builder id(Long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder recurringTransferId(Long recurringTransferId) {
+            this.recurringTransferId = recurringTransferId;
+            return this;
+        }
+
+        public Builder scheduledFor(LocalDateTime scheduledFor) {
+            this.scheduledFor = scheduledFor;
+            return this;
+        }
+
+        public Builder status(RecurringTransferExecutionStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder debitTransactionId(Long debitTransactionId) {
+            this.debitTransactionId = debitTransactionId;
+            return this;
+        }
+
+        public Builder creditTransactionId(Long creditTransactionId) {
+            this.creditTransactionId = creditTransactionId;
+            return this;
+        }
+
+        public Builder failureReason(String failureReason) {
+            this.failureReason = failureReason;
+            return this;
+        }
+
+        public Builder claimedAt(LocalDateTime claimedAt) {
+            this.claimedAt = claimedAt;
+            return this;
+        }
+
+        public Builder createdAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+            return this;
+        }
+
+        public Builder updatedAt(LocalDateTime updatedAt) {
+            this.updatedAt = updatedAt;
+            return this;
+        }
+
+        public RecurringTransferExecution build() {
+            return new RecurringTransferExecution(this);
+        }
+    }
+}
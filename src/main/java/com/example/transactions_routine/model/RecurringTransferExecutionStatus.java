@@ -0,0 +1,7 @@
+package com.example.transactions_routine.model;
+
+public enum RecurringTransferExecutionStatus {
+    CLAIMED,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,170 @@
+package com.example.transactions_routine.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "statement_partitions")
+public class StatementPartition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(updatable = false, nullable = false)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDate month;
+
+    // Inclusive account id range
+    @Column(name = "first_account_id", nullable = false, updatable = false)
+    private Long firstAccountId;
+
+    @Column(name = "last_account_id", nullable = false, updatable = false)
+    private Long lastAccountId;
+
+    // Last account whose statement is written, null before the first chunk
+    @Column(name = "checkpoint_account_id")
+    private Long checkpointAccountId;
+
+    @Column(name = "statements_written", nullable = false)
+    private long statementsWritten;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatementPartitionStatus status = StatementPartitionStatus.PENDING;
+
+    @Column(nullable = false, name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Package-private constructor for Hibernate/JPA
+    StatementPartition() {
+    }
+
+    // Private constructor for builder pattern - forces use of builder
+    private StatementPartition(Builder builder) {
+        this.id = builder.id;
+        this.month = builder.month;
+        this.firstAccountId = builder.firstAccountId;
+        this.lastAccountId = builder.lastAccountId;
+        this.checkpointAccountId = builder.checkpointAccountId;
+        this.statementsWritten = builder.statementsWritten;
+        this.status = builder.status == null ? StatementPartitionStatus.PENDING : builder.status;
+        this.updatedAt = builder.updatedAt;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public Long getFirstAccountId() {
+        return firstAccountId;
+    }
+
+    public Long getLastAccountId() {
+        return lastAccountId;
+    }
+
+    public Long getCheckpointAccountId() {
+        return checkpointAccountId;
+    }
+
+    public long getStatementsWritten() {
+        return statementsWritten;
+    }
+
+    public StatementPartitionStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StatementPartition that = (StatementPartition) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    public static final class Builder {
+        private Long id;
+        private LocalDate month;
+        private Long firstAccountId;
+        private Long lastAccountId;
+        private Long checkpointAccountId;
+        private long statementsWritten;
+        private StatementPartitionStatus status;
+        private LocalDateTime updatedAt;
+
+        private Builder() {
+        }
+
+        public Builder id(Long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder month(LocalDate month) {
+            this.month = month;
+            return this;
+        }
+
+        public Builder firstAccountId(Long firstAccountId) {
+            this.firstAccountId = firstAccountId;
+            return this;
+        }
+
+        public Builder lastAccountId(Long lastAccountId) {
+            this.lastAccountId = lastAccountId;
+            return this;
+        }
+
+        public Builder checkpointAccountId(Long checkpointAccountId) {
+            this.checkpointAccountId = checkpointAccountId;
+            return this;
+        }
+
+        public Builder statementsWritten(long statementsWritten) {
+            this.statementsWritten = statementsWritten;
+            return this;
+        }
+
+        public Builder status(StatementPartitionStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder updatedAt(LocalDateTime updatedAt) {
+            this.updatedAt = updatedAt;
+            return this;
+        }
+
+        public StatementPartition build() {
+            return new StatementPartition(this);
+        }
+    }
+}
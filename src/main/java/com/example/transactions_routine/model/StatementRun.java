@@ -0,0 +1,111 @@
+package com.example.transactions_routine.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "statement_runs")
+public class StatementRun {
+
+    // First day of the month the statements cover
+    @Id
+    @Column(updatable = false, nullable = false)
+    private LocalDate month;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatementRunStatus status = StatementRunStatus.RUNNING;
+
+    @Column(nullable = false, updatable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Package-private constructor for Hibernate/JPA
+    StatementRun() {
+    }
+
+    // Private constructor for builder pattern - forces use of builder
+    private StatementRun(Builder builder) {
+        this.month = builder.month;
+        this.status = builder.status == null ? StatementRunStatus.RUNNING : builder.status;
+        this.createdAt = builder.createdAt;
+        this.completedAt = builder.completedAt;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public StatementRunStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StatementRun that = (StatementRun) o;
+        return Objects.equals(month, that.month);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(month);
+    }
+
+    public static final class Builder {
+        private LocalDate month;
+        private StatementRunStatus status;
+        private LocalDateTime createdAt;
+        private LocalDateTime completedAt;
+
+        private Builder() {
+        }
+
+        public Builder month(LocalDate month) {
+            this.month = month;
+            return this;
+        }
+
+        public Builder status(StatementRunStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder createdAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+            return this;
+        }
+
+        public Builder completedAt(LocalDateTime completedAt) {
+            this.completedAt = completedAt;
+            return this;
+        }
+
+        public StatementRun build() {
+            return new StatementRun(this);
+        }
+    }
+}
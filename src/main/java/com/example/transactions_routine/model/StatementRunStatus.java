@@ -0,0 +1,6 @@
+package com.example.transactions_routine.model;
+
+public enum StatementRunStatus {
+    RUNNING,
+    COMPLETED
+}
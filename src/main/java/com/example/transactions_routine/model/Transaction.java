@@ -11,7 +11,8 @@ import java.util.Objects;
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_id_seq")
+    @SequenceGenerator(name = "transactions_id_seq", sequenceName = "transactions_id_seq", allocationSize = 50)
     @Column(updatable = false, nullable = false)
     private Long id;
 
@@ -29,6 +30,10 @@ public class Transaction {
     @Column(name = "event_date", nullable = false)
     private LocalDateTime eventDate;
 
+    // The account's booked balance right after this transaction, null when it is not known
+    @Column(name = "balance_after", updatable = false, precision = 10, scale = 2)
+    private BigDecimal balanceAfter;
+
     @Column(nullable = false, updatable = false, name = "created_at")
     private LocalDateTime createdAt;
 
@@ -46,6 +51,7 @@ public class Transaction {
         this.operationType = builder.operationType;
         this.amount = builder.amount;
         this.eventDate = builder.eventDate;
+        this.balanceAfter = builder.balanceAfter;
         this.createdAt = builder.createdAt;
         this.updatedAt = builder.updatedAt;
     }
@@ -89,6 +95,10 @@ public class Transaction {
         return eventDate;
     }
 
+    public BigDecimal getBalanceAfter() {
+        return balanceAfter;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -117,6 +127,7 @@ public class Transaction {
         private OperationType operationType;
         private BigDecimal amount;
         private LocalDateTime eventDate;
+        private BigDecimal balanceAfter;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
 
@@ -148,6 +159,11 @@ public class Transaction {
             return this;
         }
 
+        public Builder balanceAfter(BigDecimal balanceAfter) {
+            this.balanceAfter = balanceAfter;
+            return this;
+        }
+
         public Builder createdAt(LocalDateTime createdAt) {
             this.createdAt = createdAt;
             return this;
@@ -0,0 +1,9 @@
+package com.example.transactions_routine.repository;
+
+import java.math.BigDecimal;
+
+public record AccountAmount(
+        Long accountId,
+        BigDecimal amount
+) {
+}
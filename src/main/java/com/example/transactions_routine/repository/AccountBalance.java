@@ -0,0 +1,13 @@
+package com.example.transactions_routine.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * An account and its balance right after a balance update, see
+ * {@link AccountRepository#RETURNING_BALANCE_AFTER}.
+ */
+public interface AccountBalance {
+    Long getId();
+
+    BigDecimal getBalance();
+}
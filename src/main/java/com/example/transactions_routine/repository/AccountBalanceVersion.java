@@ -0,0 +1,6 @@
+package com.example.transactions_routine.repository;
+
+import java.math.BigDecimal;
+
+public record AccountBalanceVersion(BigDecimal balance, Long version) {
+}
@@ -0,0 +1,32 @@
+package com.example.transactions_routine.repository;
+
+import com.example.transactions_routine.model.AccountDailyLimit;
+import com.example.transactions_routine.model.AccountDailyLimitId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface AccountDailyLimitRepository extends JpaRepository<AccountDailyLimit, AccountDailyLimitId> {
+
+    List<AccountDailyLimit> findByIdAccountId(Long accountId);
+
+    /**
+     * Sets the account's own limit for an operation type, keeping today's usage.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+                INSERT INTO account_daily_limits (account_id, operation_type_id, daily_limit)
+                VALUES (:accountId, :operationTypeId, :dailyLimit)
+                ON CONFLICT (account_id, operation_type_id)
+                DO UPDATE SET daily_limit = EXCLUDED.daily_limit
+            """, nativeQuery = true)
+    int setDailyLimit(@Param("accountId") Long accountId,
+                      @Param("operationTypeId") Long operationTypeId,
+                      @Param("dailyLimit") BigDecimal dailyLimit);
+}
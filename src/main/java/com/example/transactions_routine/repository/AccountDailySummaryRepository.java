@@ -0,0 +1,95 @@
+package com.example.transactions_routine.repository;
+
+import com.example.transactions_routine.model.AccountDailySummary;
+import com.example.transactions_routine.model.AccountDailySummaryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AccountDailySummaryRepository extends JpaRepository<AccountDailySummary, AccountDailySummaryId> {
+
+    @Modifying
+    @Query(value = """
+                INSERT INTO account_daily_summaries (account_id, day, operation_type_id, total_amount, transaction_count)
+                VALUES (:accountId, :day, :operationTypeId, :amount, 1)
+                ON CONFLICT (account_id, day, operation_type_id) DO UPDATE
+                   SET total_amount      = account_daily_summaries.total_amount + EXCLUDED.total_amount,
+                       transaction_count = account_daily_summaries.transaction_count + EXCLUDED.transaction_count
+            """, nativeQuery = true)
+    int addTransaction(@Param("accountId") Long accountId,
+                       @Param("day") LocalDate day,
+                       @Param("operationTypeId") Long operationTypeId,
+                       @Param("amount") BigDecimal amount);
+
+    /**
+     * Rolls up already persisted transactions in one statement. Rows are upserted in key
+     * order so concurrent batches touching the same accounts cannot deadlock.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+                INSERT INTO account_daily_summaries (account_id, day, operation_type_id, total_amount, transaction_count)
+                SELECT account_id, CAST(event_date AS DATE), operation_type_id, SUM(amount), COUNT(*)
+                  FROM transactions
+                 WHERE id IN (:transactionIds)
+                 GROUP BY account_id, CAST(event_date AS DATE), operation_type_id
+                 ORDER BY 1, 2, 3
+                ON CONFLICT (account_id, day, operation_type_id) DO UPDATE
+                   SET total_amount      = account_daily_summaries.total_amount + EXCLUDED.total_amount,
+                       transaction_count = account_daily_summaries.transaction_count + EXCLUDED.transaction_count
+            """, nativeQuery = true)
+    int addTransactions(@Param("transactionIds") Collection<Long> transactionIds);
+
+    /**
+     * Rolls up installments posted today, matching the transactions booked for them.
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO account_daily_summaries (account_id, day, operation_type_id, total_amount, transaction_count)
+                SELECT i.account_id, CAST(CURRENT_TIMESTAMP AS DATE), p.operation_type_id, SUM(i.amount), COUNT(*)
+                  FROM installments i
+                  JOIN installment_plans p ON p.id = i.installment_plan_id
+                 WHERE i.id IN (:installmentIds)
+                 GROUP BY i.account_id, p.operation_type_id
+                 ORDER BY 1, 3
+                ON CONFLICT (account_id, day, operation_type_id) DO UPDATE
+                   SET total_amount      = account_daily_summaries.total_amount + EXCLUDED.total_amount,
+                       transaction_count = account_daily_summaries.transaction_count + EXCLUDED.transaction_count
+            """, nativeQuery = true)
+    int addInstallments(@Param("installmentIds") Collection<Long> installmentIds);
+
+    /**
+     * Sum of everything booked before {@code day} per account of the id range, from the daily
+     * rollup instead of the transactions. Accounts without any are absent.
+     */
+    @Query("""
+                SELECT new com.example.transactions_routine.repository.AccountAmount(s.id.accountId, SUM(s.totalAmount))
+                  FROM AccountDailySummary s
+                 WHERE s.id.accountId BETWEEN :firstAccountId AND :lastAccountId
+                   AND s.id.day < :day
+                 GROUP BY s.id.accountId
+            """)
+    List<AccountAmount> sumBefore(@Param("firstAccountId") Long firstAccountId,
+                                  @Param("lastAccountId") Long lastAccountId,
+                                  @Param("day") LocalDate day);
+
+    @Query("""
+                SELECT new com.example.transactions_routine.repository.OperationTypeTotal(
+                           s.id.operationTypeId, SUM(s.totalAmount), SUM(s.transactionCount))
+                  FROM AccountDailySummary s
+                 WHERE s.id.accountId = :accountId
+                   AND s.id.day BETWEEN :from AND :to
+                 GROUP BY s.id.operationTypeId
+                 ORDER BY s.id.operationTypeId
+            """)
+    List<OperationTypeTotal> sumByOperationType(@Param("accountId") Long accountId,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to);
+}
@@ -2,6 +2,7 @@
 package com.example.transactions_routine.repository;
 
 import com.example.transactions_routine.model.Account;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,36 +10,367 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByDocumentNumber(String documentNumber);
 
+    /**
+     * Looks up many accounts in one statement. The ids are bound as a single array parameter, so
+     * every batch size shares one prepared statement. Unknown ids are simply absent from the result.
+     */
+    @Query(value = """
+                SELECT a.id,
+                       a.document_number AS "documentNumber",
+                       a.balance + CASE WHEN a.balance_slots > 0
+                                        THEN (SELECT COALESCE(SUM(s.balance), 0)
+                                                FROM account_balance_slots s
+                                               WHERE s.account_id = a.id)
+                                        ELSE 0
+                                    END AS balance,
+                       a.held_amount     AS "heldAmount"
+                  FROM accounts a
+                 WHERE a.id = ANY(CAST(:ids AS BIGINT[]))
+            """, nativeQuery = true)
+    List<AccountView> findAllViewsById(@Param("ids") Long[] ids);
+
+    @Query("SELECT MIN(a.id) FROM Account a")
+    Long findMinId();
+
+    @Query("SELECT MAX(a.id) FROM Account a")
+    Long findMaxId();
+
+    /**
+     * The next accounts after {@code afterId}, up to {@code lastId} inclusive, that already existed
+     * before {@code createdBefore}, in id order.
+     */
+    @Query("""
+                SELECT new com.example.transactions_routine.repository.StatementAccount(a.id, a.documentNumber)
+                  FROM Account a
+                 WHERE a.id > :afterId
+                   AND a.id <= :lastId
+                   AND (a.createdAt IS NULL OR a.createdAt < :createdBefore)
+                 ORDER BY a.id
+            """)
+    List<StatementAccount> findStatementAccounts(@Param("afterId") Long afterId,
+                                                 @Param("lastId") Long lastId,
+                                                 @Param("createdBefore") LocalDateTime createdBefore,
+                                                 Limit limit);
+
     @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.account.id = :accountId")
     BigDecimal getAccountBalance(@Param("accountId") Long accountId);
 
     /**
-     * Return 1 if updated, 0 if insufficient funds.
+     * Returns the id and, as {@code balance}, the booked balance of the updated account row
+     * {@code a}: available plus held plus whatever sits in its balance slots. Every balance update
+     * returns it as of its own change, and it is stored as the {@code balance_after} of the
+     * transaction that change books.
+     */
+    String RETURNING_BALANCE_AFTER = """
+                    RETURNING a.id,
+                              a.balance + a.held_amount
+                              + CASE WHEN a.balance_slots > 0
+                                     THEN (SELECT COALESCE(SUM(s.balance), 0)
+                                             FROM account_balance_slots s
+                                            WHERE s.account_id = a.id)
+                                     ELSE 0
+                                 END AS balance
+            """;
+
+    /**
+     * Return the account's balance after the update, see {@link #RETURNING_BALANCE_AFTER}, or
+     * empty if there is no such account.
+     */
+    @Query(value = """
+                WITH updated AS (
+                    UPDATE accounts a
+                       SET balance    = a.balance + :amount,
+                           version    = a.version + 1,
+                           updated_at = CURRENT_TIMESTAMP
+                     WHERE a.id = :accountId
+            """ + RETURNING_BALANCE_AFTER + """
+                )
+                SELECT balance FROM updated
+            """, nativeQuery = true)
+    Optional<BigDecimal> updateBalance(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Return the account's balance after the update, see {@link #RETURNING_BALANCE_AFTER}, or
+     * empty if the funds are insufficient.
+     */
+    @Query(value = """
+                WITH updated AS (
+                    UPDATE accounts a
+                       SET balance    = a.balance + :amount,
+                           version    = a.version + 1,
+                           updated_at = CURRENT_TIMESTAMP
+                     WHERE a.id = :accountId
+                       AND a.balance + :amount >= 0
+            """ + RETURNING_BALANCE_AFTER + """
+                )
+                SELECT balance FROM updated
+            """, nativeQuery = true)
+    Optional<BigDecimal> updateBalanceWithCheck(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * {@link #updateBalanceWithCheck} for an operation type under a daily limit: the usage counter
+     * is checked and incremented in the same statement, guarded by the account's own limit or
+     * {@code defaultLimit}. Usage from a day before {@code today} counts as zero. The account row
+     * is locked and its funds checked first, so a debit rejected for insufficient funds leaves the
+     * counter untouched; every CTE runs to completion whatever the others return. The counter row
+     * is locked by the upsert, so concurrent debits on one account cannot overshoot the limit.
+     * Return the account's balance after the update, or empty if the funds are insufficient or
+     * the debit is over the daily limit.
+     */
+    @Query(value = """
+                WITH funded AS (
+                    SELECT id
+                      FROM accounts
+                     WHERE id = :accountId
+                       AND balance + :amount >= 0
+                       FOR UPDATE
+                ), usage AS (
+                    INSERT INTO account_daily_limits AS l (account_id, operation_type_id, usage_date, used_amount)
+                    SELECT f.id, :operationTypeId, :today, -:amount
+                      FROM funded f
+                     WHERE -:amount <= :defaultLimit
+                        OR EXISTS (SELECT 1
+                                     FROM account_daily_limits
+                                    WHERE account_id = :accountId
+                                      AND operation_type_id = :operationTypeId)
+                    ON CONFLICT (account_id, operation_type_id) DO UPDATE
+                       SET used_amount = CASE WHEN l.usage_date = EXCLUDED.usage_date THEN l.used_amount ELSE 0 END
+                                         + EXCLUDED.used_amount,
+                           usage_date  = EXCLUDED.usage_date
+                     WHERE CASE WHEN l.usage_date = EXCLUDED.usage_date THEN l.used_amount ELSE 0 END
+                           + EXCLUDED.used_amount <= COALESCE(l.daily_limit, :defaultLimit)
+                    RETURNING 1
+                ), updated AS (
+                    UPDATE accounts a
+                       SET balance    = a.balance + :amount,
+                           version    = a.version + 1,
+                           updated_at = CURRENT_TIMESTAMP
+                     WHERE a.id = :accountId
+                       AND a.balance + :amount >= 0
+                       AND EXISTS (SELECT 1 FROM usage)
+            """ + RETURNING_BALANCE_AFTER + """
+                )
+                SELECT balance FROM updated
+            """, nativeQuery = true)
+    Optional<BigDecimal> updateBalanceWithDailyLimit(@Param("accountId") Long accountId,
+                                    @Param("amount") BigDecimal amount,
+                                    @Param("operationTypeId") Long operationTypeId,
+                                    @Param("today") LocalDate today,
+                                    @Param("defaultLimit") BigDecimal defaultLimit);
+
+    /**
+     * Balance and version as last committed, read without locking the row.
+     */
+    @Query("""
+                SELECT new com.example.transactions_routine.repository.AccountBalanceVersion(a.balance, a.version)
+                  FROM Account a
+                 WHERE a.id = :accountId
+            """)
+    Optional<AccountBalanceVersion> findBalanceAndVersion(@Param("accountId") Long accountId);
+
+    /**
+     * Return the account's balance after the update, or empty if the account changed since
+     * {@code version} was read.
+     */
+    @Query(value = """
+                WITH updated AS (
+                    UPDATE accounts a
+                       SET balance    = a.balance + :amount,
+                           version    = a.version + 1,
+                           updated_at = CURRENT_TIMESTAMP
+                     WHERE a.id      = :accountId
+                       AND a.version = :version
+            """ + RETURNING_BALANCE_AFTER + """
+                )
+                SELECT balance FROM updated
+            """, nativeQuery = true)
+    Optional<BigDecimal> updateBalanceIfVersion(@Param("accountId") Long accountId,
+                               @Param("amount") BigDecimal amount,
+                               @Param("version") Long version);
+
+    /**
+     * Locks the account row until the end of the transaction and returns its balance.
+     */
+    @Query(value = "SELECT balance FROM accounts WHERE id = :accountId FOR UPDATE", nativeQuery = true)
+    Optional<BigDecimal> lockBalanceById(@Param("accountId") Long accountId);
+
+    /**
+     * Moves an amount from the available balance to the held amount.
+     * Return 1 if reserved, 0 if insufficient funds.
      */
     @Modifying
     @Query("""
                 UPDATE Account a
-                   SET a.balance   = a.balance + :amount,
-                       a.updatedAt = CURRENT_TIMESTAMP
-                 WHERE a.id        = :accountId
+                   SET a.balance    = a.balance - :amount,
+                       a.heldAmount = a.heldAmount + :amount,
+                       a.version    = a.version + 1,
+                       a.updatedAt  = CURRENT_TIMESTAMP
+                 WHERE a.id         = :accountId
+                   AND a.balance - :amount >= 0
             """)
-    int updateBalance(Long accountId, BigDecimal amount);
+    int reserve(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Settles a hold: drops {@code heldAmount} from the held amount and gives
+     * {@code releasedAmount} (the part that was not captured) back to the available balance.
+     * Return the account's balance after the update, which a capture books as its balance after.
+     */
+    @Query(value = """
+                WITH updated AS (
+                    UPDATE accounts a
+                       SET balance     = a.balance + :releasedAmount,
+                           held_amount = a.held_amount - :heldAmount,
+                           version     = a.version + 1,
+                           updated_at  = CURRENT_TIMESTAMP
+                     WHERE a.id = :accountId
+            """ + RETURNING_BALANCE_AFTER + """
+                )
+                SELECT balance FROM updated
+            """, nativeQuery = true)
+    Optional<BigDecimal> settleHold(@Param("accountId") Long accountId,
+                   @Param("heldAmount") BigDecimal heldAmount,
+                   @Param("releasedAmount") BigDecimal releasedAmount);
+
+    /**
+     * Locks the given accounts in ascending id order and returns the ids that exist.
+     * A consistent lock order keeps concurrent multi-account writes from deadlocking.
+     */
+    @Query(value = "SELECT id FROM accounts WHERE id IN (:accountIds) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockAllByIdOrderById(@Param("accountIds") Collection<Long> accountIds);
+
+    /**
+     * {@link #lockAllByIdOrderById}, except that split accounts are not locked: their credits go to
+     * a balance slot and their debits lock the row on their own. Returns the ids that exist.
+     */
+    @Query(value = """
+                SELECT id
+                  FROM (SELECT id
+                          FROM accounts
+                         WHERE id IN (:accountIds)
+                           AND balance_slots = 0
+                         ORDER BY id
+                           FOR UPDATE) unsplit
+                UNION ALL
+                SELECT id
+                  FROM accounts
+                 WHERE id IN (:accountIds)
+                   AND balance_slots > 0
+            """, nativeQuery = true)
+    List<Long> lockAllUnsplitByIdOrderById(@Param("accountIds") Collection<Long> accountIds);
 
     @Modifying
     @Query("""
                 UPDATE Account a
-                   SET a.balance   = a.balance + :amount,
-                       a.updatedAt = CURRENT_TIMESTAMP
-                 WHERE a.id        = :accountId
-                   AND a.balance + :amount >= 0
+                   SET a.balanceSlots = :balanceSlots,
+                       a.updatedAt    = CURRENT_TIMESTAMP
+                 WHERE a.id           = :accountId
             """)
-    int updateBalanceWithCheck(Long accountId, BigDecimal amount);
+    int updateBalanceSlots(@Param("accountId") Long accountId, @Param("balanceSlots") int balanceSlots);
+
+    /**
+     * Creates the missing balance slots 0 to {@code balanceSlots - 1} of an account, empty.
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO account_balance_slots (account_id, slot, balance, updated_at)
+                SELECT :accountId, slot, 0, CURRENT_TIMESTAMP
+                  FROM generate_series(0, :balanceSlots - 1) AS slot
+                ON CONFLICT (account_id, slot) DO NOTHING
+            """, nativeQuery = true)
+    int insertBalanceSlots(@Param("accountId") Long accountId, @Param("balanceSlots") int balanceSlots);
+
+    /**
+     * Credits one balance slot of a split account. Return 0 if the slot no longer exists because the
+     * account was merged meanwhile; the credit then belongs on the account row.
+     */
+    @Modifying
+    @Query(value = """
+                UPDATE account_balance_slots
+                   SET balance    = balance + :amount,
+                       updated_at = CURRENT_TIMESTAMP
+                 WHERE account_id = :accountId
+                   AND slot       = :slot
+            """, nativeQuery = true)
+    int creditBalanceSlot(@Param("accountId") Long accountId, @Param("slot") int slot, @Param("amount") BigDecimal amount);
 
+    /**
+     * Moves everything credited to the balance slots of a split account into its account row, so a
+     * debit can draw on it. Return 1 if anything was moved, 0 if the slots were empty.
+     */
+    @Modifying
+    @Query(value = """
+                WITH credited AS (
+                    SELECT slot, balance
+                      FROM account_balance_slots
+                     WHERE account_id = :accountId
+                       AND balance > 0
+                       FOR UPDATE
+                ), swept AS (
+                    UPDATE account_balance_slots s
+                       SET balance    = 0,
+                           updated_at = CURRENT_TIMESTAMP
+                      FROM credited c
+                     WHERE s.account_id = :accountId
+                       AND s.slot       = c.slot
+                    RETURNING c.balance
+                )
+                UPDATE accounts a
+                   SET balance    = a.balance + (SELECT SUM(balance) FROM swept),
+                       version    = a.version + 1,
+                       updated_at = CURRENT_TIMESTAMP
+                 WHERE a.id = :accountId
+                   AND EXISTS (SELECT 1 FROM swept)
+            """, nativeQuery = true)
+    int sweepBalanceSlots(@Param("accountId") Long accountId);
+
+    /**
+     * Deletes the balance slots from {@code fromSlot} on, adding what they held to the account row.
+     */
+    @Modifying
+    @Query(value = """
+                WITH removed AS (
+                    DELETE FROM account_balance_slots
+                     WHERE account_id = :accountId
+                       AND slot      >= :fromSlot
+                    RETURNING balance
+                )
+                UPDATE accounts a
+                   SET balance    = a.balance + COALESCE((SELECT SUM(balance) FROM removed), 0),
+                       version    = a.version + 1,
+                       updated_at = CURRENT_TIMESTAMP
+                 WHERE a.id = :accountId
+            """, nativeQuery = true)
+    int mergeBalanceSlots(@Param("accountId") Long accountId, @Param("fromSlot") int fromSlot);
+
+    /**
+     * Credits every account with the sum of its amounts, {@code amounts[i]} going to
+     * {@code accountIds[i]}, in a single set-wise statement. Return each credited account with its
+     * balance after the update, see {@link #RETURNING_BALANCE_AFTER}.
+     */
+    @Query(value = """
+                WITH updated AS (
+                    UPDATE accounts a
+                       SET balance    = a.balance + c.amount,
+                           version    = a.version + 1,
+                           updated_at = CURRENT_TIMESTAMP
+                      FROM (SELECT account_id, SUM(amount) AS amount
+                              FROM unnest(CAST(:accountIds AS BIGINT[]), CAST(:amounts AS NUMERIC[])) AS l(account_id, amount)
+                             GROUP BY account_id) c
+                     WHERE a.id = c.account_id
+            """ + RETURNING_BALANCE_AFTER + """
+                )
+                SELECT id, balance FROM updated
+            """, nativeQuery = true)
+    List<AccountBalance> creditAll(@Param("accountIds") Long[] accountIds, @Param("amounts") BigDecimal[] amounts);
 
 }
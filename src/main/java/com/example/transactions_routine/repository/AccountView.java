@@ -0,0 +1,16 @@
+package com.example.transactions_routine.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only projection of an account row, for lookups that never modify the account.
+ */
+public interface AccountView {
+    Long getId();
+
+    String getDocumentNumber();
+
+    BigDecimal getBalance();
+
+    BigDecimal getHeldAmount();
+}
@@ -0,0 +1,208 @@
+package com.example.transactions_routine.repository;
+
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.UncategorizedSQLException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Rows in the text format of {@code COPY ... FROM STDIN}: tab separated columns, one row per line.
+ * Numbers, amounts and timestamps are formatted straight into a byte buffer without allocating.
+ * Rows bound to a running COPY are sent to the server whenever the buffer fills up; unbound rows
+ * are kept in memory until they are copied as a whole.
+ */
+public final class CopyRows {
+
+    private static final int FLUSH_BYTES = 1 << 20;
+    private static final long MICROS_PER_DAY = 86_400_000_000L;
+    private static final byte[] NULL = {'\\', 'N'};
+
+    private final CopyIn target;
+    private byte[] buffer;
+    private int length;
+    private boolean rowStarted;
+    private long cachedDay = Long.MIN_VALUE;
+    private final byte[] cachedDate = new byte[10];
+
+    public CopyRows() {
+        this(null);
+    }
+
+    CopyRows(CopyIn target) {
+        this.target = target;
+        this.buffer = new byte[target == null ? 8192 : FLUSH_BYTES + 1024];
+    }
+
+    public CopyRows column(long value) {
+        separator();
+        writeLong(value);
+        return this;
+    }
+
+    public CopyRows column(boolean value) {
+        separator();
+        write(value ? (byte) 't' : (byte) 'f');
+        return this;
+    }
+
+    public CopyRows column(String value) {
+        separator();
+        for (var b : value.getBytes(StandardCharsets.UTF_8)) {
+            switch (b) {
+                case '\\' -> write2('\\', '\\');
+                case '\t' -> write2('\\', 't');
+                case '\n' -> write2('\\', 'n');
+                case '\r' -> write2('\\', 'r');
+                default -> write(b);
+            }
+        }
+        return this;
+    }
+
+    public CopyRows nullColumn() {
+        separator();
+        ensureCapacity(NULL.length);
+        System.arraycopy(NULL, 0, buffer, length, NULL.length);
+        length += NULL.length;
+        return this;
+    }
+
+    /**
+     * An amount in cents, written with two decimal places.
+     */
+    public CopyRows amount(long cents) {
+        separator();
+        if (cents < 0) {
+            write((byte) '-');
+            cents = -cents;
+        }
+        writeLong(cents / 100);
+        ensureCapacity(3);
+        buffer[length++] = '.';
+        writeDigits((int) (cents % 100), 2);
+        return this;
+    }
+
+    public CopyRows date(long epochDay) {
+        separator();
+        writeDate(epochDay);
+        return this;
+    }
+
+    /**
+     * A timestamp without time zone, given in microseconds since 1970-01-01T00:00.
+     */
+    public CopyRows timestamp(long epochMicros) {
+        separator();
+        var day = Math.floorDiv(epochMicros, MICROS_PER_DAY);
+        var micros = Math.floorMod(epochMicros, MICROS_PER_DAY);
+        writeDate(day);
+        var seconds = (int) (micros / 1_000_000);
+        ensureCapacity(16);
+        buffer[length++] = ' ';
+        writeDigits(seconds / 3600, 2);
+        buffer[length++] = ':';
+        writeDigits(seconds / 60 % 60, 2);
+        buffer[length++] = ':';
+        writeDigits(seconds % 60, 2);
+        buffer[length++] = '.';
+        writeDigits((int) (micros % 1_000_000), 6);
+        return this;
+    }
+
+    public void endRow() {
+        write((byte) '\n');
+        rowStarted = false;
+        if (target != null && length >= FLUSH_BYTES) {
+            flush();
+        }
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    void append(CopyRows rows) {
+        ensureCapacity(rows.length);
+        System.arraycopy(rows.buffer, 0, buffer, length, rows.length);
+        length += rows.length;
+    }
+
+    void flush() {
+        if (length == 0) {
+            return;
+        }
+        try {
+            target.writeToCopy(buffer, 0, length);
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("COPY", null, e);
+        }
+        length = 0;
+    }
+
+    private void separator() {
+        if (rowStarted) {
+            write((byte) '\t');
+        }
+        rowStarted = true;
+    }
+
+    private void writeDate(long epochDay) {
+        if (epochDay != cachedDay) {
+            var date = LocalDate.ofEpochDay(epochDay).toString();
+            for (int i = 0; i < cachedDate.length; i++) {
+                cachedDate[i] = (byte) date.charAt(i);
+            }
+            cachedDay = epochDay;
+        }
+        ensureCapacity(cachedDate.length);
+        System.arraycopy(cachedDate, 0, buffer, length, cachedDate.length);
+        length += cachedDate.length;
+    }
+
+    private void writeLong(long value) {
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[length++] = '-';
+            value = -value;
+        }
+        var start = length;
+        do {
+            buffer[length++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            var swap = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = swap;
+        }
+    }
+
+    private void writeDigits(int value, int digits) {
+        for (int i = length + digits - 1; i >= length; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    private void write(byte b) {
+        ensureCapacity(1);
+        buffer[length++] = b;
+    }
+
+    private void write2(char first, char second) {
+        ensureCapacity(2);
+        buffer[length++] = (byte) first;
+        buffer[length++] = (byte) second;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+}
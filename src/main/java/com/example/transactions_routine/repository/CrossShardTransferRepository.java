@@ -0,0 +1,72 @@
+package com.example.transactions_routine.repository;
+
+import com.example.transactions_routine.model.CrossShardTransfer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface CrossShardTransferRepository extends JpaRepository<CrossShardTransfer, UUID> {
+
+    @Query(value = """
+                SELECT id
+                  FROM cross_shard_transfers
+                 WHERE status = 'PENDING'
+                   AND created_at < :before
+                 ORDER BY created_at
+                 LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findPendingIds(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    /**
+     * Return 1 if the transfer was pending and is now completed, 0 otherwise.
+     */
+    @Modifying
+    @Query("""
+                UPDATE CrossShardTransfer t
+                   SET t.status              = com.example.transactions_routine.model.CrossShardTransferStatus.COMPLETED,
+                       t.creditTransactionId = :creditTransactionId,
+                       t.updatedAt           = CURRENT_TIMESTAMP
+                 WHERE t.id     = :id
+                   AND t.status = com.example.transactions_routine.model.CrossShardTransferStatus.PENDING
+            """)
+    int markCompleted(@Param("id") UUID id, @Param("creditTransactionId") Long creditTransactionId);
+
+    /**
+     * Return 1 if the transfer was pending and is now compensated, 0 otherwise.
+     */
+    @Modifying
+    @Query("""
+                UPDATE CrossShardTransfer t
+                   SET t.status        = com.example.transactions_routine.model.CrossShardTransferStatus.COMPENSATED,
+                       t.failureReason = :failureReason,
+                       t.updatedAt     = CURRENT_TIMESTAMP
+                 WHERE t.id     = :id
+                   AND t.status = com.example.transactions_routine.model.CrossShardTransferStatus.PENDING
+            """)
+    int markCompensated(@Param("id") UUID id, @Param("failureReason") String failureReason);
+
+    /**
+     * The credit already applied for a transfer on this (destination) shard, if any.
+     */
+    @Query(value = "SELECT credit_transaction_id FROM cross_shard_transfer_credits WHERE transfer_id = :transferId", nativeQuery = true)
+    Optional<Long> findCreditTransactionId(@Param("transferId") UUID transferId);
+
+    /**
+     * Records the credit of a transfer on this (destination) shard. Fails with a duplicate key if
+     * the transfer was already credited, rolling back the second credit.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+                INSERT INTO cross_shard_transfer_credits (transfer_id, credit_transaction_id, created_at)
+                VALUES (:transferId, :creditTransactionId, CURRENT_TIMESTAMP)
+            """, nativeQuery = true)
+    int insertCredit(@Param("transferId") UUID transferId, @Param("creditTransactionId") Long creditTransactionId);
+}
@@ -0,0 +1,182 @@
+package com.example.transactions_routine.repository;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk loading of generated datasets with {@code COPY ... FROM STDIN}, which streams rows into a
+ * table without parsing, planning or a round trip per row. Every COPY runs on the connection of
+ * the surrounding Spring transaction, so it commits or rolls back together with it.
+ */
+@Repository
+@Profile("!in-memory")
+public class DatasetRepository {
+
+    private static final String COPY_OPERATION_TYPES =
+            "COPY operation_types (description, credit, created_at, updated_at) FROM STDIN";
+    private static final String COPY_ACCOUNTS =
+            "COPY accounts (id, document_number, balance, created_at, updated_at) FROM STDIN";
+    private static final String COPY_TRANSACTIONS =
+            "COPY transactions (id, account_id, operation_type_id, amount, event_date, created_at, updated_at, balance_after) FROM STDIN";
+    private static final String COPY_DAILY_SUMMARIES =
+            "COPY account_daily_summaries (account_id, day, operation_type_id, total_amount, transaction_count) FROM STDIN";
+
+    private final JdbcClient jdbcClient;
+    private final DataSource dataSource;
+
+    public DatasetRepository(JdbcClient jdbcClient, DataSource dataSource) {
+        this.jdbcClient = jdbcClient;
+        this.dataSource = dataSource;
+    }
+
+    public Map<String, Long> findOperationTypeIds() {
+        return jdbcClient.sql("SELECT id, description FROM operation_types ORDER BY id")
+                .query((rs, rowNum) -> Map.entry(rs.getString("description"), rs.getLong("id")))
+                .list()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (first, second) -> first));
+    }
+
+    /**
+     * The first account id nothing has used yet, neither a row nor the id sequence.
+     */
+    public long findNextAccountId() {
+        return jdbcClient.sql("""
+                        SELECT GREATEST(COALESCE(MAX(id), 0), (SELECT last_value FROM accounts_id_seq)) + 1
+                          FROM accounts
+                        """)
+                .query(Long.class)
+                .single();
+    }
+
+    /**
+     * The first transaction id nothing has used yet. Ids up to the sequence value may already be
+     * handed out in blocks to running instances, so it starts above it.
+     */
+    public long findNextTransactionId() {
+        return jdbcClient.sql("""
+                        SELECT GREATEST(COALESCE(MAX(id), 0), (SELECT last_value FROM transactions_id_seq)) + 1
+                          FROM transactions
+                        """)
+                .query(Long.class)
+                .single();
+    }
+
+    /**
+     * Moves both id sequences past the given ids, so rows inserted afterwards do not collide
+     * with the loaded ones. A sequence already further ahead is left alone.
+     */
+    public void advanceSequences(long lastAccountId, long lastTransactionId) {
+        jdbcClient.sql("SELECT setval('accounts_id_seq', GREATEST(:id, (SELECT last_value FROM accounts_id_seq)))")
+                .param("id", lastAccountId)
+                .query(Long.class)
+                .single();
+        jdbcClient.sql("SELECT setval('transactions_id_seq', GREATEST(:id, (SELECT last_value FROM transactions_id_seq)))")
+                .param("id", lastTransactionId)
+                .query(Long.class)
+                .single();
+    }
+
+    /**
+     * Drops the secondary indexes and foreign keys of transactions, which would otherwise be
+     * maintained row by row while loading. Return the statements that create them again.
+     */
+    public List<String> dropTransactionIndexes() {
+        var indexes = jdbcClient.sql("""
+                        SELECT CAST(i.indexrelid AS regclass)::text AS name, pg_get_indexdef(i.indexrelid) AS definition
+                          FROM pg_index i
+                         WHERE i.indrelid = CAST('transactions' AS regclass)
+                           AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = i.indexrelid)
+                         ORDER BY 1
+                        """)
+                .query((rs, rowNum) -> new String[]{rs.getString("name"), rs.getString("definition")})
+                .list();
+        var foreignKeys = jdbcClient.sql("""
+                        SELECT quote_ident(conname) AS name, pg_get_constraintdef(oid) AS definition
+                          FROM pg_constraint
+                         WHERE conrelid = CAST('transactions' AS regclass) AND contype = 'f'
+                         ORDER BY 1
+                        """)
+                .query((rs, rowNum) -> new String[]{rs.getString("name"), rs.getString("definition")})
+                .list();
+
+        var restore = new ArrayList<String>(indexes.size() + foreignKeys.size());
+        for (var index : indexes) {
+            execute("DROP INDEX " + index[0]);
+            restore.add(index[1]);
+        }
+        for (var foreignKey : foreignKeys) {
+            execute("ALTER TABLE transactions DROP CONSTRAINT " + foreignKey[0]);
+            restore.add("ALTER TABLE transactions ADD CONSTRAINT " + foreignKey[0] + " " + foreignKey[1]);
+        }
+        return restore;
+    }
+
+    public void execute(String statement) {
+        jdbcClient.sql(statement).update();
+    }
+
+    /**
+     * Refreshes the planner statistics of the loaded tables.
+     */
+    public void analyze() {
+        execute("ANALYZE accounts, transactions, account_daily_summaries");
+    }
+
+    public long copyOperationTypes(Consumer<CopyRows> writer) {
+        return copy(COPY_OPERATION_TYPES, writer);
+    }
+
+    public long copyAccounts(Consumer<CopyRows> writer) {
+        return copy(COPY_ACCOUNTS, writer);
+    }
+
+    public long copyTransactions(Consumer<CopyRows> writer) {
+        return copy(COPY_TRANSACTIONS, writer);
+    }
+
+    public long copyDailySummaries(CopyRows rows) {
+        return rows.isEmpty() ? 0 : copy(COPY_DAILY_SUMMARIES, target -> target.append(rows));
+    }
+
+    private long copy(String sql, Consumer<CopyRows> writer) {
+        var connection = DataSourceUtils.getConnection(dataSource);
+        CopyIn copyIn = null;
+        try {
+            copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+            var rows = new CopyRows(copyIn);
+            writer.accept(rows);
+            rows.flush();
+            return copyIn.endCopy();
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("COPY", sql, e);
+        } finally {
+            cancel(copyIn);
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    // Leaves the connection usable again, so the transaction can roll back
+    private static void cancel(CopyIn copyIn) {
+        if (copyIn != null && copyIn.isActive()) {
+            try {
+                copyIn.cancelCopy();
+            } catch (SQLException ignored) {
+                // The rollback that follows reports the failure
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.transactions_routine.repository;
+
+import java.time.LocalDateTime;
+
+public record HoldExpiry(
+        Long holdId,
+        LocalDateTime expiresAt
+) {
+}
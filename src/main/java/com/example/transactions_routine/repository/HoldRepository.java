@@ -0,0 +1,131 @@
+package com.example.transactions_routine.repository;
+
+import com.example.transactions_routine.model.Hold;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface HoldRepository extends JpaRepository<Hold, Long> {
+
+    /**
+     * Keyset page over the pending holds, used to rebuild the expiry wheel on startup.
+     */
+    @Query("""
+                SELECT new com.example.transactions_routine.repository.HoldExpiry(h.id, h.expiresAt)
+                  FROM Hold h
+                 WHERE h.status = com.example.transactions_routine.model.HoldStatus.AUTHORIZED
+                   AND h.id > :afterId
+                 ORDER BY h.id
+            """)
+    List<HoldExpiry> findAuthorizedAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Return 1 if the hold moved from AUTHORIZED to CAPTURED, 0 if it was already settled or has expired.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+                UPDATE Hold h
+                   SET h.status         = com.example.transactions_routine.model.HoldStatus.CAPTURED,
+                       h.capturedAmount = :capturedAmount,
+                       h.transactionId  = :transactionId,
+                       h.updatedAt      = CURRENT_TIMESTAMP
+                 WHERE h.id        = :holdId
+                   AND h.status    = com.example.transactions_routine.model.HoldStatus.AUTHORIZED
+                   AND h.expiresAt > :now
+            """)
+    int markCaptured(@Param("holdId") Long holdId,
+                     @Param("capturedAmount") BigDecimal capturedAmount,
+                     @Param("transactionId") Long transactionId,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * Return 1 if the hold moved from AUTHORIZED to RELEASED, 0 if it was already settled.
+     */
+    @Modifying
+    @Query("""
+                UPDATE Hold h
+                   SET h.status    = com.example.transactions_routine.model.HoldStatus.RELEASED,
+                       h.updatedAt = CURRENT_TIMESTAMP
+                 WHERE h.id     = :holdId
+                   AND h.status = com.example.transactions_routine.model.HoldStatus.AUTHORIZED
+            """)
+    int markReleased(@Param("holdId") Long holdId);
+
+    /**
+     * Expires the given holds that are still pending and past their expiry, and hands their
+     * amounts back to the available balances, in a single statement. Holds that were captured
+     * or released in the meantime are skipped by the status guard.
+     * Return the number of accounts updated.
+     */
+    @Modifying
+    @Query(value = """
+                WITH expired AS (
+                    UPDATE holds
+                       SET status     = 'EXPIRED',
+                           updated_at = CURRENT_TIMESTAMP
+                     WHERE id IN (:holdIds)
+                       AND status = 'AUTHORIZED'
+                       AND expires_at <= :now
+                 RETURNING account_id, amount
+                ), released AS (
+                    SELECT account_id, SUM(amount) AS amount
+                      FROM expired
+                     GROUP BY account_id
+                )
+                UPDATE accounts a
+                   SET balance     = a.balance + r.amount,
+                       held_amount = a.held_amount - r.amount,
+                       version     = a.version + 1,
+                       updated_at  = CURRENT_TIMESTAMP
+                  FROM released r
+                 WHERE a.id = r.account_id
+            """, nativeQuery = true)
+    int expire(@Param("holdIds") Collection<Long> holdIds, @Param("now") LocalDateTime now);
+
+    /**
+     * {@link #expire} for up to {@code limit} pending holds past their expiry, found in the table
+     * rather than in the expiry wheel. Holds another transaction is settling are skipped.
+     * Return the ids of the holds expired.
+     */
+    @Query(value = """
+                WITH due AS (
+                    SELECT id
+                      FROM holds
+                     WHERE status = 'AUTHORIZED'
+                       AND expires_at <= :now
+                     ORDER BY expires_at, id
+                     LIMIT :limit
+                       FOR UPDATE SKIP LOCKED
+                ), expired AS (
+                    UPDATE holds h
+                       SET status     = 'EXPIRED',
+                           updated_at = CURRENT_TIMESTAMP
+                      FROM due d
+                     WHERE h.id = d.id
+                 RETURNING h.id, h.account_id, h.amount
+                ), released AS (
+                    SELECT account_id, SUM(amount) AS amount
+                      FROM expired
+                     GROUP BY account_id
+                ), settled AS (
+                    UPDATE accounts a
+                       SET balance     = a.balance + r.amount,
+                           held_amount = a.held_amount - r.amount,
+                           version     = a.version + 1,
+                           updated_at  = CURRENT_TIMESTAMP
+                      FROM released r
+                     WHERE a.id = r.account_id
+                )
+                SELECT id FROM expired
+            """, nativeQuery = true)
+    List<Long> expireDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -0,0 +1,9 @@
+package com.example.transactions_routine.repository;
+
+import com.example.transactions_routine.model.InstallmentPlan;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InstallmentPlanRepository extends JpaRepository<InstallmentPlan, Long> {
+}
@@ -0,0 +1,143 @@
+package com.example.transactions_routine.repository;
+
+import com.example.transactions_routine.model.Installment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InstallmentRepository extends JpaRepository<Installment, Long> {
+
+    /**
+     * Claims up to {@code limit} pending installments due on or before {@code dueDate}.
+     * Rows stay locked until the surrounding transaction ends; SKIP LOCKED lets other
+     * instances claim a disjoint batch concurrently instead of waiting.
+     */
+    @Query(value = """
+                SELECT id
+                  FROM installments
+                 WHERE status   = 'PENDING'
+                   AND due_date <= :dueDate
+                 ORDER BY due_date, id
+                 LIMIT :limit
+                   FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> claimDueInstallmentIds(@Param("dueDate") LocalDate dueDate, @Param("limit") int limit);
+
+    /**
+     * Locks the accounts of the claimed installments in ascending id order, so that the set-wise
+     * updates below, which visit accounts in join order, never deadlock with each other or with
+     * other multi-account writes. Return the ids of the locked accounts.
+     */
+    @Query(value = """
+                SELECT id
+                  FROM accounts
+                 WHERE id IN (SELECT account_id FROM installments WHERE id IN (:installmentIds))
+                 ORDER BY id
+                   FOR UPDATE
+            """, nativeQuery = true)
+    List<Long> lockAccounts(@Param("installmentIds") Collection<Long> installmentIds);
+
+    /**
+     * Marks FAILED the claimed installments the account cannot cover, after {@link #lockAccounts}:
+     * installments of an account are funded oldest first, and every one from the first that would
+     * take the available balance below zero fails. Return the ids of the failed installments.
+     */
+    @Query(value = """
+                WITH failed AS (
+                    UPDATE installments i
+                       SET status     = 'FAILED',
+                           updated_at = CURRENT_TIMESTAMP
+                      FROM (SELECT c.id
+                              FROM (SELECT id, account_id,
+                                           SUM(amount) OVER (PARTITION BY account_id ORDER BY id) AS amount
+                                      FROM installments
+                                     WHERE id IN (:installmentIds)) c
+                              JOIN accounts a ON a.id = c.account_id
+                             WHERE a.balance + c.amount < 0) u
+                     WHERE i.id = u.id
+                    RETURNING i.id
+                )
+                SELECT id FROM failed
+            """, nativeQuery = true)
+    List<Long> markUnfundedFailed(@Param("installmentIds") Collection<Long> installmentIds);
+
+    /**
+     * Applies the claimed installments to account balances, one UPDATE per batch, after
+     * {@link #markUnfundedFailed} took out the ones that cannot be covered. The funds guard is
+     * kept so that no account is ever overdrawn. Return the number of accounts updated.
+     */
+    @Modifying
+    @Query(value = """
+                UPDATE accounts a
+                   SET balance    = a.balance + i.amount,
+                       version    = a.version + 1,
+                       updated_at = CURRENT_TIMESTAMP
+                  FROM (SELECT account_id, SUM(amount) AS amount
+                          FROM installments
+                         WHERE id IN (:installmentIds)
+                         GROUP BY account_id) i
+                 WHERE a.id = i.account_id
+                   AND a.balance + i.amount >= 0
+            """, nativeQuery = true)
+    int applyBalances(@Param("installmentIds") Collection<Long> installmentIds);
+
+    /**
+     * Books one transaction per claimed installment with a single INSERT ... SELECT, after
+     * {@link #applyBalances}: the last one of an account gets the account's booked balance as its
+     * balance after, and each earlier one that balance less the installments booked after it.
+     * transactions_id_seq increments by the Transaction id generator's allocation size of 50, so
+     * the ids are taken in blocks like Hibernate's: one sequence value {@code v} per 50 rows, for
+     * the ids {@code v - 49} to {@code v}, instead of the column default burning a block per row.
+     * Return the number of transactions inserted.
+     */
+    @Modifying
+    @Query(value = """
+                WITH booked AS (
+                    SELECT i.account_id, p.operation_type_id, i.amount,
+                           a.balance + a.held_amount
+                           + CASE WHEN a.balance_slots > 0
+                                  THEN (SELECT COALESCE(SUM(s.balance), 0)
+                                          FROM account_balance_slots s
+                                         WHERE s.account_id = a.id)
+                                  ELSE 0
+                              END
+                           - COALESCE(SUM(i.amount) OVER (PARTITION BY i.account_id
+                                                          ORDER BY i.id DESC
+                                                          ROWS BETWEEN UNBOUNDED PRECEDING AND 1 PRECEDING), 0)
+                               AS balance_after,
+                           ROW_NUMBER() OVER (ORDER BY i.id) - 1 AS n
+                      FROM installments i
+                      JOIN installment_plans p ON p.id = i.installment_plan_id
+                      JOIN accounts a ON a.id = i.account_id
+                     WHERE i.id IN (:installmentIds)
+                ),
+                id_blocks AS (
+                    SELECT block, nextval('transactions_id_seq') AS last_id
+                      FROM generate_series(0, (SELECT (COUNT(*) + 49) / 50 - 1 FROM booked)) block
+                )
+                INSERT INTO transactions (id, account_id, operation_type_id, amount, event_date, balance_after, created_at, updated_at)
+                SELECT k.last_id - 49 + b.n % 50, b.account_id, b.operation_type_id, b.amount, CURRENT_TIMESTAMP,
+                       b.balance_after, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                  FROM booked b
+                  JOIN id_blocks k ON k.block = b.n / 50
+                 ORDER BY b.n
+            """, nativeQuery = true)
+    int insertTransactions(@Param("installmentIds") Collection<Long> installmentIds);
+
+    @Modifying
+    @Query(value = """
+                UPDATE installments
+                   SET status     = 'POSTED',
+                       posted_at  = CURRENT_TIMESTAMP,
+                       updated_at = CURRENT_TIMESTAMP
+                 WHERE id IN (:installmentIds)
+            """, nativeQuery = true)
+    int markPosted(@Param("installmentIds") Collection<Long> installmentIds);
+}
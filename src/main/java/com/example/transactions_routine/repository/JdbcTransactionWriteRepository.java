@@ -0,0 +1,243 @@
+package com.example.transactions_routine.repository;
+
+import com.example.transactions_routine.model.OperationType;
+import com.example.transactions_routine.service.observability.RequestTimings;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Hand-written SQL for the hot write paths of the {@code jdbc} profile. A transaction is one
+ * statement: the guarded balance update, the insert and the daily summary upsert are chained
+ * with data-modifying CTEs and {@code RETURNING}, so nothing is read back or hydrated into
+ * entities. Transaction ids come from {@code transactions_id_seq} in blocks, exactly like the
+ * pooled Hibernate generator of {@link com.example.transactions_routine.model.Transaction}, so
+ * both paths can insert side by side.
+ */
+@Repository
+@Profile("jdbc")
+public class JdbcTransactionWriteRepository {
+
+    // The allocationSize of the Transaction id generator and the increment of transactions_id_seq
+    private static final int TRANSACTION_ID_BLOCK = 50;
+
+    private static final String SUMMARY_UPSERT = """
+            INSERT INTO account_daily_summaries (account_id, day, operation_type_id, total_amount, transaction_count)
+            SELECT account_id, CAST(event_date AS DATE), operation_type_id, amount, 1
+              FROM inserted
+            ON CONFLICT (account_id, day, operation_type_id) DO UPDATE
+               SET total_amount      = account_daily_summaries.total_amount + EXCLUDED.total_amount,
+                   transaction_count = account_daily_summaries.transaction_count + EXCLUDED.transaction_count
+            """;
+
+    private final JdbcClient jdbcClient;
+    private volatile Map<Long, OperationType> operationTypes;
+    private long nextTransactionId;
+    private long lastTransactionId = -1;
+
+    public JdbcTransactionWriteRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public Optional<OperationType> findOperationType(long id) {
+        return Optional.ofNullable(operationTypes().get(id));
+    }
+
+    public Optional<OperationType> findOperationType(String description) {
+        return operationTypes().values().stream()
+                .filter(operationType -> operationType.getDescription().equals(description))
+                .findFirst();
+    }
+
+    // Operation types never change, so they are read once, on first use, after the migrations ran
+    private Map<Long, OperationType> operationTypes() {
+        var cached = operationTypes;
+        if (cached == null) {
+            cached = timed(() -> jdbcClient.sql("SELECT id, description, credit, created_at, updated_at FROM operation_types")
+                            .query((rs, rowNum) -> OperationType.builder()
+                                    .id(rs.getLong("id"))
+                                    .description(rs.getString("description"))
+                                    .credit(rs.getBoolean("credit"))
+                                    .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                                    .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                                    .build())
+                            .list())
+                    .stream()
+                    .collect(Collectors.toUnmodifiableMap(OperationType::getId, Function.identity()));
+            operationTypes = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * Return the next transaction id, taking a new block from the sequence when the current one
+     * is used up. A sequence value {@code v} reserves the ids {@code v - 49} to {@code v}.
+     */
+    public synchronized long nextTransactionId() {
+        if (nextTransactionId > lastTransactionId) {
+            lastTransactionId = timed(() -> jdbcClient.sql("SELECT nextval('transactions_id_seq')")
+                    .query(Long.class)
+                    .single());
+            nextTransactionId = lastTransactionId - (TRANSACTION_ID_BLOCK - 1);
+        }
+        return nextTransactionId++;
+    }
+
+    /**
+     * Applies the amount to the account and inserts the transaction, in one statement. A debit
+     * is only applied if the account row covers it, and a credit only to an account that is not
+     * split over balance slots. Return the account's balance after the transaction, see
+     * {@link AccountRepository#RETURNING_BALANCE_AFTER}, or empty, changing nothing, if neither
+     * holds or the account does not exist.
+     */
+    public Optional<BigDecimal> postTransaction(long id, long accountId, long operationTypeId, BigDecimal amount,
+                                                LocalDateTime eventDate) {
+        return timed(() -> jdbcClient.sql("""
+                        WITH account AS (
+                            UPDATE accounts a
+                               SET balance    = a.balance + :amount,
+                                   version    = a.version + 1,
+                                   updated_at = :eventDate
+                             WHERE a.id = :accountId
+                               AND CASE WHEN CAST(:amount AS NUMERIC) < 0 THEN a.balance + :amount >= 0 ELSE a.balance_slots = 0 END
+                        """ + AccountRepository.RETURNING_BALANCE_AFTER + """
+                        ), inserted AS (
+                            INSERT INTO transactions (id, account_id, operation_type_id, amount, event_date, balance_after, created_at, updated_at)
+                            SELECT :id, id, :operationTypeId, :amount, :eventDate, balance, :eventDate, :eventDate
+                              FROM account
+                            RETURNING account_id, operation_type_id, amount, event_date, balance_after
+                        ), summary AS (
+                        """ + SUMMARY_UPSERT + """
+                        )
+                        SELECT balance_after FROM inserted
+                        """)
+                .param("id", id)
+                .param("accountId", accountId)
+                .param("operationTypeId", operationTypeId)
+                .param("amount", amount)
+                .param("eventDate", eventDate)
+                .query(BigDecimal.class)
+                .optional());
+    }
+
+    /**
+     * Inserts a transaction whose amount has already been applied to the account, e.g. to one of
+     * its balance slots.
+     */
+    public void insertTransaction(long id, long accountId, long operationTypeId, BigDecimal amount, LocalDateTime eventDate) {
+        timed(() -> jdbcClient.sql("""
+                        WITH inserted AS (
+                            INSERT INTO transactions (id, account_id, operation_type_id, amount, event_date, created_at, updated_at)
+                            VALUES (:id, :accountId, :operationTypeId, :amount, :eventDate, :eventDate, :eventDate)
+                            RETURNING account_id, operation_type_id, amount, event_date
+                        )
+                        """ + SUMMARY_UPSERT)
+                .param("id", id)
+                .param("accountId", accountId)
+                .param("operationTypeId", operationTypeId)
+                .param("amount", amount)
+                .param("eventDate", eventDate)
+                .update());
+    }
+
+    /**
+     * Return the account's number of balance slots, or empty if there is no such account.
+     */
+    public Optional<Integer> findBalanceSlots(long accountId) {
+        return timed(() -> jdbcClient.sql("SELECT balance_slots FROM accounts WHERE id = :accountId")
+                .param("accountId", accountId)
+                .query(Integer.class)
+                .optional());
+    }
+
+    /**
+     * Locks both accounts of a transfer in ascending id order, so opposite transfers cannot
+     * deadlock. Return the locked accounts with their number of balance slots.
+     */
+    public List<AccountSlots> lockTransferAccounts(long sourceAccountId, long destinationAccountId) {
+        return timed(() -> jdbcClient.sql("""
+                        SELECT id, balance_slots
+                          FROM accounts
+                         WHERE id IN (:sourceAccountId, :destinationAccountId)
+                         ORDER BY id
+                           FOR UPDATE
+                        """)
+                .param("sourceAccountId", sourceAccountId)
+                .param("destinationAccountId", destinationAccountId)
+                .query((rs, rowNum) -> new AccountSlots(rs.getLong("id"), rs.getInt("balance_slots")))
+                .list());
+    }
+
+    /**
+     * Debits the source, credits the destination and inserts both transactions, in one statement.
+     * Return the balances of both accounts after the transfer, or empty, changing nothing, if the
+     * source account row does not cover the amount.
+     */
+    public Optional<TransferBalances> transfer(long debitTransactionId, long creditTransactionId,
+                                               long sourceAccountId, long destinationAccountId,
+                                               long debitOperationTypeId, long creditOperationTypeId,
+                                               BigDecimal amount, LocalDateTime transferTime) {
+        return timed(() -> jdbcClient.sql("""
+                        WITH debit AS (
+                            UPDATE accounts a
+                               SET balance    = a.balance - :amount,
+                                   version    = a.version + 1,
+                                   updated_at = :transferTime
+                             WHERE a.id = :sourceAccountId
+                               AND a.balance - :amount >= 0
+                        """ + AccountRepository.RETURNING_BALANCE_AFTER + """
+                        ), credit AS (
+                            UPDATE accounts a
+                               SET balance    = a.balance + :amount,
+                                   version    = a.version + 1,
+                                   updated_at = :transferTime
+                             WHERE a.id = :destinationAccountId
+                               AND EXISTS (SELECT 1 FROM debit)
+                        """ + AccountRepository.RETURNING_BALANCE_AFTER + """
+                        ), inserted AS (
+                            INSERT INTO transactions (id, account_id, operation_type_id, amount, event_date, balance_after, created_at, updated_at)
+                            SELECT :debitTransactionId, id, :debitOperationTypeId, -CAST(:amount AS NUMERIC), :transferTime, balance, :transferTime, :transferTime
+                              FROM debit
+                            UNION ALL
+                            SELECT :creditTransactionId, id, :creditOperationTypeId, :amount, :transferTime, balance, :transferTime, :transferTime
+                              FROM credit
+                            RETURNING account_id, operation_type_id, amount, event_date
+                        ), summary AS (
+                        """ + SUMMARY_UPSERT + """
+                        )
+                        SELECT debit.balance AS source_balance, credit.balance AS destination_balance
+                          FROM debit, credit
+                        """)
+                .param("debitTransactionId", debitTransactionId)
+                .param("creditTransactionId", creditTransactionId)
+                .param("sourceAccountId", sourceAccountId)
+                .param("destinationAccountId", destinationAccountId)
+                .param("debitOperationTypeId", debitOperationTypeId)
+                .param("creditOperationTypeId", creditOperationTypeId)
+                .param("amount", amount)
+                .param("transferTime", transferTime)
+                .query((rs, rowNum) -> new TransferBalances(rs.getBigDecimal("source_balance"), rs.getBigDecimal("destination_balance")))
+                .optional());
+    }
+
+    private static <T> T timed(Supplier<T> statement) {
+        var startedAt = System.nanoTime();
+        try {
+            return statement.get();
+        } finally {
+            var timings = RequestTimings.current();
+            if (timings != null) {
+                timings.addStatement(System.nanoTime() - startedAt);
+            }
+        }
+    }
+}
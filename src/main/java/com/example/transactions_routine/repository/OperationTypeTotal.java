@@ -0,0 +1,10 @@
+package com.example.transactions_routine.repository;
+
+import java.math.BigDecimal;
+
+public record OperationTypeTotal(
+        Long operationTypeId,
+        BigDecimal totalAmount,
+        Long transactionCount
+) {
+}
@@ -0,0 +1,29 @@
+package com.example.transactions_routine.repository;
+
+import com.example.transactions_routine.model.QueuedTransactionResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface QueuedTransactionResultRepository extends JpaRepository<QueuedTransactionResult, UUID> {
+
+    @Modifying
+    @Query(value = """
+                INSERT INTO queued_transaction_results (tracking_id, transaction_id, created_at)
+                VALUES (:trackingId, :transactionId, CURRENT_TIMESTAMP)
+            """, nativeQuery = true)
+    int recordCompleted(@Param("trackingId") UUID trackingId, @Param("transactionId") Long transactionId);
+
+    @Modifying
+    @Query(value = """
+                INSERT INTO queued_transaction_results (tracking_id, failure_reason, created_at)
+                VALUES (:trackingId, :failureReason, CURRENT_TIMESTAMP)
+                ON CONFLICT (tracking_id) DO NOTHING
+            """, nativeQuery = true)
+    int recordFailed(@Param("trackingId") UUID trackingId, @Param("failureReason") String failureReason);
+}
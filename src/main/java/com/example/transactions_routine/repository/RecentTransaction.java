@@ -0,0 +1,12 @@
+package com.example.transactions_routine.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record RecentTransaction(
+        Long accountId,
+        Long operationTypeId,
+        BigDecimal amount,
+        LocalDateTime eventDate
+) {
+}
@@ -0,0 +1,107 @@
+package com.example.transactions_routine.repository;
+
+import com.example.transactions_routine.model.RecurringTransferExecution;
+import com.example.transactions_routine.model.RecurringTransferExecutionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringTransferExecutionRepository extends JpaRepository<RecurringTransferExecution, Long> {
+
+    /**
+     * Records the next run of each claimed recurring transfer as CLAIMED, before its schedule is
+     * advanced. The unique run constraint keeps a slot from ever being claimed twice.
+     * Return the number of runs recorded.
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO recurring_transfer_executions (recurring_transfer_id, scheduled_for, status, claimed_at, created_at, updated_at)
+                SELECT id, next_run_at, 'CLAIMED', :now, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                  FROM recurring_transfers
+                 WHERE id IN (:recurringTransferIds)
+            """, nativeQuery = true)
+    int insertClaimed(@Param("recurringTransferIds") Collection<Long> recurringTransferIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Claims again up to {@code limit} runs left CLAIMED since before {@code claimedBefore}, moving
+     * their claim time to {@code now}. Runs an instance is executing right now are locked by it and
+     * skipped. Return the ids of the reclaimed executions.
+     */
+    @Query(value = """
+                WITH stale AS (
+                    SELECT id
+                      FROM recurring_transfer_executions
+                     WHERE status     = 'CLAIMED'
+                       AND claimed_at <= :claimedBefore
+                     ORDER BY claimed_at, id
+                     LIMIT :limit
+                       FOR UPDATE SKIP LOCKED
+                ), reclaimed AS (
+                    UPDATE recurring_transfer_executions e
+                       SET claimed_at = :now,
+                           updated_at = CURRENT_TIMESTAMP
+                      FROM stale s
+                     WHERE e.id = s.id
+                    RETURNING e.id
+                )
+                SELECT id FROM reclaimed
+            """, nativeQuery = true)
+    List<Long> reclaimStaleIds(@Param("claimedBefore") LocalDateTime claimedBefore,
+                               @Param("now") LocalDateTime now,
+                               @Param("limit") int limit);
+
+    @Query("""
+                SELECT new com.example.transactions_routine.repository.RecurringTransferRun(
+                           r.id, r.sourceAccount.id, r.destinationAccount.id, r.amount, e.scheduledFor)
+                  FROM RecurringTransferExecution e
+                  JOIN RecurringTransfer r ON r.id = e.recurringTransferId
+                 WHERE e.id IN :ids
+                 ORDER BY r.id
+            """)
+    List<RecurringTransferRun> findRuns(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Locks the run until the surrounding transaction ends, if it is still CLAIMED.
+     * Return the id of its execution, or empty if the run has been settled already.
+     */
+    @Query(value = """
+                SELECT id
+                  FROM recurring_transfer_executions
+                 WHERE recurring_transfer_id = :recurringTransferId
+                   AND scheduled_for         = :scheduledFor
+                   AND status                = 'CLAIMED'
+                   FOR UPDATE
+            """, nativeQuery = true)
+    Optional<Long> lockClaimed(@Param("recurringTransferId") Long recurringTransferId,
+                               @Param("scheduledFor") LocalDateTime scheduledFor);
+
+    /**
+     * Return 1 if the run moved from CLAIMED to the given outcome, 0 if it had been settled already.
+     */
+    @Modifying
+    @Query("""
+                UPDATE RecurringTransferExecution e
+                   SET e.status              = :status,
+                       e.debitTransactionId  = :debitTransactionId,
+                       e.creditTransactionId = :creditTransactionId,
+                       e.failureReason       = :failureReason,
+                       e.updatedAt           = CURRENT_TIMESTAMP
+                 WHERE e.recurringTransferId = :recurringTransferId
+                   AND e.scheduledFor        = :scheduledFor
+                   AND e.status              = com.example.transactions_routine.model.RecurringTransferExecutionStatus.CLAIMED
+            """)
+    int settle(@Param("recurringTransferId") Long recurringTransferId,
+               @Param("scheduledFor") LocalDateTime scheduledFor,
+               @Param("status") RecurringTransferExecutionStatus status,
+               @Param("debitTransactionId") Long debitTransactionId,
+               @Param("creditTransactionId") Long creditTransactionId,
+               @Param("failureReason") String failureReason);
+}
@@ -0,0 +1,79 @@
+package com.example.transactions_routine.repository;
+
+import com.example.transactions_routine.model.RecurringTransfer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RecurringTransferRepository extends JpaRepository<RecurringTransfer, Long> {
+
+    /**
+     * Claims up to {@code limit} active recurring transfers whose next run is due at {@code now}.
+     * Rows stay locked until the surrounding transaction ends; SKIP LOCKED lets other
+     * instances claim a disjoint batch concurrently instead of waiting.
+     */
+    @Query(value = """
+                SELECT id
+                  FROM recurring_transfers
+                 WHERE status      = 'ACTIVE'
+                   AND next_run_at <= :now
+                 ORDER BY next_run_at, id
+                 LIMIT :limit
+                   FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> claimDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query("""
+                SELECT new com.example.transactions_routine.repository.RecurringTransferRun(
+                           r.id, r.sourceAccount.id, r.destinationAccount.id, r.amount, r.nextRunAt)
+                  FROM RecurringTransfer r
+                 WHERE r.id IN :ids
+                 ORDER BY r.id
+            """)
+    List<RecurringTransferRun> findRuns(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Moves the claimed transfers to their next slot, computed from the start date so monthly
+     * runs do not drift (Jan 31 -> Feb 29 -> Mar 31), and completes the ones past their end date.
+     * Return the number of recurring transfers updated.
+     */
+    @Modifying
+    @Query(value = """
+                UPDATE recurring_transfers r
+                   SET run_count   = r.run_count + 1,
+                       next_run_at = n.next_run_at,
+                       status      = CASE WHEN r.end_at IS NOT NULL AND n.next_run_at > r.end_at
+                                          THEN 'COMPLETED' ELSE r.status END,
+                       updated_at  = CURRENT_TIMESTAMP
+                  FROM (SELECT id,
+                               start_at + (run_count + 1) * CASE frequency
+                                                                WHEN 'DAILY'  THEN INTERVAL '1 day'
+                                                                WHEN 'WEEKLY' THEN INTERVAL '1 week'
+                                                                ELSE INTERVAL '1 month'
+                                                            END AS next_run_at
+                          FROM recurring_transfers
+                         WHERE id IN (:ids)) n
+                 WHERE r.id = n.id
+            """, nativeQuery = true)
+    int advanceSchedule(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Return 1 if the recurring transfer moved from ACTIVE to CANCELLED, 0 if it had already ended.
+     */
+    @Modifying
+    @Query("""
+                UPDATE RecurringTransfer r
+                   SET r.status    = com.example.transactions_routine.model.RecurringTransferStatus.CANCELLED,
+                       r.updatedAt = CURRENT_TIMESTAMP
+                 WHERE r.id     = :id
+                   AND r.status = com.example.transactions_routine.model.RecurringTransferStatus.ACTIVE
+            """)
+    int cancel(@Param("id") Long id);
+}
@@ -0,0 +1,13 @@
+package com.example.transactions_routine.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record RecurringTransferRun(
+        Long recurringTransferId,
+        Long sourceAccountId,
+        Long destinationAccountId,
+        BigDecimal amount,
+        LocalDateTime scheduledFor
+) {
+}
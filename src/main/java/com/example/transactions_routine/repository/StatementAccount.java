@@ -0,0 +1,7 @@
+package com.example.transactions_routine.repository;
+
+public record StatementAccount(
+        Long id,
+        String documentNumber
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.transactions_routine.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record StatementLine(
+        Long accountId,
+        Long transactionId,
+        Long operationTypeId,
+        BigDecimal amount,
+        LocalDateTime eventDate,
+        BigDecimal balanceAfter
+) {
+}
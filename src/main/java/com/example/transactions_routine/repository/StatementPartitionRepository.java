@@ -0,0 +1,42 @@
+package com.example.transactions_routine.repository;
+
+import com.example.transactions_routine.model.StatementPartition;
+import com.example.transactions_routine.model.StatementPartitionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface StatementPartitionRepository extends JpaRepository<StatementPartition, Long> {
+
+    List<StatementPartition> findByMonthAndStatusOrderById(LocalDate month, StatementPartitionStatus status);
+
+    /**
+     * Records that the statements of every account up to {@code checkpointAccountId} are written.
+     */
+    @Modifying
+    @Query("""
+                UPDATE StatementPartition p
+                   SET p.checkpointAccountId = :checkpointAccountId,
+                       p.statementsWritten   = p.statementsWritten + :statementsWritten,
+                       p.updatedAt           = CURRENT_TIMESTAMP
+                 WHERE p.id                  = :partitionId
+            """)
+    int checkpoint(@Param("partitionId") Long partitionId,
+                   @Param("checkpointAccountId") Long checkpointAccountId,
+                   @Param("statementsWritten") long statementsWritten);
+
+    @Modifying
+    @Query("""
+                UPDATE StatementPartition p
+                   SET p.status    = com.example.transactions_routine.model.StatementPartitionStatus.COMPLETED,
+                       p.updatedAt = CURRENT_TIMESTAMP
+                 WHERE p.id        = :partitionId
+            """)
+    int complete(@Param("partitionId") Long partitionId);
+}
@@ -0,0 +1,23 @@
+package com.example.transactions_routine.repository;
+
+import com.example.transactions_routine.model.StatementRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface StatementRunRepository extends JpaRepository<StatementRun, LocalDate> {
+
+    @Modifying
+    @Query("""
+                UPDATE StatementRun r
+                   SET r.status      = com.example.transactions_routine.model.StatementRunStatus.COMPLETED,
+                       r.completedAt = CURRENT_TIMESTAMP
+                 WHERE r.month       = :month
+            """)
+    int complete(@Param("month") LocalDate month);
+}
@@ -0,0 +1,13 @@
+package com.example.transactions_routine.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position of a transaction in search order (newest first, ties broken by id); a search page
+ * starts right after it.
+ */
+public record TransactionKeyset(
+        LocalDateTime eventDate,
+        Long id
+) {
+}
@@ -1,10 +1,141 @@
 package com.example.transactions_routine.repository;
 
 import com.example.transactions_routine.model.Transaction;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-}
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionSearchRepository {
+
+    /**
+     * Looks up many transactions in one statement, see {@link AccountRepository#findAllViewsById}.
+     */
+    @Query(value = """
+                SELECT id,
+                       account_id        AS "accountId",
+                       operation_type_id AS "operationTypeId",
+                       amount,
+                       event_date        AS "eventDate",
+                       balance_after     AS "balanceAfter"
+                  FROM transactions
+                 WHERE id = ANY(CAST(:ids AS BIGINT[]))
+            """, nativeQuery = true)
+    List<TransactionView> findAllViewsById(@Param("ids") Long[] ids);
+
+    /**
+     * Stores the balance after of a transaction that was inserted before its balance change ran.
+     */
+    @Modifying
+    @Query(value = "UPDATE transactions SET balance_after = :balanceAfter WHERE id = :id", nativeQuery = true)
+    int updateBalanceAfter(@Param("id") Long id, @Param("balanceAfter") BigDecimal balanceAfter);
 
+    /**
+     * Fills in the missing balance after of the transactions of the accounts in the id range. The
+     * newest transaction of an account gets the account's booked balance, see
+     * {@link AccountRepository#RETURNING_BALANCE_AFTER}, and every other one that balance less the
+     * amounts booked after it, by event date and id. Balances and transactions are read from the
+     * statement's single snapshot, so this holds while the accounts keep changing, and accounts
+     * with nothing missing are skipped. Return the number of transactions updated.
+     */
+    @Modifying
+    @Query(value = """
+                WITH balances AS (
+                    SELECT a.id,
+                           a.balance + a.held_amount
+                           + CASE WHEN a.balance_slots > 0
+                                  THEN (SELECT COALESCE(SUM(s.balance), 0)
+                                          FROM account_balance_slots s
+                                         WHERE s.account_id = a.id)
+                                  ELSE 0
+                              END AS balance
+                      FROM accounts a
+                     WHERE a.id BETWEEN :firstAccountId AND :lastAccountId
+                       AND EXISTS (SELECT 1
+                                     FROM transactions m
+                                    WHERE m.account_id = a.id
+                                      AND m.balance_after IS NULL)
+                ), running AS (
+                    SELECT t.id,
+                           t.balance_after IS NULL AS missing,
+                           b.balance - COALESCE(SUM(t.amount) OVER (PARTITION BY t.account_id
+                                                                    ORDER BY t.event_date DESC, t.id DESC
+                                                                    ROWS BETWEEN UNBOUNDED PRECEDING AND 1 PRECEDING), 0) AS balance_after
+                      FROM transactions t
+                      JOIN balances b ON b.id = t.account_id
+                )
+                UPDATE transactions t
+                   SET balance_after = r.balance_after
+                  FROM running r
+                 WHERE t.id = r.id
+                   AND r.missing
+            """, nativeQuery = true)
+    int backfillBalanceAfter(@Param("firstAccountId") long firstAccountId, @Param("lastAccountId") long lastAccountId);
+
+    /**
+     * The account's newest transactions, newest first: an index-only scan of
+     * {@code idx_transactions_account_search} that stops after {@code limit} rows.
+     */
+    @Query(value = """
+                SELECT id,
+                       account_id        AS "accountId",
+                       operation_type_id AS "operationTypeId",
+                       amount,
+                       event_date        AS "eventDate",
+                       balance_after     AS "balanceAfter"
+                  FROM transactions
+                 WHERE account_id = :accountId
+                 ORDER BY event_date DESC, id DESC
+                 LIMIT :limit
+            """, nativeQuery = true)
+    List<TransactionView> findNewestViewsByAccountId(@Param("accountId") long accountId, @Param("limit") int limit);
+
+    /**
+     * Streams the transactions of the given operation types booked since {@code since}, oldest first.
+     * Must be consumed inside a transaction so the driver can fetch it with a cursor.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+                SELECT new com.example.transactions_routine.repository.RecentTransaction(
+                           t.account.id, t.operationType.id, t.amount, t.eventDate)
+                  FROM Transaction t
+                 WHERE t.eventDate >= :since
+                   AND t.operationType.id IN :operationTypeIds
+                 ORDER BY t.eventDate
+            """)
+    Stream<RecentTransaction> streamRecent(@Param("since") LocalDateTime since,
+                                           @Param("operationTypeIds") Collection<Long> operationTypeIds);
+
+    /**
+     * Streams the transactions booked in {@code [from, to)} by the accounts of the id range, by
+     * account and then oldest first, each with the running balance stored at write time. The
+     * account range is read in index order, so only each account's own lines need sorting. Must be
+     * consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+                SELECT new com.example.transactions_routine.repository.StatementLine(
+                           t.account.id, t.id, t.operationType.id, t.amount, t.eventDate, t.balanceAfter)
+                  FROM Transaction t
+                 WHERE t.account.id BETWEEN :firstAccountId AND :lastAccountId
+                   AND t.eventDate >= :from
+                   AND t.eventDate < :to
+                 ORDER BY t.account.id, t.eventDate, t.id
+            """)
+    Stream<StatementLine> streamStatementLines(@Param("firstAccountId") Long firstAccountId,
+                                              @Param("lastAccountId") Long lastAccountId,
+                                              @Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,101 @@
+package com.example.transactions_routine.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Filters of a transaction search; every filter left null is not applied. {@code minAmount} and
+ * {@code maxAmount} compare the amount as booked, negative for debits, and {@code to} is exclusive.
+ */
+public final class TransactionSearchCriteria {
+
+    private final Long accountId;
+    private final Long operationTypeId;
+    private final BigDecimal minAmount;
+    private final BigDecimal maxAmount;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    private TransactionSearchCriteria(Builder builder) {
+        this.accountId = builder.accountId;
+        this.operationTypeId = builder.operationTypeId;
+        this.minAmount = builder.minAmount;
+        this.maxAmount = builder.maxAmount;
+        this.from = builder.from;
+        this.to = builder.to;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public Long getOperationTypeId() {
+        return operationTypeId;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public static final class Builder {
+        private Long accountId;
+        private Long operationTypeId;
+        private BigDecimal minAmount;
+        private BigDecimal maxAmount;
+        private LocalDateTime from;
+        private LocalDateTime to;
+
+        private Builder() {
+        }
+
+        public Builder accountId(Long accountId) {
+            this.accountId = accountId;
+            return this;
+        }
+
+        public Builder operationTypeId(Long operationTypeId) {
+            this.operationTypeId = operationTypeId;
+            return this;
+        }
+
+        public Builder minAmount(BigDecimal minAmount) {
+            this.minAmount = minAmount;
+            return this;
+        }
+
+        public Builder maxAmount(BigDecimal maxAmount) {
+            this.maxAmount = maxAmount;
+            return this;
+        }
+
+        public Builder from(LocalDateTime from) {
+            this.from = from;
+            return this;
+        }
+
+        public Builder to(LocalDateTime to) {
+            this.to = to;
+            return this;
+        }
+
+        public TransactionSearchCriteria build() {
+            return new TransactionSearchCriteria(this);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.transactions_routine.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The SQL of one transaction search page. Only the filters that are set become predicates, so
+ * each filter combination is a separate statement the planner can match to its covering index.
+ * Values are always bound as parameters.
+ */
+public record TransactionSearchQuery(
+        String sql,
+        Map<String, Object> parameters
+) {
+
+    public static TransactionSearchQuery of(TransactionSearchCriteria criteria, TransactionKeyset after, int limit) {
+        var predicates = new ArrayList<String>();
+        var parameters = new LinkedHashMap<String, Object>();
+        if (criteria.getAccountId() != null) {
+            predicates.add("account_id = :accountId");
+            parameters.put("accountId", criteria.getAccountId());
+        }
+        if (criteria.getOperationTypeId() != null) {
+            predicates.add("operation_type_id = :operationTypeId");
+            parameters.put("operationTypeId", criteria.getOperationTypeId());
+        }
+        if (criteria.getMinAmount() != null) {
+            predicates.add("amount >= :minAmount");
+            parameters.put("minAmount", criteria.getMinAmount());
+        }
+        if (criteria.getMaxAmount() != null) {
+            predicates.add("amount <= :maxAmount");
+            parameters.put("maxAmount", criteria.getMaxAmount());
+        }
+        if (criteria.getFrom() != null) {
+            predicates.add("event_date >= :from");
+            parameters.put("from", criteria.getFrom());
+        }
+        if (criteria.getTo() != null) {
+            predicates.add("event_date < :to");
+            parameters.put("to", criteria.getTo());
+        }
+        if (after != null) {
+            // A row comparison, so the index can seek straight to the page start
+            predicates.add("(event_date, id) < (:afterEventDate, :afterId)");
+            parameters.put("afterEventDate", after.eventDate());
+            parameters.put("afterId", after.id());
+        }
+        parameters.put("limit", limit);
+
+        var sql = new StringBuilder("""
+                SELECT id, account_id, operation_type_id, amount, event_date, balance_after
+                  FROM transactions
+                """);
+        for (int i = 0; i < predicates.size(); i++) {
+            sql.append(i == 0 ? " WHERE " : "   AND ").append(predicates.get(i)).append('\n');
+        }
+        sql.append(" ORDER BY event_date DESC, id DESC\n");
+        sql.append(" LIMIT :limit");
+        return new TransactionSearchQuery(sql.toString(), Map.copyOf(parameters));
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.transactions_routine.repository;
+
+import java.util.List;
+
+public interface TransactionSearchRepository {
+
+    /**
+     * Return up to {@code limit} transactions matching the criteria, newest first, starting after
+     * {@code after} (null for the first page).
+     */
+    List<TransactionView> search(TransactionSearchCriteria criteria, TransactionKeyset after, int limit);
+}
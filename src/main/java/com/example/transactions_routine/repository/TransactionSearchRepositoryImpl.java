@@ -0,0 +1,38 @@
+package com.example.transactions_routine.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class TransactionSearchRepositoryImpl implements TransactionSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TransactionView> search(TransactionSearchCriteria criteria, TransactionKeyset after, int limit) {
+        var searchQuery = TransactionSearchQuery.of(criteria, after, limit);
+        NativeQuery<TransactionView> query = entityManager.createNativeQuery(searchQuery.sql())
+                .unwrap(NativeQuery.class)
+                .addScalar("id", StandardBasicTypes.LONG)
+                .addScalar("account_id", StandardBasicTypes.LONG)
+                .addScalar("operation_type_id", StandardBasicTypes.LONG)
+                .addScalar("amount", StandardBasicTypes.BIG_DECIMAL)
+                .addScalar("event_date", StandardBasicTypes.LOCAL_DATE_TIME)
+                .addScalar("balance_after", StandardBasicTypes.BIG_DECIMAL)
+                .setTupleTransformer((tuple, aliases) -> new Row((Long) tuple[0], (Long) tuple[1], (Long) tuple[2],
+                        (BigDecimal) tuple[3], (LocalDateTime) tuple[4], (BigDecimal) tuple[5]));
+        searchQuery.parameters().forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    private record Row(Long getId, Long getAccountId, Long getOperationTypeId, BigDecimal getAmount,
+                       LocalDateTime getEventDate, BigDecimal getBalanceAfter) implements TransactionView {
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.transactions_routine.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a transaction row, without loading its account or operation type.
+ */
+public interface TransactionView {
+    Long getId();
+
+    Long getAccountId();
+
+    Long getOperationTypeId();
+
+    BigDecimal getAmount();
+
+    LocalDateTime getEventDate();
+
+    /**
+     * The account's booked balance right after this transaction, or null if it is not known.
+     */
+    BigDecimal getBalanceAfter();
+}
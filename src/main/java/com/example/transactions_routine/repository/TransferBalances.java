@@ -0,0 +1,9 @@
+package com.example.transactions_routine.repository;
+
+import java.math.BigDecimal;
+
+public record TransferBalances(
+        BigDecimal sourceBalance,
+        BigDecimal destinationBalance
+) {
+}
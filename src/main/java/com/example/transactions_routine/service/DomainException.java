@@ -0,0 +1,22 @@
+package com.example.transactions_routine.service;
+
+/**
+ * Base of the exceptions that reject a request for a business reason, e.g. insufficient funds or
+ * an unknown account. They are an expected outcome, thrown on every rejected request and answered
+ * with a 4xx status by {@code GlobalExceptionHandler}, which only ever reads their message. So they
+ * skip capturing a stack trace, by far the most expensive part of throwing, and suppression.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException() {
+        super(null, null, false, false);
+    }
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+
+    protected DomainException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
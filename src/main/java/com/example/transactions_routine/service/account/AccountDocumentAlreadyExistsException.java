@@ -1,7 +1,9 @@
 
 package com.example.transactions_routine.service.account;
 
-public class AccountDocumentAlreadyExistsException extends RuntimeException {
+import com.example.transactions_routine.service.DomainException;
+
+public class AccountDocumentAlreadyExistsException extends DomainException {
     public AccountDocumentAlreadyExistsException() {}
 
     public AccountDocumentAlreadyExistsException(String message) {
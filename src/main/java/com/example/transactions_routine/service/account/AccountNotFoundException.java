@@ -1,7 +1,9 @@
 
 package com.example.transactions_routine.service.account;
 
-public class AccountNotFoundException extends RuntimeException {
+import com.example.transactions_routine.service.DomainException;
+
+public class AccountNotFoundException extends DomainException {
     public AccountNotFoundException() {}
 
     public AccountNotFoundException(String message) {
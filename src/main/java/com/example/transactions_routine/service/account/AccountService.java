@@ -1,35 +1,63 @@
 package com.example.transactions_routine.service.account;
 
 import com.example.transactions_routine.controller.account.AccountRequest;
+import com.example.transactions_routine.controller.account.BatchTransferLeg;
+import com.example.transactions_routine.controller.account.BatchTransferRequest;
+import com.example.transactions_routine.controller.account.BatchTransferResult;
 import com.example.transactions_routine.controller.account.TransferRequest;
 import com.example.transactions_routine.controller.account.TransferResult;
 import com.example.transactions_routine.model.Account;
+import com.example.transactions_routine.model.OperationType;
 import com.example.transactions_routine.model.Transaction;
 import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.AccountView;
 import com.example.transactions_routine.repository.OperationTypeRepository;
 import com.example.transactions_routine.repository.TransactionRepository;
+import com.example.transactions_routine.service.activity.RecentActivityCache;
+import com.example.transactions_routine.service.balance.SplitBalanceServicePort;
+import com.example.transactions_routine.service.summary.AccountSummaryServicePort;
 import com.example.transactions_routine.service.transaction.InsufficientFundsException;
 import com.example.transactions_routine.service.transaction.OperationTypeNotFoundException;
+import org.springframework.context.annotation.Profile;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.TreeSet;
 
 @Service
-@Transactional(readOnly = true)
+@Profile("!in-memory")
 public class AccountService implements AccountServicePort {
 
+    public static final int MAX_BALANCE_SLOTS = 256;
+
     private final AccountRepository accountRepository;
     private final OperationTypeRepository operationTypeRepository;
     private final TransactionRepository transactionRepository;
+    private final AccountSummaryServicePort accountSummaryServicePort;
+    private final SplitBalanceServicePort splitBalanceServicePort;
+    private final RecentActivityCache recentActivityCache;
 
-    public AccountService(AccountRepository accountRepository, OperationTypeRepository operationTypeRepository, TransactionRepository transactionRepository) {
+    public AccountService(AccountRepository accountRepository,
+                          OperationTypeRepository operationTypeRepository,
+                          TransactionRepository transactionRepository,
+                          AccountSummaryServicePort accountSummaryServicePort,
+                          SplitBalanceServicePort splitBalanceServicePort,
+                          RecentActivityCache recentActivityCache) {
         this.accountRepository = accountRepository;
         this.operationTypeRepository = operationTypeRepository;
         this.transactionRepository = transactionRepository;
+        this.accountSummaryServicePort = accountSummaryServicePort;
+        this.splitBalanceServicePort = splitBalanceServicePort;
+        this.recentActivityCache = recentActivityCache;
     }
 
     @Override
@@ -52,18 +80,65 @@ public class AccountService implements AccountServicePort {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Account findById(Long id) {
         return accountRepository.findById(id)
                 .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + id));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<AccountView> findAllById(Collection<Long> ids) {
+        return accountRepository.findAllViewsById(ids.toArray(Long[]::new));
+    }
+
+    /**
+     * Splits the account's balance over {@code balanceSlots} slots, changes the number of slots, or
+     * with 0 merges them back into the account row. Runs online: the account row lock only makes
+     * debits of this account wait, and a credit to a slot removed meanwhile goes to the account row.
+     */
+    @Override
+    @Transactional
+    public Account setBalanceSlots(Long id, int balanceSlots) {
+        if (balanceSlots < 0 || balanceSlots > MAX_BALANCE_SLOTS) {
+            throw new InvalidBalanceSlotsException("Balance slots must be between 0 and " + MAX_BALANCE_SLOTS);
+        }
+        if (accountRepository.lockAllByIdOrderById(List.of(id)).isEmpty()) {
+            throw new AccountNotFoundException("Account not found with id: " + id);
+        }
+
+        // A single slot would only move the hot row elsewhere
+        var slots = balanceSlots == 1 ? 0 : balanceSlots;
+        if (slots > 0) {
+            accountRepository.insertBalanceSlots(id, slots);
+        }
+        accountRepository.updateBalanceSlots(id, slots);
+        accountRepository.mergeBalanceSlots(id, slots);
+        return findById(id);
+    }
+
     @Override
     @Transactional
     public TransferResult transfer(TransferRequest transferRequest) {
+        return applyTransfer(transferRequest);
+    }
+
+    /**
+     * Runs the transfer in the database transaction already running on this thread, without a
+     * transactional proxy of its own, so a caller applying it in a savepoint can roll back a
+     * rejection alone. See {@link com.example.transactions_routine.service.transaction.TransactionService#applyTransaction}.
+     */
+    public TransferResult applyTransfer(TransferRequest transferRequest) {
         validateTransferRequest(transferRequest.sourceAccountId(),
                 transferRequest.destinationAccountId(),
                 transferRequest.amount());
 
+        // Lock both accounts in ascending id order, so opposite-direction transfers running
+        // concurrently (e.g. from the recurring transfer workers) cannot deadlock. A split
+        // destination is credited through a balance slot and needs no lock.
+        accountRepository.lockAllUnsplitByIdOrderById(new TreeSet<>(List.of(
+                transferRequest.sourceAccountId(), transferRequest.destinationAccountId())));
+
         var sourceAccount = findById(transferRequest.sourceAccountId());
         var destinationAccount = findById(transferRequest.destinationAccountId());
         var transferTime = LocalDateTime.now();
@@ -74,50 +149,140 @@ public class AccountService implements AccountServicePort {
 
         // Save both transactions
         transactionRepository.saveAll(List.of(debitTransaction, creditTransaction));
+        accountSummaryServicePort.recordTransaction(debitTransaction);
+        accountSummaryServicePort.recordTransaction(creditTransaction);
+        recentActivityCache.record(List.of(debitTransaction, creditTransaction));
 
         return new TransferResult(transferTime, debitTransaction, creditTransaction);
     }
 
+    @Override
+    @Transactional
+    public BatchTransferResult batchTransfer(BatchTransferRequest batchTransferRequest) {
+        return applyBatchTransfer(batchTransferRequest);
+    }
+
+    /**
+     * Runs the batch transfer in the database transaction already running on this thread, like
+     * {@link #applyTransfer}.
+     */
+    public BatchTransferResult applyBatchTransfer(BatchTransferRequest batchTransferRequest) {
+        var sourceAccountId = batchTransferRequest.sourceAccountId();
+        var legs = batchTransferRequest.legs();
+        var totalAmount = validateBatchTransferRequest(sourceAccountId, legs);
+
+        // Lock every involved account once, in ascending id order, which also proves they all exist
+        var accountIds = new TreeSet<Long>();
+        accountIds.add(sourceAccountId);
+        legs.forEach(leg -> accountIds.add(leg.destinationAccountId()));
+        var lockedAccountIds = new HashSet<>(accountRepository.lockAllByIdOrderById(accountIds));
+        if (lockedAccountIds.size() != accountIds.size()) {
+            accountIds.removeAll(lockedAccountIds);
+            throw new AccountNotFoundException("Account not found with id: " + accountIds.first());
+        }
+
+        var debitOperationType = findOperationTypeByDescription("TRANSFER_OUT");
+        var creditOperationType = findOperationTypeByDescription("TRANSFER_IN");
+
+        // Debit the source once for the whole batch, then every destination with one set-wise credit
+        var sourceBalance = accountRepository.updateBalanceWithCheck(sourceAccountId, totalAmount.negate())
+                .orElseThrow(() -> new InsufficientFundsException(sourceAccountId, totalAmount));
+        var destinationIds = new Long[legs.size()];
+        var amounts = new BigDecimal[legs.size()];
+        for (int i = 0; i < legs.size(); i++) {
+            destinationIds[i] = legs.get(i).destinationAccountId();
+            amounts[i] = legs.get(i).amount();
+        }
+        var destinationBalances = new HashMap<Long, BigDecimal>();
+        accountRepository.creditAll(destinationIds, amounts)
+                .forEach(balance -> destinationBalances.put(balance.getId(), balance.getBalance()));
+
+        // Every leg's balance after is the final balance less the legs booked after it
+        var transferTime = LocalDateTime.now();
+        var sourceAccount = accountRepository.getReferenceById(sourceAccountId);
+        var debitTransactions = new ArrayList<Transaction>(Collections.nCopies(legs.size(), null));
+        var creditTransactions = new ArrayList<Transaction>(Collections.nCopies(legs.size(), null));
+        for (int i = legs.size() - 1; i >= 0; i--) {
+            var leg = legs.get(i);
+            debitTransactions.set(i, Transaction.builder()
+                    .account(sourceAccount)
+                    .operationType(debitOperationType)
+                    .amount(leg.amount().negate())
+                    .eventDate(transferTime)
+                    .balanceAfter(sourceBalance)
+                    .build());
+            creditTransactions.set(i, Transaction.builder()
+                    .account(accountRepository.getReferenceById(leg.destinationAccountId()))
+                    .operationType(creditOperationType)
+                    .amount(leg.amount())
+                    .eventDate(transferTime)
+                    .balanceAfter(destinationBalances.get(leg.destinationAccountId()))
+                    .build());
+            sourceBalance = sourceBalance.add(leg.amount());
+            destinationBalances.computeIfPresent(leg.destinationAccountId(), (id, balance) -> balance.subtract(leg.amount()));
+        }
+
+        // Batched insert of all legs
+        var allTransactions = new ArrayList<Transaction>(legs.size() * 2);
+        allTransactions.addAll(debitTransactions);
+        allTransactions.addAll(creditTransactions);
+        transactionRepository.saveAll(allTransactions);
+        accountSummaryServicePort.recordTransactions(allTransactions.stream().map(Transaction::getId).toList());
+        recentActivityCache.record(allTransactions);
+
+        return new BatchTransferResult(transferTime, sourceAccountId, totalAmount, debitTransactions, creditTransactions);
+    }
+
+    private OperationType findOperationTypeByDescription(String description) {
+        return operationTypeRepository.findByDescription(description)
+                .orElseThrow(() -> new OperationTypeNotFoundException("Operation type not found with description: " + description));
+    }
+
     private Transaction processDebitTransaction(Account sourceAccount, BigDecimal amount, LocalDateTime transferTime) {
         var debitOperationType = operationTypeRepository.findByDescription("TRANSFER_OUT")
                 .orElseThrow(() -> new OperationTypeNotFoundException("Operation type not found with description: TRANSFER_OUT"));
 
-        var debitTransaction = Transaction.builder()
+        // Check insufficient funds - this can fail and trigger rollback
+        var balance = accountRepository.updateBalanceWithCheck(sourceAccount.getId(), amount.negate());
+        if (balance.isEmpty() && sourceAccount.isSplit() && splitBalanceServicePort.sweep(sourceAccount.getId())) {
+            balance = accountRepository.updateBalanceWithCheck(sourceAccount.getId(), amount.negate());
+        }
+        if (balance.isEmpty()) {
+            throw new InsufficientFundsException(sourceAccount.getId(), amount);
+        }
+
+        return Transaction.builder()
                 .account(sourceAccount)
                 .operationType(debitOperationType)
                 .amount(amount.negate())
                 .eventDate(transferTime)
+                .balanceAfter(balance.get())
                 .build();
-
-        // Check insufficient funds - this can fail and trigger rollback
-        int debitUpdated = accountRepository.updateBalanceWithCheck(sourceAccount.getId(), debitTransaction.getAmount());
-        if (debitUpdated == 0) {
-            throw new InsufficientFundsException(
-                    String.format("Insufficient funds for transaction. Account ID: %d, Requested amount: %s",
-                            sourceAccount.getId(), amount));
-        }
-
-        return debitTransaction;
     }
 
     private Transaction processCreditTransaction(Account destinationAccount, BigDecimal amount, LocalDateTime transferTime) {
         var creditOperationType = operationTypeRepository.findByDescription("TRANSFER_IN")
                 .orElseThrow(() -> new OperationTypeNotFoundException("Operation type not found with description: TRANSFER_IN"));
 
-        var creditTransaction = Transaction.builder()
+        // Update destination balance - this should always succeed for credits. A credit to a
+        // balance slot leaves the account row alone, so its balance after is not known.
+        BigDecimal balanceAfter = null;
+        if (destinationAccount.isSplit()) {
+            splitBalanceServicePort.credit(destinationAccount, amount);
+        } else {
+            balanceAfter = accountRepository.updateBalance(destinationAccount.getId(), amount).orElse(null);
+        }
+
+        return Transaction.builder()
                 .account(destinationAccount)
                 .operationType(creditOperationType)
                 .amount(amount)
                 .eventDate(transferTime)
+                .balanceAfter(balanceAfter)
                 .build();
-
-        // Update destination balance - this should always succeed for credits
-        accountRepository.updateBalance(destinationAccount.getId(), creditTransaction.getAmount());
-
-        return creditTransaction;
     }
 
-    private void validateTransferRequest(Long sourceAccountId, Long destinationAccountId, BigDecimal amount) {
+    public static void validateTransferRequest(Long sourceAccountId, Long destinationAccountId, BigDecimal amount) {
         if (sourceAccountId == null || destinationAccountId == null) {
             throw new InvalidAccountIdException("Account IDs cannot be null");
         }
@@ -129,4 +294,19 @@ public class AccountService implements AccountServicePort {
         }
     }
 
+    /**
+     * Validates every leg and returns their total amount.
+     */
+    public static BigDecimal validateBatchTransferRequest(Long sourceAccountId, List<BatchTransferLeg> legs) {
+        if (legs == null || legs.isEmpty()) {
+            throw new InvalidTransferAmountException("At least one transfer leg is required");
+        }
+        var totalAmount = BigDecimal.ZERO;
+        for (BatchTransferLeg leg : legs) {
+            validateTransferRequest(sourceAccountId, leg.destinationAccountId(), leg.amount());
+            totalAmount = totalAmount.add(leg.amount());
+        }
+        return totalAmount;
+    }
+
 }
\ No newline at end of file
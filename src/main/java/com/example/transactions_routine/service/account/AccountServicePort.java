@@ -2,12 +2,21 @@
 package com.example.transactions_routine.service.account;
 
 import com.example.transactions_routine.controller.account.AccountRequest;
+import com.example.transactions_routine.controller.account.BatchTransferRequest;
+import com.example.transactions_routine.controller.account.BatchTransferResult;
 import com.example.transactions_routine.controller.account.TransferRequest;
 import com.example.transactions_routine.controller.account.TransferResult;
 import com.example.transactions_routine.model.Account;
+import com.example.transactions_routine.repository.AccountView;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface AccountServicePort {
     Account createAccount(AccountRequest accountRequest);
     Account findById(Long id);
+    List<AccountView> findAllById(Collection<Long> ids);
+    Account setBalanceSlots(Long id, int balanceSlots);
     TransferResult transfer(TransferRequest transferRequest);
+    BatchTransferResult batchTransfer(BatchTransferRequest batchTransferRequest);
 }
@@ -1,6 +1,8 @@
 package com.example.transactions_routine.service.account;
 
-public class InvalidAccountIdException extends RuntimeException {
+import com.example.transactions_routine.service.DomainException;
+
+public class InvalidAccountIdException extends DomainException {
     public InvalidAccountIdException() {}
 
     public InvalidAccountIdException(String message) {
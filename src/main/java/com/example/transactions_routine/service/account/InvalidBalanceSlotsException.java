@@ -0,0 +1,16 @@
+
+package com.example.transactions_routine.service.account;
+
+import com.example.transactions_routine.service.DomainException;
+
+public class InvalidBalanceSlotsException extends DomainException {
+    public InvalidBalanceSlotsException() {}
+
+    public InvalidBalanceSlotsException(String message) {
+        super(message);
+    }
+
+    public InvalidBalanceSlotsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
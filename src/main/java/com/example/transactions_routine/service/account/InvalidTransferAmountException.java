@@ -1,7 +1,9 @@
 
 package com.example.transactions_routine.service.account;
 
-public class InvalidTransferAmountException extends RuntimeException {
+import com.example.transactions_routine.service.DomainException;
+
+public class InvalidTransferAmountException extends DomainException {
     public InvalidTransferAmountException() {}
 
     public InvalidTransferAmountException(String message) {
@@ -1,6 +1,8 @@
 package com.example.transactions_routine.service.account;
 
-public class SameAccountTransferException extends RuntimeException {
+import com.example.transactions_routine.service.DomainException;
+
+public class SameAccountTransferException extends DomainException {
     public SameAccountTransferException() {}
 
     public SameAccountTransferException(String message) {
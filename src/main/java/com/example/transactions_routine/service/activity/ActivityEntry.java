@@ -0,0 +1,56 @@
+package com.example.transactions_routine.service.activity;
+
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.TransactionView;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A transaction as kept by the {@link RecentActivityCache}, without its entity references.
+ */
+record ActivityEntry(
+        Long id,
+        Long accountId,
+        Long operationTypeId,
+        BigDecimal amount,
+        LocalDateTime eventDate,
+        BigDecimal balanceAfter
+) implements TransactionView {
+
+    static ActivityEntry of(Transaction transaction) {
+        return new ActivityEntry(transaction.getId(), transaction.getAccount().getId(),
+                transaction.getOperationType().getId(), transaction.getAmount(), transaction.getEventDate(),
+                transaction.getBalanceAfter());
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    @Override
+    public Long getOperationTypeId() {
+        return operationTypeId;
+    }
+
+    @Override
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    @Override
+    public LocalDateTime getEventDate() {
+        return eventDate;
+    }
+
+    @Override
+    public BigDecimal getBalanceAfter() {
+        return balanceAfter;
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.transactions_routine.service.activity;
+
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.TransactionView;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+/**
+ * The last transactions of recently read accounts, one fixed-size ring buffer per account. Accounts
+ * are spread over lock stripes, each an access-ordered map that drops its least recently used
+ * account beyond its share of {@code max-accounts}. An account is only cached once it is read:
+ * a miss loads it, and from then on every committed write is appended to its ring.
+ */
+@Component
+public class RecentActivityCache {
+
+    private final int size;
+    private final int accountsPerStripe;
+    private final long ttlNanos;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public RecentActivityCache(RecentActivityProperties properties) {
+        if (properties.size() < 1 || properties.maxAccounts() < 1) {
+            throw new IllegalArgumentException("transactions.recent-activity.size and max-accounts must be positive");
+        }
+        this.size = properties.size();
+        this.ttlNanos = properties.ttl().toNanos();
+
+        int stripeCount = Integer.highestOneBit(Math.max(1, properties.stripes() - 1) << 1);
+        this.accountsPerStripe = Math.max(1, properties.maxAccounts() / stripeCount);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(accountsPerStripe);
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the account's last transactions, newest first. On a miss, or when the cached ring is
+     * older than the TTL, the loader is asked for the account's last {@link #size()} transactions,
+     * newest first; writes committed while it runs are merged in.
+     */
+    public List<TransactionView> find(long accountId, LongFunction<List<? extends TransactionView>> loader) {
+        var stripe = stripeFor(accountId);
+        Ring loading;
+        synchronized (stripe) {
+            var ring = stripe.accounts.get(accountId);
+            if (ring != null && !ring.loading && System.nanoTime() - ring.loadedAt < ttlNanos) {
+                return ring.newestFirst();
+            }
+            if (ring != null && ring.loading) {
+                loading = null;
+            } else {
+                loading = new Ring(size);
+                stripe.accounts.put(accountId, loading);
+            }
+        }
+        if (loading == null) {
+            // Another request is loading this account, read past the cache instead of waiting for it
+            return List.copyOf(loader.apply(accountId));
+        }
+
+        List<? extends TransactionView> loaded;
+        try {
+            loaded = loader.apply(accountId);
+        } catch (RuntimeException e) {
+            synchronized (stripe) {
+                stripe.accounts.remove(accountId, loading);
+            }
+            throw e;
+        }
+        synchronized (stripe) {
+            loading.fill(loaded);
+            return loading.newestFirst();
+        }
+    }
+
+    /**
+     * Appends the transactions to the rings of their accounts once the current database
+     * transaction commits, or right away outside of one. Transactions undone by rolling back to a
+     * savepoint taken before they were recorded are dropped. Accounts that are not cached are skipped.
+     */
+    public void record(Collection<Transaction> transactions) {
+        var entries = transactions.stream().map(ActivityEntry::of).toList();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // Savepoints taken after these transactions; rolling back to an earlier one undoes them
+                private final Set<Object> laterSavepoints = Collections.newSetFromMap(new IdentityHashMap<>());
+                private boolean rolledBack;
+
+                @Override
+                public void savepoint(Object savepoint) {
+                    laterSavepoints.add(savepoint);
+                }
+
+                @Override
+                public void savepointRollback(Object savepoint) {
+                    if (!laterSavepoints.contains(savepoint)) {
+                        rolledBack = true;
+                    }
+                }
+
+                @Override
+                public void afterCommit() {
+                    if (!rolledBack) {
+                        append(entries);
+                    }
+                }
+            });
+        } else {
+            append(entries);
+        }
+    }
+
+    public int cachedAccounts() {
+        int cached = 0;
+        for (var stripe : stripes) {
+            synchronized (stripe) {
+                cached += stripe.accounts.size();
+            }
+        }
+        return cached;
+    }
+
+    private void append(List<ActivityEntry> entries) {
+        for (var entry : entries) {
+            var stripe = stripeFor(entry.accountId());
+            synchronized (stripe) {
+                var ring = stripe.accounts.get(entry.accountId());
+                if (ring != null) {
+                    ring.add(entry);
+                }
+            }
+        }
+    }
+
+    private Stripe stripeFor(long accountId) {
+        return stripes[Long.hashCode(accountId * 0x9E3779B97F4A7C15L) & stripeMask];
+    }
+
+    private static final class Stripe {
+        private final Map<Long, Ring> accounts;
+
+        private Stripe(int maxAccounts) {
+            this.accounts = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Ring> eldest) {
+                    return size() > maxAccounts;
+                }
+            };
+        }
+    }
+
+    private static final class Ring {
+        private final TransactionView[] entries;
+        private int next;
+        private int count;
+        private boolean loading = true;
+        private long loadedAt;
+
+        private Ring(int size) {
+            this.entries = new TransactionView[size];
+        }
+
+        private void add(TransactionView entry) {
+            entries[next] = entry;
+            next = (next + 1) % entries.length;
+            count = Math.min(count + 1, entries.length);
+        }
+
+        // Replaces the contents with the loaded transactions, keeping writes appended while loading
+        private void fill(List<? extends TransactionView> newestFirst) {
+            var appended = new ArrayList<>(newestFirst());
+            var loadedIds = new HashSet<Long>();
+            next = 0;
+            count = 0;
+            for (int i = Math.min(newestFirst.size(), entries.length) - 1; i >= 0; i--) {
+                add(newestFirst.get(i));
+                loadedIds.add(newestFirst.get(i).getId());
+            }
+            for (int i = appended.size() - 1; i >= 0; i--) {
+                if (!loadedIds.contains(appended.get(i).getId())) {
+                    add(appended.get(i));
+                }
+            }
+            loading = false;
+            loadedAt = System.nanoTime();
+        }
+
+        private List<TransactionView> newestFirst() {
+            var result = new ArrayList<TransactionView>(count);
+            for (int i = 1; i <= count; i++) {
+                result.add(entries[Math.floorMod(next - i, entries.length)]);
+            }
+            return result;
+        }
+    }
+}
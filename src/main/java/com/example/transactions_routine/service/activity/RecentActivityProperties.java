@@ -0,0 +1,21 @@
+package com.example.transactions_routine.service.activity;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the {@link RecentActivityCache}: the last {@code size} transactions of at most
+ * {@code maxAccounts} accounts, so at most {@code maxAccounts * size} entries of about 100 bytes.
+ * Entries older than {@code ttl} are reloaded, which bounds how long writes of other instances
+ * or of the schedulers stay invisible.
+ */
+@ConfigurationProperties(prefix = "transactions.recent-activity")
+public record RecentActivityProperties(
+        @DefaultValue("20") int size,
+        @DefaultValue("100000") int maxAccounts,
+        @DefaultValue("16") int stripes,
+        @DefaultValue("PT1M") Duration ttl
+) {
+}
@@ -0,0 +1,45 @@
+package com.example.transactions_routine.service.activity;
+
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.TransactionRepository;
+import com.example.transactions_routine.repository.TransactionView;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Serves an account's last transactions from the {@link RecentActivityCache}. Not transactional,
+ * so a cache hit never touches a database connection; a miss reads the newest transactions from
+ * the account search index, and checks that the account exists only if it has none.
+ */
+@Service
+@Profile("!in-memory")
+public class RecentActivityService implements RecentActivityServicePort {
+
+    private final RecentActivityCache recentActivityCache;
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+
+    public RecentActivityService(RecentActivityCache recentActivityCache,
+                                 TransactionRepository transactionRepository,
+                                 AccountRepository accountRepository) {
+        this.recentActivityCache = recentActivityCache;
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+    }
+
+    @Override
+    public List<TransactionView> findRecentActivity(Long accountId) {
+        return recentActivityCache.find(accountId, this::load);
+    }
+
+    private List<TransactionView> load(long accountId) {
+        var transactions = transactionRepository.findNewestViewsByAccountId(accountId, recentActivityCache.size());
+        if (transactions.isEmpty() && !accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException("Account not found with id: " + accountId);
+        }
+        return transactions;
+    }
+}
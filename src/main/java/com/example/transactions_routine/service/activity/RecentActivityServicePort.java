@@ -0,0 +1,9 @@
+package com.example.transactions_routine.service.activity;
+
+import com.example.transactions_routine.repository.TransactionView;
+
+import java.util.List;
+
+public interface RecentActivityServicePort {
+    List<TransactionView> findRecentActivity(Long accountId);
+}
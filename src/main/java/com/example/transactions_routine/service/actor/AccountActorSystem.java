@@ -0,0 +1,317 @@
+package com.example.transactions_routine.service.actor;
+
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.AccountView;
+import com.example.transactions_routine.service.transaction.InsufficientFundsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs every balance-changing operation of an account on that account's actor, so an account has a
+ * single writer in this instance and its row lock is never contended by requests of the instance.
+ * An actor is a mailbox drained by one virtual thread at a time; it applies what has queued up in
+ * one database transaction, each operation in its own savepoint, and answers the callers once that
+ * transaction commits. Operations that also lock other accounts, like transfers, run in a
+ * transaction of their own: held for a whole batch, their locks could deadlock with the batch of
+ * the other account's actor. Actors live in a fixed number of shards keyed by account id and are dropped
+ * when idle.
+ * <p>
+ * An actor also tracks its account's balance, read once when it is created and then moved by every
+ * operation it applies. A debit the tracked balance cannot cover is confirmed with one read before
+ * it is rejected, since holds, installments and other instances still change balances outside the
+ * actors; the guarded balance update stays the last check for everything else.
+ */
+@Component
+@Profile("!in-memory")
+@ConditionalOnProperty(name = "transactions.actors.enabled", havingValue = "true")
+public class AccountActorSystem {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountActorSystem.class);
+
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate savepoint;
+    private final int batchSize;
+    private final long idleNanos;
+    private final Shard[] shards;
+    private final int shardMask;
+
+    public AccountActorSystem(AccountRepository accountRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${transactions.actors.shards:64}") int shardCount,
+                              @Value("${transactions.actors.batch-size:64}") int batchSize,
+                              @Value("${transactions.actors.idle-timeout:PT1M}") Duration idleTimeout,
+                              @Value("${transactions.sharding.enabled:false}") boolean shardingEnabled) {
+        if (shardingEnabled) {
+            throw new IllegalStateException("transactions.actors cannot be combined with transactions.sharding");
+        }
+        if (shardCount < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("transactions.actors shards and batch-size must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.savepoint = new TransactionTemplate(transactionManager);
+        this.savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.batchSize = batchSize;
+        this.idleNanos = idleTimeout.toNanos();
+
+        int count = Integer.highestOneBit(Math.max(1, shardCount - 1) << 1);
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard();
+        }
+        this.shardMask = count - 1;
+    }
+
+    /**
+     * Runs the operation on the account's actor and waits for it to commit. {@code debit} is what
+     * the operation takes from the account, if known upfront, and {@code balanceChange} tells from
+     * its result by how much it moved the account's balance. The operation runs in the actor's
+     * transaction and must not join it through a transactional proxy: a failure there would mark
+     * the whole batch rollback-only rather than just its own savepoint.
+     */
+    public <T> T execute(long accountId, BigDecimal debit, Supplier<T> operation, Function<T, BigDecimal> balanceChange) {
+        return execute(accountId, debit, operation, balanceChange, false);
+    }
+
+    /**
+     * {@link #execute} for an operation that also locks other accounts: it runs in its own
+     * transaction, after the operations queued before it have committed.
+     */
+    public <T> T executeAlone(long accountId, BigDecimal debit, Supplier<T> operation, Function<T, BigDecimal> balanceChange) {
+        return execute(accountId, debit, operation, balanceChange, true);
+    }
+
+    private <T> T execute(long accountId, BigDecimal debit, Supplier<T> operation, Function<T, BigDecimal> balanceChange,
+                          boolean alone) {
+        var message = new Message<>(operation, debit, balanceChange, alone, new CompletableFuture<>());
+        var shard = shardFor(accountId);
+        AccountActor actor;
+        synchronized (shard) {
+            actor = shard.actors.computeIfAbsent(accountId, AccountActor::new);
+            actor.mailbox.add(message);
+        }
+        actor.schedule();
+        try {
+            return message.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.actors.idle-timeout:PT1M}")
+    public void evictIdleActors() {
+        var evicted = evictIdle();
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle account actors, {} still active", evicted, activeActors());
+        }
+    }
+
+    /**
+     * Drops actors that have had nothing to do for the idle timeout. Return the number dropped.
+     */
+    public int evictIdle() {
+        var idleBefore = System.nanoTime() - idleNanos;
+        int evicted = 0;
+        for (var shard : shards) {
+            synchronized (shard) {
+                var iterator = shard.actors.values().iterator();
+                while (iterator.hasNext()) {
+                    var actor = iterator.next();
+                    // A message is only added under this lock, so an empty idle actor stays empty
+                    if (!actor.running.get() && actor.mailbox.isEmpty() && actor.lastActiveNanos - idleBefore < 0) {
+                        iterator.remove();
+                        evicted++;
+                    }
+                }
+            }
+        }
+        return evicted;
+    }
+
+    public int activeActors() {
+        int active = 0;
+        for (var shard : shards) {
+            synchronized (shard) {
+                active += shard.actors.size();
+            }
+        }
+        return active;
+    }
+
+    private Shard shardFor(long accountId) {
+        return shards[Long.hashCode(accountId * 0x9E3779B97F4A7C15L) & shardMask];
+    }
+
+    private record Message<T>(Supplier<T> operation,
+                              BigDecimal debit,
+                              Function<T, BigDecimal> balanceChange,
+                              boolean alone,
+                              CompletableFuture<T> result) {
+    }
+
+    /**
+     * Outcome of a message, completed only after the batch transaction has committed.
+     */
+    private record Outcome(Message<?> message, Object value, RuntimeException failure) {
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        void complete() {
+            if (failure != null) {
+                message.result().completeExceptionally(failure);
+            } else {
+                ((CompletableFuture) message.result()).complete(value);
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        BigDecimal balanceChange() {
+            return failure == null ? (BigDecimal) ((Function) message.balanceChange()).apply(value) : BigDecimal.ZERO;
+        }
+    }
+
+    private static final class Shard {
+        private final Map<Long, AccountActor> actors = new HashMap<>();
+    }
+
+    private final class AccountActor {
+
+        private final long accountId;
+        private final ConcurrentLinkedQueue<Message<?>> mailbox = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean running = new AtomicBoolean();
+        private volatile long lastActiveNanos = System.nanoTime();
+        // Only touched by the thread draining the mailbox; null until read
+        private BigDecimal balance;
+        // An operation to run alone, polled while a batch was being filled; only touched by the drainer
+        private Message<?> deferred;
+
+        private AccountActor(long accountId) {
+            this.accountId = accountId;
+        }
+
+        private void schedule() {
+            if (running.compareAndSet(false, true)) {
+                Thread.ofVirtual().name("account-actor-" + accountId).start(this::drain);
+            }
+        }
+
+        private void drain() {
+            var batch = new ArrayList<Message<?>>(batchSize);
+            while (true) {
+                Message<?> message;
+                while (batch.size() < batchSize && (message = next()) != null) {
+                    if (message.alone() && !batch.isEmpty()) {
+                        // Commit what came before it first
+                        deferred = message;
+                        break;
+                    }
+                    batch.add(message);
+                    if (message.alone()) {
+                        break;
+                    }
+                }
+                if (batch.isEmpty()) {
+                    running.set(false);
+                    // A message added after the poll but before the flag was cleared found it set
+                    if (mailbox.isEmpty() || !running.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                apply(batch);
+                batch.clear();
+                lastActiveNanos = System.nanoTime();
+            }
+        }
+
+        private Message<?> next() {
+            var message = deferred;
+            if (message == null) {
+                return mailbox.poll();
+            }
+            deferred = null;
+            return message;
+        }
+
+        private void apply(List<Message<?>> batch) {
+            List<Outcome> outcomes;
+            try {
+                outcomes = transaction.execute(status -> batch.stream().map(this::applyInSavepoint).toList());
+            } catch (RuntimeException e) {
+                logger.warn("Batch of {} operations on account {} failed, applying them one by one: {}",
+                        batch.size(), accountId, e.getMessage());
+                balance = null;
+                outcomes = batch.stream().map(this::applyAlone).toList();
+            }
+            for (var outcome : outcomes) {
+                if (balance != null) {
+                    balance = balance.add(outcome.balanceChange());
+                }
+                outcome.complete();
+            }
+        }
+
+        private Outcome applyInSavepoint(Message<?> message) {
+            try {
+                checkFunds(message);
+                return new Outcome(message, savepoint.execute(status -> message.operation().get()), null);
+            } catch (RuntimeException e) {
+                if (e instanceof InsufficientFundsException) {
+                    // The tracked balance was too high, read it again next time
+                    balance = null;
+                }
+                return new Outcome(message, null, e);
+            }
+        }
+
+        private Outcome applyAlone(Message<?> message) {
+            try {
+                return new Outcome(message, transaction.execute(status -> message.operation().get()), null);
+            } catch (RuntimeException e) {
+                return new Outcome(message, null, e);
+            }
+        }
+
+        /**
+         * Rejects a debit the account cannot cover without running it, once a fresh read agrees.
+         */
+        private void checkFunds(Message<?> message) {
+            if (message.debit() == null) {
+                return;
+            }
+            if (balance == null || balance.compareTo(message.debit()) < 0) {
+                balance = accountRepository.findAllViewsById(new Long[]{accountId}).stream()
+                        .findFirst()
+                        .map(AccountView::getBalance)
+                        .orElse(null);
+            }
+            if (balance != null && balance.compareTo(message.debit()) < 0) {
+                throw new InsufficientFundsException(accountId, message.debit().negate());
+            }
+        }
+    }
+}
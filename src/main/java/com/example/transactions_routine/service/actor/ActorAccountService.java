@@ -0,0 +1,99 @@
+package com.example.transactions_routine.service.actor;
+
+import com.example.transactions_routine.controller.account.AccountRequest;
+import com.example.transactions_routine.controller.account.BatchTransferLeg;
+import com.example.transactions_routine.controller.account.BatchTransferRequest;
+import com.example.transactions_routine.controller.account.BatchTransferResult;
+import com.example.transactions_routine.controller.account.TransferRequest;
+import com.example.transactions_routine.controller.account.TransferResult;
+import com.example.transactions_routine.model.Account;
+import com.example.transactions_routine.repository.AccountView;
+import com.example.transactions_routine.service.account.AccountService;
+import com.example.transactions_routine.service.account.AccountServicePort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs every {@link AccountService} transfer on the actor of its source account, the only account
+ * it debits, through the write path that joins the actor's transaction. Transfers also lock their
+ * destinations, so each runs in a transaction of its own. Account management and lookups go
+ * straight to {@link AccountService}.
+ */
+@Service
+@Profile("!in-memory")
+@Primary
+@ConditionalOnProperty(name = "transactions.actors.enabled", havingValue = "true")
+public class ActorAccountService implements AccountServicePort {
+
+    private final AccountService accountService;
+    private final AccountActorSystem accountActorSystem;
+
+    public ActorAccountService(AccountService accountService, AccountActorSystem accountActorSystem) {
+        this.accountService = accountService;
+        this.accountActorSystem = accountActorSystem;
+    }
+
+    @Override
+    public Account createAccount(AccountRequest accountRequest) {
+        return accountService.createAccount(accountRequest);
+    }
+
+    @Override
+    public Account findById(Long id) {
+        return accountService.findById(id);
+    }
+
+    @Override
+    public List<AccountView> findAllById(Collection<Long> ids) {
+        return accountService.findAllById(ids);
+    }
+
+    @Override
+    public Account setBalanceSlots(Long id, int balanceSlots) {
+        return accountService.setBalanceSlots(id, balanceSlots);
+    }
+
+    @Override
+    public TransferResult transfer(TransferRequest transferRequest) {
+        var sourceAccountId = transferRequest.sourceAccountId();
+        if (sourceAccountId == null || sourceAccountId.equals(transferRequest.destinationAccountId())) {
+            // Rejected by the validation of the transfer before any database access
+            return accountService.transfer(transferRequest);
+        }
+        var amount = transferRequest.amount();
+        return accountActorSystem.executeAlone(sourceAccountId, amount != null && amount.signum() > 0 ? amount : null,
+                () -> accountService.applyTransfer(transferRequest),
+                result -> result.debitTransaction().getAmount());
+    }
+
+    @Override
+    public BatchTransferResult batchTransfer(BatchTransferRequest batchTransferRequest) {
+        var sourceAccountId = batchTransferRequest.sourceAccountId();
+        if (sourceAccountId == null || batchTransferRequest.legs() == null) {
+            return accountService.batchTransfer(batchTransferRequest);
+        }
+        return accountActorSystem.executeAlone(sourceAccountId, totalAmount(batchTransferRequest.legs()),
+                () -> accountService.applyBatchTransfer(batchTransferRequest),
+                result -> result.totalAmount().negate());
+    }
+
+    /**
+     * Sum of the legs, or null if a leg is invalid and the batch transfer will reject it anyway.
+     */
+    private static BigDecimal totalAmount(List<BatchTransferLeg> legs) {
+        var total = BigDecimal.ZERO;
+        for (var leg : legs) {
+            if (leg == null || leg.amount() == null || leg.amount().signum() <= 0) {
+                return null;
+            }
+            total = total.add(leg.amount());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.transactions_routine.service.actor;
+
+import com.example.transactions_routine.controller.transaction.TransactionRequest;
+import com.example.transactions_routine.controller.transaction.TransactionSearchResult;
+import com.example.transactions_routine.model.OperationType;
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.OperationTypeRepository;
+import com.example.transactions_routine.repository.TransactionSearchCriteria;
+import com.example.transactions_routine.repository.TransactionView;
+import com.example.transactions_routine.service.transaction.TransactionService;
+import com.example.transactions_routine.service.transaction.TransactionServicePort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs every {@link TransactionService#createTransaction} on the actor of the transaction's account,
+ * as {@link TransactionService#applyTransaction} inside the actor's transaction. A debit booked in
+ * one go is checked against the actor's balance first; installment plans and credits are not, and
+ * lookups go straight to {@link TransactionService}.
+ */
+@Service
+@Profile("!in-memory")
+@Primary
+@ConditionalOnProperty(name = "transactions.actors.enabled", havingValue = "true")
+public class ActorTransactionService implements TransactionServicePort {
+
+    private final TransactionService transactionService;
+    private final AccountActorSystem accountActorSystem;
+    private final OperationTypeRepository operationTypeRepository;
+    // Operation types never change, so whether one is a credit is read once
+    private final Map<Long, Boolean> creditOperationTypes = new ConcurrentHashMap<>();
+
+    public ActorTransactionService(TransactionService transactionService,
+                                   AccountActorSystem accountActorSystem,
+                                   OperationTypeRepository operationTypeRepository) {
+        this.transactionService = transactionService;
+        this.accountActorSystem = accountActorSystem;
+        this.operationTypeRepository = operationTypeRepository;
+    }
+
+    @Override
+    public Transaction createTransaction(TransactionRequest transactionRequest) {
+        if (transactionRequest.accountId() == null) {
+            return transactionService.createTransaction(transactionRequest);
+        }
+        return accountActorSystem.execute(transactionRequest.accountId(), debit(transactionRequest),
+                () -> transactionService.applyTransaction(transactionRequest),
+                Transaction::getAmount);
+    }
+
+    private BigDecimal debit(TransactionRequest transactionRequest) {
+        var amount = transactionRequest.amount();
+        var operationTypeId = transactionRequest.operationTypeId();
+        var installments = transactionRequest.installments();
+        if (amount == null || amount.signum() <= 0 || operationTypeId == null || (installments != null && installments > 1)) {
+            return null;
+        }
+        var credit = creditOperationTypes.get(operationTypeId);
+        if (credit == null) {
+            credit = operationTypeRepository.findById(operationTypeId).map(OperationType::isCredit).orElse(null);
+            if (credit == null) {
+                // Unknown operation type, rejected by the transaction itself
+                return null;
+            }
+            creditOperationTypes.put(operationTypeId, credit);
+        }
+        return credit ? null : amount;
+    }
+
+    @Override
+    public Transaction findById(Long transactionId) {
+        return transactionService.findById(transactionId);
+    }
+
+    @Override
+    public List<TransactionView> findAllById(Collection<Long> transactionIds) {
+        return transactionService.findAllById(transactionIds);
+    }
+
+    @Override
+    public TransactionSearchResult search(TransactionSearchCriteria criteria, String cursor, int limit) {
+        return transactionService.search(criteria, cursor, limit);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.transactions_routine.service.backfill;
+
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills in the balance after of the transactions written before it was stored with every row.
+ * The current account id range is split into partitions spread over a fixed pool of workers, so
+ * the pool size bounds the connections in use. A worker walks its partition in chunks of account
+ * ids, each one statement in its own short database transaction. Only missing values are written
+ * and each one is derived from the account's current balance, so the job runs next to live
+ * traffic, and running it again after an interruption only does what is left.
+ */
+@Component
+@Profile("!in-memory")
+public class BalanceAfterBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceAfterBackfill.class);
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate writeTransaction;
+    private final long partitionSize;
+    private final int chunkSize;
+    private final int workerCount;
+
+    public BalanceAfterBackfill(AccountRepository accountRepository,
+                                TransactionRepository transactionRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${transactions.balance-after.backfill.partition-size:100000}") long partitionSize,
+                                @Value("${transactions.balance-after.backfill.chunk-size:1000}") int chunkSize,
+                                @Value("${transactions.balance-after.backfill.workers:8}") int workerCount) {
+        if (partitionSize < 1 || chunkSize < 1 || workerCount < 1) {
+            throw new IllegalArgumentException("transactions.balance-after.backfill partition-size, chunk-size and workers must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.partitionSize = partitionSize;
+        this.chunkSize = chunkSize;
+        this.workerCount = workerCount;
+    }
+
+    /**
+     * Back-fills every account that exists now. Return the number of transactions updated.
+     */
+    public long run() {
+        var firstId = accountRepository.findMinId();
+        var lastId = accountRepository.findMaxId();
+        if (firstId == null) {
+            logger.info("No accounts to back-fill");
+            return 0;
+        }
+
+        var startedAt = System.nanoTime();
+        var tasks = new ArrayList<Callable<Long>>();
+        for (long start = firstId; start <= lastId; start += partitionSize) {
+            var first = start;
+            var last = Math.min(lastId, start + partitionSize - 1);
+            tasks.add(() -> backfill(first, last));
+        }
+
+        long updated = 0;
+        int failed = 0;
+        var workers = Executors.newFixedThreadPool(Math.min(workerCount, tasks.size()),
+                Thread.ofPlatform().name("balance-after-backfill-", 0).factory());
+        try {
+            for (var future : workers.invokeAll(tasks)) {
+                try {
+                    updated += future.get();
+                } catch (ExecutionException e) {
+                    logger.error("Balance after back-fill partition failed, it resumes on the next run", e.getCause());
+                    failed++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while back-filling balances after", e);
+        } finally {
+            workers.shutdownNow();
+        }
+        if (failed > 0) {
+            throw new IllegalStateException(failed + " balance after back-fill partitions failed");
+        }
+
+        var elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        logger.info("Balance after back-filled for accounts {} to {}, {} transactions in {} ms, {} transactions/s",
+                firstId, lastId, updated, elapsedMillis, updated * 1000 / elapsedMillis);
+        return updated;
+    }
+
+    long backfill(long firstAccountId, long lastAccountId) {
+        long updated = 0;
+        for (long start = firstAccountId; start <= lastAccountId; start += chunkSize) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            var first = start;
+            var last = Math.min(lastAccountId, start + chunkSize - 1);
+            var chunk = writeTransaction.execute(status -> transactionRepository.backfillBalanceAfter(first, last));
+            updated += chunk == null ? 0 : chunk;
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.transactions_routine.service.backfill;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off job that back-fills the balance after of existing transactions. Start the application
+ * with {@code --transactions.balance-after.backfill.run=true}; it exits once done. Starting it
+ * again after an interruption picks up what is still missing.
+ */
+@Component
+@Profile("!in-memory")
+@ConditionalOnProperty(name = "transactions.balance-after.backfill.run", havingValue = "true")
+public class BalanceAfterBackfillJob implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceAfterBackfillJob.class);
+
+    private final BalanceAfterBackfill balanceAfterBackfill;
+    private final ConfigurableApplicationContext context;
+
+    public BalanceAfterBackfillJob(BalanceAfterBackfill balanceAfterBackfill, ConfigurableApplicationContext context) {
+        this.balanceAfterBackfill = balanceAfterBackfill;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode;
+        try {
+            balanceAfterBackfill.run();
+            exitCode = 0;
+        } catch (RuntimeException e) {
+            logger.error("Balance after back-fill stopped: {}", e.getMessage());
+            exitCode = 1;
+        }
+        var code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
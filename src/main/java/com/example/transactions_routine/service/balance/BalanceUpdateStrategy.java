@@ -0,0 +1,20 @@
+package com.example.transactions_routine.service.balance;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * How a single-account balance change is protected against concurrent writers, chosen with
+ * {@code transactions.concurrency.mode}: {@code guarded-update} (default), {@code optimistic} or
+ * {@code pessimistic}. Must run inside a transaction.
+ */
+public interface BalanceUpdateStrategy {
+
+    /**
+     * Adds {@code amount} (negative for a debit) to the account balance unless that would make it
+     * negative. Return the account's balance right after the change, see
+     * {@link com.example.transactions_routine.repository.AccountRepository#RETURNING_BALANCE_AFTER},
+     * or empty, changing nothing, if the funds are insufficient.
+     */
+    Optional<BigDecimal> apply(Long accountId, BigDecimal amount);
+}
@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.balance;
+
+import com.example.transactions_routine.service.DomainException;
+
+public class ConcurrentBalanceUpdateException extends DomainException {
+    public ConcurrentBalanceUpdateException() {}
+
+    public ConcurrentBalanceUpdateException(String message) {
+        super(message);
+    }
+
+    public ConcurrentBalanceUpdateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.transactions_routine.service.balance;
+
+import com.example.transactions_routine.repository.AccountRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * One UPDATE whose WHERE clause checks the funds. The row lock is held only from that statement
+ * to commit, and a concurrent writer simply waits for it, so nothing is ever retried.
+ */
+@Component
+@Profile("!in-memory")
+@ConditionalOnProperty(name = "transactions.concurrency.mode", havingValue = "guarded-update", matchIfMissing = true)
+public class GuardedUpdateBalanceStrategy implements BalanceUpdateStrategy {
+
+    private final AccountRepository accountRepository;
+
+    public GuardedUpdateBalanceStrategy(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    @Override
+    public Optional<BigDecimal> apply(Long accountId, BigDecimal amount) {
+        return accountRepository.updateBalanceWithCheck(accountId, amount);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.transactions_routine.service.balance;
+
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reads balance and version without a lock, checks the funds in Java and writes only if the version
+ * is unchanged. On a conflict it re-reads, which under READ COMMITTED sees the winner's commit, and
+ * tries again after a short jittered backoff, up to {@code max-attempts} times in total.
+ */
+@Component
+@Profile("!in-memory")
+@ConditionalOnProperty(name = "transactions.concurrency.mode", havingValue = "optimistic")
+public class OptimisticBalanceUpdateStrategy implements BalanceUpdateStrategy {
+
+    private final AccountRepository accountRepository;
+    private final int maxAttempts;
+    private final long backoffNanos;
+    private final LongAdder conflicts = new LongAdder();
+
+    public OptimisticBalanceUpdateStrategy(AccountRepository accountRepository,
+                                           @Value("${transactions.concurrency.optimistic.max-attempts:5}") int maxAttempts,
+                                           @Value("${transactions.concurrency.optimistic.backoff:PT0.002S}") Duration backoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("transactions.concurrency.optimistic.max-attempts must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.maxAttempts = maxAttempts;
+        this.backoffNanos = backoff.toNanos();
+    }
+
+    @Override
+    public Optional<BigDecimal> apply(Long accountId, BigDecimal amount) {
+        for (int attempt = 1; ; attempt++) {
+            var current = accountRepository.findBalanceAndVersion(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + accountId));
+            if (current.balance().add(amount).signum() < 0) {
+                return Optional.empty();
+            }
+            var balance = accountRepository.updateBalanceIfVersion(accountId, amount, current.version());
+            if (balance.isPresent()) {
+                return balance;
+            }
+            conflicts.increment();
+            if (attempt == maxAttempts) {
+                throw new ConcurrentBalanceUpdateException(
+                        String.format("Account %d was updated concurrently, gave up after %d attempts", accountId, maxAttempts));
+            }
+            backoff(attempt);
+        }
+    }
+
+    /**
+     * Number of version conflicts seen so far, each followed by a retry or an abort.
+     */
+    public long conflicts() {
+        return conflicts.sum();
+    }
+
+    private void backoff(int attempt) {
+        if (backoffNanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(backoffNanos * attempt) + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentBalanceUpdateException("Interrupted while retrying a balance update", e);
+        }
+    }
+}
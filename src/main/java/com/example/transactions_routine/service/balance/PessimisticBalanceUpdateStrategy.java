@@ -0,0 +1,36 @@
+package com.example.transactions_routine.service.balance;
+
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Locks the account row with {@code SELECT ... FOR UPDATE}, checks the funds in Java and then writes
+ * the new balance. Concurrent writers queue on the lock for the rest of the transaction.
+ */
+@Component
+@Profile("!in-memory")
+@ConditionalOnProperty(name = "transactions.concurrency.mode", havingValue = "pessimistic")
+public class PessimisticBalanceUpdateStrategy implements BalanceUpdateStrategy {
+
+    private final AccountRepository accountRepository;
+
+    public PessimisticBalanceUpdateStrategy(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    @Override
+    public Optional<BigDecimal> apply(Long accountId, BigDecimal amount) {
+        var balance = accountRepository.lockBalanceById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + accountId));
+        if (balance.add(amount).signum() < 0) {
+            return Optional.empty();
+        }
+        return accountRepository.updateBalance(accountId, amount);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.transactions_routine.service.balance;
+
+import com.example.transactions_routine.model.Account;
+import com.example.transactions_routine.repository.AccountRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Balance changes of split accounts. A credit goes to one of the account's balance slots at random,
+ * so concurrent credits rarely touch the same row and never the account row. A debit is still a
+ * guarded UPDATE of the account row; when that row alone is short, the slots are swept into it
+ * first and the debit is retried.
+ */
+@Service
+@Profile("!in-memory")
+@Transactional(propagation = Propagation.MANDATORY)
+public class SplitBalanceService implements SplitBalanceServicePort {
+
+    private final AccountRepository accountRepository;
+
+    public SplitBalanceService(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    @Override
+    public void credit(Account account, BigDecimal amount) {
+        if (account.isSplit()) {
+            var slot = ThreadLocalRandom.current().nextInt(account.getBalanceSlots());
+            if (accountRepository.creditBalanceSlot(account.getId(), slot, amount) == 1) {
+                return;
+            }
+        }
+        // Not split, or merged since the account was read
+        accountRepository.updateBalance(account.getId(), amount);
+    }
+
+    /**
+     * Return true if credits were waiting in the slots and are now on the account row.
+     */
+    @Override
+    public boolean sweep(Long accountId) {
+        return accountRepository.sweepBalanceSlots(accountId) == 1;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.transactions_routine.service.balance;
+
+import com.example.transactions_routine.model.Account;
+
+import java.math.BigDecimal;
+
+public interface SplitBalanceServicePort {
+    void credit(Account account, BigDecimal amount);
+    boolean sweep(Long accountId);
+}
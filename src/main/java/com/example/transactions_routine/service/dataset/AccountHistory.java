@@ -0,0 +1,202 @@
+package com.example.transactions_routine.service.dataset;
+
+import java.util.SplittableRandom;
+
+/**
+ * The generated history of an account, a pure function of the seed, the account index and its
+ * number of transactions. Every account draws from its own random streams, one for the operations
+ * and amounts and one for the times, so its final balance is known without generating the times,
+ * and accounts can be generated in any order and in parallel.
+ * <p>
+ * The account opens at midnight of a day in the first half of the period. Its transactions are
+ * spread uniformly over the remaining days, generated directly in ascending order as uniform order
+ * statistics, and each one placed within its day by an hourly profile that is quiet at night and
+ * busiest around noon and in the early evening. Balances never go negative: a debit the account
+ * cannot cover is booked as a credit voucher instead, and a credit that would take the balance
+ * over {@link #MAX_BALANCE_CENTS} as a transfer out.
+ */
+final class AccountHistory {
+
+    static final long MICROS_PER_DAY = 86_400_000_000L;
+    static final long MAX_AMOUNT_CENTS = 5_000_000;
+    static final long MAX_BALANCE_CENTS = 100_000_000;
+
+    private static final int[] HOURLY_WEIGHTS = {
+            1, 1, 1, 1, 1, 2, 4, 6, 8, 9, 10, 11, 12, 11, 10, 9, 9, 10, 11, 10, 8, 6, 4, 2
+    };
+    private static final int[] CUMULATIVE_HOURLY_WEIGHTS = new int[HOURLY_WEIGHTS.length + 1];
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final int TOTAL_OPERATION_WEIGHT;
+
+    static {
+        for (int hour = 0; hour < HOURLY_WEIGHTS.length; hour++) {
+            CUMULATIVE_HOURLY_WEIGHTS[hour + 1] = CUMULATIVE_HOURLY_WEIGHTS[hour] + HOURLY_WEIGHTS[hour];
+        }
+        int total = 0;
+        for (var operation : OPERATIONS) {
+            total += operation.weight;
+        }
+        TOTAL_OPERATION_WEIGHT = total;
+    }
+
+    /**
+     * The operation types of generated transactions, with their share of all transactions and
+     * their typical amount relative to the median.
+     */
+    enum Operation {
+        PURCHASE("Normal Purchase", false, 55, 1.0),
+        INSTALLMENT_PURCHASE("Purchase with installments", false, 5, 4.0),
+        WITHDRAWAL("Withdrawal", false, 10, 2.0),
+        CREDIT_VOUCHER("Credit Voucher", true, 18, 8.0),
+        TRANSFER_IN("TRANSFER_IN", true, 6, 3.0),
+        TRANSFER_OUT("TRANSFER_OUT", false, 6, 3.0);
+
+        final String description;
+        final boolean credit;
+        final int weight;
+        final double amountFactor;
+
+        Operation(String description, boolean credit, int weight, double amountFactor) {
+            this.description = description;
+            this.credit = credit;
+            this.weight = weight;
+            this.amountFactor = amountFactor;
+        }
+    }
+
+    @FunctionalInterface
+    interface Sink {
+        void transaction(Operation operation, long amountCents, long eventMicros, long balanceAfterCents);
+    }
+
+    private final long seed;
+    private final long firstDay;
+    private final long lastDay;
+    private final double medianCents;
+    private final double amountSpread;
+
+    AccountHistory(long seed, long firstDay, long lastDay, double medianCents, double amountSpread) {
+        if (firstDay >= lastDay) {
+            throw new IllegalArgumentException("transactions.dataset.from must be before transactions.dataset.to");
+        }
+        if (!(medianCents >= 1) || !(amountSpread >= 0)) {
+            throw new IllegalArgumentException("transactions.dataset.median-amount must be positive and amount-spread not negative");
+        }
+        this.seed = seed;
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+        this.medianCents = medianCents;
+        this.amountSpread = amountSpread;
+    }
+
+    /**
+     * Day the account at the index opened, in days since 1970-01-01.
+     */
+    long openedDay(long index) {
+        return openedDay(random(index));
+    }
+
+    /**
+     * Balance of the account at the index after its transactions, in cents.
+     */
+    long finalBalance(long index, long transactions) {
+        var random = random(index);
+        openedDay(random);
+        var operations = random.split();
+        var draw = new Draw();
+        long balance = 0;
+        for (long k = 0; k < transactions; k++) {
+            draw(operations, balance, draw);
+            balance += draw.amountCents;
+        }
+        return balance;
+    }
+
+    /**
+     * Passes the transactions of the account at the index to the sink, oldest first. Return its
+     * final balance in cents.
+     */
+    long generate(long index, long transactions, Sink sink) {
+        var random = random(index);
+        var openedDay = openedDay(random);
+        var operations = random.split();
+        var times = random.split();
+        var spanMicros = (lastDay - openedDay) * MICROS_PER_DAY;
+        var openedMicros = openedDay * MICROS_PER_DAY;
+
+        var draw = new Draw();
+        long balance = 0;
+        double position = 0;
+        for (long k = 0; k < transactions; k++) {
+            // The next smallest of the remaining uniform draws in [0, 1)
+            position = 1 - (1 - position) * Math.pow(1 - times.nextDouble(), 1.0 / (transactions - k));
+            var offset = Math.min(spanMicros - 1, (long) (position * spanMicros));
+            var day = offset / MICROS_PER_DAY;
+            var eventMicros = openedMicros + day * MICROS_PER_DAY + timeOfDay(offset - day * MICROS_PER_DAY);
+
+            draw(operations, balance, draw);
+            balance += draw.amountCents;
+            sink.transaction(draw.operation, draw.amountCents, eventMicros, balance);
+        }
+        return balance;
+    }
+
+    // The account opening is the first draw of the account's stream, before it is split
+    private long openedDay(SplittableRandom random) {
+        return firstDay + random.nextLong((lastDay - firstDay + 1) / 2);
+    }
+
+    // Draws the next operation and its amount, negative for debits, given the balance before it
+    private void draw(SplittableRandom operations, long balance, Draw draw) {
+        var operation = operation(operations.nextInt(TOTAL_OPERATION_WEIGHT));
+        var cents = Math.round(medianCents * operation.amountFactor * Math.exp(amountSpread * operations.nextGaussian()));
+        cents = Math.clamp(cents, 1, MAX_AMOUNT_CENTS);
+        if (operation == Operation.WITHDRAWAL) {
+            cents = Math.max(1000, (cents + 500) / 1000 * 1000);
+        }
+        if (!operation.credit && cents > balance) {
+            operation = Operation.CREDIT_VOUCHER;
+        } else if (operation.credit && balance + cents > MAX_BALANCE_CENTS) {
+            operation = Operation.TRANSFER_OUT;
+        }
+        draw.operation = operation;
+        draw.amountCents = operation.credit ? cents : -cents;
+    }
+
+    private static Operation operation(int draw) {
+        for (var operation : OPERATIONS) {
+            draw -= operation.weight;
+            if (draw < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Operation weights do not add up");
+    }
+
+    // Maps a uniform offset within a day onto the hourly profile, keeping the order of offsets
+    private static long timeOfDay(long uniformMicros) {
+        var target = (double) uniformMicros / MICROS_PER_DAY * CUMULATIVE_HOURLY_WEIGHTS[HOURLY_WEIGHTS.length];
+        int hour = 0;
+        while (CUMULATIVE_HOURLY_WEIGHTS[hour + 1] <= target) {
+            hour++;
+        }
+        var withinHour = (target - CUMULATIVE_HOURLY_WEIGHTS[hour]) / HOURLY_WEIGHTS[hour];
+        return Math.min(MICROS_PER_DAY - 1, hour * (MICROS_PER_DAY / 24) + (long) (withinHour * (MICROS_PER_DAY / 24)));
+    }
+
+    private SplittableRandom random(long index) {
+        return new SplittableRandom(mix(seed ^ mix(index + 1)));
+    }
+
+    private static final class Draw {
+        private Operation operation;
+        private long amountCents;
+    }
+
+    // The finalizer of SplitMix64, so neighbouring indexes get unrelated streams
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
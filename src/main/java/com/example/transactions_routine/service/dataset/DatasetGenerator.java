@@ -0,0 +1,277 @@
+package com.example.transactions_routine.service.dataset;
+
+import com.example.transactions_routine.repository.CopyRows;
+import com.example.transactions_routine.repository.DatasetRepository;
+import com.example.transactions_routine.service.dataset.AccountHistory.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads a synthetic dataset of the configured shape for performance testing, next to whatever the
+ * database already holds. Accounts are generated in chunks spread over a fixed pool of workers,
+ * each chunk one database transaction of three {@code COPY} streams: the accounts with their final
+ * balances, their transactions with the running balance, and their daily summaries. Ids continue
+ * after the existing ones and every chunk knows its first transaction id up front, so chunks can
+ * run in any order. The secondary indexes and foreign keys of transactions are dropped while
+ * loading and built once at the end, which is much cheaper than maintaining them row by row.
+ */
+@Component
+@Profile("!in-memory")
+public class DatasetGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    // Keeps the generated document numbers apart from real ones
+    private static final long DOCUMENT_NUMBER_BASE = 90_000_000_000L;
+
+    private final DatasetRepository datasetRepository;
+    private final DatasetProperties properties;
+    private final TransactionTemplate writeTransaction;
+    private final ZipfActivity activity;
+    private final AccountHistory history;
+
+    public DatasetGenerator(DatasetRepository datasetRepository,
+                            DatasetProperties properties,
+                            PlatformTransactionManager transactionManager) {
+        if (properties.chunkSize() < 1 || properties.workers() < 1) {
+            throw new IllegalArgumentException("transactions.dataset chunk-size and workers must be positive");
+        }
+        this.datasetRepository = datasetRepository;
+        this.properties = properties;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.activity = new ZipfActivity(properties.accounts(), properties.transactions(),
+                properties.zipfExponent(), properties.seed());
+        this.history = new AccountHistory(properties.seed(),
+                properties.from().toEpochDay(), properties.to().toEpochDay(),
+                properties.medianAmount().movePointRight(2).doubleValue(), properties.amountSpread());
+    }
+
+    /**
+     * Generates the dataset. Return the number of transactions written.
+     */
+    public long generate() {
+        var startedAt = System.nanoTime();
+        var operationTypeIds = writeTransaction.execute(status -> operationTypeIds());
+        var firstAccountId = datasetRepository.findNextAccountId();
+        var firstTransactionId = datasetRepository.findNextTransactionId();
+
+        var chunks = new ArrayList<Chunk>();
+        long transactionOffset = 0;
+        for (long first = 0; first < properties.accounts(); first += properties.chunkSize()) {
+            var last = Math.min(properties.accounts(), first + properties.chunkSize()) - 1;
+            chunks.add(new Chunk(first, last, firstAccountId + first, firstTransactionId + transactionOffset));
+            for (long index = first; index <= last; index++) {
+                transactionOffset += activity.transactions(index);
+            }
+        }
+        logger.info("Generating {} accounts from id {} and {} transactions from id {} with seed {}",
+                properties.accounts(), firstAccountId, transactionOffset, firstTransactionId, properties.seed());
+
+        var workers = Executors.newFixedThreadPool(Math.min(properties.workers(), chunks.size()),
+                Thread.ofPlatform().name("dataset-", 0).factory());
+        long written;
+        try {
+            var deferred = properties.deferIndexes()
+                    ? writeTransaction.execute(status -> datasetRepository.dropTransactionIndexes())
+                    : List.<String>of();
+            deferred.forEach(statement -> logger.info("Deferred until loaded: {}", statement));
+            try {
+                written = load(workers, chunks, operationTypeIds);
+            } finally {
+                restore(workers, deferred);
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        datasetRepository.advanceSequences(firstAccountId + properties.accounts() - 1, firstTransactionId + transactionOffset - 1);
+        datasetRepository.analyze();
+        var elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        logger.info("Dataset generated, {} accounts and {} transactions in {} ms, {} transactions/s",
+                properties.accounts(), written, elapsedMillis, written * 1000 / elapsedMillis);
+        return written;
+    }
+
+    private long load(ExecutorService workers, List<Chunk> chunks, long[] operationTypeIds) {
+        var done = new AtomicLong();
+        var tasks = new ArrayList<Callable<Long>>(chunks.size());
+        chunks.forEach(chunk -> tasks.add(() -> {
+            var written = writeTransaction.execute(status -> generate(chunk, operationTypeIds));
+            logger.debug("Dataset chunk of accounts {} to {} loaded, {} of {} chunks done",
+                    chunk.firstAccountId(), chunk.firstAccountId() + chunk.lastIndex() - chunk.firstIndex(),
+                    done.incrementAndGet(), chunks.size());
+            return written;
+        }));
+        return sum(workers, tasks, "dataset chunks");
+    }
+
+    // Builds the deferred indexes and foreign keys concurrently, each with its own maintenance workers
+    private void restore(ExecutorService workers, List<String> deferred) {
+        if (deferred.isEmpty()) {
+            return;
+        }
+        var startedAt = System.nanoTime();
+        var tasks = new ArrayList<Callable<Long>>(deferred.size());
+        deferred.forEach(statement -> tasks.add(() -> {
+            writeTransaction.executeWithoutResult(status -> datasetRepository.execute(statement));
+            return 1L;
+        }));
+        sum(workers, tasks, "deferred indexes");
+        logger.info("{} deferred indexes and foreign keys built in {} ms",
+                deferred.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    private static long sum(ExecutorService workers, List<Callable<Long>> tasks, String what) {
+        long total = 0;
+        int failed = 0;
+        try {
+            for (var future : workers.invokeAll(tasks)) {
+                try {
+                    total += future.get();
+                } catch (ExecutionException e) {
+                    logger.error("One of the {} failed", what, e.getCause());
+                    failed++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading " + what, e);
+        }
+        if (failed > 0) {
+            throw new IllegalStateException(failed + " of the " + what + " failed");
+        }
+        return total;
+    }
+
+    private long generate(Chunk chunk, long[] operationTypeIds) {
+        datasetRepository.copyAccounts(rows -> {
+            for (long index = chunk.firstIndex(); index <= chunk.lastIndex(); index++) {
+                var accountId = chunk.firstAccountId() + index - chunk.firstIndex();
+                var openedMicros = history.openedDay(index) * AccountHistory.MICROS_PER_DAY;
+                rows.column(accountId)
+                        .column(String.valueOf(DOCUMENT_NUMBER_BASE + accountId))
+                        .amount(history.finalBalance(index, activity.transactions(index)))
+                        .timestamp(openedMicros)
+                        .timestamp(openedMicros)
+                        .endRow();
+            }
+        });
+
+        var summaries = new DailySummaries(operationTypeIds);
+        var written = datasetRepository.copyTransactions(rows -> {
+            var transactionId = new long[]{chunk.firstTransactionId()};
+            for (long index = chunk.firstIndex(); index <= chunk.lastIndex(); index++) {
+                var accountId = chunk.firstAccountId() + index - chunk.firstIndex();
+                summaries.startAccount(accountId);
+                history.generate(index, activity.transactions(index), (operation, amountCents, eventMicros, balanceAfterCents) -> {
+                    rows.column(transactionId[0]++)
+                            .column(accountId)
+                            .column(operationTypeIds[operation.ordinal()])
+                            .amount(amountCents)
+                            .timestamp(eventMicros)
+                            .timestamp(eventMicros)
+                            .timestamp(eventMicros)
+                            .amount(balanceAfterCents)
+                            .endRow();
+                    summaries.add(operation, amountCents, eventMicros);
+                });
+                summaries.endAccount();
+            }
+        });
+        datasetRepository.copyDailySummaries(summaries.rows);
+        return written;
+    }
+
+    /**
+     * Ids of the generated operation types by {@link Operation} ordinal, inserting the ones the
+     * database does not have yet.
+     */
+    private long[] operationTypeIds() {
+        var existing = datasetRepository.findOperationTypeIds();
+        var missing = new ArrayList<Operation>();
+        for (var operation : Operation.values()) {
+            if (!existing.containsKey(operation.description)) {
+                missing.add(operation);
+            }
+        }
+        if (!missing.isEmpty()) {
+            var nowMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+            datasetRepository.copyOperationTypes(rows -> missing.forEach(operation -> rows
+                    .column(operation.description)
+                    .column(operation.credit)
+                    .timestamp(nowMicros)
+                    .timestamp(nowMicros)
+                    .endRow()));
+            existing = datasetRepository.findOperationTypeIds();
+        }
+
+        var ids = new long[Operation.values().length];
+        for (var operation : Operation.values()) {
+            ids[operation.ordinal()] = existing.get(operation.description);
+        }
+        return ids;
+    }
+
+    private record Chunk(long firstIndex, long lastIndex, long firstAccountId, long firstTransactionId) {
+    }
+
+    /**
+     * The account_daily_summaries rows of a chunk. Transactions of an account arrive oldest first,
+     * so a day is complete as soon as the next one starts.
+     */
+    private static final class DailySummaries {
+
+        private final long[] operationTypeIds;
+        private final long[] totals = new long[Operation.values().length];
+        private final long[] counts = new long[Operation.values().length];
+        private final CopyRows rows = new CopyRows();
+        private long accountId;
+        private long day = Long.MIN_VALUE;
+
+        private DailySummaries(long[] operationTypeIds) {
+            this.operationTypeIds = operationTypeIds;
+        }
+
+        private void startAccount(long accountId) {
+            this.accountId = accountId;
+            this.day = Long.MIN_VALUE;
+        }
+
+        private void add(Operation operation, long amountCents, long eventMicros) {
+            var eventDay = Math.floorDiv(eventMicros, AccountHistory.MICROS_PER_DAY);
+            if (eventDay != day) {
+                endDay();
+                day = eventDay;
+            }
+            totals[operation.ordinal()] += amountCents;
+            counts[operation.ordinal()]++;
+        }
+
+        private void endAccount() {
+            endDay();
+        }
+
+        private void endDay() {
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    rows.column(accountId).date(day).column(operationTypeIds[i]).amount(totals[i]).column(counts[i]).endRow();
+                    totals[i] = 0;
+                    counts[i] = 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.transactions_routine.service.dataset;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off job that loads a synthetic dataset. Start the application with
+ * {@code --transactions.dataset.generate=true} and the {@code transactions.dataset.*} shape; it
+ * exits once done. Every run adds a new set of accounts, so an interrupted run is best repeated
+ * on a fresh database.
+ */
+@Component
+@Profile("!in-memory")
+@ConditionalOnProperty(name = "transactions.dataset.generate", havingValue = "true")
+public class DatasetGeneratorJob implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGeneratorJob.class);
+
+    private final DatasetGenerator datasetGenerator;
+    private final ConfigurableApplicationContext context;
+
+    public DatasetGeneratorJob(DatasetGenerator datasetGenerator, ConfigurableApplicationContext context) {
+        this.datasetGenerator = datasetGenerator;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode;
+        try {
+            datasetGenerator.generate();
+            exitCode = 0;
+        } catch (RuntimeException e) {
+            logger.error("Dataset generation stopped: {}", e.getMessage());
+            exitCode = 1;
+        }
+        var code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.transactions_routine.service.dataset;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Shape of a generated dataset. {@code transactions} are spread over {@code accounts} by a Zipf
+ * law with {@code zipfExponent}, between {@code from} (inclusive) and {@code to} (exclusive).
+ * Amounts are log-normal around {@code medianAmount}, {@code amountSpread} being the standard
+ * deviation of their logarithm. The same {@code seed} generates the same rows.
+ */
+@ConfigurationProperties(prefix = "transactions.dataset")
+public record DatasetProperties(
+        @DefaultValue("1000000") long accounts,
+        @DefaultValue("100000000") long transactions,
+        @DefaultValue("42") long seed,
+        @DefaultValue("1.0") double zipfExponent,
+        @DefaultValue("2024-01-01") LocalDate from,
+        @DefaultValue("2025-01-01") LocalDate to,
+        @DefaultValue("25.00") BigDecimal medianAmount,
+        @DefaultValue("1.0") double amountSpread,
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("8") int workers,
+        @DefaultValue("true") boolean deferIndexes
+) {
+}
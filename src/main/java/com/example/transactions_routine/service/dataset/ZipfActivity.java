@@ -0,0 +1,96 @@
+package com.example.transactions_routine.service.dataset;
+
+import java.util.SplittableRandom;
+
+/**
+ * Splits a number of transactions over accounts by a Zipf law: the account of activity rank r
+ * gets a share proportional to 1 / r^exponent. Ranks are a seeded permutation of the account
+ * indexes, so the busy accounts are scattered over the id range instead of being the first ones.
+ * The count of an account is the difference of the rounded cumulative shares up to its rank and
+ * the rank before, which needs no state per account and always adds up to the exact total.
+ */
+final class ZipfActivity {
+
+    // Generalized harmonic numbers are summed exactly up to here, and approximated beyond
+    private static final int EXACT_RANKS = 1024;
+
+    private final long accounts;
+    private final long transactions;
+    private final double exponent;
+    private final double[] exactHarmonics;
+    private final double totalHarmonic;
+    private final long multiplier;
+    private final long offset;
+
+    ZipfActivity(long accounts, long transactions, double exponent, long seed) {
+        if (accounts < 1 || accounts > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("transactions.dataset.accounts must be between 1 and " + Integer.MAX_VALUE);
+        }
+        if (transactions < 0) {
+            throw new IllegalArgumentException("transactions.dataset.transactions must not be negative");
+        }
+        if (!(exponent > 0)) {
+            throw new IllegalArgumentException("transactions.dataset.zipf-exponent must be positive");
+        }
+        this.accounts = accounts;
+        this.transactions = transactions;
+        this.exponent = exponent;
+        this.exactHarmonics = new double[EXACT_RANKS + 1];
+        for (int rank = 1; rank <= EXACT_RANKS; rank++) {
+            exactHarmonics[rank] = exactHarmonics[rank - 1] + Math.pow(rank, -exponent);
+        }
+        this.totalHarmonic = harmonic(accounts);
+
+        // rank - 1 = (multiplier * index + offset) mod accounts is a bijection when both are coprime
+        var random = new SplittableRandom(seed);
+        var candidate = 1 + random.nextLong(accounts);
+        while (gcd(candidate, accounts) != 1) {
+            candidate = candidate % accounts + 1;
+        }
+        this.multiplier = candidate;
+        this.offset = random.nextLong(accounts);
+    }
+
+    /**
+     * Activity rank of the account at the index, 1 being the busiest.
+     */
+    long rank(long index) {
+        return (multiplier * index + offset) % accounts + 1;
+    }
+
+    /**
+     * Number of transactions of the account at the index.
+     */
+    long transactions(long index) {
+        var rank = rank(index);
+        return cumulative(rank) - cumulative(rank - 1);
+    }
+
+    private long cumulative(long rank) {
+        return rank == accounts ? transactions : Math.round(transactions * (harmonic(rank) / totalHarmonic));
+    }
+
+    // Sum of 1 / k^exponent for k = 1..rank, beyond the exact part by the Euler-Maclaurin formula
+    private double harmonic(long rank) {
+        if (rank <= EXACT_RANKS) {
+            return exactHarmonics[(int) rank];
+        }
+        double first = EXACT_RANKS + 1;
+        double last = rank;
+        var integral = exponent == 1
+                ? Math.log(last / first)
+                : (Math.pow(last, 1 - exponent) - Math.pow(first, 1 - exponent)) / (1 - exponent);
+        var ends = (Math.pow(first, -exponent) + Math.pow(last, -exponent)) / 2;
+        var slopes = exponent * (Math.pow(first, -exponent - 1) - Math.pow(last, -exponent - 1)) / 12;
+        return exactHarmonics[EXACT_RANKS] + integral + ends + slopes;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            var remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.transactions_routine.service.hold;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical timing wheel of {@code long} ids (after Varghese &amp; Lauck). Level 0 has one slot
+ * per tick; each higher level has slots {@code wheelSize} times wider. Entries are placed in the
+ * lowest level whose span covers their deadline and cascade down as time reaches their slot, so
+ * scheduling is O(1) and advancing costs O(expired + cascaded) rather than O(pending).
+ * Entries beyond the top level's span stay on the top level until a later rotation.
+ * <p>
+ * Entries cannot be cancelled; callers make expiry idempotent instead. Thread-safe.
+ */
+public final class HierarchicalTimingWheel {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] ticksPerSlot;
+    private final Bucket[][] levels;
+    private long currentTick;
+    private long size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.ticksPerSlot = new long[levelCount];
+        this.levels = new Bucket[levelCount][wheelSize];
+        long ticks = 1;
+        for (int level = 0; level < levelCount; level++) {
+            ticksPerSlot[level] = ticks;
+            ticks = Math.multiplyExact(ticks, wheelSize);
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules {@code id} to expire at {@code deadlineMillis}. Deadlines in the past expire on the next advance.
+     */
+    public synchronized void schedule(long id, long deadlineMillis) {
+        var deadlineTick = Math.ceilDiv(deadlineMillis, tickMillis);
+        place(id, Math.max(deadlineTick, currentTick + 1));
+        size++;
+    }
+
+    /**
+     * Advances the wheel to {@code nowMillis}, handing every id whose deadline has passed to {@code expired}.
+     * Return the number of expired ids.
+     */
+    public synchronized int advance(long nowMillis, LongConsumer expired) {
+        var targetTick = nowMillis / tickMillis;
+        int expiredCount = 0;
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                currentTick = targetTick;
+                break;
+            }
+            currentTick++;
+            for (int level = levels.length - 1; level >= 1; level--) {
+                if (currentTick % ticksPerSlot[level] == 0) {
+                    cascade(level, slotOf(level, currentTick));
+                }
+            }
+            expiredCount += drain(slotOf(0, currentTick), expired);
+        }
+        return expiredCount;
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+
+    private void place(long id, long deadlineTick) {
+        var delta = deadlineTick - currentTick;
+        int level = 0;
+        while (level < levels.length - 1 && delta >= ticksPerSlot[level + 1]) {
+            level++;
+        }
+        var slot = slotOf(level, deadlineTick);
+        var bucket = levels[level][slot];
+        if (bucket == null) {
+            bucket = new Bucket();
+            levels[level][slot] = bucket;
+        }
+        bucket.add(id, deadlineTick);
+    }
+
+    private void cascade(int level, int slot) {
+        var bucket = levels[level][slot];
+        if (bucket == null) {
+            return;
+        }
+        levels[level][slot] = null;
+        for (int i = 0; i < bucket.size; i++) {
+            place(bucket.ids[i], Math.max(bucket.deadlines[i], currentTick));
+        }
+    }
+
+    private int drain(int slot, LongConsumer expired) {
+        var bucket = levels[0][slot];
+        if (bucket == null) {
+            return 0;
+        }
+        levels[0][slot] = null;
+        int expiredCount = 0;
+        for (int i = 0; i < bucket.size; i++) {
+            if (bucket.deadlines[i] <= currentTick) {
+                expired.accept(bucket.ids[i]);
+                expiredCount++;
+            } else {
+                place(bucket.ids[i], bucket.deadlines[i]);
+            }
+        }
+        size -= expiredCount;
+        return expiredCount;
+    }
+
+    private int slotOf(int level, long tick) {
+        return (int) ((tick / ticksPerSlot[level]) % wheelSize);
+    }
+
+    private static final class Bucket {
+        private long[] ids = new long[8];
+        private long[] deadlines = new long[8];
+        private int size;
+
+        private void add(long id, long deadlineTick) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                deadlines = Arrays.copyOf(deadlines, size * 2);
+            }
+            ids[size] = id;
+            deadlines[size] = deadlineTick;
+            size++;
+        }
+    }
+}
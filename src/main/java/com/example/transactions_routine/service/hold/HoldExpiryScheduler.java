@@ -0,0 +1,91 @@
+package com.example.transactions_routine.service.hold;
+
+import com.example.transactions_routine.repository.HoldExpiry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drives the hold expiry wheel: rebuilds it from the holds table once on startup, then
+ * advances it every tick and expires whatever fell due in batches. A much less frequent
+ * backstop expires holds past their expiry straight from the table, for those no wheel
+ * holds, e.g. authorized on an instance that has died since.
+ */
+@Component
+@Profile("!in-memory")
+@ConditionalOnProperty(name = "transactions.holds.expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class HoldExpiryScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(HoldExpiryScheduler.class);
+
+    private final HoldServicePort holdServicePort;
+    private final HoldExpiryWheel holdExpiryWheel;
+    private final int batchSize;
+    private final Duration retryDelay;
+
+    public HoldExpiryScheduler(HoldServicePort holdServicePort,
+                               HoldExpiryWheel holdExpiryWheel,
+                               @Value("${transactions.holds.expiry.batch-size:1000}") int batchSize,
+                               @Value("${transactions.holds.expiry.retry-delay:PT30S}") Duration retryDelay) {
+        this.holdServicePort = holdServicePort;
+        this.holdExpiryWheel = holdExpiryWheel;
+        this.batchSize = batchSize;
+        this.retryDelay = retryDelay;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long afterId = 0;
+        long loaded = 0;
+        List<HoldExpiry> page;
+        do {
+            page = holdServicePort.findPendingExpiries(afterId, batchSize);
+            for (var expiry : page) {
+                holdExpiryWheel.schedule(expiry.holdId(), expiry.expiresAt());
+                afterId = expiry.holdId();
+            }
+            loaded += page.size();
+        } while (page.size() == batchSize);
+        logger.info("Hold expiry wheel rebuilt with {} pending holds", loaded);
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.holds.expiry.backstop-interval:PT5M}")
+    public void expireMissedHolds() {
+        var now = LocalDateTime.now();
+        long expired = 0;
+        int batch;
+        do {
+            batch = holdServicePort.expireDueHolds(now, batchSize);
+            expired += batch;
+        } while (batch == batchSize);
+        if (expired > 0) {
+            logger.info("Expired {} holds missed by the expiry wheel", expired);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.holds.expiry.tick:PT1S}")
+    public void expireDueHolds() {
+        var now = LocalDateTime.now();
+        var due = holdExpiryWheel.advance(now);
+        for (int from = 0; from < due.size(); from += batchSize) {
+            var batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                holdServicePort.expireHolds(batch);
+            } catch (RuntimeException e) {
+                logger.error("Failed to expire {} holds, retrying in {}", batch.size(), retryDelay, e);
+                var retryAt = now.plus(retryDelay);
+                batch.forEach(holdId -> holdExpiryWheel.schedule(holdId, retryAt));
+            }
+        }
+    }
+}
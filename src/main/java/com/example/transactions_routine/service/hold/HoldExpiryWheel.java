@@ -0,0 +1,44 @@
+package com.example.transactions_routine.service.hold;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-process expiry index for pending holds. The holds table stays the source of truth:
+ * the wheel is rebuilt from it on startup and expiring an id that was already settled is a no-op.
+ */
+@Component
+public class HoldExpiryWheel {
+
+    private final HierarchicalTimingWheel wheel;
+
+    public HoldExpiryWheel(@Value("${transactions.holds.expiry.tick:PT1S}") Duration tick,
+                           @Value("${transactions.holds.expiry.wheel-size:512}") int wheelSize,
+                           @Value("${transactions.holds.expiry.levels:4}") int levels) {
+        this.wheel = new HierarchicalTimingWheel(tick.toMillis(), wheelSize, levels, System.currentTimeMillis());
+    }
+
+    public void schedule(Long holdId, LocalDateTime expiresAt) {
+        wheel.schedule(holdId, toEpochMillis(expiresAt));
+    }
+
+    public List<Long> advance(LocalDateTime now) {
+        var expired = new ArrayList<Long>();
+        wheel.advance(toEpochMillis(now), expired::add);
+        return expired;
+    }
+
+    public long pending() {
+        return wheel.size();
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
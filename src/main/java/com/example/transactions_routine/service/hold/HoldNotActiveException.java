@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.hold;
+
+import com.example.transactions_routine.service.DomainException;
+
+public class HoldNotActiveException extends DomainException {
+    public HoldNotActiveException() {}
+
+    public HoldNotActiveException(String message) {
+        super(message);
+    }
+
+    public HoldNotActiveException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
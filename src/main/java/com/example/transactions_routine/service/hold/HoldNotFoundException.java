@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.hold;
+
+import com.example.transactions_routine.service.DomainException;
+
+public class HoldNotFoundException extends DomainException {
+    public HoldNotFoundException() {}
+
+    public HoldNotFoundException(String message) {
+        super(message);
+    }
+
+    public HoldNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.transactions_routine.service.hold;
+
+import com.example.transactions_routine.controller.hold.HoldCaptureRequest;
+import com.example.transactions_routine.controller.hold.HoldRequest;
+import com.example.transactions_routine.model.Hold;
+import com.example.transactions_routine.model.HoldStatus;
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.HoldExpiry;
+import com.example.transactions_routine.repository.HoldRepository;
+import com.example.transactions_routine.repository.OperationTypeRepository;
+import com.example.transactions_routine.repository.TransactionRepository;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import com.example.transactions_routine.service.summary.AccountSummaryServicePort;
+import com.example.transactions_routine.service.transaction.InsufficientFundsException;
+import com.example.transactions_routine.service.transaction.OperationTypeNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Two-phase (authorize, then capture or release) debits. Authorizing moves funds from the
+ * available balance to the held amount with a guarded UPDATE; every later state change is a
+ * guarded UPDATE on the hold status, so capture, release and expiry can race safely.
+ */
+@Service
+@Profile("!in-memory")
+@Transactional(readOnly = true)
+public class HoldService implements HoldServicePort {
+
+    private static final Logger logger = LoggerFactory.getLogger(HoldService.class);
+
+    private final HoldRepository holdRepository;
+    private final AccountRepository accountRepository;
+    private final OperationTypeRepository operationTypeRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountSummaryServicePort accountSummaryServicePort;
+    private final HoldExpiryWheel holdExpiryWheel;
+    private final Duration defaultExpiry;
+
+    public HoldService(HoldRepository holdRepository,
+                       AccountRepository accountRepository,
+                       OperationTypeRepository operationTypeRepository,
+                       TransactionRepository transactionRepository,
+                       AccountSummaryServicePort accountSummaryServicePort,
+                       HoldExpiryWheel holdExpiryWheel,
+                       @Value("${transactions.holds.default-expiry:P7D}") Duration defaultExpiry) {
+        this.holdRepository = holdRepository;
+        this.accountRepository = accountRepository;
+        this.operationTypeRepository = operationTypeRepository;
+        this.transactionRepository = transactionRepository;
+        this.accountSummaryServicePort = accountSummaryServicePort;
+        this.holdExpiryWheel = holdExpiryWheel;
+        this.defaultExpiry = defaultExpiry;
+    }
+
+    @Override
+    @Transactional
+    public Hold authorize(HoldRequest holdRequest) {
+        var account = accountRepository.findById(holdRequest.accountId())
+                .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + holdRequest.accountId()));
+
+        var operationType = operationTypeRepository.findById(holdRequest.operationTypeId())
+                .orElseThrow(() -> new OperationTypeNotFoundException("Operation type not found with id: " + holdRequest.operationTypeId()));
+        if (operationType.isCredit()) {
+            throw new InvalidHoldException("Holds can only be placed for debit operation types");
+        }
+
+        int reserved = accountRepository.reserve(account.getId(), holdRequest.amount());
+        if (reserved == 0) {
+            throw new InsufficientFundsException(account.getId(), holdRequest.amount().negate());
+        }
+
+        var expiry = holdRequest.expiresInSeconds() == null
+                ? defaultExpiry
+                : Duration.ofSeconds(holdRequest.expiresInSeconds());
+        var hold = holdRepository.save(Hold.builder()
+                .account(account)
+                .operationType(operationType)
+                .amount(holdRequest.amount())
+                .expiresAt(LocalDateTime.now().plus(expiry))
+                .build());
+
+        // Scheduled once committed: a tick before that would find no pending row and drop the entry
+        scheduleExpiryAfterCommit(hold.getId(), hold.getExpiresAt());
+        return hold;
+    }
+
+    private void scheduleExpiryAfterCommit(Long holdId, LocalDateTime expiresAt) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            holdExpiryWheel.schedule(holdId, expiresAt);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                holdExpiryWheel.schedule(holdId, expiresAt);
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public Transaction capture(Long holdId, HoldCaptureRequest holdCaptureRequest) {
+        var hold = findById(holdId);
+        var capturedAmount = holdCaptureRequest == null || holdCaptureRequest.amount() == null
+                ? hold.getAmount()
+                : holdCaptureRequest.amount();
+        if (capturedAmount.compareTo(hold.getAmount()) > 0) {
+            throw new InvalidHoldException("Captured amount cannot exceed the held amount of " + hold.getAmount());
+        }
+
+        var now = LocalDateTime.now();
+        var transaction = transactionRepository.save(Transaction.builder()
+                .account(hold.getAccount())
+                .operationType(hold.getOperationType())
+                .amount(capturedAmount.negate())
+                .eventDate(now)
+                .build());
+
+        if (holdRepository.markCaptured(holdId, capturedAmount, transaction.getId(), now) == 0) {
+            throw new HoldNotActiveException("Hold " + holdId + " is no longer authorized");
+        }
+        var balanceAfter = accountRepository.settleHold(hold.getAccount().getId(), hold.getAmount(),
+                hold.getAmount().subtract(capturedAmount));
+        accountSummaryServicePort.recordTransaction(transaction);
+        if (balanceAfter.isEmpty()) {
+            return transaction;
+        }
+        // The capture is booked before the hold is settled, so its balance after is stored last
+        transactionRepository.updateBalanceAfter(transaction.getId(), balanceAfter.get());
+        return Transaction.builder()
+                .id(transaction.getId())
+                .account(transaction.getAccount())
+                .operationType(transaction.getOperationType())
+                .amount(transaction.getAmount())
+                .eventDate(transaction.getEventDate())
+                .balanceAfter(balanceAfter.get())
+                .createdAt(transaction.getCreatedAt())
+                .updatedAt(transaction.getUpdatedAt())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public Hold release(Long holdId) {
+        var hold = findById(holdId);
+        if (holdRepository.markReleased(holdId) == 0) {
+            throw new HoldNotActiveException("Hold " + holdId + " is no longer authorized");
+        }
+        accountRepository.settleHold(hold.getAccount().getId(), hold.getAmount(), hold.getAmount());
+        return Hold.builder()
+                .id(hold.getId())
+                .account(hold.getAccount())
+                .operationType(hold.getOperationType())
+                .amount(hold.getAmount())
+                .status(HoldStatus.RELEASED)
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+
+    @Override
+    public Hold findById(Long holdId) {
+        return holdRepository.findById(holdId)
+                .orElseThrow(() -> new HoldNotFoundException("Hold not found with id: " + holdId));
+    }
+
+    @Override
+    @Transactional
+    public int expireHolds(Collection<Long> holdIds) {
+        if (holdIds.isEmpty()) {
+            return 0;
+        }
+        int accounts = holdRepository.expire(holdIds, LocalDateTime.now());
+        logger.debug("Expired holds {} touching {} accounts", holdIds.size(), accounts);
+        return accounts;
+    }
+
+    /**
+     * Expires up to {@code limit} holds past their expiry straight from the table, catching those
+     * the wheel of this instance never had, e.g. authorized on an instance that died since.
+     * Return the number of holds expired.
+     */
+    @Override
+    @Transactional
+    public int expireDueHolds(LocalDateTime now, int limit) {
+        return holdRepository.expireDue(now, limit).size();
+    }
+
+    @Override
+    public List<HoldExpiry> findPendingExpiries(Long afterId, int limit) {
+        return holdRepository.findAuthorizedAfter(afterId, Limit.of(limit));
+    }
+}
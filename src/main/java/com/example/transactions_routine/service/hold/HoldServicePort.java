@@ -0,0 +1,21 @@
+package com.example.transactions_routine.service.hold;
+
+import com.example.transactions_routine.controller.hold.HoldCaptureRequest;
+import com.example.transactions_routine.controller.hold.HoldRequest;
+import com.example.transactions_routine.model.Hold;
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.HoldExpiry;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface HoldServicePort {
+    Hold authorize(HoldRequest holdRequest);
+    Transaction capture(Long holdId, HoldCaptureRequest holdCaptureRequest);
+    Hold release(Long holdId);
+    Hold findById(Long holdId);
+    int expireHolds(Collection<Long> holdIds);
+    int expireDueHolds(LocalDateTime now, int limit);
+    List<HoldExpiry> findPendingExpiries(Long afterId, int limit);
+}
@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.hold;
+
+import com.example.transactions_routine.service.DomainException;
+
+public class InvalidHoldException extends DomainException {
+    public InvalidHoldException() {}
+
+    public InvalidHoldException(String message) {
+        super(message);
+    }
+
+    public InvalidHoldException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
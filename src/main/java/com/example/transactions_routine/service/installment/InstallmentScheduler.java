@@ -0,0 +1,47 @@
+package com.example.transactions_routine.service.installment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Drains due installments in batches. Several application instances can run this
+ * concurrently: each batch is claimed with SKIP LOCKED, so instances never post the same row.
+ */
+@Component
+@Profile("!in-memory")
+@ConditionalOnProperty(name = "transactions.installments.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+public class InstallmentScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstallmentScheduler.class);
+
+    private final InstallmentServicePort installmentServicePort;
+    private final int batchSize;
+
+    public InstallmentScheduler(InstallmentServicePort installmentServicePort,
+                                @Value("${transactions.installments.scheduler.batch-size:1000}") int batchSize) {
+        this.installmentServicePort = installmentServicePort;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.installments.scheduler.fixed-delay:PT1M}")
+    public void postDueInstallments() {
+        var today = LocalDate.now();
+        long total = 0;
+        int settled;
+        do {
+            settled = installmentServicePort.postDueInstallments(today, batchSize);
+            total += settled;
+        } while (settled == batchSize);
+
+        if (total > 0) {
+            logger.info("Installment run finished, {} installments settled", total);
+        }
+    }
+}
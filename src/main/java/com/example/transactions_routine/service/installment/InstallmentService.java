@@ -0,0 +1,139 @@
+package com.example.transactions_routine.service.installment;
+
+import com.example.transactions_routine.model.Account;
+import com.example.transactions_routine.model.Installment;
+import com.example.transactions_routine.model.InstallmentPlan;
+import com.example.transactions_routine.model.InstallmentStatus;
+import com.example.transactions_routine.model.OperationType;
+import com.example.transactions_routine.repository.InstallmentPlanRepository;
+import com.example.transactions_routine.repository.InstallmentRepository;
+import com.example.transactions_routine.service.summary.AccountSummaryServicePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Profile("!in-memory")
+@Transactional(readOnly = true)
+public class InstallmentService implements InstallmentServicePort {
+
+    public static final String INSTALLMENT_OPERATION_TYPE = "Purchase with installments";
+    public static final int MAX_INSTALLMENTS = 48;
+
+    private static final Logger logger = LoggerFactory.getLogger(InstallmentService.class);
+
+    private final InstallmentPlanRepository installmentPlanRepository;
+    private final InstallmentRepository installmentRepository;
+    private final AccountSummaryServicePort accountSummaryServicePort;
+
+    public InstallmentService(InstallmentPlanRepository installmentPlanRepository,
+                              InstallmentRepository installmentRepository,
+                              AccountSummaryServicePort accountSummaryServicePort) {
+        this.installmentPlanRepository = installmentPlanRepository;
+        this.installmentRepository = installmentRepository;
+        this.accountSummaryServicePort = accountSummaryServicePort;
+    }
+
+    /**
+     * Splits a signed amount into equal installments. Cents that do not divide evenly
+     * go to the first installment so the parts always add up to the original amount.
+     */
+    @Override
+    public List<BigDecimal> splitIntoInstallments(OperationType operationType, BigDecimal amount, int installmentCount) {
+        if (installmentCount < 1 || installmentCount > MAX_INSTALLMENTS) {
+            throw new InvalidInstallmentsException("Installments must be between 1 and " + MAX_INSTALLMENTS);
+        }
+        if (installmentCount == 1) {
+            return List.of(amount);
+        }
+        if (!INSTALLMENT_OPERATION_TYPE.equals(operationType.getDescription())) {
+            throw new InvalidInstallmentsException("Operation type '" + operationType.getDescription() + "' does not support installments");
+        }
+
+        var regular = amount.divide(BigDecimal.valueOf(installmentCount), 2, RoundingMode.DOWN);
+        var first = amount.subtract(regular.multiply(BigDecimal.valueOf(installmentCount - 1)));
+        var amounts = new ArrayList<BigDecimal>(installmentCount);
+        amounts.add(first);
+        for (int i = 1; i < installmentCount; i++) {
+            amounts.add(regular);
+        }
+        return amounts;
+    }
+
+    /**
+     * Persists a plan whose first installment is booked by the caller right away and whose
+     * remaining installments fall due monthly, to be posted by {@link InstallmentScheduler}.
+     */
+    @Override
+    @Transactional
+    public InstallmentPlan createPlan(Account account, OperationType operationType, List<BigDecimal> installmentAmounts, LocalDate firstDueDate) {
+        var plan = installmentPlanRepository.save(InstallmentPlan.builder()
+                .account(account)
+                .operationType(operationType)
+                .totalAmount(installmentAmounts.stream().reduce(BigDecimal.ZERO, BigDecimal::add))
+                .installmentCount(installmentAmounts.size())
+                .build());
+
+        var now = LocalDateTime.now();
+        var installments = new ArrayList<Installment>(installmentAmounts.size());
+        for (int i = 0; i < installmentAmounts.size(); i++) {
+            var dueNow = i == 0;
+            installments.add(Installment.builder()
+                    .installmentPlan(plan)
+                    .account(account)
+                    .installmentNumber(i + 1)
+                    .amount(installmentAmounts.get(i))
+                    .dueDate(firstDueDate.plusMonths(i))
+                    .status(dueNow ? InstallmentStatus.POSTED : InstallmentStatus.PENDING)
+                    .postedAt(dueNow ? now : null)
+                    .build());
+        }
+        installmentRepository.saveAll(installments);
+        return plan;
+    }
+
+    /**
+     * Settles one batch of due installments: claim with SKIP LOCKED, lock their accounts in id
+     * order, fail the ones the accounts cannot cover, apply the rest set-wise, bulk insert their
+     * transactions and mark them posted, all in one DB transaction. Only the first installment
+     * is checked at purchase time, so every later one is checked against the balance it falls
+     * due on. Return the number of installments settled, posted or failed.
+     */
+    @Override
+    @Transactional
+    public int postDueInstallments(LocalDate dueDate, int batchSize) {
+        var claimedIds = installmentRepository.claimDueInstallmentIds(dueDate, batchSize);
+        if (claimedIds.isEmpty()) {
+            return 0;
+        }
+
+        installmentRepository.lockAccounts(claimedIds);
+        var failedIds = Set.copyOf(installmentRepository.markUnfundedFailed(claimedIds));
+        var installmentIds = failedIds.isEmpty()
+                ? claimedIds
+                : claimedIds.stream().filter(id -> !failedIds.contains(id)).toList();
+
+        if (!installmentIds.isEmpty()) {
+            installmentRepository.applyBalances(installmentIds);
+            installmentRepository.insertTransactions(installmentIds);
+            accountSummaryServicePort.recordInstallments(installmentIds);
+            installmentRepository.markPosted(installmentIds);
+        }
+
+        if (!failedIds.isEmpty()) {
+            logger.warn("{} installments due on or before {} failed for insufficient funds", failedIds.size(), dueDate);
+        }
+        logger.info("Posted {} installments due on or before {}", installmentIds.size(), dueDate);
+        return claimedIds.size();
+    }
+}
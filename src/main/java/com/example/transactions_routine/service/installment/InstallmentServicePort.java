@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.installment;
+
+import com.example.transactions_routine.model.Account;
+import com.example.transactions_routine.model.InstallmentPlan;
+import com.example.transactions_routine.model.OperationType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface InstallmentServicePort {
+    List<BigDecimal> splitIntoInstallments(OperationType operationType, BigDecimal amount, int installmentCount);
+    InstallmentPlan createPlan(Account account, OperationType operationType, List<BigDecimal> installmentAmounts, LocalDate firstDueDate);
+    int postDueInstallments(LocalDate dueDate, int batchSize);
+}
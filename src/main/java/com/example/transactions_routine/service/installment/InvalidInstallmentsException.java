@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.installment;
+
+import com.example.transactions_routine.service.DomainException;
+
+public class InvalidInstallmentsException extends DomainException {
+    public InvalidInstallmentsException() {}
+
+    public InvalidInstallmentsException(String message) {
+        super(message);
+    }
+
+    public InvalidInstallmentsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.transactions_routine.service.jdbc;
+
+import com.example.transactions_routine.controller.account.AccountRequest;
+import com.example.transactions_routine.controller.account.BatchTransferRequest;
+import com.example.transactions_routine.controller.account.BatchTransferResult;
+import com.example.transactions_routine.controller.account.TransferRequest;
+import com.example.transactions_routine.controller.account.TransferResult;
+import com.example.transactions_routine.model.Account;
+import com.example.transactions_routine.model.OperationType;
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.AccountView;
+import com.example.transactions_routine.repository.JdbcTransactionWriteRepository;
+import com.example.transactions_routine.service.activity.RecentActivityCache;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import com.example.transactions_routine.service.account.AccountService;
+import com.example.transactions_routine.service.account.AccountServicePort;
+import com.example.transactions_routine.service.transaction.InsufficientFundsException;
+import com.example.transactions_routine.service.transaction.OperationTypeNotFoundException;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link AccountServicePort} of the {@code jdbc} profile. A transfer between two accounts that are
+ * not split over balance slots locks both rows and then moves the money and inserts both
+ * transactions with one statement of {@link JdbcTransactionWriteRepository}. Transfers involving
+ * a split account, batch transfers and everything else take the JPA path of {@link AccountService}.
+ */
+@Service
+@Primary
+@Profile("jdbc")
+@Transactional(readOnly = true)
+public class JdbcAccountService implements AccountServicePort {
+
+    private final AccountService accountService;
+    private final JdbcTransactionWriteRepository jdbcTransactionWriteRepository;
+    private final RecentActivityCache recentActivityCache;
+
+    public JdbcAccountService(AccountService accountService,
+                              JdbcTransactionWriteRepository jdbcTransactionWriteRepository,
+                              RecentActivityCache recentActivityCache) {
+        this.accountService = accountService;
+        this.jdbcTransactionWriteRepository = jdbcTransactionWriteRepository;
+        this.recentActivityCache = recentActivityCache;
+    }
+
+    @Override
+    public Account createAccount(AccountRequest accountRequest) {
+        return accountService.createAccount(accountRequest);
+    }
+
+    @Override
+    public Account findById(Long id) {
+        return accountService.findById(id);
+    }
+
+    @Override
+    public List<AccountView> findAllById(Collection<Long> ids) {
+        return accountService.findAllById(ids);
+    }
+
+    @Override
+    public Account setBalanceSlots(Long id, int balanceSlots) {
+        return accountService.setBalanceSlots(id, balanceSlots);
+    }
+
+    @Override
+    @Transactional
+    public TransferResult transfer(TransferRequest transferRequest) {
+        var sourceAccountId = transferRequest.sourceAccountId();
+        var destinationAccountId = transferRequest.destinationAccountId();
+        var amount = transferRequest.amount();
+        AccountService.validateTransferRequest(sourceAccountId, destinationAccountId, amount);
+
+        var accounts = jdbcTransactionWriteRepository.lockTransferAccounts(sourceAccountId, destinationAccountId);
+        if (accounts.size() < 2) {
+            var sourceFound = accounts.stream().anyMatch(account -> account.id() == sourceAccountId);
+            throw new AccountNotFoundException("Account not found with id: " + (sourceFound ? destinationAccountId : sourceAccountId));
+        }
+        if (accounts.stream().anyMatch(account -> account.balanceSlots() > 0)) {
+            return accountService.transfer(transferRequest);
+        }
+
+        var debitOperationType = findOperationType("TRANSFER_OUT");
+        var creditOperationType = findOperationType("TRANSFER_IN");
+        var debitTransactionId = jdbcTransactionWriteRepository.nextTransactionId();
+        var creditTransactionId = jdbcTransactionWriteRepository.nextTransactionId();
+        var transferTime = LocalDateTime.now();
+        var balances = jdbcTransactionWriteRepository.transfer(debitTransactionId, creditTransactionId,
+                        sourceAccountId, destinationAccountId,
+                        debitOperationType.getId(), creditOperationType.getId(),
+                        amount, transferTime)
+                .orElseThrow(() -> new InsufficientFundsException(sourceAccountId, amount));
+
+        var debitTransaction = transaction(debitTransactionId, sourceAccountId, debitOperationType, amount.negate(),
+                transferTime, balances.sourceBalance());
+        var creditTransaction = transaction(creditTransactionId, destinationAccountId, creditOperationType, amount,
+                transferTime, balances.destinationBalance());
+        recentActivityCache.record(List.of(debitTransaction, creditTransaction));
+        return new TransferResult(transferTime, debitTransaction, creditTransaction);
+    }
+
+    @Override
+    public BatchTransferResult batchTransfer(BatchTransferRequest batchTransferRequest) {
+        return accountService.batchTransfer(batchTransferRequest);
+    }
+
+    private OperationType findOperationType(String description) {
+        return jdbcTransactionWriteRepository.findOperationType(description)
+                .orElseThrow(() -> new OperationTypeNotFoundException("Operation type not found with description: " + description));
+    }
+
+    private static Transaction transaction(long id, long accountId, OperationType operationType, BigDecimal amount,
+                                           LocalDateTime eventDate, BigDecimal balanceAfter) {
+        return Transaction.builder()
+                .id(id)
+                .account(Account.builder().id(accountId).build())
+                .operationType(operationType)
+                .amount(amount)
+                .eventDate(eventDate)
+                .balanceAfter(balanceAfter)
+                .createdAt(eventDate)
+                .updatedAt(eventDate)
+                .build();
+    }
+}
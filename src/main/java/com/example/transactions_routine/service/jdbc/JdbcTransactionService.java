@@ -0,0 +1,139 @@
+package com.example.transactions_routine.service.jdbc;
+
+import com.example.transactions_routine.controller.transaction.TransactionRequest;
+import com.example.transactions_routine.controller.transaction.TransactionSearchResult;
+import com.example.transactions_routine.model.Account;
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.JdbcTransactionWriteRepository;
+import com.example.transactions_routine.repository.TransactionSearchCriteria;
+import com.example.transactions_routine.repository.TransactionView;
+import com.example.transactions_routine.service.activity.RecentActivityCache;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import com.example.transactions_routine.service.balance.SplitBalanceServicePort;
+import com.example.transactions_routine.service.limit.DailyLimitServicePort;
+import com.example.transactions_routine.service.transaction.InsufficientFundsException;
+import com.example.transactions_routine.service.transaction.TransactionService;
+import com.example.transactions_routine.service.transaction.TransactionServicePort;
+import com.example.transactions_routine.service.velocity.VelocityServicePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link TransactionServicePort} of the {@code jdbc} profile. A plain debit or credit is booked
+ * with one statement of {@link JdbcTransactionWriteRepository}, after the in-memory velocity
+ * check; only when that statement changes nothing is the account read, to tell a missing account
+ * from missing funds or a split account. Installment purchases and operation types under a daily
+ * limit take the JPA path of {@link TransactionService}, as do all reads.
+ */
+@Service
+@Primary
+@Profile("jdbc")
+@Transactional(readOnly = true)
+public class JdbcTransactionService implements TransactionServicePort {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcTransactionService.class);
+
+    private final TransactionService transactionService;
+    private final JdbcTransactionWriteRepository jdbcTransactionWriteRepository;
+    private final VelocityServicePort velocityServicePort;
+    private final DailyLimitServicePort dailyLimitServicePort;
+    private final SplitBalanceServicePort splitBalanceServicePort;
+    private final RecentActivityCache recentActivityCache;
+
+    public JdbcTransactionService(TransactionService transactionService,
+                                  JdbcTransactionWriteRepository jdbcTransactionWriteRepository,
+                                  VelocityServicePort velocityServicePort,
+                                  DailyLimitServicePort dailyLimitServicePort,
+                                  SplitBalanceServicePort splitBalanceServicePort,
+                                  RecentActivityCache recentActivityCache,
+                                  @Value("${transactions.concurrency.mode:guarded-update}") String concurrencyMode,
+                                  @Value("${transactions.sharding.enabled:false}") boolean shardingEnabled,
+                                  @Value("${transactions.actors.enabled:false}") boolean actorsEnabled) {
+        if (!"guarded-update".equals(concurrencyMode)) {
+            throw new IllegalStateException("The jdbc profile always uses a guarded update, set transactions.concurrency.mode=guarded-update");
+        }
+        if (shardingEnabled || actorsEnabled) {
+            throw new IllegalStateException("The jdbc profile cannot be combined with transactions.sharding or transactions.actors");
+        }
+        this.transactionService = transactionService;
+        this.jdbcTransactionWriteRepository = jdbcTransactionWriteRepository;
+        this.velocityServicePort = velocityServicePort;
+        this.dailyLimitServicePort = dailyLimitServicePort;
+        this.splitBalanceServicePort = splitBalanceServicePort;
+        this.recentActivityCache = recentActivityCache;
+    }
+
+    @Override
+    @Transactional
+    public Transaction createTransaction(TransactionRequest transactionRequest) {
+        var accountId = transactionRequest.accountId();
+        var operationType = jdbcTransactionWriteRepository.findOperationType(transactionRequest.operationTypeId()).orElse(null);
+        var installments = transactionRequest.installments() == null ? 1 : transactionRequest.installments();
+        if (operationType == null || installments > 1
+                || (!operationType.isCredit() && dailyLimitServicePort.findDefaultLimit(operationType.getId()).isPresent())) {
+            return transactionService.createTransaction(transactionRequest);
+        }
+        logger.debug("Creating transaction for account: {}, operation type: {}, amount: {}",
+                accountId, operationType.getId(), transactionRequest.amount());
+
+        var amount = operationType.isCredit() ? transactionRequest.amount() : transactionRequest.amount().negate();
+        velocityServicePort.checkAndRecord(accountId, operationType.getId(), amount);
+
+        var id = jdbcTransactionWriteRepository.nextTransactionId();
+        var eventDate = LocalDateTime.now();
+        var balanceAfter = jdbcTransactionWriteRepository.postTransaction(id, accountId, operationType.getId(), amount, eventDate);
+        if (balanceAfter.isEmpty()) {
+            var balanceSlots = jdbcTransactionWriteRepository.findBalanceSlots(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + accountId));
+            if (balanceSlots > 0 && operationType.isCredit()) {
+                // Credits to a split account land on a random balance slot
+                splitBalanceServicePort.credit(Account.builder().id(accountId).balanceSlots(balanceSlots).build(), amount);
+                jdbcTransactionWriteRepository.insertTransaction(id, accountId, operationType.getId(), amount, eventDate);
+            } else {
+                if (balanceSlots > 0 && splitBalanceServicePort.sweep(accountId)) {
+                    balanceAfter = jdbcTransactionWriteRepository.postTransaction(id, accountId, operationType.getId(), amount, eventDate);
+                }
+                if (balanceAfter.isEmpty()) {
+                    throw new InsufficientFundsException(accountId, amount);
+                }
+            }
+        }
+
+        var transaction = Transaction.builder()
+                .id(id)
+                .account(Account.builder().id(accountId).build())
+                .operationType(operationType)
+                .amount(amount)
+                .eventDate(eventDate)
+                .balanceAfter(balanceAfter.orElse(null))
+                .createdAt(eventDate)
+                .updatedAt(eventDate)
+                .build();
+        recentActivityCache.record(List.of(transaction));
+        return transaction;
+    }
+
+    @Override
+    public Transaction findById(Long transactionId) {
+        return transactionService.findById(transactionId);
+    }
+
+    @Override
+    public List<TransactionView> findAllById(Collection<Long> transactionIds) {
+        return transactionService.findAllById(transactionIds);
+    }
+
+    @Override
+    public TransactionSearchResult search(TransactionSearchCriteria criteria, String cursor, int limit) {
+        return transactionService.search(criteria, cursor, limit);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.limit;
+
+import com.example.transactions_routine.service.DomainException;
+
+public class DailyLimitExceededException extends DomainException {
+    public DailyLimitExceededException() {}
+
+    public DailyLimitExceededException(String message) {
+        super(message);
+    }
+
+    public DailyLimitExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.transactions_routine.service.limit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Default daily debit limits keyed by operation type id, e.g.
+ * {@code transactions.daily-limits.defaults.3=1000}. Only operation types listed here are
+ * limited; an account can override the default for each of them.
+ */
+@ConfigurationProperties(prefix = "transactions.daily-limits")
+public record DailyLimitProperties(
+        Map<Long, BigDecimal> defaults
+) {
+
+    public DailyLimitProperties {
+        defaults = defaults == null ? Map.of() : Map.copyOf(defaults);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.transactions_routine.service.limit;
+
+import com.example.transactions_routine.controller.account.DailyLimitResult;
+import com.example.transactions_routine.model.AccountDailyLimit;
+import com.example.transactions_routine.model.AccountDailyLimitId;
+import com.example.transactions_routine.repository.AccountDailyLimitRepository;
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Daily debit limits per account and operation type. Enforcement happens in
+ * {@link AccountRepository#updateBalanceWithDailyLimit}; this service only resolves the
+ * configured defaults, explains a rejected debit and manages per-account overrides.
+ */
+@Service
+@Profile("!in-memory")
+@Transactional(readOnly = true)
+public class DailyLimitService implements DailyLimitServicePort {
+
+    private final AccountDailyLimitRepository accountDailyLimitRepository;
+    private final AccountRepository accountRepository;
+    private final TreeMap<Long, BigDecimal> defaultLimits;
+
+    public DailyLimitService(AccountDailyLimitRepository accountDailyLimitRepository,
+                             AccountRepository accountRepository,
+                             DailyLimitProperties dailyLimitProperties) {
+        this.accountDailyLimitRepository = accountDailyLimitRepository;
+        this.accountRepository = accountRepository;
+        this.defaultLimits = new TreeMap<>(dailyLimitProperties.defaults());
+    }
+
+    @Override
+    public Optional<BigDecimal> findDefaultLimit(Long operationTypeId) {
+        return Optional.ofNullable(defaultLimits.get(operationTypeId));
+    }
+
+    /**
+     * Called after the guarded balance UPDATE matched no row, to tell an exhausted daily limit
+     * apart from insufficient funds. Throws {@link DailyLimitExceededException} in the first case.
+     */
+    @Override
+    public void checkDailyLimit(Long accountId, Long operationTypeId, BigDecimal debitAmount, LocalDate day) {
+        var defaultLimit = defaultLimits.get(operationTypeId);
+        if (defaultLimit == null) {
+            return;
+        }
+
+        var usage = accountDailyLimitRepository.findById(new AccountDailyLimitId(accountId, operationTypeId));
+        var result = toResult(operationTypeId, defaultLimit, usage.orElse(null), day);
+        if (debitAmount.compareTo(result.remainingAmount()) > 0) {
+            throw new DailyLimitExceededException(
+                    String.format("Daily limit exceeded. Account ID: %d, Operation type ID: %d, Remaining today: %s",
+                            accountId, operationTypeId, result.remainingAmount()));
+        }
+    }
+
+    @Override
+    public List<DailyLimitResult> findDailyLimits(Long accountId, LocalDate day) {
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException("Account not found with id: " + accountId);
+        }
+
+        var usages = new TreeMap<Long, AccountDailyLimit>();
+        accountDailyLimitRepository.findByIdAccountId(accountId)
+                .forEach(usage -> usages.put(usage.getId().getOperationTypeId(), usage));
+
+        var results = new ArrayList<DailyLimitResult>(defaultLimits.size());
+        defaultLimits.forEach((operationTypeId, defaultLimit) ->
+                results.add(toResult(operationTypeId, defaultLimit, usages.get(operationTypeId), day)));
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public DailyLimitResult setDailyLimit(Long accountId, Long operationTypeId, BigDecimal dailyLimit, LocalDate day) {
+        var defaultLimit = defaultLimits.get(operationTypeId);
+        if (defaultLimit == null) {
+            throw new InvalidDailyLimitException("Operation type " + operationTypeId + " has no daily limit");
+        }
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException("Account not found with id: " + accountId);
+        }
+
+        accountDailyLimitRepository.setDailyLimit(accountId, operationTypeId, dailyLimit);
+        var usage = accountDailyLimitRepository.findById(new AccountDailyLimitId(accountId, operationTypeId));
+        return toResult(operationTypeId, defaultLimit, usage.orElse(null), day);
+    }
+
+    private static DailyLimitResult toResult(Long operationTypeId, BigDecimal defaultLimit, AccountDailyLimit usage, LocalDate day) {
+        var dailyLimit = usage == null || usage.getDailyLimit() == null ? defaultLimit : usage.getDailyLimit();
+        var usedAmount = usage == null ? BigDecimal.ZERO : usage.usedOn(day);
+        return new DailyLimitResult(operationTypeId, day, dailyLimit, usedAmount,
+                dailyLimit.subtract(usedAmount).max(BigDecimal.ZERO));
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.limit;
+
+import com.example.transactions_routine.controller.account.DailyLimitResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface DailyLimitServicePort {
+    Optional<BigDecimal> findDefaultLimit(Long operationTypeId);
+    void checkDailyLimit(Long accountId, Long operationTypeId, BigDecimal debitAmount, LocalDate day);
+    List<DailyLimitResult> findDailyLimits(Long accountId, LocalDate day);
+    DailyLimitResult setDailyLimit(Long accountId, Long operationTypeId, BigDecimal dailyLimit, LocalDate day);
+}
@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.limit;
+
+import com.example.transactions_routine.service.DomainException;
+
+public class InvalidDailyLimitException extends DomainException {
+    public InvalidDailyLimitException() {}
+
+    public InvalidDailyLimitException(String message) {
+        super(message);
+    }
+
+    public InvalidDailyLimitException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.transactions_routine.service.memory;
+
+import com.example.transactions_routine.controller.account.AccountRequest;
+import com.example.transactions_routine.controller.account.BatchTransferRequest;
+import com.example.transactions_routine.controller.account.BatchTransferResult;
+import com.example.transactions_routine.controller.account.TransferRequest;
+import com.example.transactions_routine.controller.account.TransferResult;
+import com.example.transactions_routine.model.Account;
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.AccountView;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import com.example.transactions_routine.service.account.AccountService;
+import com.example.transactions_routine.service.account.AccountServicePort;
+import com.example.transactions_routine.service.transaction.InsufficientFundsException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link AccountServicePort} of the {@code in-memory} profile, backed by the {@link InMemoryLedger}.
+ * Balance slots need the database and are not supported.
+ */
+@Service
+@Profile("in-memory")
+public class InMemoryAccountService implements AccountServicePort {
+
+    private final InMemoryLedger ledger;
+
+    public InMemoryAccountService(InMemoryLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    @Override
+    public Account createAccount(AccountRequest accountRequest) {
+        return ledger.createAccount(accountRequest.documentNumber());
+    }
+
+    @Override
+    public Account findById(Long id) {
+        var account = ledger.findAccount(id);
+        if (account == null) {
+            throw new AccountNotFoundException("Account not found with id: " + id);
+        }
+        return account;
+    }
+
+    @Override
+    public List<AccountView> findAllById(Collection<Long> ids) {
+        return ledger.findAccountViews(ids);
+    }
+
+    @Override
+    public Account setBalanceSlots(Long id, int balanceSlots) {
+        throw new UnsupportedStorageOperationException("Balance slots are not supported by the in-memory storage");
+    }
+
+    @Override
+    public TransferResult transfer(TransferRequest transferRequest) {
+        AccountService.validateTransferRequest(transferRequest.sourceAccountId(),
+                transferRequest.destinationAccountId(),
+                transferRequest.amount());
+
+        var transferTime = LocalDateTime.now();
+        var transactions = transfer(transferRequest.sourceAccountId(),
+                new long[]{transferRequest.destinationAccountId()},
+                new long[]{InMemoryLedger.toCents(transferRequest.amount())},
+                transferRequest.amount(), transferTime);
+        return new TransferResult(transferTime, transactions.get(0), transactions.get(1));
+    }
+
+    @Override
+    public BatchTransferResult batchTransfer(BatchTransferRequest batchTransferRequest) {
+        var sourceAccountId = batchTransferRequest.sourceAccountId();
+        var legs = batchTransferRequest.legs();
+        var totalAmount = AccountService.validateBatchTransferRequest(sourceAccountId, legs);
+
+        var destinationAccountIds = new long[legs.size()];
+        var amountsCents = new long[legs.size()];
+        for (int i = 0; i < legs.size(); i++) {
+            destinationAccountIds[i] = legs.get(i).destinationAccountId();
+            amountsCents[i] = InMemoryLedger.toCents(legs.get(i).amount());
+        }
+        var transferTime = LocalDateTime.now();
+        var transactions = transfer(sourceAccountId, destinationAccountIds, amountsCents, totalAmount, transferTime);
+        return new BatchTransferResult(transferTime, sourceAccountId, totalAmount,
+                transactions.subList(0, legs.size()), transactions.subList(legs.size(), transactions.size()));
+    }
+
+    private List<Transaction> transfer(long sourceAccountId, long[] destinationAccountIds, long[] amountsCents,
+                                       BigDecimal totalAmount, LocalDateTime transferTime) {
+        var transactions = ledger.transfer(sourceAccountId, destinationAccountIds, amountsCents,
+                ledger.findOperationType("TRANSFER_OUT").getId(), ledger.findOperationType("TRANSFER_IN").getId(),
+                transferTime);
+        if (transactions == null) {
+            throw new InsufficientFundsException(sourceAccountId, totalAmount);
+        }
+        return transactions.stream().map(ledger::toTransaction).toList();
+    }
+}
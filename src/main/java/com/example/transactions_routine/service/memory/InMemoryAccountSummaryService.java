@@ -0,0 +1,64 @@
+package com.example.transactions_routine.service.memory;
+
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.OperationTypeTotal;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import com.example.transactions_routine.service.summary.AccountSummaryService;
+import com.example.transactions_routine.service.summary.AccountSummaryServicePort;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * {@link AccountSummaryServicePort} of the {@code in-memory} profile. Nothing is pre-aggregated:
+ * a summary adds up the account's transactions in the {@link InMemoryLedger}.
+ */
+@Service
+@Profile("in-memory")
+public class InMemoryAccountSummaryService implements AccountSummaryServicePort {
+
+    private final InMemoryLedger ledger;
+
+    public InMemoryAccountSummaryService(InMemoryLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    @Override
+    public void recordTransaction(Transaction transaction) {
+    }
+
+    @Override
+    public void recordTransactions(Collection<Long> transactionIds) {
+    }
+
+    @Override
+    public void recordInstallments(Collection<Long> installmentIds) {
+    }
+
+    @Override
+    public List<OperationTypeTotal> summarize(Long accountId, LocalDate from, LocalDate to) {
+        AccountSummaryService.validatePeriod(from, to);
+        var transactions = ledger.findAccountTransactions(accountId);
+        if (transactions == null) {
+            throw new AccountNotFoundException("Account not found with id: " + accountId);
+        }
+
+        // Per operation type id: total in cents and count
+        var totals = new TreeMap<Long, long[]>();
+        for (var transaction : transactions) {
+            var day = transaction.eventDate().toLocalDate();
+            if (!day.isBefore(from) && !day.isAfter(to)) {
+                var total = totals.computeIfAbsent(transaction.operationTypeId(), id -> new long[2]);
+                total[0] += transaction.amountCents();
+                total[1]++;
+            }
+        }
+        return totals.entrySet().stream()
+                .map(entry -> new OperationTypeTotal(entry.getKey(), InMemoryLedger.toAmount(entry.getValue()[0]), entry.getValue()[1]))
+                .toList();
+    }
+}
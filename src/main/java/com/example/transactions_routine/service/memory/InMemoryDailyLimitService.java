@@ -0,0 +1,39 @@
+package com.example.transactions_routine.service.memory;
+
+import com.example.transactions_routine.controller.account.DailyLimitResult;
+import com.example.transactions_routine.service.limit.DailyLimitServicePort;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link DailyLimitServicePort} of the {@code in-memory} profile: daily limits need the database,
+ * so none applies and they cannot be read or set.
+ */
+@Service
+@Profile("in-memory")
+public class InMemoryDailyLimitService implements DailyLimitServicePort {
+
+    @Override
+    public Optional<BigDecimal> findDefaultLimit(Long operationTypeId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void checkDailyLimit(Long accountId, Long operationTypeId, BigDecimal debitAmount, LocalDate day) {
+    }
+
+    @Override
+    public List<DailyLimitResult> findDailyLimits(Long accountId, LocalDate day) {
+        throw new UnsupportedStorageOperationException("Daily limits are not supported by the in-memory storage");
+    }
+
+    @Override
+    public DailyLimitResult setDailyLimit(Long accountId, Long operationTypeId, BigDecimal dailyLimit, LocalDate day) {
+        throw new UnsupportedStorageOperationException("Daily limits are not supported by the in-memory storage");
+    }
+}
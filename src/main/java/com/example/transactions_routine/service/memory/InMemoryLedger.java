@@ -0,0 +1,523 @@
+package com.example.transactions_routine.service.memory;
+
+import com.example.transactions_routine.model.Account;
+import com.example.transactions_routine.model.OperationType;
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.AccountView;
+import com.example.transactions_routine.service.account.AccountDocumentAlreadyExistsException;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Accounts and transactions of the {@code in-memory} profile. Accounts are spread over a fixed
+ * number of lock stripes, each a primitive-keyed map, and a balance is kept in cents, so a
+ * balance change is a map lookup and a {@code long} addition under an uncontended lock. A debit
+ * is checked and applied under that lock, just like the guarded UPDATE of the database. Transfers
+ * lock the stripes of all their accounts in ascending stripe order.
+ * <p>
+ * Transactions are kept with their account and indexed by id in stripes of their own. With a
+ * snapshot file configured, the ledger is loaded from it on startup and written to it
+ * periodically and on shutdown; what happened since the last snapshot is lost on a crash.
+ */
+@Component
+@Profile("in-memory")
+public class InMemoryLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryLedger.class);
+    private static final int SNAPSHOT_FORMAT = 0x544C0002;
+    // Snapshots written before transactions carried their balance after
+    private static final int SNAPSHOT_FORMAT_WITHOUT_BALANCE_AFTER = 0x544C0001;
+    private static final long NO_BALANCE_AFTER = Long.MIN_VALUE;
+    private static final LocalDateTime SEED_TIME = LocalDateTime.parse("2020-01-01T08:00:00");
+
+    private final Map<Long, OperationType> operationTypes;
+    private final Map<String, OperationType> operationTypesByDescription;
+    private final Map<String, Long> accountIdsByDocument = new ConcurrentHashMap<>();
+    private final AtomicLong nextAccountId = new AtomicLong(1);
+    private final AtomicLong nextTransactionId = new AtomicLong(1);
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final Path snapshotFile;
+
+    public InMemoryLedger(InMemoryStorageProperties properties) {
+        if (properties.stripes() < 1) {
+            throw new IllegalArgumentException("transactions.in-memory.stripes must be positive");
+        }
+        int stripeCount = Integer.highestOneBit(Math.max(1, properties.stripes() - 1) << 1);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = stripeCount - 1;
+
+        // The operation types of the initial migration
+        this.operationTypes = List.of(
+                        operationType(1, "Normal Purchase", false),
+                        operationType(2, "Purchase with installments", false),
+                        operationType(3, "Withdrawal", false),
+                        operationType(4, "Credit Voucher", true),
+                        operationType(5, "TRANSFER_IN", true),
+                        operationType(6, "TRANSFER_OUT", false))
+                .stream()
+                .collect(Collectors.toUnmodifiableMap(OperationType::getId, Function.identity()));
+        this.operationTypesByDescription = operationTypes.values().stream()
+                .collect(Collectors.toUnmodifiableMap(OperationType::getDescription, Function.identity()));
+
+        this.snapshotFile = properties.snapshotFile();
+        if (snapshotFile != null && Files.exists(snapshotFile)) {
+            loadSnapshot();
+        } else {
+            seed();
+        }
+    }
+
+    public OperationType findOperationType(long id) {
+        return operationTypes.get(id);
+    }
+
+    public OperationType findOperationType(String description) {
+        return operationTypesByDescription.get(description);
+    }
+
+    public Account createAccount(String documentNumber) {
+        // Like a sequence, an id is used up even when the document number turns out to be taken
+        var id = nextAccountId.getAndIncrement();
+        if (accountIdsByDocument.putIfAbsent(documentNumber, id) != null) {
+            throw new AccountDocumentAlreadyExistsException("An account with document number '" + documentNumber + "' already exists");
+        }
+        var account = new AccountState(id, documentNumber, LocalDateTime.now());
+        var stripe = stripeFor(id);
+        stripe.lock.lock();
+        try {
+            stripe.accounts.put(id, account);
+            return account.toAccount();
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Return the account, or null if there is none with this id.
+     */
+    public Account findAccount(long id) {
+        var stripe = stripeFor(id);
+        stripe.lock.lock();
+        try {
+            var account = stripe.accounts.get(id);
+            return account == null ? null : account.toAccount();
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public List<AccountView> findAccountViews(Collection<Long> ids) {
+        var views = new ArrayList<AccountView>(ids.size());
+        for (var id : ids) {
+            var account = findAccount(id);
+            if (account != null) {
+                views.add(new InMemoryAccountView(account.getId(), account.getDocumentNumber(), account.getBalance()));
+            }
+        }
+        return views;
+    }
+
+    /**
+     * Changes the account's balance by {@code amountCents} and records the transaction. A debit
+     * the balance cannot cover changes nothing. Return the transaction, or null if it was not
+     * covered.
+     */
+    public InMemoryTransaction post(long accountId, long operationTypeId, long amountCents, LocalDateTime eventDate) {
+        InMemoryTransaction transaction;
+        var stripe = stripeFor(accountId);
+        stripe.lock.lock();
+        try {
+            var account = stripe.accounts.get(accountId);
+            if (account == null) {
+                throw new AccountNotFoundException("Account not found with id: " + accountId);
+            }
+            if (amountCents < 0 && account.balanceCents + amountCents < 0) {
+                return null;
+            }
+            transaction = new InMemoryTransaction(nextTransactionId.getAndIncrement(), accountId, operationTypeId, amountCents,
+                    eventDate, account.balanceCents + amountCents);
+            account.apply(transaction);
+        } finally {
+            stripe.lock.unlock();
+        }
+        index(transaction);
+        return transaction;
+    }
+
+    /**
+     * Debits the source account once with the total of the legs and credits every destination
+     * with its leg, atomically. Return the debit transactions followed by the credit transactions,
+     * both in leg order, or null if the source account cannot cover the total.
+     */
+    public List<InMemoryTransaction> transfer(long sourceAccountId, long[] destinationAccountIds, long[] amountsCents,
+                                              long debitOperationTypeId, long creditOperationTypeId, LocalDateTime eventDate) {
+        var lockOrder = new TreeSet<Integer>();
+        lockOrder.add(stripeIndex(sourceAccountId));
+        for (var destinationAccountId : destinationAccountIds) {
+            lockOrder.add(stripeIndex(destinationAccountId));
+        }
+        var transactions = new InMemoryTransaction[destinationAccountIds.length * 2];
+        lockOrder.forEach(index -> stripes[index].lock.lock());
+        try {
+            var source = stripeFor(sourceAccountId).accounts.get(sourceAccountId);
+            if (source == null) {
+                throw new AccountNotFoundException("Account not found with id: " + sourceAccountId);
+            }
+            var destinations = new AccountState[destinationAccountIds.length];
+            long totalCents = 0;
+            for (int i = 0; i < destinationAccountIds.length; i++) {
+                destinations[i] = stripeFor(destinationAccountIds[i]).accounts.get(destinationAccountIds[i]);
+                if (destinations[i] == null) {
+                    throw new AccountNotFoundException("Account not found with id: " + destinationAccountIds[i]);
+                }
+                totalCents += amountsCents[i];
+            }
+            if (source.balanceCents < totalCents) {
+                return null;
+            }
+            for (int i = 0; i < destinations.length; i++) {
+                transactions[i] = new InMemoryTransaction(nextTransactionId.getAndIncrement(),
+                        sourceAccountId, debitOperationTypeId, -amountsCents[i], eventDate, source.balanceCents - amountsCents[i]);
+                source.apply(transactions[i]);
+            }
+            for (int i = 0; i < destinations.length; i++) {
+                var credit = new InMemoryTransaction(nextTransactionId.getAndIncrement(),
+                        destinationAccountIds[i], creditOperationTypeId, amountsCents[i], eventDate,
+                        destinations[i].balanceCents + amountsCents[i]);
+                transactions[destinations.length + i] = credit;
+                destinations[i].apply(credit);
+            }
+        } finally {
+            lockOrder.descendingSet().forEach(index -> stripes[index].lock.unlock());
+        }
+        for (var transaction : transactions) {
+            index(transaction);
+        }
+        return Arrays.asList(transactions);
+    }
+
+    /**
+     * Return the transaction, or null if there is none with this id.
+     */
+    public InMemoryTransaction findTransaction(long id) {
+        var stripe = stripeFor(id);
+        synchronized (stripe.transactions) {
+            return stripe.transactions.get(id);
+        }
+    }
+
+    /**
+     * Return the account's transactions in the order they were booked, or null if there is no
+     * account with this id.
+     */
+    public List<InMemoryTransaction> findAccountTransactions(long accountId) {
+        var stripe = stripeFor(accountId);
+        stripe.lock.lock();
+        try {
+            var account = stripe.accounts.get(accountId);
+            return account == null ? null : List.of(Arrays.copyOf(account.transactions, account.transactionCount));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the action on every transaction, one index stripe at a time, while that stripe is locked.
+     */
+    public void forEachTransaction(Consumer<InMemoryTransaction> action) {
+        for (var stripe : stripes) {
+            synchronized (stripe.transactions) {
+                stripe.transactions.forEachValue(action);
+            }
+        }
+    }
+
+    public Transaction toTransaction(InMemoryTransaction transaction) {
+        return Transaction.builder()
+                .id(transaction.id())
+                .account(Account.builder().id(transaction.accountId()).build())
+                .operationType(operationTypes.get(transaction.operationTypeId()))
+                .amount(transaction.getAmount())
+                .eventDate(transaction.eventDate())
+                .balanceAfter(transaction.getBalanceAfter())
+                .createdAt(transaction.eventDate())
+                .updatedAt(transaction.eventDate())
+                .build();
+    }
+
+    public static long toCents(BigDecimal amount) {
+        // Rounded like the database rounds into its DECIMAL(10, 2) columns
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.in-memory.snapshot-interval:PT5M}",
+            initialDelayString = "${transactions.in-memory.snapshot-interval:PT5M}")
+    public void snapshot() {
+        if (snapshotFile != null) {
+            writeSnapshot();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        snapshot();
+    }
+
+    /**
+     * Writes a consistent copy of every account and its transactions, taken with all stripes
+     * locked, to a temporary file that then replaces the snapshot file.
+     */
+    synchronized void writeSnapshot() {
+        var startedAt = System.nanoTime();
+        var accounts = new ArrayList<AccountState>();
+        long nextAccount;
+        long nextTransaction;
+        for (var stripe : stripes) {
+            stripe.lock.lock();
+        }
+        try {
+            for (var stripe : stripes) {
+                stripe.accounts.forEachValue(account -> accounts.add(account.copy()));
+            }
+            nextAccount = nextAccountId.get();
+            nextTransaction = nextTransactionId.get();
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                stripes[i].lock.unlock();
+            }
+        }
+
+        long transactions = 0;
+        var temporary = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try {
+            if (snapshotFile.getParent() != null) {
+                Files.createDirectories(snapshotFile.getParent());
+            }
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+                out.writeInt(SNAPSHOT_FORMAT);
+                out.writeLong(nextAccount);
+                out.writeLong(nextTransaction);
+                out.writeInt(accounts.size());
+                for (var account : accounts) {
+                    out.writeLong(account.id);
+                    out.writeUTF(account.documentNumber);
+                    writeTime(out, account.createdAt);
+                    writeTime(out, account.updatedAt);
+                    out.writeLong(account.balanceCents);
+                    out.writeInt(account.transactionCount);
+                    for (int i = 0; i < account.transactionCount; i++) {
+                        var transaction = account.transactions[i];
+                        out.writeLong(transaction.id());
+                        out.writeLong(transaction.operationTypeId());
+                        out.writeLong(transaction.amountCents());
+                        writeTime(out, transaction.eventDate());
+                        out.writeLong(transaction.balanceAfterCents() == null ? NO_BALANCE_AFTER : transaction.balanceAfterCents());
+                    }
+                    transactions += account.transactionCount;
+                }
+            }
+            Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write in-memory snapshot " + snapshotFile, e);
+        }
+        logger.info("Wrote in-memory snapshot of {} accounts and {} transactions to {} in {} ms",
+                accounts.size(), transactions, snapshotFile, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private void loadSnapshot() {
+        long transactions = 0;
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile), 1 << 16))) {
+            var format = in.readInt();
+            if (format != SNAPSHOT_FORMAT && format != SNAPSHOT_FORMAT_WITHOUT_BALANCE_AFTER) {
+                throw new IllegalStateException("Unknown in-memory snapshot format in " + snapshotFile);
+            }
+            nextAccountId.set(in.readLong());
+            nextTransactionId.set(in.readLong());
+            var accounts = in.readInt();
+            for (int a = 0; a < accounts; a++) {
+                var account = new AccountState(in.readLong(), in.readUTF(), readTime(in));
+                account.updatedAt = readTime(in);
+                account.balanceCents = in.readLong();
+                var count = in.readInt();
+                account.transactions = new InMemoryTransaction[Math.max(4, count)];
+                for (int i = 0; i < count; i++) {
+                    var transaction = new InMemoryTransaction(in.readLong(), account.id, in.readLong(), in.readLong(), readTime(in),
+                            format == SNAPSHOT_FORMAT ? readBalanceAfter(in) : null);
+                    account.transactions[i] = transaction;
+                    index(transaction);
+                }
+                account.transactionCount = count;
+                stripeFor(account.id).accounts.put(account.id, account);
+                accountIdsByDocument.put(account.documentNumber, account.id);
+                transactions += count;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read in-memory snapshot " + snapshotFile, e);
+        }
+        logger.info("Loaded in-memory snapshot of {} accounts and {} transactions from {}",
+                accountIdsByDocument.size(), transactions, snapshotFile);
+    }
+
+    /**
+     * The account and transactions of the initial migration.
+     */
+    private void seed() {
+        var account = new AccountState(nextAccountId.getAndIncrement(), "12345678900", SEED_TIME);
+        stripeFor(account.id).accounts.put(account.id, account);
+        accountIdsByDocument.put(account.documentNumber, account.id);
+        var seeded = List.of(
+                new InMemoryTransaction(nextTransactionId.getAndIncrement(), account.id, 1, -5000, LocalDateTime.parse("2020-01-01T10:32:07.7199222"), null),
+                new InMemoryTransaction(nextTransactionId.getAndIncrement(), account.id, 1, -2350, LocalDateTime.parse("2020-01-01T10:48:12.2135875"), null),
+                new InMemoryTransaction(nextTransactionId.getAndIncrement(), account.id, 1, -1870, LocalDateTime.parse("2020-01-02T19:01:23.1458543"), null),
+                new InMemoryTransaction(nextTransactionId.getAndIncrement(), account.id, 4, 6000, LocalDateTime.parse("2020-01-05T09:34:18.5893223"), null));
+        for (var transaction : seeded) {
+            // The migration inserts them without touching the balance, so neither does the seed
+            account.append(transaction);
+            index(transaction);
+        }
+    }
+
+    private void index(InMemoryTransaction transaction) {
+        var stripe = stripeFor(transaction.id());
+        synchronized (stripe.transactions) {
+            stripe.transactions.put(transaction.id(), transaction);
+        }
+    }
+
+    private int stripeIndex(long id) {
+        return Long.hashCode(id * 0x9E3779B97F4A7C15L) & stripeMask;
+    }
+
+    private Stripe stripeFor(long id) {
+        return stripes[stripeIndex(id)];
+    }
+
+    private static OperationType operationType(long id, String description, boolean credit) {
+        return OperationType.builder()
+                .id(id)
+                .description(description)
+                .credit(credit)
+                .createdAt(SEED_TIME)
+                .updatedAt(SEED_TIME)
+                .build();
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    private static Long readBalanceAfter(DataInputStream in) throws IOException {
+        var cents = in.readLong();
+        return cents == NO_BALANCE_AFTER ? null : cents;
+    }
+
+    private record InMemoryAccountView(Long getId, String getDocumentNumber, BigDecimal getBalance) implements AccountView {
+
+        @Override
+        public BigDecimal getHeldAmount() {
+            return BigDecimal.ZERO;
+        }
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        // Guarded by lock
+        private final LongMap<AccountState> accounts = new LongMap<>();
+        // Guarded by its own monitor, never taken while holding a lock
+        private final LongMap<InMemoryTransaction> transactions = new LongMap<>();
+    }
+
+    private static final class AccountState {
+        private final long id;
+        private final String documentNumber;
+        private final LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+        private long balanceCents;
+        private InMemoryTransaction[] transactions = new InMemoryTransaction[4];
+        private int transactionCount;
+
+        private AccountState(long id, String documentNumber, LocalDateTime createdAt) {
+            this.id = id;
+            this.documentNumber = documentNumber;
+            this.createdAt = createdAt;
+            this.updatedAt = createdAt;
+        }
+
+        private void apply(InMemoryTransaction transaction) {
+            balanceCents += transaction.amountCents();
+            updatedAt = transaction.eventDate();
+            append(transaction);
+        }
+
+        private void append(InMemoryTransaction transaction) {
+            if (transactionCount == transactions.length) {
+                transactions = Arrays.copyOf(transactions, transactions.length * 2);
+            }
+            transactions[transactionCount++] = transaction;
+        }
+
+        private AccountState copy() {
+            var copy = new AccountState(id, documentNumber, createdAt);
+            copy.updatedAt = updatedAt;
+            copy.balanceCents = balanceCents;
+            // Slots below the count are never written again, so sharing the array is safe
+            copy.transactions = transactions;
+            copy.transactionCount = transactionCount;
+            return copy;
+        }
+
+        private Account toAccount() {
+            return Account.builder()
+                    .id(id)
+                    .documentNumber(documentNumber)
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .balance(toAmount(balanceCents))
+                    .build();
+        }
+    }
+}
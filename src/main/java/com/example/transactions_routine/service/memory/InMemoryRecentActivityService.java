@@ -0,0 +1,42 @@
+package com.example.transactions_routine.service.memory;
+
+import com.example.transactions_routine.repository.TransactionView;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import com.example.transactions_routine.service.activity.RecentActivityCache;
+import com.example.transactions_routine.service.activity.RecentActivityServicePort;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link RecentActivityServicePort} of the {@code in-memory} profile. The {@link InMemoryLedger}
+ * keeps every account's transactions in booking order, so no cache is needed: the last ones are
+ * read straight from it.
+ */
+@Service
+@Profile("in-memory")
+public class InMemoryRecentActivityService implements RecentActivityServicePort {
+
+    private final InMemoryLedger ledger;
+    private final int size;
+
+    public InMemoryRecentActivityService(InMemoryLedger ledger, RecentActivityCache recentActivityCache) {
+        this.ledger = ledger;
+        this.size = recentActivityCache.size();
+    }
+
+    @Override
+    public List<TransactionView> findRecentActivity(Long accountId) {
+        var transactions = ledger.findAccountTransactions(accountId);
+        if (transactions == null) {
+            throw new AccountNotFoundException("Account not found with id: " + accountId);
+        }
+        var recent = new ArrayList<TransactionView>(Math.min(size, transactions.size()));
+        for (int i = transactions.size() - 1; i >= 0 && recent.size() < size; i--) {
+            recent.add(transactions.get(i));
+        }
+        return recent;
+    }
+}
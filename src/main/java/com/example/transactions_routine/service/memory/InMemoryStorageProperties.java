@@ -0,0 +1,19 @@
+package com.example.transactions_routine.service.memory;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of the in-memory storage used by the {@code in-memory} profile. Without a
+ * {@code snapshotFile} everything is lost when the process stops.
+ */
+@ConfigurationProperties(prefix = "transactions.in-memory")
+public record InMemoryStorageProperties(
+        @DefaultValue("64") int stripes,
+        Path snapshotFile,
+        @DefaultValue("PT5M") Duration snapshotInterval
+) {
+}
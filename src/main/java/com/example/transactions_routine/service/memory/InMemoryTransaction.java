@@ -0,0 +1,50 @@
+package com.example.transactions_routine.service.memory;
+
+import com.example.transactions_routine.repository.TransactionView;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A transaction held by the {@link InMemoryLedger}, with its amount and the account's balance
+ * right after it in cents. The balance is null for the seeded transactions, which never changed it.
+ */
+record InMemoryTransaction(
+        long id,
+        long accountId,
+        long operationTypeId,
+        long amountCents,
+        LocalDateTime eventDate,
+        Long balanceAfterCents
+) implements TransactionView {
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    @Override
+    public Long getOperationTypeId() {
+        return operationTypeId;
+    }
+
+    @Override
+    public BigDecimal getAmount() {
+        return InMemoryLedger.toAmount(amountCents);
+    }
+
+    @Override
+    public LocalDateTime getEventDate() {
+        return eventDate;
+    }
+
+    @Override
+    public BigDecimal getBalanceAfter() {
+        return balanceAfterCents == null ? null : InMemoryLedger.toAmount(balanceAfterCents);
+    }
+}
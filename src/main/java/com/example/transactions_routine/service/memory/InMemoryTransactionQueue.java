@@ -0,0 +1,35 @@
+package com.example.transactions_routine.service.memory;
+
+import com.example.transactions_routine.controller.transaction.TransactionRequest;
+import com.example.transactions_routine.service.queue.AsyncWritesDisabledException;
+import com.example.transactions_routine.service.queue.QueuedTransaction;
+import com.example.transactions_routine.service.queue.QueuedTransactionNotFoundException;
+import com.example.transactions_routine.service.queue.TransactionQueuePort;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * {@link TransactionQueuePort} of the {@code in-memory} profile. Writes to the in-memory storage
+ * are already as fast as queueing them, so asynchronous writes are always disabled.
+ */
+@Service
+@Profile("in-memory")
+public class InMemoryTransactionQueue implements TransactionQueuePort {
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public QueuedTransaction accept(TransactionRequest transactionRequest) {
+        throw new AsyncWritesDisabledException("Asynchronous transaction writes are not enabled");
+    }
+
+    @Override
+    public QueuedTransaction findByTrackingId(UUID trackingId) {
+        throw new QueuedTransactionNotFoundException("Queued transaction not found with tracking id: " + trackingId);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.transactions_routine.service.memory;
+
+import com.example.transactions_routine.controller.transaction.TransactionRequest;
+import com.example.transactions_routine.controller.transaction.TransactionSearchResult;
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.TransactionSearchCriteria;
+import com.example.transactions_routine.repository.TransactionView;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import com.example.transactions_routine.service.transaction.InsufficientFundsException;
+import com.example.transactions_routine.service.transaction.OperationTypeNotFoundException;
+import com.example.transactions_routine.service.transaction.TransactionNotFoundException;
+import com.example.transactions_routine.service.transaction.TransactionSearchCursor;
+import com.example.transactions_routine.service.transaction.TransactionService;
+import com.example.transactions_routine.service.transaction.TransactionServicePort;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * {@link TransactionServicePort} of the {@code in-memory} profile, backed by the
+ * {@link InMemoryLedger}. Velocity rules, daily limits and installment plans need the database
+ * and are not applied.
+ */
+@Service
+@Profile("in-memory")
+public class InMemoryTransactionService implements TransactionServicePort {
+
+    // Search order: newest first, ties broken by id
+    private static final Comparator<InMemoryTransaction> SEARCH_ORDER = Comparator
+            .comparing(InMemoryTransaction::eventDate)
+            .thenComparingLong(InMemoryTransaction::id)
+            .reversed();
+
+    private final InMemoryLedger ledger;
+
+    public InMemoryTransactionService(InMemoryLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    @Override
+    public Transaction createTransaction(TransactionRequest transactionRequest) {
+        if (ledger.findAccount(transactionRequest.accountId()) == null) {
+            throw new AccountNotFoundException("Account not found with id: " + transactionRequest.accountId());
+        }
+        var operationType = ledger.findOperationType(transactionRequest.operationTypeId());
+        if (operationType == null) {
+            throw new OperationTypeNotFoundException("Operation type not found with id: " + transactionRequest.operationTypeId());
+        }
+        if (transactionRequest.installments() != null && transactionRequest.installments() > 1) {
+            throw new UnsupportedStorageOperationException("Installment plans are not supported by the in-memory storage");
+        }
+
+        var cents = InMemoryLedger.toCents(transactionRequest.amount());
+        var amountCents = operationType.isCredit() ? cents : -cents;
+        var transaction = ledger.post(transactionRequest.accountId(), operationType.getId(), amountCents, LocalDateTime.now());
+        if (transaction == null) {
+            throw new InsufficientFundsException(transactionRequest.accountId(), InMemoryLedger.toAmount(amountCents));
+        }
+        return ledger.toTransaction(transaction);
+    }
+
+    @Override
+    public Transaction findById(Long transactionId) {
+        var transaction = ledger.findTransaction(transactionId);
+        if (transaction == null) {
+            throw new TransactionNotFoundException("Transaction not found with id: " + transactionId);
+        }
+        return ledger.toTransaction(transaction);
+    }
+
+    @Override
+    public List<TransactionView> findAllById(Collection<Long> transactionIds) {
+        var transactions = new ArrayList<TransactionView>(transactionIds.size());
+        for (var id : transactionIds) {
+            var transaction = ledger.findTransaction(id);
+            if (transaction != null) {
+                transactions.add(transaction);
+            }
+        }
+        return transactions;
+    }
+
+    @Override
+    public TransactionSearchResult search(TransactionSearchCriteria criteria, String cursor, int limit) {
+        TransactionService.validateSearch(criteria, limit);
+        var after = cursor == null ? null : TransactionSearchCursor.decode(cursor);
+        Predicate<InMemoryTransaction> matches = transaction -> matches(criteria, transaction)
+                && (after == null || after.eventDate().isAfter(transaction.eventDate())
+                || (after.eventDate().isEqual(transaction.eventDate()) && after.id() > transaction.id()));
+
+        List<InMemoryTransaction> found;
+        if (criteria.getAccountId() != null) {
+            var accountTransactions = ledger.findAccountTransactions(criteria.getAccountId());
+            found = accountTransactions == null ? List.of() : accountTransactions.stream().filter(matches).toList();
+        } else {
+            var all = new ArrayList<InMemoryTransaction>();
+            ledger.forEachTransaction(transaction -> {
+                if (matches.test(transaction)) {
+                    all.add(transaction);
+                }
+            });
+            found = all;
+        }
+
+        var page = found.stream().sorted(SEARCH_ORDER).limit(limit + 1L).<TransactionView>map(transaction -> transaction).toList();
+        if (page.size() <= limit) {
+            return new TransactionSearchResult(page, null);
+        }
+        page = page.subList(0, limit);
+        return new TransactionSearchResult(page, TransactionSearchCursor.encode(page.get(limit - 1)));
+    }
+
+    private static boolean matches(TransactionSearchCriteria criteria, InMemoryTransaction transaction) {
+        return (criteria.getOperationTypeId() == null || criteria.getOperationTypeId() == transaction.operationTypeId())
+                && (criteria.getMinAmount() == null || transaction.getAmount().compareTo(criteria.getMinAmount()) >= 0)
+                && (criteria.getMaxAmount() == null || transaction.getAmount().compareTo(criteria.getMaxAmount()) <= 0)
+                && (criteria.getFrom() == null || !transaction.eventDate().isBefore(criteria.getFrom()))
+                && (criteria.getTo() == null || transaction.eventDate().isBefore(criteria.getTo()));
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.transactions_routine.service.memory;
+
+public class UnsupportedStorageOperationException extends RuntimeException {
+    public UnsupportedStorageOperationException() {}
+
+    public UnsupportedStorageOperationException(String message) {
+        super(message);
+    }
+
+    public UnsupportedStorageOperationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
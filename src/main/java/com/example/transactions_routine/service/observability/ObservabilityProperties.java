@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.observability;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-request database instrumentation. {@code serverTiming} adds the {@code Server-Timing} header
+ * to responses, off by default; {@code failOnQueryBudget} turns a {@link QueryBudget} overrun into a
+ * failed request, meant for tests.
+ */
+@ConfigurationProperties(prefix = "transactions.observability")
+public record ObservabilityProperties(
+        boolean serverTiming,
+        boolean failOnQueryBudget
+) {
+}
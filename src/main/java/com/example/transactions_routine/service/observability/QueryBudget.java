@@ -0,0 +1,20 @@
+package com.example.transactions_routine.service.observability;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the most SQL statements a handler method may execute per request. Going over it is
+ * counted and logged by {@link RequestTimingFilter}, and fails the request when
+ * {@code transactions.observability.fail-on-query-budget} is set.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
@@ -0,0 +1,13 @@
+package com.example.transactions_routine.service.observability;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException() {}
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+
+    public QueryBudgetExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
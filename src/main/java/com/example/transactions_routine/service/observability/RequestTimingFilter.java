@@ -0,0 +1,156 @@
+package com.example.transactions_routine.service.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every request's database work and records it per endpoint, tagged like
+ * {@code http.server.requests} with the method and URI pattern:
+ * <ul>
+ *     <li>{@code transactions.request.db.acquire}: waiting for a pooled connection</li>
+ *     <li>{@code transactions.request.db.hold}: holding a connection, from acquisition to release</li>
+ *     <li>{@code transactions.request.db.execution}: executing SQL statements</li>
+ *     <li>{@code transactions.request.db.statements}: SQL statements executed</li>
+ * </ul>
+ * Handlers annotated with {@link QueryBudget} are checked against their declared statement count
+ * when serialization starts, before the first byte of the body is written, so an overrun can still
+ * fail the request. With {@code Server-Timing} enabled the header is added at the same point without
+ * buffering the body: it covers the work up to the handler's return as {@code app}, and
+ * serialization and the total follow as a trailer for clients that send {@code TE: trailers}.
+ * Responses that write no body through a message converter are handled when the chain returns.
+ */
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestTimingFilter.class);
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final ObservabilityProperties properties;
+
+    public RequestTimingFilter(MeterRegistry meterRegistry, ObservabilityProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var timings = RequestTimings.start();
+        timings.onSerializationStart(() -> beforeBodyWrite(request, response, timings));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTimings.clear();
+        }
+        var endNanos = System.nanoTime();
+
+        record(tags(request), timings);
+        if (!timings.serializationStarted()) {
+            if (properties.serverTiming() && !response.isCommitted()) {
+                response.setHeader(SERVER_TIMING_HEADER, serverTiming(timings, endNanos) + ", " + serializationTiming(timings, endNanos));
+            }
+            checkQueryBudget(request, timings, !response.isCommitted());
+        }
+    }
+
+    private void beforeBodyWrite(HttpServletRequest request, HttpServletResponse response, RequestTimings timings) {
+        if (properties.serverTiming()) {
+            response.setHeader(SERVER_TIMING_HEADER, serverTiming(timings, timings.serializationStartNanos()));
+            if (acceptsTrailers(request)) {
+                try {
+                    response.setTrailerFields(() -> Map.of(SERVER_TIMING_HEADER, serializationTiming(timings, System.nanoTime())));
+                    response.setHeader("Trailer", SERVER_TIMING_HEADER);
+                } catch (IllegalStateException e) {
+                    // The connection cannot carry trailers, e.g. HTTP/1.0
+                }
+            }
+        }
+        checkQueryBudget(request, timings, true);
+    }
+
+    private static boolean acceptsTrailers(HttpServletRequest request) {
+        var te = request.getHeader("TE");
+        return te != null && te.toLowerCase(Locale.ROOT).contains("trailers");
+    }
+
+    private static Tags tags(HttpServletRequest request) {
+        return Tags.of("method", request.getMethod(), "uri", uri(request));
+    }
+
+    private static String uri(HttpServletRequest request) {
+        return request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern
+                ? pattern
+                : UNKNOWN_URI;
+    }
+
+    private void record(Tags tags, RequestTimings timings) {
+        Timer.builder("transactions.request.db.acquire").tags(tags).register(meterRegistry)
+                .record(timings.acquireNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("transactions.request.db.hold").tags(tags).register(meterRegistry)
+                .record(timings.holdNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("transactions.request.db.execution").tags(tags).register(meterRegistry)
+                .record(timings.statementNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("transactions.request.db.statements").tags(tags).register(meterRegistry)
+                .record(timings.statements());
+    }
+
+    private void checkQueryBudget(HttpServletRequest request, RequestTimings timings, boolean mayFail) {
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)) {
+            return;
+        }
+        var budget = handler.getMethodAnnotation(QueryBudget.class);
+        if (budget == null || timings.statements() <= budget.value()) {
+            return;
+        }
+
+        meterRegistry.counter("transactions.request.query-budget.exceeded", tags(request)).increment();
+        var message = String.format("%s %s executed %d SQL statements, over its query budget of %d",
+                request.getMethod(), uri(request), timings.statements(), budget.value());
+        if (mayFail && properties.failOnQueryBudget()) {
+            throw new QueryBudgetExceededException(message);
+        }
+        logger.warn(message);
+    }
+
+    /**
+     * The part of {@code Server-Timing} known before the body is written, {@code app} being the
+     * time until {@code handlerEndNanos}.
+     */
+    static String serverTiming(RequestTimings timings, long handlerEndNanos) {
+        return String.format(Locale.ROOT,
+                "db;dur=%.3f;desc=\"%d statements\", db-acquire;dur=%.3f, app;dur=%.3f",
+                millis(timings.statementNanos()),
+                timings.statements(),
+                millis(timings.acquireNanos()),
+                millis(handlerEndNanos - timings.startNanos()));
+    }
+
+    static String serializationTiming(RequestTimings timings, long endNanos) {
+        return String.format(Locale.ROOT,
+                "serialization;dur=%.3f, total;dur=%.3f",
+                millis(timings.serializationNanos(endNanos)),
+                millis(endNanos - timings.startNanos()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
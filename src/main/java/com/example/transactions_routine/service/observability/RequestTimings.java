@@ -0,0 +1,108 @@
+package com.example.transactions_routine.service.observability;
+
+/**
+ * Database and serialization time spent by the HTTP request running on the current thread.
+ * {@link RequestTimingFilter} starts and clears it around each request, {@link StatementTimingListener}
+ * adds the JDBC work of every Hibernate session the request opens, and the serialization start is
+ * marked right before the response body is written, while headers can still be set and the request
+ * can still fail. Work done on other threads is not counted.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private long acquireNanos;
+    private long holdNanos;
+    private long statementNanos;
+    private int statements;
+    private long serializationStartNanos;
+    private Runnable serializationStartListener;
+
+    RequestTimings(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    static RequestTimings start() {
+        var timings = new RequestTimings(System.nanoTime());
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Return the timings of the request on this thread, or null outside a request.
+     */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Marks the start of response serialization and runs the listener set by
+     * {@link #onSerializationStart}, which may throw to fail the request; the first call wins.
+     */
+    public static void markSerializationStart() {
+        var timings = CURRENT.get();
+        if (timings != null && timings.serializationStartNanos == 0) {
+            timings.serializationStartNanos = System.nanoTime();
+            if (timings.serializationStartListener != null) {
+                timings.serializationStartListener.run();
+            }
+        }
+    }
+
+    void onSerializationStart(Runnable listener) {
+        this.serializationStartListener = listener;
+    }
+
+    boolean serializationStarted() {
+        return serializationStartNanos != 0;
+    }
+
+    void addConnectionAcquire(long nanos) {
+        acquireNanos += nanos;
+    }
+
+    void addConnectionHold(long nanos) {
+        holdNanos += nanos;
+    }
+
+    /**
+     * Public for statements that bypass Hibernate and so its {@link StatementTimingListener}.
+     */
+    public void addStatement(long nanos) {
+        statementNanos += nanos;
+        statements++;
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    long acquireNanos() {
+        return acquireNanos;
+    }
+
+    long holdNanos() {
+        return holdNanos;
+    }
+
+    long statementNanos() {
+        return statementNanos;
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    long serializationStartNanos() {
+        return serializationStartNanos;
+    }
+
+    long serializationNanos(long endNanos) {
+        return serializationStartNanos == 0 ? 0 : endNanos - serializationStartNanos;
+    }
+}
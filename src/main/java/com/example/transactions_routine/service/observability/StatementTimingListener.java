@@ -0,0 +1,66 @@
+package com.example.transactions_routine.service.observability;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate session listener, registered through {@code hibernate.session.events.auto}, that adds
+ * connection acquisition, connection hold and statement execution times to the
+ * {@link RequestTimings} of the current request. Hibernate creates one instance per session.
+ * Outside an HTTP request it does nothing.
+ */
+public class StatementTimingListener implements SessionEventListener {
+
+    private long acquisitionStartNanos;
+    private long acquiredNanos;
+    private long executionStartNanos;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        acquisitionStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        acquiredNanos = System.nanoTime();
+        var timings = RequestTimings.current();
+        if (timings != null) {
+            timings.addConnectionAcquire(acquiredNanos - acquisitionStartNanos);
+        }
+    }
+
+    @Override
+    public void jdbcConnectionReleaseStart() {
+        var timings = RequestTimings.current();
+        if (timings != null && acquiredNanos != 0) {
+            timings.addConnectionHold(System.nanoTime() - acquiredNanos);
+        }
+        acquiredNanos = 0;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        addStatement();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        addStatement();
+    }
+
+    private void addStatement() {
+        var timings = RequestTimings.current();
+        if (timings != null) {
+            timings.addStatement(System.nanoTime() - executionStartNanos);
+        }
+    }
+}
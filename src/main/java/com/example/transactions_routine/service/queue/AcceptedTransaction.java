@@ -0,0 +1,14 @@
+package com.example.transactions_routine.service.queue;
+
+import com.example.transactions_routine.controller.transaction.TransactionRequest;
+
+import java.util.UUID;
+
+/**
+ * A validated transaction request waiting to be applied, as queued and as logged.
+ */
+public record AcceptedTransaction(
+        UUID trackingId,
+        TransactionRequest request
+) {
+}
@@ -0,0 +1,179 @@
+package com.example.transactions_routine.service.queue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local append-only log of accepted transactions, one JSON line each, split into numbered
+ * segments. A segment is deleted once it is full and every transaction in it has been applied,
+ * so the log only holds what may still be waiting after a crash. Appends are serialized; with
+ * {@code force} every append is forced to disk before it returns.
+ */
+final class AcceptedTransactionLog implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AcceptedTransactionLog.class);
+    private static final String SEGMENT_PREFIX = "accepted-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final boolean force;
+    private final int segmentEntries;
+    private final Map<Long, Segment> segments = new HashMap<>();
+    private long nextSequence;
+    private Segment current;
+    private FileChannel channel;
+
+    AcceptedTransactionLog(ObjectMapper objectMapper, Path directory, boolean force, int segmentEntries) {
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.force = force;
+        this.segmentEntries = segmentEntries;
+    }
+
+    /**
+     * Reads the segments left by the previous run, oldest first. Their entries count as not yet
+     * applied until {@link #applied} is called for each. A torn last line, written while the
+     * process died, is skipped.
+     */
+    synchronized List<Logged> recover() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (var listing = Files.list(directory)) {
+                files = listing.filter(AcceptedTransactionLog::isSegment)
+                        .sorted(Comparator.comparingLong(AcceptedTransactionLog::sequence))
+                        .toList();
+            }
+
+            var logged = new ArrayList<Logged>();
+            for (var file : files) {
+                var segment = new Segment(sequence(file), file);
+                for (var line : Files.readAllLines(file)) {
+                    try {
+                        logged.add(new Logged(objectMapper.readValue(line, AcceptedTransaction.class), segment.sequence));
+                        segment.outstanding++;
+                    } catch (JsonProcessingException e) {
+                        logger.warn("Skipping unreadable entry in {}: {}", file, e.getOriginalMessage());
+                    }
+                }
+                segment.sealed = true;
+                segments.put(segment.sequence, segment);
+                deleteIfApplied(segment);
+                nextSequence = segment.sequence + 1;
+            }
+            return logged;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the accepted transaction log in " + directory, e);
+        }
+    }
+
+    /**
+     * Appends the transaction. Return the segment it was written to.
+     */
+    synchronized long append(AcceptedTransaction accepted) {
+        try {
+            if (current == null || current.entries >= segmentEntries) {
+                roll();
+            }
+            var buffer = ByteBuffer.wrap(objectMapper.writeValueAsBytes(accepted));
+            var line = ByteBuffer.allocate(buffer.remaining() + 1).put(buffer).put((byte) '\n').flip();
+            while (line.hasRemaining()) {
+                channel.write(line);
+            }
+            if (force) {
+                channel.force(false);
+            }
+            current.entries++;
+            current.outstanding++;
+            return current.sequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to the accepted transaction log in " + directory, e);
+        }
+    }
+
+    synchronized void applied(long sequence) {
+        var segment = segments.get(sequence);
+        if (segment != null) {
+            segment.outstanding--;
+            deleteIfApplied(segment);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot close the accepted transaction log: {}", e.getMessage());
+        }
+    }
+
+    private void roll() throws IOException {
+        if (current != null) {
+            channel.close();
+            current.sealed = true;
+            deleteIfApplied(current);
+        }
+        Files.createDirectories(directory);
+        var sequence = nextSequence++;
+        current = new Segment(sequence, directory.resolve(SEGMENT_PREFIX + sequence + SEGMENT_SUFFIX));
+        channel = FileChannel.open(current.path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segments.put(sequence, current);
+    }
+
+    private void deleteIfApplied(Segment segment) {
+        if (!segment.sealed || segment.outstanding > 0) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(segment.path);
+            segments.remove(segment.sequence);
+        } catch (IOException e) {
+            logger.warn("Cannot delete applied log segment {}: {}", segment.path, e.getMessage());
+        }
+    }
+
+    private static boolean isSegment(Path file) {
+        var name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long sequence(Path file) {
+        var name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    record Logged(AcceptedTransaction accepted, long segment) {
+    }
+
+    private static final class Segment {
+        private final long sequence;
+        private final Path path;
+        private int entries;
+        private int outstanding;
+        private boolean sealed;
+
+        private Segment(long sequence, Path path) {
+            this.sequence = sequence;
+            this.path = path;
+        }
+    }
+}
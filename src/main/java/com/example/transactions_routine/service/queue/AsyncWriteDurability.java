@@ -0,0 +1,13 @@
+package com.example.transactions_routine.service.queue;
+
+/**
+ * What must happen to an accepted transaction before {@code 202} is returned.
+ */
+public enum AsyncWriteDurability {
+    // Only queued in memory, lost if the process stops before it is applied
+    NONE,
+    // Appended to the local log, survives a process crash but not an OS crash or power loss
+    WRITE,
+    // Appended to the local log and forced to disk
+    FSYNC
+}
@@ -0,0 +1,25 @@
+package com.example.transactions_routine.service.queue;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Asynchronous write mode of {@code POST /v1/transactions}. Accepted transactions wait in
+ * {@code partitions} bounded queues holding {@code bufferSize} transactions in total, and are
+ * applied up to {@code batchSize} per database transaction. {@code durability} decides whether
+ * they are appended to the log in {@code logDirectory} first, in segments of
+ * {@code logSegmentEntries} entries.
+ */
+@ConfigurationProperties(prefix = "transactions.async-writes")
+public record AsyncWriteProperties(
+        boolean enabled,
+        @DefaultValue("65536") int bufferSize,
+        @DefaultValue("8") int partitions,
+        @DefaultValue("200") int batchSize,
+        @DefaultValue("WRITE") AsyncWriteDurability durability,
+        @DefaultValue("async-writes") Path logDirectory,
+        @DefaultValue("100000") int logSegmentEntries
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.transactions_routine.service.queue;
+
+public class AsyncWritesDisabledException extends RuntimeException {
+    public AsyncWritesDisabledException() {}
+
+    public AsyncWritesDisabledException(String message) {
+        super(message);
+    }
+
+    public AsyncWritesDisabledException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.transactions_routine.service.queue;
+
+import java.util.UUID;
+
+/**
+ * Where a transaction accepted by the asynchronous write mode stands. {@code transactionId} is set
+ * once it is completed, {@code failureReason} if it was rejected.
+ */
+public record QueuedTransaction(
+        UUID trackingId,
+        QueuedTransactionStatus status,
+        Long transactionId,
+        String failureReason
+) {
+
+    public static QueuedTransaction queued(UUID trackingId) {
+        return new QueuedTransaction(trackingId, QueuedTransactionStatus.QUEUED, null, null);
+    }
+
+    public static QueuedTransaction completed(UUID trackingId, Long transactionId) {
+        return new QueuedTransaction(trackingId, QueuedTransactionStatus.COMPLETED, transactionId, null);
+    }
+
+    public static QueuedTransaction failed(UUID trackingId, String failureReason) {
+        return new QueuedTransaction(trackingId, QueuedTransactionStatus.FAILED, null, failureReason);
+    }
+}
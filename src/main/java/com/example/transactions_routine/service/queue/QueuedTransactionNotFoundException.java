@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.queue;
+
+import com.example.transactions_routine.service.DomainException;
+
+public class QueuedTransactionNotFoundException extends DomainException {
+    public QueuedTransactionNotFoundException() {}
+
+    public QueuedTransactionNotFoundException(String message) {
+        super(message);
+    }
+
+    public QueuedTransactionNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
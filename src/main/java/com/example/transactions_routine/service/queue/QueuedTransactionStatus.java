@@ -0,0 +1,7 @@
+package com.example.transactions_routine.service.queue;
+
+public enum QueuedTransactionStatus {
+    QUEUED,
+    COMPLETED,
+    FAILED
+}
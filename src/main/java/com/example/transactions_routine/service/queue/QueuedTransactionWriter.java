@@ -0,0 +1,119 @@
+package com.example.transactions_routine.service.queue;
+
+import com.example.transactions_routine.model.QueuedTransactionResult;
+import com.example.transactions_routine.repository.QueuedTransactionResultRepository;
+import com.example.transactions_routine.service.transaction.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a batch of accepted transactions, in order, in one database transaction. Each one runs
+ * {@link TransactionService#applyTransaction} inside a savepoint, so a rejected transaction (e.g.
+ * insufficient funds) is rolled back alone and recorded as failed while the rest of the batch
+ * commits together. If the batch itself fails, its transactions are retried one per
+ * database transaction. Transactions that already have a result, e.g. replayed from the log after
+ * a crash, are not applied again.
+ */
+@Component
+@Profile("!in-memory")
+public class QueuedTransactionWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueuedTransactionWriter.class);
+    private static final int MAX_FAILURE_REASON_LENGTH = 255;
+
+    private final TransactionService transactionService;
+    private final QueuedTransactionResultRepository queuedTransactionResultRepository;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate savepoint;
+
+    public QueuedTransactionWriter(TransactionService transactionService,
+                                   QueuedTransactionResultRepository queuedTransactionResultRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.transactionService = transactionService;
+        this.queuedTransactionResultRepository = queuedTransactionResultRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.savepoint = new TransactionTemplate(transactionManager);
+        this.savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+    }
+
+    /**
+     * Return the outcome of every transaction of the batch, in batch order. Throws if the outcomes
+     * cannot be recorded, e.g. while the database is down; the batch may then be applied again.
+     */
+    public List<QueuedTransaction> apply(List<AcceptedTransaction> batch) {
+        var recorded = queuedTransactionResultRepository.findAllById(batch.stream().map(AcceptedTransaction::trackingId).toList())
+                .stream()
+                .collect(Collectors.toMap(QueuedTransactionResult::getTrackingId, Function.identity()));
+        var pending = batch.stream().filter(accepted -> !recorded.containsKey(accepted.trackingId())).toList();
+
+        List<QueuedTransaction> applied;
+        try {
+            applied = transaction.execute(status -> pending.stream().map(this::applyInSavepoint).toList());
+        } catch (RuntimeException e) {
+            logger.warn("Batch of {} queued transactions failed, applying them one by one: {}", pending.size(), e.getMessage());
+            applied = pending.stream().map(this::applyAlone).toList();
+        }
+
+        var outcomes = new ArrayList<QueuedTransaction>(batch.size());
+        var appliedIterator = applied.iterator();
+        for (var accepted : batch) {
+            var result = recorded.get(accepted.trackingId());
+            outcomes.add(result == null ? appliedIterator.next() : toQueuedTransaction(result));
+        }
+        return outcomes;
+    }
+
+    private QueuedTransaction applyInSavepoint(AcceptedTransaction accepted) {
+        try {
+            return savepoint.execute(status -> {
+                var created = transactionService.applyTransaction(accepted.request());
+                queuedTransactionResultRepository.recordCompleted(accepted.trackingId(), created.getId());
+                return QueuedTransaction.completed(accepted.trackingId(), created.getId());
+            });
+        } catch (RuntimeException e) {
+            return recordFailure(accepted, e);
+        }
+    }
+
+    private QueuedTransaction applyAlone(AcceptedTransaction accepted) {
+        try {
+            return transaction.execute(status -> {
+                var created = transactionService.applyTransaction(accepted.request());
+                queuedTransactionResultRepository.recordCompleted(accepted.trackingId(), created.getId());
+                return QueuedTransaction.completed(accepted.trackingId(), created.getId());
+            });
+        } catch (RuntimeException e) {
+            return transaction.execute(status -> recordFailure(accepted, e));
+        }
+    }
+
+    private QueuedTransaction recordFailure(AcceptedTransaction accepted, RuntimeException e) {
+        logger.debug("Queued transaction {} failed: {}", accepted.trackingId(), e.getMessage());
+        var reason = truncate(e.getMessage());
+        queuedTransactionResultRepository.recordFailed(accepted.trackingId(), reason);
+        return QueuedTransaction.failed(accepted.trackingId(), reason);
+    }
+
+    static QueuedTransaction toQueuedTransaction(QueuedTransactionResult result) {
+        return result.isCompleted()
+                ? QueuedTransaction.completed(result.getTrackingId(), result.getTransactionId())
+                : QueuedTransaction.failed(result.getTrackingId(), result.getFailureReason());
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_FAILURE_REASON_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_FAILURE_REASON_LENGTH);
+    }
+}
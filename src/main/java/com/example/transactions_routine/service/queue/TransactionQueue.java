@@ -0,0 +1,251 @@
+package com.example.transactions_routine.service.queue;
+
+import com.example.transactions_routine.controller.transaction.TransactionRequest;
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.OperationTypeRepository;
+import com.example.transactions_routine.repository.QueuedTransactionResultRepository;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import com.example.transactions_routine.service.transaction.OperationTypeNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous write mode of {@code POST /v1/transactions}. A request is validated, optionally
+ * appended to the {@link AcceptedTransactionLog}, and put in the bounded queue of its account's
+ * partition; a full queue rejects it instead of growing. Every partition has a single consumer
+ * that drains its queue in batches through the {@link QueuedTransactionWriter}, so transactions of
+ * an account are applied in the order they were accepted while the commit cost is shared by the
+ * batch. Logged transactions still waiting when the process stopped are queued again on startup.
+ */
+@Service
+@Profile("!in-memory")
+public class TransactionQueue implements TransactionQueuePort {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionQueue.class);
+    private static final long NO_SEGMENT = -1;
+    private static final long POLL_MILLIS = 100;
+    private static final long RETRY_MILLIS = 1000;
+
+    private final AsyncWriteProperties properties;
+    private final AccountRepository accountRepository;
+    private final OperationTypeRepository operationTypeRepository;
+    private final QueuedTransactionResultRepository queuedTransactionResultRepository;
+    private final QueuedTransactionWriter queuedTransactionWriter;
+    private final AcceptedTransactionLog log;
+    private final Partition[] partitions;
+    // Accepted but not applied yet; applied ones are looked up in queued_transaction_results
+    private final Map<UUID, Boolean> queued = new ConcurrentHashMap<>();
+    private final ExecutorService consumers;
+    private volatile boolean running;
+    private volatile boolean accepting;
+
+    public TransactionQueue(AsyncWriteProperties properties,
+                            AccountRepository accountRepository,
+                            OperationTypeRepository operationTypeRepository,
+                            QueuedTransactionResultRepository queuedTransactionResultRepository,
+                            QueuedTransactionWriter queuedTransactionWriter,
+                            ObjectMapper objectMapper,
+                            @Value("${transactions.sharding.enabled:false}") boolean shardingEnabled) {
+        this.properties = properties;
+        this.accountRepository = accountRepository;
+        this.operationTypeRepository = operationTypeRepository;
+        this.queuedTransactionResultRepository = queuedTransactionResultRepository;
+        this.queuedTransactionWriter = queuedTransactionWriter;
+        if (!properties.enabled()) {
+            this.log = null;
+            this.partitions = new Partition[0];
+            this.consumers = null;
+            return;
+        }
+        if (shardingEnabled) {
+            throw new IllegalStateException("transactions.async-writes cannot be combined with transactions.sharding");
+        }
+        if (properties.partitions() < 1 || properties.batchSize() < 1 || properties.bufferSize() < properties.partitions()) {
+            throw new IllegalArgumentException("transactions.async-writes partitions and batch-size must be positive, buffer-size at least partitions");
+        }
+        this.log = properties.durability() == AsyncWriteDurability.NONE
+                ? null
+                : new AcceptedTransactionLog(objectMapper, properties.logDirectory(),
+                        properties.durability() == AsyncWriteDurability.FSYNC, properties.logSegmentEntries());
+        this.partitions = new Partition[properties.partitions()];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition(properties.bufferSize() / partitions.length);
+        }
+        this.consumers = Executors.newFixedThreadPool(partitions.length, Thread.ofPlatform().name("transaction-queue-", 0).factory());
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Starts the consumers and re-queues what the log still holds from the previous run, before
+     * accepting new transactions.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws InterruptedException {
+        if (!properties.enabled()) {
+            return;
+        }
+        running = true;
+        for (var partition : partitions) {
+            consumers.execute(() -> consume(partition));
+        }
+        if (log != null) {
+            var logged = log.recover();
+            for (var entry : logged) {
+                queued.put(entry.accepted().trackingId(), Boolean.TRUE);
+                partitionFor(entry.accepted().request().accountId()).entries.put(new Entry(entry.accepted(), entry.segment()));
+            }
+            if (!logged.isEmpty()) {
+                logger.info("Re-queued {} logged transactions from the previous run", logged.size());
+            }
+        }
+        accepting = true;
+    }
+
+    @Override
+    public QueuedTransaction accept(TransactionRequest transactionRequest) {
+        if (!properties.enabled()) {
+            throw new AsyncWritesDisabledException("Asynchronous transaction writes are not enabled");
+        }
+        if (!accepting) {
+            throw new TransactionQueueFullException("Transaction queue is not accepting transactions");
+        }
+        if (!accountRepository.existsById(transactionRequest.accountId())) {
+            throw new AccountNotFoundException("Account not found with id: " + transactionRequest.accountId());
+        }
+        if (!operationTypeRepository.existsById(transactionRequest.operationTypeId())) {
+            throw new OperationTypeNotFoundException("Operation type not found with id: " + transactionRequest.operationTypeId());
+        }
+
+        var accepted = new AcceptedTransaction(UUID.randomUUID(), transactionRequest);
+        var partition = partitionFor(transactionRequest.accountId());
+        // Only the consumer takes entries out, so the capacity checked here cannot shrink before add
+        synchronized (partition) {
+            if (partition.entries.remainingCapacity() == 0) {
+                throw new TransactionQueueFullException("Transaction queue is full, retry later");
+            }
+            var segment = log == null ? NO_SEGMENT : log.append(accepted);
+            queued.put(accepted.trackingId(), Boolean.TRUE);
+            partition.entries.add(new Entry(accepted, segment));
+        }
+        return QueuedTransaction.queued(accepted.trackingId());
+    }
+
+    @Override
+    public QueuedTransaction findByTrackingId(UUID trackingId) {
+        if (queued.containsKey(trackingId)) {
+            return QueuedTransaction.queued(trackingId);
+        }
+        return queuedTransactionResultRepository.findById(trackingId)
+                .map(QueuedTransactionWriter::toQueuedTransaction)
+                .orElseThrow(() -> new QueuedTransactionNotFoundException("Queued transaction not found with tracking id: " + trackingId));
+    }
+
+    public int queuedCount() {
+        return queued.size();
+    }
+
+    private Partition partitionFor(Long accountId) {
+        return partitions[(int) Math.floorMod(accountId * 0x9E3779B97F4A7C15L, (long) partitions.length)];
+    }
+
+    private void consume(Partition partition) {
+        var batch = new ArrayList<Entry>(properties.batchSize());
+        while (true) {
+            try {
+                var first = partition.entries.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (!running) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                partition.entries.drainTo(batch, properties.batchSize() - 1);
+                apply(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Applies the batch, retrying while its outcomes cannot be recorded. Later transactions of the
+     * partition wait, so the accepted order of every account holds.
+     */
+    private void apply(List<Entry> batch) throws InterruptedException {
+        var accepted = batch.stream().map(Entry::accepted).toList();
+        while (true) {
+            try {
+                queuedTransactionWriter.apply(accepted);
+                break;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    logger.warn("Leaving {} queued transactions unapplied on shutdown: {}", batch.size(), e.getMessage());
+                    return;
+                }
+                logger.error("Cannot apply {} queued transactions, retrying in {} ms", batch.size(), RETRY_MILLIS, e);
+                Thread.sleep(RETRY_MILLIS);
+            }
+        }
+        for (var entry : batch) {
+            queued.remove(entry.accepted().trackingId());
+            if (log != null) {
+                log.applied(entry.segment());
+            }
+        }
+    }
+
+    /**
+     * Stops accepting and lets the consumers drain what is queued.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (consumers == null) {
+            return;
+        }
+        accepting = false;
+        running = false;
+        consumers.shutdown();
+        if (!consumers.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("{} queued transactions not applied on shutdown", queued.size());
+            consumers.shutdownNow();
+        }
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    private record Entry(AcceptedTransaction accepted, long segment) {
+    }
+
+    private static final class Partition {
+        private final ArrayBlockingQueue<Entry> entries;
+
+        private Partition(int capacity) {
+            this.entries = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.queue;
+
+import com.example.transactions_routine.service.DomainException;
+
+public class TransactionQueueFullException extends DomainException {
+    public TransactionQueueFullException() {}
+
+    public TransactionQueueFullException(String message) {
+        super(message);
+    }
+
+    public TransactionQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
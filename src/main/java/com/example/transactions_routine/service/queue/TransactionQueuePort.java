@@ -0,0 +1,11 @@
+package com.example.transactions_routine.service.queue;
+
+import com.example.transactions_routine.controller.transaction.TransactionRequest;
+
+import java.util.UUID;
+
+public interface TransactionQueuePort {
+    boolean isEnabled();
+    QueuedTransaction accept(TransactionRequest transactionRequest);
+    QueuedTransaction findByTrackingId(UUID trackingId);
+}
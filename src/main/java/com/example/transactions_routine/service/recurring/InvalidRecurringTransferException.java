@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.recurring;
+
+import com.example.transactions_routine.service.DomainException;
+
+public class InvalidRecurringTransferException extends DomainException {
+    public InvalidRecurringTransferException() {}
+
+    public InvalidRecurringTransferException(String message) {
+        super(message);
+    }
+
+    public InvalidRecurringTransferException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
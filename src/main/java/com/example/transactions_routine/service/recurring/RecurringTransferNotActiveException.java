@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.recurring;
+
+import com.example.transactions_routine.service.DomainException;
+
+public class RecurringTransferNotActiveException extends DomainException {
+    public RecurringTransferNotActiveException() {}
+
+    public RecurringTransferNotActiveException(String message) {
+        super(message);
+    }
+
+    public RecurringTransferNotActiveException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.recurring;
+
+import com.example.transactions_routine.service.DomainException;
+
+public class RecurringTransferNotFoundException extends DomainException {
+    public RecurringTransferNotFoundException() {}
+
+    public RecurringTransferNotFoundException(String message) {
+        super(message);
+    }
+
+    public RecurringTransferNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.transactions_routine.service.recurring;
+
+import com.example.transactions_routine.controller.account.TransferRequest;
+import com.example.transactions_routine.model.RecurringTransferExecution;
+import com.example.transactions_routine.model.RecurringTransferExecutionStatus;
+import com.example.transactions_routine.repository.RecurringTransferRun;
+import com.example.transactions_routine.service.account.AccountServicePort;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Executes due recurring transfers in batches. Each batch is claimed with SKIP LOCKED, so several
+ * application instances can run this concurrently without executing the same run twice. Claimed
+ * runs are grouped by source account and the groups spread over a fixed pool of workers: runs
+ * debiting the same account execute one after the other instead of queueing on its row lock.
+ * Every run is its own database transaction: it locks the run's CLAIMED execution row, makes the
+ * {@link AccountServicePort#transfer}, which locks both accounts in id order, and settles the row,
+ * so a transfer and its outcome commit together. Runs left CLAIMED by an instance that died are
+ * re-driven by {@link #recoverClaimedRuns} once the claim timeout has passed; the row lock keeps a
+ * run from being executed twice even if the timeout is too short.
+ */
+@Component
+@Profile("!in-memory")
+@ConditionalOnProperty(name = "transactions.recurring-transfers.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+public class RecurringTransferScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringTransferScheduler.class);
+    private static final int MAX_FAILURE_REASON_LENGTH = 255;
+
+    private final RecurringTransferServicePort recurringTransferServicePort;
+    private final AccountServicePort accountServicePort;
+    private final TransactionTemplate runTransaction;
+    private final int batchSize;
+    private final Duration claimTimeout;
+    private final ExecutorService workers;
+
+    public RecurringTransferScheduler(RecurringTransferServicePort recurringTransferServicePort,
+                                      AccountServicePort accountServicePort,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${transactions.recurring-transfers.scheduler.batch-size:1000}") int batchSize,
+                                      @Value("${transactions.recurring-transfers.scheduler.workers:8}") int workerCount,
+                                      @Value("${transactions.recurring-transfers.scheduler.claim-timeout:PT15M}") Duration claimTimeout) {
+        this.recurringTransferServicePort = recurringTransferServicePort;
+        this.accountServicePort = accountServicePort;
+        this.runTransaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.claimTimeout = claimTimeout;
+        // A batch never has more groups than runs, so the queue bound is never hit
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchSize),
+                Thread.ofPlatform().name("recurring-transfer-", 0).factory());
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.recurring-transfers.scheduler.fixed-delay:PT1M}")
+    public void runDueTransfers() {
+        var now = LocalDateTime.now();
+        drain("Recurring transfer run", () -> recurringTransferServicePort.claimDueRuns(now, batchSize));
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.recurring-transfers.scheduler.recovery-delay:PT5M}")
+    public void recoverClaimedRuns() {
+        var now = LocalDateTime.now();
+        drain("Recurring transfer recovery", () -> recurringTransferServicePort.reclaimStaleRuns(now, claimTimeout, batchSize));
+    }
+
+    private void drain(String name, Supplier<List<RecurringTransferRun>> claim) {
+        var startedAt = System.nanoTime();
+        long executed = 0;
+        long failed = 0;
+        List<RecurringTransferRun> runs;
+        do {
+            runs = claim.get();
+            if (runs.isEmpty()) {
+                break;
+            }
+
+            var executions = execute(runs);
+            executed += executions.size();
+            failed += executions.stream()
+                    .filter(execution -> execution.getStatus() == RecurringTransferExecutionStatus.FAILED)
+                    .count();
+        } while (runs.size() == batchSize && !Thread.currentThread().isInterrupted());
+
+        if (executed > 0) {
+            var elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            logger.info("{} finished, {} runs executed ({} failed) in {} ms, {} runs/s",
+                    name, executed, failed, elapsedMillis, executed * 1000 / elapsedMillis);
+        }
+    }
+
+    List<RecurringTransferExecution> execute(List<RecurringTransferRun> runs) {
+        var runsBySource = new LinkedHashMap<Long, List<RecurringTransferRun>>();
+        runs.forEach(run -> runsBySource.computeIfAbsent(run.sourceAccountId(), id -> new ArrayList<>()).add(run));
+
+        var tasks = new ArrayList<Callable<List<RecurringTransferExecution>>>(runsBySource.size());
+        runsBySource.values().forEach(group -> tasks.add(() -> group.stream()
+                .map(this::execute)
+                .filter(Objects::nonNull)
+                .toList()));
+
+        var executions = new ArrayList<RecurringTransferExecution>(runs.size());
+        try {
+            for (var future : workers.invokeAll(tasks)) {
+                executions.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while executing recurring transfers, recording {} of {} runs", executions.size(), runs.size());
+        } catch (ExecutionException e) {
+            // execute(run) never throws, so this only happens on an Error
+            throw new IllegalStateException("Recurring transfer worker failed", e.getCause());
+        }
+        return executions;
+    }
+
+    // Return the outcome of the run, or null if it had been settled already
+    private RecurringTransferExecution execute(RecurringTransferRun run) {
+        try {
+            return runTransaction.execute(status -> {
+                if (!recurringTransferServicePort.lockClaimedRun(run)) {
+                    return null;
+                }
+                var result = accountServicePort.transfer(
+                        new TransferRequest(run.sourceAccountId(), run.destinationAccountId(), run.amount()));
+                var succeeded = execution(run)
+                        .status(RecurringTransferExecutionStatus.SUCCEEDED)
+                        .debitTransactionId(result.debitTransaction().getId())
+                        .creditTransactionId(result.creditTransaction().getId())
+                        .build();
+                recurringTransferServicePort.recordExecution(succeeded);
+                return succeeded;
+            });
+        } catch (RuntimeException e) {
+            logger.debug("Recurring transfer {} failed for run {}: {}", run.recurringTransferId(), run.scheduledFor(), e.getMessage());
+            var failed = execution(run)
+                    .status(RecurringTransferExecutionStatus.FAILED)
+                    .failureReason(truncate(e.getMessage()))
+                    .build();
+            try {
+                return recurringTransferServicePort.recordExecution(failed) ? failed : null;
+            } catch (RuntimeException recordFailure) {
+                // The run stays CLAIMED and is retried by the recovery sweep
+                logger.warn("Could not record the failure of recurring transfer {} for run {}", run.recurringTransferId(), run.scheduledFor(), recordFailure);
+                return failed;
+            }
+        }
+    }
+
+    private static RecurringTransferExecution.Builder execution(RecurringTransferRun run) {
+        return RecurringTransferExecution.builder()
+                .recurringTransferId(run.recurringTransferId())
+                .scheduledFor(run.scheduledFor());
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_FAILURE_REASON_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_FAILURE_REASON_LENGTH);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.transactions_routine.service.recurring;
+
+import com.example.transactions_routine.controller.recurring.RecurringTransferRequest;
+import com.example.transactions_routine.model.RecurringTransfer;
+import com.example.transactions_routine.model.RecurringTransferExecution;
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.RecurringTransferExecutionRepository;
+import com.example.transactions_routine.repository.RecurringTransferRepository;
+import com.example.transactions_routine.repository.RecurringTransferRun;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import com.example.transactions_routine.service.account.SameAccountTransferException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Standing orders. Definitions are indexed by their next run; {@link RecurringTransferScheduler}
+ * claims due runs here and executes each one through the regular account transfer.
+ */
+@Service
+@Profile("!in-memory")
+@Transactional(readOnly = true)
+public class RecurringTransferService implements RecurringTransferServicePort {
+
+    private final RecurringTransferRepository recurringTransferRepository;
+    private final RecurringTransferExecutionRepository recurringTransferExecutionRepository;
+    private final AccountRepository accountRepository;
+
+    public RecurringTransferService(RecurringTransferRepository recurringTransferRepository,
+                                    RecurringTransferExecutionRepository recurringTransferExecutionRepository,
+                                    AccountRepository accountRepository) {
+        this.recurringTransferRepository = recurringTransferRepository;
+        this.recurringTransferExecutionRepository = recurringTransferExecutionRepository;
+        this.accountRepository = accountRepository;
+    }
+
+    @Override
+    @Transactional
+    public RecurringTransfer create(RecurringTransferRequest recurringTransferRequest) {
+        if (recurringTransferRequest.sourceAccountId().equals(recurringTransferRequest.destinationAccountId())) {
+            throw new SameAccountTransferException("Cannot transfer to the same account");
+        }
+
+        var now = LocalDateTime.now();
+        var startAt = recurringTransferRequest.startAt() == null ? now : recurringTransferRequest.startAt();
+        if (startAt.isBefore(now)) {
+            throw new InvalidRecurringTransferException("Start date cannot be in the past");
+        }
+        if (recurringTransferRequest.endAt() != null && recurringTransferRequest.endAt().isBefore(startAt)) {
+            throw new InvalidRecurringTransferException("End date cannot be before the start date");
+        }
+
+        var sourceAccount = accountRepository.findById(recurringTransferRequest.sourceAccountId())
+                .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + recurringTransferRequest.sourceAccountId()));
+        var destinationAccount = accountRepository.findById(recurringTransferRequest.destinationAccountId())
+                .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + recurringTransferRequest.destinationAccountId()));
+
+        return recurringTransferRepository.save(RecurringTransfer.builder()
+                .sourceAccount(sourceAccount)
+                .destinationAccount(destinationAccount)
+                .amount(recurringTransferRequest.amount())
+                .frequency(recurringTransferRequest.frequency())
+                .startAt(startAt)
+                .endAt(recurringTransferRequest.endAt())
+                .build());
+    }
+
+    @Override
+    public RecurringTransfer findById(Long id) {
+        return recurringTransferRepository.findById(id)
+                .orElseThrow(() -> new RecurringTransferNotFoundException("Recurring transfer not found with id: " + id));
+    }
+
+    @Override
+    @Transactional
+    public RecurringTransfer cancel(Long id) {
+        if (recurringTransferRepository.cancel(id) == 0) {
+            findById(id);
+            throw new RecurringTransferNotActiveException("Recurring transfer " + id + " is no longer active");
+        }
+        return findById(id);
+    }
+
+    /**
+     * Claims one batch of due runs: records each run as CLAIMED and moves its definition to the
+     * next slot before the claim commits. Another instance can therefore never pick up the same
+     * slot, and a run whose instance dies before settling it stays CLAIMED for
+     * {@link #reclaimStaleRuns} instead of being lost.
+     */
+    @Override
+    @Transactional
+    public List<RecurringTransferRun> claimDueRuns(LocalDateTime now, int limit) {
+        var ids = recurringTransferRepository.claimDueIds(now, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        var runs = recurringTransferRepository.findRuns(ids);
+        recurringTransferExecutionRepository.insertClaimed(ids, now);
+        recurringTransferRepository.advanceSchedule(ids);
+        return runs;
+    }
+
+    /**
+     * Claims again one batch of runs left CLAIMED for longer than {@code claimTimeout}, which must
+     * be well above the time a batch takes to execute.
+     */
+    @Override
+    @Transactional
+    public List<RecurringTransferRun> reclaimStaleRuns(LocalDateTime now, Duration claimTimeout, int limit) {
+        var executionIds = recurringTransferExecutionRepository.reclaimStaleIds(now.minus(claimTimeout), now, limit);
+        if (executionIds.isEmpty()) {
+            return List.of();
+        }
+        return recurringTransferExecutionRepository.findRuns(executionIds);
+    }
+
+    /**
+     * Locks a claimed run for the transaction that executes it. Return false if the run has been
+     * settled already, by this or another instance.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean lockClaimedRun(RecurringTransferRun run) {
+        return recurringTransferExecutionRepository.lockClaimed(run.recurringTransferId(), run.scheduledFor()).isPresent();
+    }
+
+    /**
+     * Settles a claimed run with its outcome. Return false if the run has been settled already.
+     */
+    @Override
+    @Transactional
+    public boolean recordExecution(RecurringTransferExecution execution) {
+        return recurringTransferExecutionRepository.settle(
+                execution.getRecurringTransferId(),
+                execution.getScheduledFor(),
+                execution.getStatus(),
+                execution.getDebitTransactionId(),
+                execution.getCreditTransactionId(),
+                execution.getFailureReason()) == 1;
+    }
+}
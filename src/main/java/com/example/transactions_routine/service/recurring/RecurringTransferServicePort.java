@@ -0,0 +1,20 @@
+package com.example.transactions_routine.service.recurring;
+
+import com.example.transactions_routine.controller.recurring.RecurringTransferRequest;
+import com.example.transactions_routine.model.RecurringTransfer;
+import com.example.transactions_routine.model.RecurringTransferExecution;
+import com.example.transactions_routine.repository.RecurringTransferRun;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RecurringTransferServicePort {
+    RecurringTransfer create(RecurringTransferRequest recurringTransferRequest);
+    RecurringTransfer findById(Long id);
+    RecurringTransfer cancel(Long id);
+    List<RecurringTransferRun> claimDueRuns(LocalDateTime now, int limit);
+    List<RecurringTransferRun> reclaimStaleRuns(LocalDateTime now, Duration claimTimeout, int limit);
+    boolean lockClaimedRun(RecurringTransferRun run);
+    boolean recordExecution(RecurringTransferExecution execution);
+}
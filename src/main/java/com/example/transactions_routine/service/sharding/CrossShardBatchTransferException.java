@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.sharding;
+
+import com.example.transactions_routine.service.DomainException;
+
+public class CrossShardBatchTransferException extends DomainException {
+    public CrossShardBatchTransferException() {}
+
+    public CrossShardBatchTransferException(String message) {
+        super(message);
+    }
+
+    public CrossShardBatchTransferException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
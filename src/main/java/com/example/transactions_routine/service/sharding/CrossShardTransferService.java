@@ -0,0 +1,216 @@
+package com.example.transactions_routine.service.sharding;
+
+import com.example.transactions_routine.controller.account.TransferRequest;
+import com.example.transactions_routine.controller.account.TransferResult;
+import com.example.transactions_routine.model.CrossShardTransfer;
+import com.example.transactions_routine.model.OperationType;
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.CrossShardTransferRepository;
+import com.example.transactions_routine.repository.OperationTypeRepository;
+import com.example.transactions_routine.repository.TransactionRepository;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import com.example.transactions_routine.service.account.InvalidTransferAmountException;
+import com.example.transactions_routine.service.summary.AccountSummaryServicePort;
+import com.example.transactions_routine.service.transaction.InsufficientFundsException;
+import com.example.transactions_routine.service.transaction.OperationTypeNotFoundException;
+import com.example.transactions_routine.service.transaction.TransactionNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves money between accounts on different shards. No transaction spans two databases, so a
+ * transfer is three local transactions: the debit is committed on the source shard together with a
+ * PENDING {@link CrossShardTransfer}, the credit on the destination shard together with a
+ * once-per-transfer credit record, and finally the transfer is marked COMPLETED on the source shard.
+ * If the destination account turns out not to exist the debit is reversed and the transfer marked
+ * COMPENSATED. Any other failure leaves the transfer PENDING for {@link #recoverPending}, which
+ * re-drives the credit; the credit record makes that safe to repeat.
+ */
+@Service
+@ConditionalOnProperty(name = "transactions.sharding.enabled", havingValue = "true")
+public class CrossShardTransferService implements CrossShardTransferServicePort {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrossShardTransferService.class);
+    private static final int MAX_FAILURE_REASON_LENGTH = 255;
+
+    private final AccountRepository accountRepository;
+    private final OperationTypeRepository operationTypeRepository;
+    private final TransactionRepository transactionRepository;
+    private final CrossShardTransferRepository crossShardTransferRepository;
+    private final AccountSummaryServicePort accountSummaryServicePort;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    public CrossShardTransferService(AccountRepository accountRepository,
+                                     OperationTypeRepository operationTypeRepository,
+                                     TransactionRepository transactionRepository,
+                                     CrossShardTransferRepository crossShardTransferRepository,
+                                     AccountSummaryServicePort accountSummaryServicePort,
+                                     ShardRouter shardRouter,
+                                     PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.operationTypeRepository = operationTypeRepository;
+        this.transactionRepository = transactionRepository;
+        this.crossShardTransferRepository = crossShardTransferRepository;
+        this.accountSummaryServicePort = accountSummaryServicePort;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public TransferResult transfer(TransferRequest transferRequest) {
+        var amount = transferRequest.amount();
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new InvalidTransferAmountException("Transfer amount must be positive");
+        }
+        var sourceAccountId = transferRequest.sourceAccountId();
+        var destinationAccountId = transferRequest.destinationAccountId();
+        var sourceShard = shardRouter.shardForAccount(sourceAccountId);
+        var destinationShard = shardRouter.shardForAccount(destinationAccountId);
+
+        // Reject an unknown destination before debiting; compensation only covers a concurrent delete
+        if (!ShardContext.callOn(destinationShard, () -> accountRepository.existsById(destinationAccountId))) {
+            throw new AccountNotFoundException("Account not found with id: " + destinationAccountId);
+        }
+
+        var transferTime = LocalDateTime.now();
+        var pending = ShardContext.callOn(sourceShard, () -> transactionTemplate.execute(status ->
+                debit(sourceAccountId, destinationAccountId, amount, transferTime)));
+
+        Transaction creditTransaction;
+        try {
+            creditTransaction = ShardContext.callOn(destinationShard, () -> transactionTemplate.execute(status ->
+                    credit(pending.transferId(), destinationAccountId, amount, transferTime)));
+        } catch (AccountNotFoundException e) {
+            compensate(sourceShard, pending.transferId(), sourceAccountId, amount, e.getMessage());
+            throw e;
+        }
+        ShardContext.runOn(sourceShard, () -> transactionTemplate.executeWithoutResult(status ->
+                crossShardTransferRepository.markCompleted(pending.transferId(), creditTransaction.getId())));
+
+        return new TransferResult(transferTime, pending.debitTransaction(), creditTransaction);
+    }
+
+    /**
+     * Re-drives the transfers debited on {@code shard} before {@code createdBefore} that are still
+     * PENDING. Return the number of transfers completed or compensated.
+     */
+    @Override
+    public int recoverPending(int shard, LocalDateTime createdBefore, int limit) {
+        var transferIds = ShardContext.callOn(shard, () ->
+                crossShardTransferRepository.findPendingIds(createdBefore, limit));
+        int recovered = 0;
+        for (var transferId : transferIds) {
+            var transfer = ShardContext.callOn(shard, () -> crossShardTransferRepository.findById(transferId));
+            if (transfer.isEmpty()) {
+                continue;
+            }
+            var destinationShard = shardRouter.shardForAccount(transfer.get().getDestinationAccountId());
+            try {
+                var creditTransaction = ShardContext.callOn(destinationShard, () -> transactionTemplate.execute(status ->
+                        credit(transferId, transfer.get().getDestinationAccountId(), transfer.get().getAmount(),
+                                transfer.get().getCreatedAt())));
+                ShardContext.runOn(shard, () -> transactionTemplate.executeWithoutResult(status ->
+                        crossShardTransferRepository.markCompleted(transferId, creditTransaction.getId())));
+                recovered++;
+            } catch (AccountNotFoundException e) {
+                compensate(shard, transferId, transfer.get().getSourceAccountId(), transfer.get().getAmount(), e.getMessage());
+                recovered++;
+            } catch (RuntimeException e) {
+                logger.warn("Cross-shard transfer {} is still pending: {}", transferId, e.getMessage());
+            }
+        }
+        return recovered;
+    }
+
+    private PendingTransfer debit(Long sourceAccountId, Long destinationAccountId, BigDecimal amount, LocalDateTime transferTime) {
+        if (accountRepository.lockAllByIdOrderById(List.of(sourceAccountId)).isEmpty()) {
+            throw new AccountNotFoundException("Account not found with id: " + sourceAccountId);
+        }
+        var balanceAfter = accountRepository.updateBalanceWithCheck(sourceAccountId, amount.negate())
+                .orElseThrow(() -> new InsufficientFundsException(sourceAccountId, amount));
+
+        var debitTransaction = transactionRepository.save(Transaction.builder()
+                .account(accountRepository.getReferenceById(sourceAccountId))
+                .operationType(findOperationTypeByDescription("TRANSFER_OUT"))
+                .amount(amount.negate())
+                .eventDate(transferTime)
+                .balanceAfter(balanceAfter)
+                .build());
+        accountSummaryServicePort.recordTransaction(debitTransaction);
+
+        var transfer = crossShardTransferRepository.save(CrossShardTransfer.builder()
+                .sourceAccountId(sourceAccountId)
+                .destinationAccountId(destinationAccountId)
+                .amount(amount)
+                .debitTransactionId(debitTransaction.getId())
+                .build());
+        return new PendingTransfer(transfer.getId(), debitTransaction);
+    }
+
+    private Transaction credit(UUID transferId, Long destinationAccountId, BigDecimal amount, LocalDateTime transferTime) {
+        var existingCreditId = crossShardTransferRepository.findCreditTransactionId(transferId);
+        if (existingCreditId.isPresent()) {
+            return transactionRepository.findById(existingCreditId.get())
+                    .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with id: " + existingCreditId.get()));
+        }
+        if (accountRepository.lockAllByIdOrderById(List.of(destinationAccountId)).isEmpty()) {
+            throw new AccountNotFoundException("Account not found with id: " + destinationAccountId);
+        }
+
+        var balanceAfter = accountRepository.updateBalance(destinationAccountId, amount).orElse(null);
+        var creditTransaction = transactionRepository.save(Transaction.builder()
+                .account(accountRepository.getReferenceById(destinationAccountId))
+                .operationType(findOperationTypeByDescription("TRANSFER_IN"))
+                .amount(amount)
+                .eventDate(transferTime)
+                .balanceAfter(balanceAfter)
+                .build());
+        accountSummaryServicePort.recordTransaction(creditTransaction);
+        crossShardTransferRepository.insertCredit(transferId, creditTransaction.getId());
+        return creditTransaction;
+    }
+
+    private void compensate(int sourceShard, UUID transferId, Long sourceAccountId, BigDecimal amount, String reason) {
+        ShardContext.runOn(sourceShard, () -> transactionTemplate.executeWithoutResult(status -> {
+            // Only the caller that flips the transfer out of PENDING gives the money back
+            if (crossShardTransferRepository.markCompensated(transferId, truncate(reason)) == 0) {
+                return;
+            }
+            var balanceAfter = accountRepository.updateBalance(sourceAccountId, amount).orElse(null);
+            var reversal = transactionRepository.save(Transaction.builder()
+                    .account(accountRepository.getReferenceById(sourceAccountId))
+                    .operationType(findOperationTypeByDescription("TRANSFER_IN"))
+                    .amount(amount)
+                    .eventDate(LocalDateTime.now())
+                    .balanceAfter(balanceAfter)
+                    .build());
+            accountSummaryServicePort.recordTransaction(reversal);
+        }));
+    }
+
+    private OperationType findOperationTypeByDescription(String description) {
+        return operationTypeRepository.findByDescription(description)
+                .orElseThrow(() -> new OperationTypeNotFoundException("Operation type not found with description: " + description));
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_FAILURE_REASON_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_FAILURE_REASON_LENGTH);
+    }
+
+    private record PendingTransfer(UUID transferId, Transaction debitTransaction) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.transactions_routine.service.sharding;
+
+import com.example.transactions_routine.controller.account.TransferRequest;
+import com.example.transactions_routine.controller.account.TransferResult;
+
+import java.time.LocalDateTime;
+
+public interface CrossShardTransferServicePort {
+    TransferResult transfer(TransferRequest transferRequest);
+    int recoverPending(int shard, LocalDateTime createdBefore, int limit);
+}
@@ -0,0 +1,21 @@
+package com.example.transactions_routine.service.sharding;
+
+/**
+ * Every shard allocates account and transaction ids from its own range of 2^40 ids, set up by the
+ * V9 migration, so ids are unique across shards and the shard that created a row is id >> 40.
+ */
+public final class ShardIds {
+
+    static final int RANGE_BITS = 40;
+
+    private ShardIds() {
+    }
+
+    public static long base(int shard) {
+        return (long) shard << RANGE_BITS;
+    }
+
+    public static int homeShard(long id) {
+        return (int) (id >>> RANGE_BITS);
+    }
+}
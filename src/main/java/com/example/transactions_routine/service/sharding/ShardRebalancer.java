@@ -0,0 +1,132 @@
+package com.example.transactions_routine.service.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-off job that moves every account to the shard its document number hashes to, e.g. after a
+ * shard was appended. Start the application with {@code --transactions.sharding.rebalance=true}
+ * while the API is stopped; it exits once done. An account is first copied to its new shard, then
+ * recorded in the override directory and only then deleted from the old one, so an interrupted run
+ * can simply be repeated. Accounts with holds, installment plans, recurring or cross-shard transfers
+ * are left where they are, as those rows reference other accounts or are driven by shard-local
+ * schedulers.
+ */
+@Component
+@ConditionalOnProperty(name = "transactions.sharding.rebalance", havingValue = "true")
+public class ShardRebalancer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    // Copied in this order and deleted in reverse, following the foreign keys
+    private static final List<String> ACCOUNT_TABLES =
+            List.of("transactions", "account_daily_summaries", "account_daily_limits", "account_balance_slots");
+
+    private final ShardRouter shardRouter;
+    private final ShardRoutingDataSource dataSource;
+    private final ConfigurableApplicationContext context;
+
+    public ShardRebalancer(ShardRouter shardRouter,
+                           ShardRoutingDataSource dataSource,
+                           ConfigurableApplicationContext context) {
+        this.shardRouter = shardRouter;
+        this.dataSource = dataSource;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        shardRouter.refreshOverrides();
+        int moved = 0;
+        int skipped = 0;
+        for (int shard = 0; shard < shardRouter.shards(); shard++) {
+            for (var move : misplacedAccounts(shard)) {
+                try {
+                    move(move.accountId(), shard, move.targetShard());
+                    moved++;
+                } catch (RuntimeException e) {
+                    logger.warn("Account {} stays on shard {}: {}", move.accountId(), shard, e.getMessage());
+                    skipped++;
+                }
+            }
+        }
+        logger.info("Rebalance finished, {} accounts moved, {} skipped", moved, skipped);
+        var exitCode = skipped == 0 ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    private List<Move> misplacedAccounts(int shard) {
+        var misplaced = new ArrayList<Move>();
+        new JdbcTemplate(dataSource.shard(shard)).query("SELECT id, document_number FROM accounts ORDER BY id", rs -> {
+            var targetShard = shardRouter.shardForDocument(rs.getString(2));
+            if (targetShard != shard) {
+                misplaced.add(new Move(rs.getLong(1), targetShard));
+            }
+        });
+        return misplaced;
+    }
+
+    void move(long accountId, int sourceShard, int targetShard) {
+        var source = new JdbcTemplate(dataSource.shard(sourceShard));
+        var target = new JdbcTemplate(dataSource.shard(targetShard));
+
+        var blockers = source.queryForObject("""
+                SELECT (SELECT COUNT(*) FROM holds WHERE account_id = ?)
+                     + (SELECT COUNT(*) FROM installment_plans WHERE account_id = ?)
+                     + (SELECT COUNT(*) FROM recurring_transfers WHERE source_account_id = ? OR destination_account_id = ?)
+                     + (SELECT COUNT(*) FROM cross_shard_transfers WHERE source_account_id = ?)
+                     + (SELECT COUNT(*)
+                          FROM cross_shard_transfer_credits c
+                          JOIN transactions t ON t.id = c.credit_transaction_id
+                         WHERE t.account_id = ?)
+                """, Long.class, accountId, accountId, accountId, accountId, accountId, accountId);
+        if (blockers != null && blockers > 0) {
+            throw new IllegalStateException("has holds, installment plans, recurring or cross-shard transfers");
+        }
+
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource.shard(targetShard))).executeWithoutResult(status -> {
+            copyRows(source, target, "accounts", "id", accountId);
+            ACCOUNT_TABLES.forEach(table -> copyRows(source, target, table, "account_id", accountId));
+        });
+        shardRouter.recordMove(accountId, targetShard);
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource.shard(sourceShard))).executeWithoutResult(status -> {
+            ACCOUNT_TABLES.reversed().forEach(table -> source.update("DELETE FROM " + table + " WHERE account_id = ?", accountId));
+            source.update("DELETE FROM accounts WHERE id = ?", accountId);
+        });
+    }
+
+    private static void copyRows(JdbcTemplate source, JdbcTemplate target, String table, String keyColumn, long accountId) {
+        var rows = source.queryForList("SELECT * FROM " + table + " WHERE " + keyColumn + " = ?", accountId);
+        if (rows.isEmpty()) {
+            return;
+        }
+        var columns = List.copyOf(rows.getFirst().keySet());
+        var sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", columns.stream().map(column -> "?").toList()) + ") ON CONFLICT DO NOTHING";
+        target.batchUpdate(sql, rows.stream().map(row -> values(row, columns)).toList());
+    }
+
+    private static Object[] values(Map<String, Object> row, List<String> columns) {
+        var values = new Object[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            values[i] = row.get(columns.get(i));
+        }
+        return values;
+    }
+
+    private record Move(long accountId, int targetShard) {
+    }
+}
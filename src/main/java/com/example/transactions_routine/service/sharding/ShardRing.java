@@ -0,0 +1,47 @@
+package com.example.transactions_routine.service.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring placing keys on shards. Each shard owns {@code virtualNodes} points on the
+ * ring, so keys spread evenly and appending a shard moves only about 1/(n+1) of them.
+ */
+public class ShardRing {
+
+    private final TreeMap<Long, Integer> points = new TreeMap<>();
+    private final int shards;
+
+    public ShardRing(int shards, int virtualNodes) {
+        if (shards < 1 || virtualNodes < 1) {
+            throw new IllegalArgumentException("A shard ring needs at least one shard and one virtual node per shard");
+        }
+        this.shards = shards;
+        for (int shard = 0; shard < shards; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                points.put(hash("shard-" + shard + "#" + node), shard);
+            }
+        }
+    }
+
+    public int shards() {
+        return shards;
+    }
+
+    public int shardFor(String key) {
+        var point = points.ceilingEntry(hash(key));
+        return point == null ? points.firstEntry().getValue() : point.getValue();
+    }
+
+    // 64-bit FNV-1a followed by the SplitMix64 finalizer, so close keys land far apart on the ring
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.transactions_routine.service.sharding;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decides which shard owns an account. New accounts are placed by consistent hashing of their
+ * document number, so one document always maps to one shard and its uniqueness constraint holds
+ * across shards. Existing accounts are found from their id range, unless {@link ShardRebalancer}
+ * moved them, in which case the override directory on shard 0 has the answer.
+ */
+@Component
+@ConditionalOnProperty(name = "transactions.sharding.enabled", havingValue = "true")
+public class ShardRouter {
+
+    private final ShardRing ring;
+    private final JdbcTemplate directory;
+    private volatile Map<Long, Integer> overrides = Map.of();
+
+    public ShardRouter(ShardingProperties properties, ShardRoutingDataSource dataSource) {
+        this.ring = new ShardRing(dataSource.shards().size(), properties.virtualNodes());
+        this.directory = new JdbcTemplate(dataSource.shard(0));
+    }
+
+    public int shards() {
+        return ring.shards();
+    }
+
+    public int shardForDocument(String documentNumber) {
+        return ring.shardFor(documentNumber);
+    }
+
+    public int shardForAccount(long accountId) {
+        var moved = overrides.get(accountId);
+        return moved == null ? ShardIds.homeShard(accountId) : moved;
+    }
+
+    /**
+     * The shard that created the transaction. Transactions of a moved account live on its new
+     * shard, so a miss there should be retried on every shard.
+     */
+    public int shardForTransaction(long transactionId) {
+        return ShardIds.homeShard(transactionId);
+    }
+
+    /**
+     * Reloads the accounts moved away from their home shard. Return the number of moved accounts.
+     */
+    public int refreshOverrides() {
+        var loaded = new HashMap<Long, Integer>();
+        directory.query("SELECT account_id, shard FROM account_shard_overrides",
+                rs -> {
+                    loaded.put(rs.getLong(1), rs.getInt(2));
+                });
+        overrides = Map.copyOf(loaded);
+        return loaded.size();
+    }
+
+    void recordMove(long accountId, int shard) {
+        directory.update("""
+                INSERT INTO account_shard_overrides (account_id, shard, moved_at)
+                VALUES (?, ?, CURRENT_TIMESTAMP)
+                ON CONFLICT (account_id) DO UPDATE SET shard = EXCLUDED.shard, moved_at = EXCLUDED.moved_at
+                """, accountId, shard);
+        var updated = new HashMap<>(overrides);
+        updated.put(accountId, shard);
+        overrides = Map.copyOf(updated);
+    }
+}
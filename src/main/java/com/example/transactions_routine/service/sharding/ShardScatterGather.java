@@ -0,0 +1,71 @@
+package com.example.transactions_routine.service.sharding;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+/**
+ * Runs a query on several shards in parallel, each on its own worker bound to that shard, and
+ * gathers the results in shard order. Meant for reads that span accounts, such as batch lookups
+ * and admin reports; the query must open its own (read-only) transaction.
+ */
+@Component
+@ConditionalOnProperty(name = "transactions.sharding.enabled", havingValue = "true")
+public class ShardScatterGather {
+
+    private final ShardRouter shardRouter;
+    private final ExecutorService workers;
+
+    public ShardScatterGather(ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+        this.workers = Executors.newFixedThreadPool(shardRouter.shards(),
+                Thread.ofPlatform().name("shard-query-", 0).factory());
+    }
+
+    public <T> List<T> onEveryShard(IntFunction<T> query) {
+        var shards = new ArrayList<Integer>(shardRouter.shards());
+        for (int shard = 0; shard < shardRouter.shards(); shard++) {
+            shards.add(shard);
+        }
+        return onShards(shards, query);
+    }
+
+    public <T> List<T> onShards(Collection<Integer> shards, IntFunction<T> query) {
+        if (shards.size() == 1) {
+            var shard = shards.iterator().next();
+            return List.of(ShardContext.callOn(shard, () -> query.apply(shard)));
+        }
+
+        var tasks = new ArrayList<Callable<T>>(shards.size());
+        shards.forEach(shard -> tasks.add(() -> ShardContext.callOn(shard, () -> query.apply(shard))));
+        var results = new ArrayList<T>(shards.size());
+        try {
+            for (var future : workers.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying shards", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Shard query failed", e.getCause());
+        }
+        return results;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.transactions_routine.service.sharding;
+
+import com.example.transactions_routine.controller.account.AccountRequest;
+import com.example.transactions_routine.controller.account.BatchTransferRequest;
+import com.example.transactions_routine.controller.account.BatchTransferResult;
+import com.example.transactions_routine.controller.account.TransferRequest;
+import com.example.transactions_routine.controller.account.TransferResult;
+import com.example.transactions_routine.model.Account;
+import com.example.transactions_routine.repository.AccountView;
+import com.example.transactions_routine.service.account.AccountService;
+import com.example.transactions_routine.service.account.AccountServicePort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Runs every {@link AccountService} operation on the shard that owns the account. A transfer
+ * between two shards goes through {@link CrossShardTransferServicePort}; a batch transfer must keep
+ * all its legs on the source account's shard.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "transactions.sharding.enabled", havingValue = "true")
+public class ShardedAccountService implements AccountServicePort {
+
+    private final AccountService accountService;
+    private final CrossShardTransferServicePort crossShardTransferServicePort;
+    private final ShardRouter shardRouter;
+    private final ShardScatterGather shardScatterGather;
+
+    public ShardedAccountService(AccountService accountService,
+                                 CrossShardTransferServicePort crossShardTransferServicePort,
+                                 ShardRouter shardRouter,
+                                 ShardScatterGather shardScatterGather) {
+        this.accountService = accountService;
+        this.crossShardTransferServicePort = crossShardTransferServicePort;
+        this.shardRouter = shardRouter;
+        this.shardScatterGather = shardScatterGather;
+    }
+
+    @Override
+    public Account createAccount(AccountRequest accountRequest) {
+        return ShardContext.callOn(shardRouter.shardForDocument(accountRequest.documentNumber()),
+                () -> accountService.createAccount(accountRequest));
+    }
+
+    @Override
+    public Account findById(Long id) {
+        return ShardContext.callOn(shardRouter.shardForAccount(id), () -> accountService.findById(id));
+    }
+
+    @Override
+    public List<AccountView> findAllById(Collection<Long> ids) {
+        var idsByShard = new TreeMap<Integer, List<Long>>();
+        ids.forEach(id -> idsByShard.computeIfAbsent(shardRouter.shardForAccount(id), shard -> new ArrayList<>()).add(id));
+        if (idsByShard.isEmpty()) {
+            return List.of();
+        }
+        return shardScatterGather.onShards(idsByShard.keySet(), shard -> accountService.findAllById(idsByShard.get(shard)))
+                .stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    @Override
+    public Account setBalanceSlots(Long id, int balanceSlots) {
+        return ShardContext.callOn(shardRouter.shardForAccount(id), () -> accountService.setBalanceSlots(id, balanceSlots));
+    }
+
+    @Override
+    public TransferResult transfer(TransferRequest transferRequest) {
+        var sourceAccountId = transferRequest.sourceAccountId();
+        var destinationAccountId = transferRequest.destinationAccountId();
+        if (sourceAccountId == null || destinationAccountId == null) {
+            // Rejected by the validation of the local transfer before any database access
+            return accountService.transfer(transferRequest);
+        }
+        var sourceShard = shardRouter.shardForAccount(sourceAccountId);
+        if (sourceShard != shardRouter.shardForAccount(destinationAccountId)) {
+            return crossShardTransferServicePort.transfer(transferRequest);
+        }
+        return ShardContext.callOn(sourceShard, () -> accountService.transfer(transferRequest));
+    }
+
+    @Override
+    public BatchTransferResult batchTransfer(BatchTransferRequest batchTransferRequest) {
+        var sourceAccountId = batchTransferRequest.sourceAccountId();
+        if (sourceAccountId == null || batchTransferRequest.legs() == null) {
+            return accountService.batchTransfer(batchTransferRequest);
+        }
+        var shards = new TreeSet<Integer>();
+        shards.add(shardRouter.shardForAccount(sourceAccountId));
+        batchTransferRequest.legs().forEach(leg -> {
+            if (leg.destinationAccountId() != null) {
+                shards.add(shardRouter.shardForAccount(leg.destinationAccountId()));
+            }
+        });
+        if (shards.size() > 1) {
+            throw new CrossShardBatchTransferException(
+                    "All destination accounts of a batch transfer must be on the shard of source account " + sourceAccountId
+                            + ", use single transfers for the others");
+        }
+        return ShardContext.callOn(shards.first(), () -> accountService.batchTransfer(batchTransferRequest));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.transactions_routine.service.sharding;
+
+import com.example.transactions_routine.controller.transaction.TransactionRequest;
+import com.example.transactions_routine.controller.transaction.TransactionSearchResult;
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.TransactionSearchCriteria;
+import com.example.transactions_routine.repository.TransactionView;
+import com.example.transactions_routine.service.transaction.TransactionNotFoundException;
+import com.example.transactions_routine.service.transaction.TransactionSearchCursor;
+import com.example.transactions_routine.service.transaction.TransactionService;
+import com.example.transactions_routine.service.transaction.TransactionServicePort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Runs every {@link TransactionService} operation on the shard that owns the transaction's account.
+ * A transaction is looked up on the shard that created it first; only transactions of accounts
+ * moved by the rebalancer live elsewhere, and those are searched for on every other shard. A search
+ * without an account id runs on every shard and the pages are merged in search order.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "transactions.sharding.enabled", havingValue = "true")
+public class ShardedTransactionService implements TransactionServicePort {
+
+    private final TransactionService transactionService;
+    private final ShardRouter shardRouter;
+    private final ShardScatterGather shardScatterGather;
+
+    public ShardedTransactionService(TransactionService transactionService,
+                                     ShardRouter shardRouter,
+                                     ShardScatterGather shardScatterGather) {
+        this.transactionService = transactionService;
+        this.shardRouter = shardRouter;
+        this.shardScatterGather = shardScatterGather;
+    }
+
+    @Override
+    public Transaction createTransaction(TransactionRequest transactionRequest) {
+        if (transactionRequest.accountId() == null) {
+            return transactionService.createTransaction(transactionRequest);
+        }
+        return ShardContext.callOn(shardRouter.shardForAccount(transactionRequest.accountId()),
+                () -> transactionService.createTransaction(transactionRequest));
+    }
+
+    @Override
+    public Transaction findById(Long transactionId) {
+        var homeShard = shardRouter.shardForTransaction(transactionId);
+        try {
+            return ShardContext.callOn(homeShard, () -> transactionService.findById(transactionId));
+        } catch (TransactionNotFoundException e) {
+            var otherShards = new ArrayList<Integer>();
+            for (int shard = 0; shard < shardRouter.shards(); shard++) {
+                if (shard != homeShard) {
+                    otherShards.add(shard);
+                }
+            }
+            if (otherShards.isEmpty()) {
+                throw e;
+            }
+            return shardScatterGather.onShards(otherShards, shard -> findOnShard(transactionId))
+                    .stream()
+                    .flatMap(Optional::stream)
+                    .findFirst()
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    @Override
+    public List<TransactionView> findAllById(Collection<Long> transactionIds) {
+        if (transactionIds.isEmpty()) {
+            return List.of();
+        }
+        return shardScatterGather.onEveryShard(shard -> transactionService.findAllById(transactionIds))
+                .stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    @Override
+    public TransactionSearchResult search(TransactionSearchCriteria criteria, String cursor, int limit) {
+        if (criteria.getAccountId() != null) {
+            return ShardContext.callOn(shardRouter.shardForAccount(criteria.getAccountId()),
+                    () -> transactionService.search(criteria, cursor, limit));
+        }
+
+        // The cursor is a position in the global search order, so every shard can start from it
+        var pages = shardScatterGather.onEveryShard(shard -> transactionService.search(criteria, cursor, limit));
+        var transactions = pages.stream()
+                .flatMap(page -> page.transactions().stream())
+                .sorted(Comparator.comparing(TransactionView::getEventDate).thenComparing(TransactionView::getId).reversed())
+                .toList();
+        var hasMore = transactions.size() > limit || pages.stream().anyMatch(page -> page.nextCursor() != null);
+        if (!hasMore) {
+            return new TransactionSearchResult(transactions, null);
+        }
+        var page = transactions.subList(0, Math.min(limit, transactions.size()));
+        return new TransactionSearchResult(page, TransactionSearchCursor.encode(page.get(page.size() - 1)));
+    }
+
+    private Optional<Transaction> findOnShard(Long transactionId) {
+        try {
+            return Optional.of(transactionService.findById(transactionId));
+        } catch (TransactionNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.transactions_routine.service.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Account sharding, off by default. Shards are identified by their position in {@code shards}, e.g.
+ * {@code transactions.sharding.shards[1].url=jdbc:postgresql://db-1:5432/transactions_db}; the
+ * position fixes the id range of a shard, so shards may be appended but never reordered or removed.
+ * Shard 0 also holds the directory of accounts moved by {@link ShardRebalancer}.
+ */
+@ConfigurationProperties(prefix = "transactions.sharding")
+public record ShardingProperties(
+        boolean enabled,
+        List<Shard> shards,
+        @DefaultValue("128") int virtualNodes,
+        @DefaultValue("PT1M") Duration recoveryDelay
+) {
+
+    public ShardingProperties {
+        shards = shards == null ? List.of() : List.copyOf(shards);
+    }
+
+    public record Shard(
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maximumPoolSize
+    ) {
+    }
+}
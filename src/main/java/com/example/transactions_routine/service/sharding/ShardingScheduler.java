@@ -0,0 +1,93 @@
+package com.example.transactions_routine.service.sharding;
+
+import com.example.transactions_routine.service.installment.InstallmentServicePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Background work of a sharded deployment: keeps the moved-account directory fresh, re-drives
+ * cross-shard transfers left pending by a crash or an unreachable shard, and posts the due
+ * installments of shards other than 0, which the installment scheduler does not see.
+ */
+@Component
+@ConditionalOnProperty(name = "transactions.sharding.enabled", havingValue = "true")
+public class ShardingScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardingScheduler.class);
+
+    private final ShardRouter shardRouter;
+    private final CrossShardTransferServicePort crossShardTransferServicePort;
+    private final InstallmentServicePort installmentServicePort;
+    private final ShardingProperties properties;
+    private final int batchSize;
+    private final boolean installmentsEnabled;
+
+    public ShardingScheduler(ShardRouter shardRouter,
+                             CrossShardTransferServicePort crossShardTransferServicePort,
+                             InstallmentServicePort installmentServicePort,
+                             ShardingProperties properties,
+                             @Value("${transactions.sharding.recovery-batch-size:1000}") int batchSize,
+                             @Value("${transactions.installments.scheduler.enabled:true}") boolean installmentsEnabled) {
+        this.shardRouter = shardRouter;
+        this.crossShardTransferServicePort = crossShardTransferServicePort;
+        this.installmentServicePort = installmentServicePort;
+        this.properties = properties;
+        this.batchSize = batchSize;
+        this.installmentsEnabled = installmentsEnabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOverrides() {
+        logger.info("Sharding over {} shards, {} accounts moved off their home shard",
+                shardRouter.shards(), shardRouter.refreshOverrides());
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.sharding.overrides-refresh:PT1M}")
+    public void refreshOverrides() {
+        shardRouter.refreshOverrides();
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.sharding.recovery-delay:PT1M}")
+    public void recoverPendingTransfers() {
+        // Younger transfers may still be in flight on the request thread
+        var createdBefore = LocalDateTime.now().minus(properties.recoveryDelay());
+        for (int shard = 0; shard < shardRouter.shards(); shard++) {
+            try {
+                int recovered = crossShardTransferServicePort.recoverPending(shard, createdBefore, batchSize);
+                if (recovered > 0) {
+                    logger.info("Recovered {} pending cross-shard transfers debited on shard {}", recovered, shard);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Could not recover pending cross-shard transfers on shard {}: {}", shard, e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.installments.scheduler.fixed-delay:PT1M}")
+    public void postDueInstallments() {
+        if (!installmentsEnabled) {
+            return;
+        }
+        var today = LocalDate.now();
+        for (int shard = 1; shard < shardRouter.shards(); shard++) {
+            long total = 0;
+            int posted;
+            do {
+                posted = ShardContext.callOn(shard, () -> installmentServicePort.postDueInstallments(today, batchSize));
+                total += posted;
+            } while (posted == batchSize);
+            if (total > 0) {
+                logger.info("Posted {} due installments on shard {}", total, shard);
+            }
+        }
+    }
+}
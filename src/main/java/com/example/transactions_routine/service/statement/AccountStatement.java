@@ -0,0 +1,43 @@
+package com.example.transactions_routine.service.statement;
+
+import com.example.transactions_routine.repository.OperationTypeTotal;
+import com.example.transactions_routine.repository.StatementAccount;
+import com.example.transactions_routine.repository.StatementLine;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * One account's month-end statement, a line of the statement files.
+ */
+public record AccountStatement(
+        Long accountId,
+        String documentNumber,
+        YearMonth month,
+        BigDecimal openingBalance,
+        BigDecimal closingBalance,
+        List<OperationTypeTotal> totals,
+        List<StatementLine> lines
+) {
+
+    /**
+     * Builds the statement from the balance before the month and the month's lines, oldest first.
+     */
+    public static AccountStatement of(StatementAccount account, YearMonth month,
+                                      BigDecimal openingBalance, List<StatementLine> lines) {
+        var totals = new TreeMap<Long, OperationTypeTotal>();
+        var closingBalance = openingBalance;
+        for (var line : lines) {
+            closingBalance = closingBalance.add(line.amount());
+            totals.merge(line.operationTypeId(),
+                    new OperationTypeTotal(line.operationTypeId(), line.amount(), 1L),
+                    (total, added) -> new OperationTypeTotal(total.operationTypeId(),
+                            total.totalAmount().add(added.totalAmount()),
+                            total.transactionCount() + 1));
+        }
+        return new AccountStatement(account.id(), account.documentNumber(), month,
+                openingBalance, closingBalance, List.copyOf(totals.values()), lines);
+    }
+}
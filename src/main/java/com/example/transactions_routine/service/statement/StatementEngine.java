@@ -0,0 +1,256 @@
+package com.example.transactions_routine.service.statement;
+
+import com.example.transactions_routine.model.StatementPartition;
+import com.example.transactions_routine.model.StatementPartitionStatus;
+import com.example.transactions_routine.model.StatementRun;
+import com.example.transactions_routine.model.StatementRunStatus;
+import com.example.transactions_routine.repository.AccountAmount;
+import com.example.transactions_routine.repository.AccountDailySummaryRepository;
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.StatementLine;
+import com.example.transactions_routine.repository.StatementPartitionRepository;
+import com.example.transactions_routine.repository.StatementRunRepository;
+import com.example.transactions_routine.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the month-end statement of every account that existed by the end of the month. The
+ * account id range is split into partitions recorded in statement_partitions, and the partitions
+ * are spread over a fixed pool of workers, so the pool size bounds the connections in use. A worker
+ * walks its partition in chunks of accounts, keyset by account id: the transactions of a chunk come
+ * from a single streamed query, written straight to the chunk's statement file. An account's opening
+ * balance is worked back from the stored balance_after of its first line of the month, and only
+ * accounts without such a line fall back to summing the daily summaries before the month. The partition's checkpoint only advances once that file is in
+ * place, so an interrupted run started again for the same month resumes after the last complete
+ * chunk of each partition.
+ */
+@Component
+@Profile("!in-memory")
+public class StatementEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementEngine.class);
+
+    private final AccountRepository accountRepository;
+    private final AccountDailySummaryRepository accountDailySummaryRepository;
+    private final TransactionRepository transactionRepository;
+    private final StatementRunRepository statementRunRepository;
+    private final StatementPartitionRepository statementPartitionRepository;
+    private final StatementWriter statementWriter;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final long partitionSize;
+    private final int chunkSize;
+    private final int workerCount;
+
+    public StatementEngine(AccountRepository accountRepository,
+                           AccountDailySummaryRepository accountDailySummaryRepository,
+                           TransactionRepository transactionRepository,
+                           StatementRunRepository statementRunRepository,
+                           StatementPartitionRepository statementPartitionRepository,
+                           StatementWriter statementWriter,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${transactions.statements.partition-size:100000}") long partitionSize,
+                           @Value("${transactions.statements.chunk-size:1000}") int chunkSize,
+                           @Value("${transactions.statements.workers:8}") int workerCount) {
+        if (partitionSize < 1 || chunkSize < 1 || workerCount < 1) {
+            throw new IllegalArgumentException("transactions.statements partition-size, chunk-size and workers must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.accountDailySummaryRepository = accountDailySummaryRepository;
+        this.transactionRepository = transactionRepository;
+        this.statementRunRepository = statementRunRepository;
+        this.statementPartitionRepository = statementPartitionRepository;
+        this.statementWriter = statementWriter;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.partitionSize = partitionSize;
+        this.chunkSize = chunkSize;
+        this.workerCount = workerCount;
+    }
+
+    /**
+     * Generates, or resumes generating, the statements of the month. Return the number of
+     * statements written by this call.
+     */
+    public long generate(YearMonth month) {
+        var partitions = writeTransaction.execute(status -> pendingPartitions(month));
+        if (partitions == null || partitions.isEmpty() && isCompleted(month)) {
+            logger.info("Statements for {} are already generated", month);
+            return 0;
+        }
+
+        var startedAt = System.nanoTime();
+        var tasks = new ArrayList<Callable<Long>>(partitions.size());
+        partitions.forEach(partition -> tasks.add(() -> generate(partition, month)));
+
+        long written = 0;
+        int failed = 0;
+        var workers = Executors.newFixedThreadPool(Math.min(workerCount, Math.max(1, partitions.size())),
+                Thread.ofPlatform().name("statement-", 0).factory());
+        try {
+            for (var future : workers.invokeAll(tasks)) {
+                try {
+                    written += future.get();
+                } catch (ExecutionException e) {
+                    logger.error("Statement partition failed for {}, it resumes on the next run", month, e.getCause());
+                    failed++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating statements for " + month, e);
+        } finally {
+            workers.shutdownNow();
+        }
+        if (failed > 0) {
+            throw new IllegalStateException(failed + " statement partitions failed for " + month);
+        }
+
+        writeTransaction.executeWithoutResult(status -> statementRunRepository.complete(month.atDay(1)));
+        var elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        logger.info("Statements for {} generated, {} written in {} ms, {} statements/s",
+                month, written, elapsedMillis, written * 1000 / elapsedMillis);
+        return written;
+    }
+
+    private boolean isCompleted(YearMonth month) {
+        return statementRunRepository.findById(month.atDay(1))
+                .map(run -> run.getStatus() == StatementRunStatus.COMPLETED)
+                .orElse(false);
+    }
+
+    /**
+     * Starts the run on its first call for the month, splitting the current account id range into
+     * partitions. Later calls pick up the partitions that are not completed yet.
+     */
+    private List<StatementPartition> pendingPartitions(YearMonth month) {
+        var day = month.atDay(1);
+        var run = statementRunRepository.findById(day);
+        if (run.isPresent()) {
+            return run.get().getStatus() == StatementRunStatus.COMPLETED
+                    ? List.of()
+                    : statementPartitionRepository.findByMonthAndStatusOrderById(day, StatementPartitionStatus.PENDING);
+        }
+
+        statementRunRepository.save(StatementRun.builder().month(day).status(StatementRunStatus.RUNNING).build());
+        var firstId = accountRepository.findMinId();
+        var lastId = accountRepository.findMaxId();
+        if (firstId == null) {
+            return List.of();
+        }
+        var partitions = new ArrayList<StatementPartition>();
+        for (long start = firstId; start <= lastId; start += partitionSize) {
+            partitions.add(StatementPartition.builder()
+                    .month(day)
+                    .firstAccountId(start)
+                    .lastAccountId(Math.min(lastId, start + partitionSize - 1))
+                    .status(StatementPartitionStatus.PENDING)
+                    .build());
+        }
+        return statementPartitionRepository.saveAll(partitions);
+    }
+
+    long generate(StatementPartition partition, YearMonth month) {
+        var after = partition.getCheckpointAccountId() == null
+                ? partition.getFirstAccountId() - 1
+                : partition.getCheckpointAccountId();
+        long written = 0;
+        while (true) {
+            if (Thread.currentThread().isInterrupted()) {
+                return written;
+            }
+            var afterId = after;
+            var chunk = readTransaction.execute(status -> writeChunk(partition.getLastAccountId(), afterId, month));
+            if (chunk == null) {
+                break;
+            }
+            writeTransaction.executeWithoutResult(status ->
+                    statementPartitionRepository.checkpoint(partition.getId(), chunk.lastAccountId(), chunk.statements()));
+            written += chunk.statements();
+            after = chunk.lastAccountId();
+        }
+        writeTransaction.executeWithoutResult(status -> statementPartitionRepository.complete(partition.getId()));
+        return written;
+    }
+
+    /**
+     * Writes the statements of the next chunk of accounts after {@code afterId}. Return null once
+     * the partition has no accounts left.
+     */
+    private Chunk writeChunk(long lastAccountId, long afterId, YearMonth month) {
+        var monthStart = month.atDay(1);
+        var monthEnd = month.plusMonths(1).atDay(1);
+        var accounts = accountRepository.findStatementAccounts(afterId, lastAccountId, monthEnd.atStartOfDay(), Limit.of(chunkSize));
+        if (accounts.isEmpty()) {
+            return null;
+        }
+        var firstId = accounts.getFirst().id();
+        var lastId = accounts.getLast().id();
+        Map<Long, BigDecimal> summedBalances = null;
+
+        try (var lines = transactionRepository.streamStatementLines(firstId, lastId, monthStart.atStartOfDay(), monthEnd.atStartOfDay());
+             var file = statementWriter.open(month, firstId)) {
+            // Both are ordered by account id, so the lines are handed out in a single merge pass
+            var iterator = lines.iterator();
+            var line = iterator.hasNext() ? iterator.next() : null;
+            for (var account : accounts) {
+                var accountLines = new ArrayList<StatementLine>();
+                while (line != null && line.accountId() <= account.id()) {
+                    if (line.accountId().equals(account.id())) {
+                        accountLines.add(line);
+                    }
+                    line = iterator.hasNext() ? iterator.next() : null;
+                }
+                var openingBalance = openingBalance(accountLines);
+                if (openingBalance == null) {
+                    // No transactions this month, or none with a balance_after yet
+                    if (summedBalances == null) {
+                        summedBalances = accountDailySummaryRepository.sumBefore(firstId, lastId, monthStart).stream()
+                                .collect(Collectors.toMap(AccountAmount::accountId, AccountAmount::amount));
+                    }
+                    openingBalance = summedBalances.getOrDefault(account.id(), BigDecimal.ZERO);
+                }
+                file.write(AccountStatement.of(account, month, openingBalance, accountLines));
+            }
+            file.commit();
+        }
+        return new Chunk(lastId, accounts.size());
+    }
+
+    /**
+     * The balance before the month's lines, worked back from the first of them with a stored
+     * balance_after, or null when none has one. Credits parked on a balance slot leave it empty.
+     */
+    private static BigDecimal openingBalance(List<StatementLine> lines) {
+        var booked = BigDecimal.ZERO;
+        for (var line : lines) {
+            booked = booked.add(line.amount());
+            if (line.balanceAfter() != null) {
+                return line.balanceAfter().subtract(booked);
+            }
+        }
+        return null;
+    }
+
+    private record Chunk(long lastAccountId, int statements) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.transactions_routine.service.statement;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * One-off job that generates the month-end statements. Start the application with
+ * {@code --transactions.statements.generate=true}, optionally with
+ * {@code --transactions.statements.month=2025-01} (the previous month by default); it exits once
+ * done. Starting it again for the same month resumes an interrupted run.
+ */
+@Component
+@Profile("!in-memory")
+@ConditionalOnProperty(name = "transactions.statements.generate", havingValue = "true")
+public class StatementJob implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementJob.class);
+
+    private final StatementEngine statementEngine;
+    private final ConfigurableApplicationContext context;
+    private final String month;
+
+    public StatementJob(StatementEngine statementEngine,
+                        ConfigurableApplicationContext context,
+                        @Value("${transactions.statements.month:}") String month) {
+        this.statementEngine = statementEngine;
+        this.context = context;
+        this.month = month;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var statementMonth = month.isBlank() ? YearMonth.now().minusMonths(1) : YearMonth.parse(month);
+        int exitCode;
+        try {
+            statementEngine.generate(statementMonth);
+            exitCode = 0;
+        } catch (RuntimeException e) {
+            logger.error("Statement generation for {} stopped: {}", statementMonth, e.getMessage());
+            exitCode = 1;
+        }
+        var code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.transactions_routine.service.statement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the statements of a chunk of accounts as gzipped newline-delimited JSON, one file per
+ * chunk named after its first account. A file is written under a temporary name and only moved
+ * into place once complete, so a chunk rewritten after a restart simply replaces it.
+ */
+@Component
+public class StatementWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+
+    public StatementWriter(ObjectMapper objectMapper,
+                           @Value("${transactions.statements.directory:statements}") Path directory) {
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+    }
+
+    public Path path(YearMonth month, long firstAccountId) {
+        return directory.resolve(month.toString()).resolve("statements-" + firstAccountId + ".ndjson.gz");
+    }
+
+    public StatementFile open(YearMonth month, long firstAccountId) {
+        var target = path(month, firstAccountId);
+        var temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(target.getParent());
+            var output = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE), BUFFER_SIZE);
+            return new StatementFile(objectMapper.writer().withRootValueSeparator("\n").writeValues(output), temporary, target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create statement file " + temporary, e);
+        }
+    }
+
+    public static final class StatementFile implements AutoCloseable {
+
+        private final SequenceWriter writer;
+        private final Path temporary;
+        private final Path target;
+        private boolean committed;
+
+        private StatementFile(SequenceWriter writer, Path temporary, Path target) {
+            this.writer = writer;
+            this.temporary = temporary;
+            this.target = target;
+        }
+
+        public void write(AccountStatement statement) {
+            try {
+                writer.write(statement);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write statement file " + temporary, e);
+            }
+        }
+
+        /**
+         * Finishes the file and moves it into place.
+         */
+        public void commit() {
+            try {
+                writer.close();
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                committed = true;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot complete statement file " + target, e);
+            }
+        }
+
+        /**
+         * Drops the temporary file unless committed.
+         */
+        @Override
+        public void close() {
+            if (committed) {
+                return;
+            }
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+                // The partial file is deleted anyway
+            }
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete statement file " + temporary, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.transactions_routine.service.summary;
+
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.AccountDailySummaryRepository;
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.OperationTypeTotal;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maintains the daily per-account, per-operation-type rollup. The record methods join the
+ * caller's transaction, so the rollup commits or rolls back together with the transactions it counts.
+ */
+@Service
+@Profile("!in-memory")
+@Transactional(readOnly = true)
+public class AccountSummaryService implements AccountSummaryServicePort {
+
+    public static final int MAX_PERIOD_DAYS = 366;
+
+    private final AccountDailySummaryRepository accountDailySummaryRepository;
+    private final AccountRepository accountRepository;
+
+    public AccountSummaryService(AccountDailySummaryRepository accountDailySummaryRepository,
+                                 AccountRepository accountRepository) {
+        this.accountDailySummaryRepository = accountDailySummaryRepository;
+        this.accountRepository = accountRepository;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransaction(Transaction transaction) {
+        accountDailySummaryRepository.addTransaction(
+                transaction.getAccount().getId(),
+                transaction.getEventDate().toLocalDate(),
+                transaction.getOperationType().getId(),
+                transaction.getAmount());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransactions(Collection<Long> transactionIds) {
+        if (!transactionIds.isEmpty()) {
+            accountDailySummaryRepository.addTransactions(transactionIds);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordInstallments(Collection<Long> installmentIds) {
+        if (!installmentIds.isEmpty()) {
+            accountDailySummaryRepository.addInstallments(installmentIds);
+        }
+    }
+
+    @Override
+    public List<OperationTypeTotal> summarize(Long accountId, LocalDate from, LocalDate to) {
+        validatePeriod(from, to);
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException("Account not found with id: " + accountId);
+        }
+        return accountDailySummaryRepository.sumByOperationType(accountId, from, to);
+    }
+
+    public static void validatePeriod(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidSummaryPeriodException("Start date must not be after end date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_PERIOD_DAYS) {
+            throw new InvalidSummaryPeriodException("Summary period must not exceed " + MAX_PERIOD_DAYS + " days");
+        }
+    }
+}
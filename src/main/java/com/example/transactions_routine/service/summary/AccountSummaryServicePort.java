@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.summary;
+
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.OperationTypeTotal;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface AccountSummaryServicePort {
+    void recordTransaction(Transaction transaction);
+    void recordTransactions(Collection<Long> transactionIds);
+    void recordInstallments(Collection<Long> installmentIds);
+    List<OperationTypeTotal> summarize(Long accountId, LocalDate from, LocalDate to);
+}
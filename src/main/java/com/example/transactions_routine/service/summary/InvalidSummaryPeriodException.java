@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.summary;
+
+import com.example.transactions_routine.service.DomainException;
+
+public class InvalidSummaryPeriodException extends DomainException {
+    public InvalidSummaryPeriodException() {}
+
+    public InvalidSummaryPeriodException(String message) {
+        super(message);
+    }
+
+    public InvalidSummaryPeriodException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.transactions_routine.service.transaction;
 
-public class InsufficientFundsException extends RuntimeException {
+import com.example.transactions_routine.service.DomainException;
+
+import java.math.BigDecimal;
+
+public class InsufficientFundsException extends DomainException {
     public InsufficientFundsException() {}
 
     public InsufficientFundsException(String message) {
@@ -10,4 +14,9 @@ public class InsufficientFundsException extends RuntimeException {
     public InsufficientFundsException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    // Concatenated rather than String.format, it is built on every rejected debit
+    public InsufficientFundsException(Long accountId, BigDecimal requestedAmount) {
+        super("Insufficient funds for transaction. Account ID: " + accountId + ", Requested amount: " + requestedAmount);
+    }
 }
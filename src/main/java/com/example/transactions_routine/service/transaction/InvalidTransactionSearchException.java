@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.transaction;
+
+import com.example.transactions_routine.service.DomainException;
+
+public class InvalidTransactionSearchException extends DomainException {
+    public InvalidTransactionSearchException() {}
+
+    public InvalidTransactionSearchException(String message) {
+        super(message);
+    }
+
+    public InvalidTransactionSearchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.transactions_routine.service.transaction;
 
-public class OperationTypeNotFoundException extends RuntimeException {
+import com.example.transactions_routine.service.DomainException;
+
+public class OperationTypeNotFoundException extends DomainException {
     public OperationTypeNotFoundException() {}
 
     public OperationTypeNotFoundException(String message) {
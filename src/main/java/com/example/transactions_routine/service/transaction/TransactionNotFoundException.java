@@ -1,6 +1,8 @@
 package com.example.transactions_routine.service.transaction;
 
-public class TransactionNotFoundException extends RuntimeException {
+import com.example.transactions_routine.service.DomainException;
+
+public class TransactionNotFoundException extends DomainException {
     public TransactionNotFoundException() {}
 
     public TransactionNotFoundException(String message) {
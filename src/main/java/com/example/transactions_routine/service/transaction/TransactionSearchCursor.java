@@ -0,0 +1,39 @@
+package com.example.transactions_routine.service.transaction;
+
+import com.example.transactions_routine.repository.TransactionKeyset;
+import com.example.transactions_routine.repository.TransactionView;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque search page cursor: the event date and id of the last transaction of the previous page,
+ * URL-safe Base64 encoded.
+ */
+public final class TransactionSearchCursor {
+
+    private TransactionSearchCursor() {
+    }
+
+    public static String encode(TransactionView lastTransaction) {
+        var position = lastTransaction.getEventDate() + "," + lastTransaction.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionKeyset decode(String cursor) {
+        try {
+            var position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separator = position.indexOf(',');
+            if (separator < 0) {
+                throw new InvalidTransactionSearchException("Invalid search cursor");
+            }
+            return new TransactionKeyset(
+                    LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidTransactionSearchException("Invalid search cursor", e);
+        }
+    }
+}
@@ -1,39 +1,90 @@
 package com.example.transactions_routine.service.transaction;
 
 import com.example.transactions_routine.controller.transaction.TransactionRequest;
+import com.example.transactions_routine.controller.transaction.TransactionSearchResult;
+import com.example.transactions_routine.model.Account;
+import com.example.transactions_routine.model.OperationType;
 import com.example.transactions_routine.model.Transaction;
 import com.example.transactions_routine.repository.AccountRepository;
 import com.example.transactions_routine.repository.OperationTypeRepository;
 import com.example.transactions_routine.repository.TransactionRepository;
+import com.example.transactions_routine.repository.TransactionSearchCriteria;
+import com.example.transactions_routine.repository.TransactionView;
 import com.example.transactions_routine.service.account.AccountNotFoundException;
+import com.example.transactions_routine.service.activity.RecentActivityCache;
+import com.example.transactions_routine.service.balance.BalanceUpdateStrategy;
+import com.example.transactions_routine.service.balance.SplitBalanceServicePort;
+import com.example.transactions_routine.service.installment.InstallmentServicePort;
+import com.example.transactions_routine.service.limit.DailyLimitServicePort;
+import com.example.transactions_routine.service.summary.AccountSummaryServicePort;
+import com.example.transactions_routine.service.velocity.VelocityServicePort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Service
-@Transactional(readOnly = true)
+@Profile("!in-memory")
 public class TransactionService implements TransactionServicePort {
 
+    public static final int MAX_SEARCH_LIMIT = 500;
+
     private static final Logger logger = LoggerFactory.getLogger(TransactionService.class);
 
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
     private final OperationTypeRepository operationTypeRepository;
+    private final InstallmentServicePort installmentServicePort;
+    private final AccountSummaryServicePort accountSummaryServicePort;
+    private final VelocityServicePort velocityServicePort;
+    private final DailyLimitServicePort dailyLimitServicePort;
+    private final BalanceUpdateStrategy balanceUpdateStrategy;
+    private final SplitBalanceServicePort splitBalanceServicePort;
+    private final RecentActivityCache recentActivityCache;
 
     public TransactionService(TransactionRepository transactionRepository,
                               AccountRepository accountRepository,
-                              OperationTypeRepository operationTypeRepository) {
+                              OperationTypeRepository operationTypeRepository,
+                              InstallmentServicePort installmentServicePort,
+                              AccountSummaryServicePort accountSummaryServicePort,
+                              VelocityServicePort velocityServicePort,
+                              DailyLimitServicePort dailyLimitServicePort,
+                              BalanceUpdateStrategy balanceUpdateStrategy,
+                              SplitBalanceServicePort splitBalanceServicePort,
+                              RecentActivityCache recentActivityCache) {
         this.transactionRepository = transactionRepository;
         this.accountRepository = accountRepository;
         this.operationTypeRepository = operationTypeRepository;
+        this.installmentServicePort = installmentServicePort;
+        this.accountSummaryServicePort = accountSummaryServicePort;
+        this.velocityServicePort = velocityServicePort;
+        this.dailyLimitServicePort = dailyLimitServicePort;
+        this.balanceUpdateStrategy = balanceUpdateStrategy;
+        this.splitBalanceServicePort = splitBalanceServicePort;
+        this.recentActivityCache = recentActivityCache;
     }
 
     @Override
     @Transactional
     public Transaction createTransaction(TransactionRequest transactionRequest) {
+        return applyTransaction(transactionRequest);
+    }
+
+    /**
+     * Books the transaction in the database transaction already running on this thread, without a
+     * transactional proxy of its own. A rejection thrown from here is left to the caller, which can
+     * roll back to its savepoint and go on with the rest of its batch; joining the caller's
+     * transaction through {@link #createTransaction} would mark all of it rollback-only instead.
+     */
+    public Transaction applyTransaction(TransactionRequest transactionRequest) {
         logger.info("Creating transaction for account: {}, operation type: {}, amount: {}",
                 transactionRequest.accountId(), transactionRequest.operationTypeId(), transactionRequest.amount());
 
@@ -44,16 +95,45 @@ public class TransactionService implements TransactionServicePort {
                 .orElseThrow(() -> new OperationTypeNotFoundException("Operation type not found with id: " + transactionRequest.operationTypeId()));
 
         // Create transaction with negative amount for debit operations (non-credit operations)
-        var amount = operationType.isCredit()
+        var totalAmount = operationType.isCredit()
                 ? transactionRequest.amount()
                 : transactionRequest.amount().negate();
 
-        // Atomically update account balance with insufficient funds protection
-        int updatedRows = accountRepository.updateBalanceWithCheck(account.getId(), amount);
-        if (updatedRows == 0) {
-            throw new InsufficientFundsException(
-                    String.format("Insufficient funds for transaction. Account ID: %d, Requested amount: %s",
-                            account.getId(), amount));
+        // Only the first installment is booked now, the rest is posted by the installment scheduler
+        var installmentCount = transactionRequest.installments() == null ? 1 : transactionRequest.installments();
+        var installmentAmounts = installmentCount == 1
+                ? List.of(totalAmount)
+                : installmentServicePort.splitIntoInstallments(operationType, totalAmount, installmentCount);
+        var amount = installmentAmounts.getFirst();
+
+        // In-memory velocity rules, checked before touching the database
+        velocityServicePort.checkAndRecord(account.getId(), operationType.getId(), amount);
+
+        // Update account balance with insufficient funds protection, using the configured concurrency
+        // strategy. Operation types under a daily limit always use a guarded UPDATE, which checks and
+        // increments the daily usage counter in the same statement.
+        var dailyLimit = operationType.isCredit()
+                ? Optional.<BigDecimal>empty()
+                : dailyLimitServicePort.findDefaultLimit(operationType.getId());
+        var today = LocalDate.now();
+        BigDecimal balanceAfter = null;
+        if (operationType.isCredit() && account.isSplit()) {
+            // Lands on a balance slot, away from the account row and its balance
+            splitBalanceServicePort.credit(account, amount);
+        } else {
+            var balance = applyBalanceChange(account, operationType, amount, dailyLimit, today);
+            if (balance.isEmpty() && account.isSplit() && splitBalanceServicePort.sweep(account.getId())) {
+                // The account row alone was short, but credits were waiting in its balance slots. A
+                // daily-limited attempt rejected for funds did not count its usage, so retrying is safe.
+                balance = applyBalanceChange(account, operationType, amount, dailyLimit, today);
+            }
+            if (balance.isEmpty()) {
+                if (dailyLimit.isPresent()) {
+                    dailyLimitServicePort.checkDailyLimit(account.getId(), operationType.getId(), amount.negate(), today);
+                }
+                throw new InsufficientFundsException(account.getId(), amount);
+            }
+            balanceAfter = balance.get();
         }
 
         var transaction = Transaction.builder()
@@ -61,15 +141,71 @@ public class TransactionService implements TransactionServicePort {
                 .operationType(operationType)
                 .amount(amount)
                 .eventDate(LocalDateTime.now())
+                .balanceAfter(balanceAfter)
                 .build();
 
-        return transactionRepository.save(transaction);
+        var savedTransaction = transactionRepository.save(transaction);
+        accountSummaryServicePort.recordTransaction(transaction);
+        recentActivityCache.record(List.of(transaction));
+        if (installmentAmounts.size() > 1) {
+            installmentServicePort.createPlan(account, operationType, installmentAmounts, transaction.getEventDate().toLocalDate());
+        }
+        return savedTransaction;
+    }
+
+    private Optional<BigDecimal> applyBalanceChange(Account account, OperationType operationType, BigDecimal amount,
+                                                    Optional<BigDecimal> dailyLimit, LocalDate today) {
+        return dailyLimit.isPresent()
+                ? accountRepository.updateBalanceWithDailyLimit(account.getId(), amount, operationType.getId(), today, dailyLimit.get())
+                : balanceUpdateStrategy.apply(account.getId(), amount);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Transaction findById(Long transactionId) {
         return transactionRepository.findById(transactionId)
                 .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with id: " + transactionId));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionView> findAllById(Collection<Long> transactionIds) {
+        return transactionRepository.findAllViewsById(transactionIds.toArray(Long[]::new));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionSearchResult search(TransactionSearchCriteria criteria, String cursor, int limit) {
+        validateSearch(criteria, limit);
+        var after = cursor == null ? null : TransactionSearchCursor.decode(cursor);
+
+        // One row more than the page tells whether there is a next page
+        var transactions = transactionRepository.search(criteria, after, limit + 1);
+        if (transactions.size() <= limit) {
+            return new TransactionSearchResult(transactions, null);
+        }
+        var page = transactions.subList(0, limit);
+        return new TransactionSearchResult(page, TransactionSearchCursor.encode(page.get(limit - 1)));
+    }
+
+    /**
+     * Rejects searches no covering index can serve and malformed ranges, whatever the storage.
+     */
+    public static void validateSearch(TransactionSearchCriteria criteria, int limit) {
+        // Every supported search starts from one of the covering indexes; amount alone would scan the table
+        if (criteria.getAccountId() == null && criteria.getOperationTypeId() == null && criteria.getFrom() == null) {
+            throw new InvalidTransactionSearchException("Search requires an account id, an operation type id or a start date");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new InvalidTransactionSearchException("Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        if (criteria.getMinAmount() != null && criteria.getMaxAmount() != null
+                && criteria.getMinAmount().compareTo(criteria.getMaxAmount()) > 0) {
+            throw new InvalidTransactionSearchException("Minimum amount must not be greater than maximum amount");
+        }
+        if (criteria.getFrom() != null && criteria.getTo() != null && !criteria.getFrom().isBefore(criteria.getTo())) {
+            throw new InvalidTransactionSearchException("Start date must be before end date");
+        }
+    }
+
 }
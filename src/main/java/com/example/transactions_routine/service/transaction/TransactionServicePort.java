@@ -1,9 +1,17 @@
 package com.example.transactions_routine.service.transaction;
 
 import com.example.transactions_routine.controller.transaction.TransactionRequest;
+import com.example.transactions_routine.controller.transaction.TransactionSearchResult;
 import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.TransactionSearchCriteria;
+import com.example.transactions_routine.repository.TransactionView;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface TransactionServicePort {
     Transaction createTransaction(TransactionRequest transactionRequest);
     Transaction findById(Long transactionId);
+    List<TransactionView> findAllById(Collection<Long> transactionIds);
+    TransactionSearchResult search(TransactionSearchCriteria criteria, String cursor, int limit);
 }
@@ -0,0 +1,75 @@
+package com.example.transactions_routine.service.velocity;
+
+import java.util.Arrays;
+
+/**
+ * Count and amount (in cents) of one account's operations over a sliding window, kept in a ring
+ * of fixed-size time buckets. Stale buckets are recognised by their bucket number and cleared
+ * lazily, so there is no timer per account. Not thread-safe: callers hold the stripe lock.
+ */
+final class SlidingWindowCounter {
+
+    private final long[] bucketNumbers;
+    private final int[] counts;
+    private final long[] amounts;
+
+    SlidingWindowCounter(int buckets) {
+        this.bucketNumbers = new long[buckets];
+        this.counts = new int[buckets];
+        this.amounts = new long[buckets];
+        Arrays.fill(bucketNumbers, Long.MIN_VALUE);
+    }
+
+    /**
+     * Adds one operation in {@code bucketNumber} unless it would take the window over either limit.
+     * Return true if it was added.
+     */
+    boolean tryAdd(long bucketNumber, long amount, int maxCount, long maxAmount) {
+        long oldest = bucketNumber - bucketNumbers.length;
+        int count = 0;
+        long total = 0;
+        for (int i = 0; i < bucketNumbers.length; i++) {
+            if (bucketNumbers[i] > oldest && bucketNumbers[i] <= bucketNumber) {
+                count += counts[i];
+                total += amounts[i];
+            }
+        }
+        if (count + 1 > maxCount || total + amount > maxAmount) {
+            return false;
+        }
+        add(bucketNumber, amount);
+        return true;
+    }
+
+    /**
+     * Adds one operation without checking limits. Operations older than the newest bucket
+     * already seen for their slot are dropped, they fell out of the window.
+     */
+    void add(long bucketNumber, long amount) {
+        int slot = slot(bucketNumber);
+        if (bucketNumbers[slot] < bucketNumber) {
+            bucketNumbers[slot] = bucketNumber;
+            counts[slot] = 0;
+            amounts[slot] = 0;
+        } else if (bucketNumbers[slot] > bucketNumber) {
+            return;
+        }
+        counts[slot]++;
+        amounts[slot] += amount;
+    }
+
+    /**
+     * Takes back an operation added in {@code bucketNumber}, if that bucket was not recycled since.
+     */
+    void remove(long bucketNumber, long amount) {
+        int slot = slot(bucketNumber);
+        if (bucketNumbers[slot] == bucketNumber && counts[slot] > 0) {
+            counts[slot]--;
+            amounts[slot] -= amount;
+        }
+    }
+
+    private int slot(long bucketNumber) {
+        return (int) Math.floorMod(bucketNumber, (long) bucketNumbers.length);
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.transactions_routine.service.velocity;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-process per-account sliding-window counters for the configured velocity rules. Accounts are
+ * spread over a fixed number of lock stripes, each a plain map of primitive ring buffers, so a
+ * check is a hash lookup plus a scan of one small array under an uncontended lock.
+ */
+@Component
+public class VelocityEngine {
+
+    private final Map<Long, CompiledRule> rules;
+    private final int buckets;
+    private final long longestWindowMillis;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public VelocityEngine(VelocityProperties properties) {
+        if (properties.buckets() < 1) {
+            throw new IllegalArgumentException("transactions.velocity.buckets must be positive");
+        }
+        this.buckets = properties.buckets();
+
+        var compiled = new HashMap<Long, CompiledRule>();
+        long longest = 0;
+        for (var entry : properties.rules().entrySet()) {
+            var rule = entry.getValue();
+            if (rule.window() == null || rule.window().isNegative() || rule.window().isZero()) {
+                throw new IllegalArgumentException("Velocity rule for operation type " + entry.getKey() + " needs a positive window");
+            }
+            var windowMillis = rule.window().toMillis();
+            compiled.put(entry.getKey(), new CompiledRule(
+                    compiled.size(),
+                    rule.window(),
+                    Math.max(1, windowMillis / buckets),
+                    rule.maxCount() == null ? Integer.MAX_VALUE : rule.maxCount(),
+                    rule.maxAmount() == null ? Long.MAX_VALUE : toCents(rule.maxAmount())));
+            longest = Math.max(longest, windowMillis);
+        }
+        this.rules = Map.copyOf(compiled);
+        this.longestWindowMillis = longest;
+
+        int stripeCount = Integer.highestOneBit(Math.max(1, properties.stripes() - 1) << 1);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    public boolean hasRule(long operationTypeId) {
+        return rules.containsKey(operationTypeId);
+    }
+
+    public Set<Long> ruleOperationTypeIds() {
+        return rules.keySet();
+    }
+
+    public Duration longestWindow() {
+        return Duration.ofMillis(longestWindowMillis);
+    }
+
+    public Duration window(long operationTypeId) {
+        var rule = rules.get(operationTypeId);
+        return rule == null ? null : rule.window();
+    }
+
+    /**
+     * Records the operation if it keeps the account within the rule of its operation type.
+     * Return false, recording nothing, if it would exceed the rule.
+     */
+    public boolean tryRecord(long accountId, long operationTypeId, long amountCents, long eventMillis) {
+        var rule = rules.get(operationTypeId);
+        if (rule == null) {
+            return true;
+        }
+        var stripe = stripeFor(accountId);
+        synchronized (stripe) {
+            var state = stripe.accounts.computeIfAbsent(accountId, id -> new AccountState(rules.size()));
+            var recorded = state.counter(rule.index(), buckets)
+                    .tryAdd(eventMillis / rule.bucketMillis(), amountCents, rule.maxCount(), rule.maxAmount());
+            if (recorded) {
+                state.lastEventMillis = Math.max(state.lastEventMillis, eventMillis);
+            }
+            return recorded;
+        }
+    }
+
+    /**
+     * Records a past operation without checking the rule, used to rebuild state on startup.
+     */
+    public void record(long accountId, long operationTypeId, long amountCents, long eventMillis) {
+        var rule = rules.get(operationTypeId);
+        if (rule == null) {
+            return;
+        }
+        var stripe = stripeFor(accountId);
+        synchronized (stripe) {
+            var state = stripe.accounts.computeIfAbsent(accountId, id -> new AccountState(rules.size()));
+            state.counter(rule.index(), buckets).add(eventMillis / rule.bucketMillis(), amountCents);
+            state.lastEventMillis = Math.max(state.lastEventMillis, eventMillis);
+        }
+    }
+
+    /**
+     * Takes back an operation recorded by {@link #tryRecord}, e.g. when its transaction rolled back.
+     */
+    public void remove(long accountId, long operationTypeId, long amountCents, long eventMillis) {
+        var rule = rules.get(operationTypeId);
+        if (rule == null) {
+            return;
+        }
+        var stripe = stripeFor(accountId);
+        synchronized (stripe) {
+            var state = stripe.accounts.get(accountId);
+            if (state != null && state.counters[rule.index()] != null) {
+                state.counters[rule.index()].remove(eventMillis / rule.bucketMillis(), amountCents);
+            }
+        }
+    }
+
+    /**
+     * Drops accounts with no operation inside the longest window; their counters are all empty.
+     * Return the number of accounts evicted.
+     */
+    public int evictIdle(long nowMillis) {
+        var idleBefore = nowMillis - longestWindowMillis;
+        int evicted = 0;
+        for (var stripe : stripes) {
+            synchronized (stripe) {
+                var iterator = stripe.accounts.values().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().lastEventMillis < idleBefore) {
+                        iterator.remove();
+                        evicted++;
+                    }
+                }
+            }
+        }
+        return evicted;
+    }
+
+    public int trackedAccounts() {
+        int tracked = 0;
+        for (var stripe : stripes) {
+            synchronized (stripe) {
+                tracked += stripe.accounts.size();
+            }
+        }
+        return tracked;
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount.abs().movePointRight(2).longValue();
+    }
+
+    private Stripe stripeFor(long accountId) {
+        return stripes[Long.hashCode(accountId * 0x9E3779B97F4A7C15L) & stripeMask];
+    }
+
+    private record CompiledRule(int index, Duration window, long bucketMillis, int maxCount, long maxAmount) {
+    }
+
+    private static final class Stripe {
+        private final Map<Long, AccountState> accounts = new HashMap<>();
+    }
+
+    private static final class AccountState {
+        private final SlidingWindowCounter[] counters;
+        private long lastEventMillis = Long.MIN_VALUE;
+
+        private AccountState(int rules) {
+            this.counters = new SlidingWindowCounter[rules];
+        }
+
+        private SlidingWindowCounter counter(int index, int buckets) {
+            if (counters[index] == null) {
+                counters[index] = new SlidingWindowCounter(buckets);
+            }
+            return counters[index];
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.transactions_routine.service.velocity;
+
+import com.example.transactions_routine.service.DomainException;
+
+public class VelocityLimitExceededException extends DomainException {
+    public VelocityLimitExceededException() {}
+
+    public VelocityLimitExceededException(String message) {
+        super(message);
+    }
+
+    public VelocityLimitExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
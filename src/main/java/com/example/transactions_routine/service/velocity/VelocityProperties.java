@@ -0,0 +1,36 @@
+package com.example.transactions_routine.service.velocity;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Velocity rules keyed by operation type id, e.g.
+ * {@code transactions.velocity.rules.3.window=PT1H}, {@code ...rules.3.max-count=10},
+ * {@code ...rules.3.max-amount=5000}. Operation types without a rule are not checked.
+ */
+@ConfigurationProperties(prefix = "transactions.velocity")
+public record VelocityProperties(
+        @DefaultValue("60") int buckets,
+        @DefaultValue("64") int stripes,
+        Map<Long, Rule> rules
+) {
+
+    public VelocityProperties {
+        rules = rules == null ? Map.of() : Map.copyOf(rules);
+    }
+
+    /**
+     * A limit of {@code maxCount} operations and {@code maxAmount} (absolute value) within {@code window}.
+     * Either limit may be omitted.
+     */
+    public record Rule(
+            Duration window,
+            Integer maxCount,
+            BigDecimal maxAmount
+    ) {
+    }
+}
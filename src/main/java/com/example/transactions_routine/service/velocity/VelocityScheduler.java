@@ -0,0 +1,42 @@
+package com.example.transactions_routine.service.velocity;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Rebuilds the velocity counters from recent transactions on startup and periodically drops
+ * accounts that have been idle for longer than the longest rule window.
+ */
+@Component
+@Profile("!in-memory")
+public class VelocityScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(VelocityScheduler.class);
+
+    private final VelocityServicePort velocityServicePort;
+
+    public VelocityScheduler(VelocityServicePort velocityServicePort) {
+        this.velocityServicePort = velocityServicePort;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        var replayed = velocityServicePort.rebuild(LocalDateTime.now());
+        logger.info("Velocity counters rebuilt from {} recent transactions", replayed);
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.velocity.eviction-interval:PT5M}")
+    public void evictIdle() {
+        var evicted = velocityServicePort.evictIdle(LocalDateTime.now());
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle accounts from the velocity counters", evicted);
+        }
+    }
+}
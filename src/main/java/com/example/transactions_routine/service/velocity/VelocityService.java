@@ -0,0 +1,111 @@
+package com.example.transactions_routine.service.velocity;
+
+import com.example.transactions_routine.repository.TransactionRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Velocity rules ("at most N operations or X amount per window") enforced from in-process
+ * counters instead of COUNT/SUM queries on every write. Counters are per instance: they are
+ * rebuilt from recent transactions on startup and only see the writes this instance handles.
+ */
+@Service
+@Profile("!in-memory")
+@Transactional(readOnly = true)
+public class VelocityService implements VelocityServicePort {
+
+    private final VelocityEngine velocityEngine;
+    private final TransactionRepository transactionRepository;
+
+    public VelocityService(VelocityEngine velocityEngine, TransactionRepository transactionRepository) {
+        this.velocityEngine = velocityEngine;
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * Records the operation or throws {@link VelocityLimitExceededException}. When called inside
+     * a transaction, the operation is taken back out of the counters if that transaction rolls back,
+     * or rolls back to a savepoint taken before it.
+     */
+    @Override
+    public void checkAndRecord(Long accountId, Long operationTypeId, BigDecimal amount) {
+        if (!velocityEngine.hasRule(operationTypeId)) {
+            return;
+        }
+
+        var amountCents = VelocityEngine.toCents(amount);
+        var eventMillis = System.currentTimeMillis();
+        if (!velocityEngine.tryRecord(accountId, operationTypeId, amountCents, eventMillis)) {
+            throw new VelocityLimitExceededException(
+                    String.format("Velocity limit exceeded. Account ID: %d, Operation type ID: %d, Window: %s",
+                            accountId, operationTypeId, velocityEngine.window(operationTypeId)));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // Savepoints taken after this operation; rolling back to an earlier one undoes it
+                private final Set<Object> laterSavepoints = Collections.newSetFromMap(new IdentityHashMap<>());
+                private boolean removed;
+
+                @Override
+                public void savepoint(Object savepoint) {
+                    laterSavepoints.add(savepoint);
+                }
+
+                @Override
+                public void savepointRollback(Object savepoint) {
+                    if (!removed && !laterSavepoints.contains(savepoint)) {
+                        velocityEngine.remove(accountId, operationTypeId, amountCents, eventMillis);
+                        removed = true;
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (!removed && status != STATUS_COMMITTED) {
+                        velocityEngine.remove(accountId, operationTypeId, amountCents, eventMillis);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Replays the transactions inside the longest rule window into the counters.
+     * Return the number of transactions replayed.
+     */
+    @Override
+    public long rebuild(LocalDateTime now) {
+        var operationTypeIds = velocityEngine.ruleOperationTypeIds();
+        if (operationTypeIds.isEmpty()) {
+            return 0;
+        }
+
+        var zone = ZoneId.systemDefault();
+        long replayed = 0;
+        try (var recentTransactions = transactionRepository.streamRecent(now.minus(velocityEngine.longestWindow()), operationTypeIds)) {
+            for (var iterator = recentTransactions.iterator(); iterator.hasNext(); replayed++) {
+                var transaction = iterator.next();
+                velocityEngine.record(transaction.accountId(), transaction.operationTypeId(),
+                        VelocityEngine.toCents(transaction.amount()),
+                        transaction.eventDate().atZone(zone).toInstant().toEpochMilli());
+            }
+        }
+        return replayed;
+    }
+
+    @Override
+    public int evictIdle(LocalDateTime now) {
+        return velocityEngine.evictIdle(now.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+}
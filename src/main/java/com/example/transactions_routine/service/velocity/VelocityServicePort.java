@@ -0,0 +1,10 @@
+package com.example.transactions_routine.service.velocity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface VelocityServicePort {
+    void checkAndRecord(Long accountId, Long operationTypeId, BigDecimal amount);
+    long rebuild(LocalDateTime now);
+    int evictIdle(LocalDateTime now);
+}
@@ -0,0 +1,3 @@
+-- Row version of an account, incremented by every balance UPDATE. The optimistic balance update
+-- strategy only applies a change if the version it read is still current.
+ALTER TABLE accounts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,14 @@
+-- A split account spreads incoming credits over balance_slots rows of account_balance_slots, so
+-- concurrent credits to a hot account (settlement, fee collection) update different rows instead of
+-- queueing on the accounts row. Its balance is accounts.balance plus the sum of its slots; debits
+-- first sweep the slots into accounts.balance. 0 means the account is not split.
+ALTER TABLE accounts ADD COLUMN balance_slots INT NOT NULL DEFAULT 0;
+
+CREATE TABLE account_balance_slots (
+    account_id BIGINT NOT NULL,
+    slot INT NOT NULL,
+    balance DECIMAL(10, 2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (account_id, slot),
+    CONSTRAINT fk_account_balance_slots_account_id FOREIGN KEY (account_id) REFERENCES accounts(id)
+);
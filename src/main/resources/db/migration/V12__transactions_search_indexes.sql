@@ -0,0 +1,19 @@
+-- Covering indexes for GET /v1/transactions/search. Each one is sorted like the search results
+-- (event_date DESC, id DESC) and includes every selected column, so each supported filter
+-- combination is an index-only scan that stops after one page.
+
+-- account_id, optionally with operation type, amount and event date range
+DROP INDEX idx_transactions_account_id;
+DROP INDEX idx_transactions_account_event_date;
+CREATE INDEX idx_transactions_account_search
+    ON transactions(account_id, event_date DESC, id DESC) INCLUDE (operation_type_id, amount);
+
+-- operation_type_id, optionally with amount and event date range
+DROP INDEX idx_transactions_operation_type_id;
+CREATE INDEX idx_transactions_operation_type_search
+    ON transactions(operation_type_id, event_date DESC, id DESC) INCLUDE (account_id, amount);
+
+-- event date range, optionally with amount; also serves the velocity rebuild on startup
+DROP INDEX idx_transactions_event_date;
+CREATE INDEX idx_transactions_event_date_search
+    ON transactions(event_date DESC, id DESC) INCLUDE (account_id, operation_type_id, amount);
@@ -0,0 +1,23 @@
+-- Progress of the month-end statement runs, so that an interrupted run resumes where it stopped
+CREATE TABLE statement_runs (
+    month DATE PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP
+);
+
+-- The accounts of a run split by id range. checkpoint_account_id is the last account whose
+-- statement file is written; the partition resumes after it.
+CREATE TABLE statement_partitions (
+    id BIGSERIAL PRIMARY KEY,
+    month DATE NOT NULL,
+    first_account_id BIGINT NOT NULL,
+    last_account_id BIGINT NOT NULL,
+    checkpoint_account_id BIGINT,
+    statements_written BIGINT NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_statement_partitions_month FOREIGN KEY (month) REFERENCES statement_runs(month)
+);
+
+CREATE INDEX idx_statement_partitions_month ON statement_partitions(month);
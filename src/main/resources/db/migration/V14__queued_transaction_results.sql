@@ -0,0 +1,9 @@
+-- Outcome of every transaction accepted by the asynchronous write mode, keyed by its tracking id.
+-- A row is written in the same database transaction as the transaction it reports, so a logged
+-- request that already has one is never applied twice.
+CREATE TABLE queued_transaction_results (
+    tracking_id UUID PRIMARY KEY,
+    transaction_id BIGINT,
+    failure_reason VARCHAR(255),
+    created_at TIMESTAMP NOT NULL
+);
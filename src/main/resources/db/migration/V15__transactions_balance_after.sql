@@ -0,0 +1,19 @@
+-- The account's booked balance (available plus held plus its balance slots) right after the
+-- transaction was applied, written in the same statement or transaction as the balance change.
+-- NULL for credits that went to a balance slot of a split account, and for rows written before
+-- this column existed until the balance-after back-fill job has run.
+ALTER TABLE transactions ADD COLUMN balance_after DECIMAL(10, 2);
+
+-- The covering search indexes of V12 also carry the running balance, so history reads stay
+-- index-only scans
+DROP INDEX idx_transactions_account_search;
+CREATE INDEX idx_transactions_account_search
+    ON transactions(account_id, event_date DESC, id DESC) INCLUDE (operation_type_id, amount, balance_after);
+
+DROP INDEX idx_transactions_operation_type_search;
+CREATE INDEX idx_transactions_operation_type_search
+    ON transactions(operation_type_id, event_date DESC, id DESC) INCLUDE (account_id, amount, balance_after);
+
+DROP INDEX idx_transactions_event_date_search;
+CREATE INDEX idx_transactions_event_date_search
+    ON transactions(event_date DESC, id DESC) INCLUDE (account_id, operation_type_id, amount, balance_after);
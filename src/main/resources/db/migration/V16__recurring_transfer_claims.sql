@@ -0,0 +1,7 @@
+-- Runs are recorded as CLAIMED in the transaction that claims them and settled when they finish,
+-- so a run whose instance died before finishing it is found again instead of lost
+ALTER TABLE recurring_transfer_executions ADD COLUMN claimed_at TIMESTAMP;
+ALTER TABLE recurring_transfer_executions ADD COLUMN updated_at TIMESTAMP;
+
+-- The recovery sweep only ever looks for runs left claimed by claim time
+CREATE INDEX idx_recurring_transfer_executions_claimed_at ON recurring_transfer_executions(claimed_at, id) WHERE status = 'CLAIMED';
@@ -0,0 +1,2 @@
+-- The periodic expiry backstop only ever looks for pending holds past their expiry
+CREATE INDEX idx_holds_authorized_expires_at ON holds(expires_at, id) WHERE status = 'AUTHORIZED';
@@ -0,0 +1,2 @@
+-- Allow Hibernate to pre-allocate transaction ids in blocks (pooled optimizer) so inserts can be JDBC-batched.
+ALTER SEQUENCE transactions_id_seq INCREMENT BY 50;
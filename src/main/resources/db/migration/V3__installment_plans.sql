@@ -0,0 +1,34 @@
+CREATE TABLE installment_plans (
+    id BIGSERIAL PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    operation_type_id BIGINT NOT NULL,
+    total_amount DECIMAL(10, 2) NOT NULL,
+    installment_count INT NOT NULL,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT fk_installment_plans_account_id FOREIGN KEY (account_id) REFERENCES accounts(id),
+    CONSTRAINT fk_installment_plans_operation_type_id FOREIGN KEY (operation_type_id) REFERENCES operation_types(id)
+);
+
+CREATE TABLE installments (
+    id BIGSERIAL PRIMARY KEY,
+    installment_plan_id BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    installment_number INT NOT NULL,
+    amount DECIMAL(10, 2) NOT NULL,
+    due_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    posted_at TIMESTAMP,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT fk_installments_installment_plan_id FOREIGN KEY (installment_plan_id) REFERENCES installment_plans(id),
+    CONSTRAINT fk_installments_account_id FOREIGN KEY (account_id) REFERENCES accounts(id),
+    CONSTRAINT uk_installments_plan_number UNIQUE (installment_plan_id, installment_number)
+);
+
+-- Pooled id allocation so a plan's installments are inserted in one JDBC batch
+ALTER SEQUENCE installments_id_seq INCREMENT BY 50;
+
+-- Only pending rows are ever claimed by the scheduler, keep the index small
+CREATE INDEX idx_installments_pending_due_date ON installments(due_date, id) WHERE status = 'PENDING';
+CREATE INDEX idx_installments_account_id ON installments(account_id);
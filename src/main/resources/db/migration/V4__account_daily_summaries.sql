@@ -0,0 +1,16 @@
+CREATE TABLE account_daily_summaries (
+    account_id BIGINT NOT NULL,
+    day DATE NOT NULL,
+    operation_type_id BIGINT NOT NULL,
+    total_amount DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_account_daily_summaries PRIMARY KEY (account_id, day, operation_type_id),
+    CONSTRAINT fk_account_daily_summaries_account_id FOREIGN KEY (account_id) REFERENCES accounts(id),
+    CONSTRAINT fk_account_daily_summaries_operation_type_id FOREIGN KEY (operation_type_id) REFERENCES operation_types(id)
+);
+
+-- Back-fill from the existing history; from now on the rollup is maintained on write
+INSERT INTO account_daily_summaries (account_id, day, operation_type_id, total_amount, transaction_count)
+SELECT account_id, CAST(event_date AS DATE), operation_type_id, SUM(amount), COUNT(*)
+  FROM transactions
+ GROUP BY account_id, CAST(event_date AS DATE), operation_type_id;
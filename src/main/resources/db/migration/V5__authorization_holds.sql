@@ -0,0 +1,22 @@
+-- Funds reserved by pending authorization holds. balance stays the available balance.
+ALTER TABLE accounts ADD COLUMN held_amount DECIMAL(10, 2) NOT NULL DEFAULT 0;
+
+CREATE TABLE holds (
+    id BIGSERIAL PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    operation_type_id BIGINT NOT NULL,
+    amount DECIMAL(10, 2) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'AUTHORIZED',
+    expires_at TIMESTAMP NOT NULL,
+    captured_amount DECIMAL(10, 2),
+    transaction_id BIGINT,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT fk_holds_account_id FOREIGN KEY (account_id) REFERENCES accounts(id),
+    CONSTRAINT fk_holds_operation_type_id FOREIGN KEY (operation_type_id) REFERENCES operation_types(id),
+    CONSTRAINT fk_holds_transaction_id FOREIGN KEY (transaction_id) REFERENCES transactions(id)
+);
+
+-- Used once at startup to rebuild the in-memory expiry wheel, never polled
+CREATE INDEX idx_holds_authorized_id ON holds(id) WHERE status = 'AUTHORIZED';
+CREATE INDEX idx_holds_account_id ON holds(account_id);
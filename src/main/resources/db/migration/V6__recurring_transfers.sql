@@ -0,0 +1,38 @@
+CREATE TABLE recurring_transfers (
+    id BIGSERIAL PRIMARY KEY,
+    source_account_id BIGINT NOT NULL,
+    destination_account_id BIGINT NOT NULL,
+    amount DECIMAL(10, 2) NOT NULL,
+    frequency VARCHAR(20) NOT NULL,
+    start_at TIMESTAMP NOT NULL,
+    end_at TIMESTAMP,
+    next_run_at TIMESTAMP NOT NULL,
+    run_count INT NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT fk_recurring_transfers_source_account_id FOREIGN KEY (source_account_id) REFERENCES accounts(id),
+    CONSTRAINT fk_recurring_transfers_destination_account_id FOREIGN KEY (destination_account_id) REFERENCES accounts(id)
+);
+
+-- The scheduler only ever looks for active definitions by next run time
+CREATE INDEX idx_recurring_transfers_active_next_run_at ON recurring_transfers(next_run_at, id) WHERE status = 'ACTIVE';
+
+CREATE TABLE recurring_transfer_executions (
+    id BIGSERIAL PRIMARY KEY,
+    recurring_transfer_id BIGINT NOT NULL,
+    scheduled_for TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    debit_transaction_id BIGINT,
+    credit_transaction_id BIGINT,
+    failure_reason VARCHAR(255),
+    created_at TIMESTAMP,
+    CONSTRAINT fk_recurring_transfer_executions_recurring_transfer_id FOREIGN KEY (recurring_transfer_id) REFERENCES recurring_transfers(id),
+    CONSTRAINT fk_recurring_transfer_executions_debit_transaction_id FOREIGN KEY (debit_transaction_id) REFERENCES transactions(id),
+    CONSTRAINT fk_recurring_transfer_executions_credit_transaction_id FOREIGN KEY (credit_transaction_id) REFERENCES transactions(id),
+    -- A run is recorded at most once, whichever instance executed it
+    CONSTRAINT uk_recurring_transfer_executions_run UNIQUE (recurring_transfer_id, scheduled_for)
+);
+
+-- Pooled id allocation so a batch of outcomes is inserted in one JDBC batch
+ALTER SEQUENCE recurring_transfer_executions_id_seq INCREMENT BY 50;
@@ -0,0 +1,3 @@
+-- Lets the velocity counters be rebuilt from the last window of transactions on startup
+-- without scanning the whole table
+CREATE INDEX idx_transactions_event_date ON transactions(event_date);
@@ -0,0 +1,14 @@
+-- One row per account and limited operation type. It carries both the optional per-account
+-- override of the configured default limit and the usage counter, so the balance UPDATE can
+-- check and increment the usage in the same statement. The counter resets lazily: usage
+-- recorded on an earlier usage_date counts as zero.
+CREATE TABLE account_daily_limits (
+    account_id BIGINT NOT NULL,
+    operation_type_id BIGINT NOT NULL,
+    daily_limit DECIMAL(10, 2),
+    usage_date DATE,
+    used_amount DECIMAL(10, 2) NOT NULL DEFAULT 0,
+    CONSTRAINT pk_account_daily_limits PRIMARY KEY (account_id, operation_type_id),
+    CONSTRAINT fk_account_daily_limits_account_id FOREIGN KEY (account_id) REFERENCES accounts(id),
+    CONSTRAINT fk_account_daily_limits_operation_type_id FOREIGN KEY (operation_type_id) REFERENCES operation_types(id)
+);
@@ -0,0 +1,45 @@
+-- Every shard allocates account and transaction ids from its own range (see ShardIds), so ids stay
+-- unique across shards and an id tells which shard created it. ${shard_id_base} is 0 on unsharded
+-- databases and on shard 0, where nothing changes.
+SELECT setval('accounts_id_seq', ${shard_id_base}) WHERE ${shard_id_base} > 0;
+SELECT setval('transactions_id_seq', ${shard_id_base}) WHERE ${shard_id_base} > 0;
+
+-- The sample account and transactions of V1 belong to shard 0 only; a new shard starts empty
+DELETE FROM account_daily_summaries WHERE ${shard_id_base} > 0;
+DELETE FROM transactions WHERE ${shard_id_base} > 0;
+DELETE FROM accounts WHERE ${shard_id_base} > 0;
+
+-- Directory of accounts moved away from their home shard by the rebalancer, kept on shard 0
+CREATE TABLE account_shard_overrides (
+    account_id BIGINT PRIMARY KEY,
+    shard INT NOT NULL,
+    moved_at TIMESTAMP NOT NULL
+);
+
+-- Transfers between accounts on different shards, recorded on the source shard together with the debit
+CREATE TABLE cross_shard_transfers (
+    id UUID PRIMARY KEY,
+    source_account_id BIGINT NOT NULL,
+    -- Lives on another shard, so it cannot be a foreign key
+    destination_account_id BIGINT NOT NULL,
+    amount DECIMAL(10, 2) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    debit_transaction_id BIGINT NOT NULL,
+    credit_transaction_id BIGINT,
+    failure_reason VARCHAR(255),
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT fk_cross_shard_transfers_source_account_id FOREIGN KEY (source_account_id) REFERENCES accounts(id),
+    CONSTRAINT fk_cross_shard_transfers_debit_transaction_id FOREIGN KEY (debit_transaction_id) REFERENCES transactions(id)
+);
+
+-- The recovery job only ever looks for transfers whose credit has not been confirmed
+CREATE INDEX idx_cross_shard_transfers_pending ON cross_shard_transfers(created_at) WHERE status = 'PENDING';
+
+-- Credits applied on the destination shard, one per transfer, which makes a re-driven credit a no-op
+CREATE TABLE cross_shard_transfer_credits (
+    transfer_id UUID PRIMARY KEY,
+    credit_transaction_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_cross_shard_transfer_credits_credit_transaction_id FOREIGN KEY (credit_transaction_id) REFERENCES transactions(id)
+);
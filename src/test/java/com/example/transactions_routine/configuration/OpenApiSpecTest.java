@@ -0,0 +1,89 @@
+package com.example.transactions_routine.configuration;
+
+import com.example.transactions_routine.service.account.AccountServicePort;
+import com.example.transactions_routine.service.activity.RecentActivityServicePort;
+import com.example.transactions_routine.service.hold.HoldServicePort;
+import com.example.transactions_routine.service.limit.DailyLimitServicePort;
+import com.example.transactions_routine.service.queue.TransactionQueuePort;
+import com.example.transactions_routine.service.recurring.RecurringTransferServicePort;
+import com.example.transactions_routine.service.summary.AccountSummaryServicePort;
+import com.example.transactions_routine.service.transaction.TransactionServicePort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springdoc.core.configuration.SpringDocConfiguration;
+import org.springdoc.core.properties.SpringDocConfigProperties;
+import org.springdoc.webmvc.core.configuration.SpringDocWebMvcConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Generates the OpenAPI document of all controllers at build time and checks it against the
+ * static/openapi.yaml served by production builds, which do not ship springdoc. Run with
+ * {@code -Dopenapi.update=true} to rewrite the file after changing an endpoint.
+ */
+@WebMvcTest
+@Import({JacksonConfig.class, SmileConfig.class, OpenApiConfig.class})
+@ImportAutoConfiguration({SpringDocConfiguration.class, SpringDocConfigProperties.class, SpringDocWebMvcConfiguration.class})
+class OpenApiSpecTest {
+
+    private static final Path STATIC_SPEC = Path.of("src/main/resources/static/openapi.yaml");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AccountServicePort accountServicePort;
+
+    @MockBean
+    private AccountSummaryServicePort accountSummaryServicePort;
+
+    @MockBean
+    private DailyLimitServicePort dailyLimitServicePort;
+
+    @MockBean
+    private RecentActivityServicePort recentActivityServicePort;
+
+    @MockBean
+    private TransactionServicePort transactionServicePort;
+
+    @MockBean
+    private TransactionQueuePort transactionQueuePort;
+
+    @MockBean
+    private HoldServicePort holdServicePort;
+
+    @MockBean
+    private RecurringTransferServicePort recurringTransferServicePort;
+
+    @Test
+    @DisplayName("Should match the static OpenAPI document served by production builds")
+    void shouldMatchStaticSpec() throws Exception {
+        var generated = mockMvc.perform(get("/v3/api-docs.yaml"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        if (Boolean.getBoolean("openapi.update")) {
+            Files.createDirectories(STATIC_SPEC.getParent());
+            Files.writeString(STATIC_SPEC, generated);
+        }
+
+        assertTrue(Files.exists(STATIC_SPEC), "static/openapi.yaml is missing, run with -Dopenapi.update=true");
+        assertEquals(Files.readString(STATIC_SPEC), generated,
+                "static/openapi.yaml is out of date, rerun with -Dopenapi.update=true");
+    }
+}
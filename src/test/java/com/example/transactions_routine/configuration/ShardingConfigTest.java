@@ -0,0 +1,24 @@
+package com.example.transactions_routine.configuration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sharding Configuration Tests")
+class ShardingConfigTest {
+
+    @Test
+    @DisplayName("Given open-in-view is on, it should refuse to start, since the request would pin the shard of its first transaction")
+    void shouldRejectOpenInView() {
+        var exception = assertThrows(IllegalStateException.class, () -> new ShardingConfig(true));
+
+        assertTrue(exception.getMessage().contains("spring.jpa.open-in-view=false"));
+    }
+
+    @Test
+    @DisplayName("Given open-in-view is off, it should start")
+    void shouldAcceptOpenInViewOff() {
+        assertDoesNotThrow(() -> new ShardingConfig(false));
+    }
+}
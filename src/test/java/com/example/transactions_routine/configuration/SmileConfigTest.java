@@ -0,0 +1,110 @@
+package com.example.transactions_routine.configuration;
+
+import com.example.transactions_routine.controller.ApiResponse;
+import com.example.transactions_routine.controller.transaction.TransactionResponse;
+import com.example.transactions_routine.fixture.TransactionFixture;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JsonTest
+@DisplayName("Smile Configuration Tests")
+@Import({JacksonConfig.class, SmileConfig.class})
+class SmileConfigTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter;
+
+    private ApiResponse<List<TransactionResponse>> page(int size) {
+        var transactions = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> TransactionResponse.fromDomain(
+                        TransactionFixture.validTransaction(id, 1L, 1L, new BigDecimal("-123.45"))))
+                .toList();
+        return new ApiResponse<>(200, "Transactions found successfully.", transactions, null);
+    }
+
+    @Test
+    @DisplayName("Should encode the same snake_case fields as the JSON mapper")
+    void shouldEncodeSameFieldsAsJson() throws Exception {
+        var smileMapper = smileHttpMessageConverter.getObjectMapper();
+        var response = page(1);
+
+        JsonNode fromSmile = smileMapper.readTree(smileMapper.writeValueAsBytes(response));
+        JsonNode fromJson = objectMapper.readTree(objectMapper.writeValueAsBytes(response));
+
+        // Smile keeps amounts as BigDecimal nodes while JSON reads them back as doubles, so compare the text form
+        assertEquals(fromJson.toString(), fromSmile.toString());
+        assertTrue(fromSmile.get("data").get(0).has("operation_type_id"));
+        assertEquals("2025-01-15T10:30:45.123456789", fromSmile.get("data").get(0).get("event_date").asText());
+    }
+
+    @Test
+    @DisplayName("Should produce a smaller payload than JSON for a list of transactions")
+    void shouldProduceSmallerPayloadThanJson() throws Exception {
+        var response = page(100);
+
+        var smile = smileHttpMessageConverter.getObjectMapper().writeValueAsBytes(response);
+        var json = objectMapper.writeValueAsBytes(response);
+
+        assertTrue(smile.length < json.length, "Smile " + smile.length + " bytes, JSON " + json.length + " bytes");
+    }
+
+    /**
+     * Rough payload size and encode/decode cost of Smile against JSON.
+     * Run with {@code ./mvnw test -Dtest=SmileConfigTest -Dbenchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark: payload size and serialization time, Smile vs JSON")
+    void benchmark() throws Exception {
+        var smileMapper = smileHttpMessageConverter.getObjectMapper();
+        for (var size : List.of(1, 100)) {
+            var response = page(size);
+            var json = measure(objectMapper, response);
+            var smile = measure(smileMapper, response);
+            System.out.printf("%d transaction(s): JSON %d bytes, %.0f ns write, %.0f ns read | Smile %d bytes, %.0f ns write, %.0f ns read%n",
+                    size, json.bytes(), json.writeNanos(), json.readNanos(),
+                    smile.bytes(), smile.writeNanos(), smile.readNanos());
+        }
+    }
+
+    private static Measurement measure(ObjectMapper mapper, Object value) throws Exception {
+        var iterations = 20_000;
+        var bytes = mapper.writeValueAsBytes(value);
+        for (int i = 0; i < iterations; i++) {
+            mapper.readTree(mapper.writeValueAsBytes(value));
+        }
+
+        var start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            bytes = mapper.writeValueAsBytes(value);
+        }
+        var writeNanos = (System.nanoTime() - start) / (double) iterations;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            mapper.readTree(bytes);
+        }
+        var readNanos = (System.nanoTime() - start) / (double) iterations;
+
+        return new Measurement(bytes.length, writeNanos, readNanos);
+    }
+
+    private record Measurement(int bytes, double writeNanos, double readNanos) {
+    }
+}
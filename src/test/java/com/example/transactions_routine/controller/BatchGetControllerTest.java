@@ -0,0 +1,134 @@
+package com.example.transactions_routine.controller;
+
+import com.example.transactions_routine.configuration.JacksonConfig;
+import com.example.transactions_routine.repository.AccountView;
+import com.example.transactions_routine.repository.TransactionView;
+import com.example.transactions_routine.service.account.AccountServicePort;
+import com.example.transactions_routine.service.transaction.TransactionServicePort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BatchGetController.class)
+@Import(JacksonConfig.class)
+class BatchGetControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AccountServicePort accountServicePort;
+
+    @MockBean
+    private TransactionServicePort transactionServicePort;
+
+    private record Account(Long getId, String getDocumentNumber, BigDecimal getBalance, BigDecimal getHeldAmount)
+            implements AccountView {
+    }
+
+    private record Transaction(Long getId, Long getAccountId, Long getOperationTypeId, BigDecimal getAmount,
+                               LocalDateTime getEventDate, BigDecimal getBalanceAfter) implements TransactionView {
+    }
+
+    @Nested
+    @DisplayName("POST /v1/accounts:batchGet")
+    class BatchGetAccounts {
+
+        @Test
+        @DisplayName("Given found and unknown IDs, it should return the accounts in request order and list the missing IDs")
+        void shouldReturnFoundAccountsAndMissingIds() throws Exception {
+            // Given
+            when(accountServicePort.findAllById(any())).thenReturn(List.of(
+                    new Account(1L, "12345678900", new BigDecimal("100.00"), BigDecimal.ZERO),
+                    new Account(3L, "98765432100", new BigDecimal("50.00"), BigDecimal.ZERO)));
+
+            // When / Then
+            mockMvc.perform(post("/v1/accounts:batchGet")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ids\": [3, 999, 1, 3]}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value(HttpStatus.OK.value()))
+                    .andExpect(jsonPath("$.message").value("Accounts found successfully."))
+                    .andExpect(jsonPath("$.data.found.length()").value(2))
+                    .andExpect(jsonPath("$.data.found[0].id").value(3))
+                    .andExpect(jsonPath("$.data.found[1].document_number").value("12345678900"))
+                    .andExpect(jsonPath("$.data.missing.length()").value(1))
+                    .andExpect(jsonPath("$.data.missing[0]").value(999));
+
+            verify(accountServicePort).findAllById(argThat(ids -> Set.copyOf(ids).equals(Set.of(1L, 3L, 999L)) && ids.size() == 3));
+        }
+
+        @Test
+        @DisplayName("Given an empty ID list, it should return a 400 BAD REQUEST error")
+        void shouldReturnBadRequestForEmptyIds() throws Exception {
+            mockMvc.perform(post("/v1/accounts:batchGet")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ids\": []}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errors.ids").value("At least one ID is required"));
+
+            verify(accountServicePort, never()).findAllById(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /v1/transactions:batchGet")
+    class BatchGetTransactions {
+
+        @Test
+        @DisplayName("Given only unknown IDs, it should return an empty list and every ID as missing")
+        void shouldReportEveryUnknownIdAsMissing() throws Exception {
+            // Given
+            when(transactionServicePort.findAllById(any())).thenReturn(List.of());
+
+            // When / Then
+            mockMvc.perform(post("/v1/transactions:batchGet")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ids\": [998, 999]}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.found.length()").value(0))
+                    .andExpect(jsonPath("$.data.missing[0]").value(998))
+                    .andExpect(jsonPath("$.data.missing[1]").value(999));
+        }
+
+        @Test
+        @DisplayName("Given existing IDs, it should return the transactions in request order")
+        void shouldReturnTransactionsInRequestOrder() throws Exception {
+            // Given
+            var eventDate = LocalDateTime.of(2025, 1, 15, 10, 30);
+            when(transactionServicePort.findAllById(any())).thenReturn(List.of(
+                    new Transaction(1L, 1L, 1L, new BigDecimal("-50.00"), eventDate, new BigDecimal("950.00")),
+                    new Transaction(2L, 1L, 4L, new BigDecimal("60.00"), eventDate, new BigDecimal("1010.00"))));
+
+            // When / Then
+            mockMvc.perform(post("/v1/transactions:batchGet")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ids\": [2, 1]}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Transactions found successfully."))
+                    .andExpect(jsonPath("$.data.found[0].id").value(2))
+                    .andExpect(jsonPath("$.data.found[0].operation_type_id").value(4))
+                    .andExpect(jsonPath("$.data.found[1].amount").value(-50.00))
+                    .andExpect(jsonPath("$.data.missing.length()").value(0));
+        }
+    }
+}
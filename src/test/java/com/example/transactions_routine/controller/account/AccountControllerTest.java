@@ -2,10 +2,18 @@ package com.example.transactions_routine.controller.account;
 
 import com.example.transactions_routine.configuration.JacksonConfig;
 import com.example.transactions_routine.fixture.AccountFixture;
+import com.example.transactions_routine.fixture.TransactionFixture;
 import com.example.transactions_routine.model.Account;
+import com.example.transactions_routine.repository.OperationTypeTotal;
+import com.example.transactions_routine.repository.TransactionView;
 import com.example.transactions_routine.service.account.AccountDocumentAlreadyExistsException;
 import com.example.transactions_routine.service.account.AccountNotFoundException;
 import com.example.transactions_routine.service.account.AccountServicePort;
+import com.example.transactions_routine.service.activity.RecentActivityServicePort;
+import com.example.transactions_routine.service.limit.DailyLimitServicePort;
+import com.example.transactions_routine.service.limit.InvalidDailyLimitException;
+import com.example.transactions_routine.service.summary.AccountSummaryServicePort;
+import com.example.transactions_routine.service.summary.InvalidSummaryPeriodException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -21,11 +29,17 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.hamcrest.Matchers.endsWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(AccountController.class)
@@ -43,6 +57,15 @@ class AccountControllerTest {
     @MockBean
     private AccountServicePort accountServicePort;
 
+    @MockBean
+    private AccountSummaryServicePort accountSummaryServicePort;
+
+    @MockBean
+    private DailyLimitServicePort dailyLimitServicePort;
+
+    @MockBean
+    private RecentActivityServicePort recentActivityServicePort;
+
     @Nested
     @DisplayName("POST /v1/accounts")
     class createAccount {
@@ -224,5 +247,221 @@ class AccountControllerTest {
 
     }
 
+    @Nested
+    @DisplayName("POST /v1/accounts/transfers/batch")
+    class batchTransfer {
+
+        @Test
+        @DisplayName("Given a valid batch it should return 201 Created with one compact result per leg")
+        void shouldReturnCompactPerLegResult() throws Exception {
+            // Given
+            var request = """
+                    {
+                      "source_account_id": 1,
+                      "legs": [
+                        {"destination_account_id": 2, "amount": 10.00},
+                        {"destination_account_id": 3, "amount": 5.50}
+                      ]
+                    }
+                    """;
+            var debits = List.of(
+                    TransactionFixture.validTransaction(10L, 1L, 6L, new BigDecimal("-10.00")),
+                    TransactionFixture.validTransaction(11L, 1L, 6L, new BigDecimal("-5.50")));
+            var credits = List.of(
+                    TransactionFixture.validTransaction(12L, 2L, 5L, new BigDecimal("10.00")),
+                    TransactionFixture.validTransaction(13L, 3L, 5L, new BigDecimal("5.50")));
+            var result = new BatchTransferResult(LocalDateTime.of(2025, 1, 15, 10, 30), 1L, new BigDecimal("15.50"), debits, credits);
+
+            when(accountServicePort.batchTransfer(any(BatchTransferRequest.class))).thenReturn(result);
+
+            // When & Then
+            mockMvc.perform(post(ACCOUNT_URI + "/transfers/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(request)
+                    )
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data.source_account_id").value(1))
+                    .andExpect(jsonPath("$.data.total_amount").value(15.50))
+                    .andExpect(jsonPath("$.data.legs.length()").value(2))
+                    .andExpect(jsonPath("$.data.legs[1].destination_account_id").value(3))
+                    .andExpect(jsonPath("$.data.legs[1].debit_transaction_id").value(11))
+                    .andExpect(jsonPath("$.data.legs[1].credit_transaction_id").value(13));
+
+            verify(accountServicePort, times(1)).batchTransfer(any(BatchTransferRequest.class));
+        }
+
+        @Test
+        @DisplayName("Given a batch without legs it should return 400 BAD REQUEST error")
+        void shouldReturnBadRequestWhenLegsAreEmpty() throws Exception {
+            mockMvc.perform(post(ACCOUNT_URI + "/transfers/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"source_account_id\": 1, \"legs\": []}")
+                    )
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errors.legs").exists());
+
+            verify(accountServicePort, never()).batchTransfer(any(BatchTransferRequest.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /v1/accounts/{id}/summary")
+    class summary {
+
+        @Test
+        @DisplayName("Given a period it should return 200 OK with the totals per operation type")
+        void shouldReturnTotalsPerOperationType() throws Exception {
+            // Given
+            var from = LocalDate.of(2020, 1, 1);
+            var to = LocalDate.of(2020, 1, 31);
+            when(accountSummaryServicePort.summarize(1L, from, to)).thenReturn(List.of(
+                    new OperationTypeTotal(1L, new BigDecimal("-92.20"), 3L),
+                    new OperationTypeTotal(4L, new BigDecimal("60.00"), 1L)));
+
+            // When & Then
+            mockMvc.perform(get(ACCOUNT_URI + "/1/summary").param("from", "2020-01-01").param("to", "2020-01-31"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.account_id").value(1))
+                    .andExpect(jsonPath("$.data.from").value("2020-01-01"))
+                    .andExpect(jsonPath("$.data.operation_types.length()").value(2))
+                    .andExpect(jsonPath("$.data.operation_types[0].total_amount").value(-92.20))
+                    .andExpect(jsonPath("$.data.operation_types[0].transaction_count").value(3));
+
+            verify(accountSummaryServicePort, times(1)).summarize(1L, from, to);
+        }
+
+        @Test
+        @DisplayName("Given an inverted period it should return 400 BAD REQUEST error")
+        void shouldReturnBadRequestForInvertedPeriod() throws Exception {
+            // Given
+            when(accountSummaryServicePort.summarize(any(), any(), any()))
+                    .thenThrow(new InvalidSummaryPeriodException("Start date must not be after end date"));
+
+            // When & Then
+            mockMvc.perform(get(ACCOUNT_URI + "/1/summary").param("from", "2020-02-01").param("to", "2020-01-01"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Start date must not be after end date"));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /v1/accounts/{id}/recent-activity")
+    class RecentActivity {
+
+        private record RecentTransaction(Long getId, Long getAccountId, Long getOperationTypeId, BigDecimal getAmount,
+                                         LocalDateTime getEventDate, BigDecimal getBalanceAfter) implements TransactionView {
+        }
+
+        @Test
+        @DisplayName("Given an account with transactions it should return 200 OK with them, newest first")
+        void shouldReturnRecentActivity() throws Exception {
+            // Given
+            TransactionView transaction = new RecentTransaction(4L, 1L, 4L, new BigDecimal("60.00"), LocalDateTime.of(2020, 1, 5, 9, 34),
+                    new BigDecimal("-32.20"));
+            when(recentActivityServicePort.findRecentActivity(1L)).thenReturn(List.of(transaction));
+
+            // When & Then
+            mockMvc.perform(get(ACCOUNT_URI + "/1/recent-activity"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.length()").value(1))
+                    .andExpect(jsonPath("$.data[0].id").value(4))
+                    .andExpect(jsonPath("$.data[0].amount").value(60.00));
+
+            verify(recentActivityServicePort, times(1)).findRecentActivity(1L);
+        }
+
+        @Test
+        @DisplayName("Given a non-existent account it should return 404 NOT FOUND error")
+        void shouldReturnNotFoundForUnknownAccount() throws Exception {
+            // Given
+            when(recentActivityServicePort.findRecentActivity(999L))
+                    .thenThrow(new AccountNotFoundException("Account not found with id: 999"));
+
+            // When & Then
+            mockMvc.perform(get(ACCOUNT_URI + "/999/recent-activity"))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.message").value("Account not found with id: 999"));
+        }
+    }
+
+    @Nested
+    @DisplayName("PUT /v1/accounts/{id}/daily-limits/{operationTypeId}")
+    class SetDailyLimit {
+
+        @Test
+        @DisplayName("Given a valid limit it should return 200 OK with today's usage")
+        void shouldSetDailyLimit() throws Exception {
+            // Given
+            var today = LocalDate.now();
+            when(dailyLimitServicePort.setDailyLimit(1L, 3L, new BigDecimal("500.00"), today))
+                    .thenReturn(new DailyLimitResult(3L, today, new BigDecimal("500.00"), new BigDecimal("120.00"), new BigDecimal("380.00")));
+
+            // When & Then
+            mockMvc.perform(put(ACCOUNT_URI + "/1/daily-limits/3")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"daily_limit\": 500.00}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.operation_type_id").value(3))
+                    .andExpect(jsonPath("$.data.daily_limit").value(500.00))
+                    .andExpect(jsonPath("$.data.remaining_amount").value(380.00));
+        }
+
+        @Test
+        @DisplayName("Given a negative limit it should return 400 BAD REQUEST error")
+        void shouldRejectNegativeLimit() throws Exception {
+            mockMvc.perform(put(ACCOUNT_URI + "/1/daily-limits/3")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"daily_limit\": -1}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errors.daily_limit").value("Daily limit cannot be negative"));
+
+            verify(dailyLimitServicePort, never()).setDailyLimit(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Given an operation type without a daily limit it should return 400 BAD REQUEST error")
+        void shouldRejectUnlimitedOperationType() throws Exception {
+            when(dailyLimitServicePort.setDailyLimit(any(), any(), any(), any()))
+                    .thenThrow(new InvalidDailyLimitException("Operation type 4 has no daily limit"));
+
+            mockMvc.perform(put(ACCOUNT_URI + "/1/daily-limits/4")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"daily_limit\": 10}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Operation type 4 has no daily limit"));
+        }
+    }
+
+    @Nested
+    @DisplayName("PUT /v1/accounts/{id}/balance-slots")
+    class SetBalanceSlots {
+
+        @Test
+        @DisplayName("Given a valid number of slots it should return 200 OK with the account")
+        void shouldSetBalanceSlots() throws Exception {
+            // Given
+            when(accountServicePort.setBalanceSlots(1L, 16)).thenReturn(AccountFixture.validAccount(1L));
+
+            // When & Then
+            mockMvc.perform(put(ACCOUNT_URI + "/1/balance-slots")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"balance_slots\": 16}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Account balance slots updated successfully."))
+                    .andExpect(jsonPath("$.data.id").value(1));
+        }
+
+        @Test
+        @DisplayName("Given too many slots it should return 400 BAD REQUEST error")
+        void shouldRejectTooManyBalanceSlots() throws Exception {
+            mockMvc.perform(put(ACCOUNT_URI + "/1/balance-slots")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"balance_slots\": 257}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errors.balance_slots").value("Balance slots cannot exceed 256"));
+
+            verify(accountServicePort, never()).setBalanceSlots(any(), anyInt());
+        }
+    }
 
-}
\ No newline at end of file
+}
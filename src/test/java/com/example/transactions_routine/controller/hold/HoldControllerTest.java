@@ -0,0 +1,109 @@
+package com.example.transactions_routine.controller.hold;
+
+import com.example.transactions_routine.configuration.JacksonConfig;
+import com.example.transactions_routine.fixture.AccountFixture;
+import com.example.transactions_routine.fixture.OperationTypeFixture;
+import com.example.transactions_routine.fixture.TransactionFixture;
+import com.example.transactions_routine.model.Hold;
+import com.example.transactions_routine.model.HoldStatus;
+import com.example.transactions_routine.service.hold.HoldNotActiveException;
+import com.example.transactions_routine.service.hold.HoldServicePort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(HoldController.class)
+@Import(JacksonConfig.class)
+class HoldControllerTest {
+
+    private static final String HOLD_URI = "/v1/holds";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private HoldServicePort holdServicePort;
+
+    @Nested
+    @DisplayName("POST /v1/holds")
+    class Authorize {
+
+        @Test
+        @DisplayName("Given a valid request it should return 201 Created with the authorized hold")
+        void shouldAuthorizeHold() throws Exception {
+            var hold = Hold.builder()
+                    .id(5L)
+                    .account(AccountFixture.validAccount(1L))
+                    .operationType(OperationTypeFixture.validDebitOperationType())
+                    .amount(new BigDecimal("50.00"))
+                    .status(HoldStatus.AUTHORIZED)
+                    .expiresAt(LocalDateTime.of(2025, 1, 1, 12, 0))
+                    .build();
+            when(holdServicePort.authorize(any(HoldRequest.class))).thenReturn(hold);
+
+            mockMvc.perform(post(HOLD_URI)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"account_id\": 1, \"operation_type_id\": 1, \"amount\": 50.00}"))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data.id").value(5))
+                    .andExpect(jsonPath("$.data.status").value("AUTHORIZED"))
+                    .andExpect(jsonPath("$.data.expires_at").value("2025-01-01T12:00:00"))
+                    .andExpect(header().string("Location", endsWith(HOLD_URI + "/5")));
+        }
+
+        @Test
+        @DisplayName("Given a missing amount it should return 400 BAD REQUEST error")
+        void shouldRejectMissingAmount() throws Exception {
+            mockMvc.perform(post(HOLD_URI)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"account_id\": 1, \"operation_type_id\": 1}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errors.amount").value("Amount is required"));
+
+            verify(holdServicePort, never()).authorize(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /v1/holds/{id}/capture")
+    class Capture {
+
+        @Test
+        @DisplayName("Given an authorized hold it should return 201 Created with the booked transaction")
+        void shouldCaptureHold() throws Exception {
+            var transaction = TransactionFixture.validTransaction(10L, 1L, 1L, new BigDecimal("-50.00"));
+            when(holdServicePort.capture(eq(5L), any())).thenReturn(transaction);
+
+            mockMvc.perform(post(HOLD_URI + "/5/capture"))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data.id").value(10))
+                    .andExpect(jsonPath("$.data.amount").value(-50.00));
+        }
+
+        @Test
+        @DisplayName("Given a hold that already expired it should return 409 CONFLICT error")
+        void shouldReturnConflictForSettledHold() throws Exception {
+            when(holdServicePort.capture(eq(5L), any())).thenThrow(new HoldNotActiveException("Hold 5 is no longer authorized"));
+
+            mockMvc.perform(post(HOLD_URI + "/5/capture"))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.message").value("Hold 5 is no longer authorized"));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.transactions_routine.controller.recurring;
+
+import com.example.transactions_routine.configuration.JacksonConfig;
+import com.example.transactions_routine.fixture.AccountFixture;
+import com.example.transactions_routine.model.RecurringTransfer;
+import com.example.transactions_routine.model.RecurringTransferFrequency;
+import com.example.transactions_routine.service.recurring.RecurringTransferNotActiveException;
+import com.example.transactions_routine.service.recurring.RecurringTransferServicePort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RecurringTransferController.class)
+@Import(JacksonConfig.class)
+class RecurringTransferControllerTest {
+
+    private static final String RECURRING_TRANSFER_URI = "/v1/recurring-transfers";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RecurringTransferServicePort recurringTransferServicePort;
+
+    @Nested
+    @DisplayName("POST /v1/recurring-transfers")
+    class Create {
+
+        @Test
+        @DisplayName("Given a valid request it should return 201 Created with the next run")
+        void shouldCreateRecurringTransfer() throws Exception {
+            var startAt = LocalDateTime.of(2025, 1, 31, 9, 0);
+            var recurringTransfer = RecurringTransfer.builder()
+                    .id(3L)
+                    .sourceAccount(AccountFixture.validAccount(1L))
+                    .destinationAccount(AccountFixture.validAccount(2L))
+                    .amount(new BigDecimal("100.00"))
+                    .frequency(RecurringTransferFrequency.MONTHLY)
+                    .startAt(startAt)
+                    .build();
+            when(recurringTransferServicePort.create(any(RecurringTransferRequest.class))).thenReturn(recurringTransfer);
+
+            mockMvc.perform(post(RECURRING_TRANSFER_URI)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"source_account_id": 1, "destination_account_id": 2, "amount": 100.00,
+                                     "frequency": "MONTHLY", "start_at": "2025-01-31T09:00:00"}
+                                    """))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data.id").value(3))
+                    .andExpect(jsonPath("$.data.status").value("ACTIVE"))
+                    .andExpect(jsonPath("$.data.next_run_at").value("2025-01-31T09:00:00"))
+                    .andExpect(header().string("Location", endsWith(RECURRING_TRANSFER_URI + "/3")));
+        }
+
+        @Test
+        @DisplayName("Given a missing frequency it should return 400 BAD REQUEST error")
+        void shouldRejectMissingFrequency() throws Exception {
+            mockMvc.perform(post(RECURRING_TRANSFER_URI)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"source_account_id\": 1, \"destination_account_id\": 2, \"amount\": 100.00}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errors.frequency").value("Frequency is required"));
+
+            verify(recurringTransferServicePort, never()).create(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /v1/recurring-transfers/{id}/cancel")
+    class Cancel {
+
+        @Test
+        @DisplayName("Given a transfer that already ended it should return 409 CONFLICT error")
+        void shouldReturnConflictForEndedTransfer() throws Exception {
+            when(recurringTransferServicePort.cancel(3L))
+                    .thenThrow(new RecurringTransferNotActiveException("Recurring transfer 3 is no longer active"));
+
+            mockMvc.perform(post(RECURRING_TRANSFER_URI + "/3/cancel"))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.message").value("Recurring transfer 3 is no longer active"));
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package com.example.transactions_routine.controller.transaction;
 
 import com.example.transactions_routine.configuration.JacksonConfig;
+import com.example.transactions_routine.configuration.SmileConfig;
 import com.example.transactions_routine.fixture.TransactionFixture;
+import com.example.transactions_routine.repository.TransactionSearchCriteria;
+import com.example.transactions_routine.repository.TransactionView;
+import com.example.transactions_routine.service.queue.QueuedTransaction;
+import com.example.transactions_routine.service.queue.QueuedTransactionNotFoundException;
+import com.example.transactions_routine.service.queue.TransactionQueueFullException;
+import com.example.transactions_routine.service.queue.TransactionQueuePort;
+import com.example.transactions_routine.service.transaction.InvalidTransactionSearchException;
 import com.example.transactions_routine.service.transaction.TransactionNotFoundException;
 import com.example.transactions_routine.service.transaction.TransactionServicePort;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,20 +22,31 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TransactionController.class)
-@Import(JacksonConfig.class)
+@Import({JacksonConfig.class, SmileConfig.class})
 class TransactionControllerTest {
 
     private static final String TRANSACTION_URI = "/v1/transactions";
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
 
     @Autowired
     private MockMvc mockMvc;
@@ -35,9 +54,15 @@ class TransactionControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter;
+
     @MockBean
     private TransactionServicePort transactionServicePort;
 
+    @MockBean
+    private TransactionQueuePort transactionQueuePort;
+
     @Nested
     @DisplayName("POST /v1/transactions")
     class CreateTransaction {
@@ -66,6 +91,32 @@ class TransactionControllerTest {
             verify(transactionServicePort, times(1)).createTransaction(any(TransactionRequest.class));
         }
 
+        @Test
+        @DisplayName("Given a Smile request accepting Smile, it should create the transaction and answer in Smile")
+        void shouldCreateTransactionWithSmilePayload() throws Exception {
+            // Given
+            var smileMapper = smileHttpMessageConverter.getObjectMapper();
+            var request = TransactionFixture.validTransactionRequest(1L, 1L, new BigDecimal("123.45"));
+            var expectedTransaction = TransactionFixture.validTransaction();
+            when(transactionServicePort.createTransaction(request)).thenReturn(expectedTransaction);
+
+            // When
+            var result = mockMvc.perform(post(TRANSACTION_URI)
+                            .contentType(SMILE)
+                            .accept(SMILE)
+                            .content(smileMapper.writeValueAsBytes(request))
+                    )
+                    .andExpect(status().isCreated())
+                    .andExpect(content().contentType(SMILE))
+                    .andReturn();
+
+            // Then
+            var body = smileMapper.readTree(result.getResponse().getContentAsByteArray());
+            assertEquals(HttpStatus.CREATED.value(), body.get("status").asInt());
+            assertEquals(expectedTransaction.getAccount().getId(), body.get("data").get("account_id").asLong());
+            assertEquals(expectedTransaction.getAmount(), body.get("data").get("amount").decimalValue());
+        }
+
         @Test
         @DisplayName("Given a malformed JSON payload, it should return a 400 BAD REQUEST error")
         void shouldReturnBadRequestForMalformedJsonPayload() throws Exception {
@@ -203,4 +254,124 @@ class TransactionControllerTest {
             verify(transactionServicePort, times(1)).findById(invalidTransactionId);
         }
     }
+
+    @Nested
+    @DisplayName("GET /v1/transactions/search")
+    class SearchTransactions {
+
+        private record Row(Long getId, Long getAccountId, Long getOperationTypeId, BigDecimal getAmount,
+                           LocalDateTime getEventDate, BigDecimal getBalanceAfter) implements TransactionView {
+        }
+
+        @Test
+        @DisplayName("Given filters, it should pass them to the search and return the page with its next cursor")
+        void shouldReturnSearchPage() throws Exception {
+            // Given
+            var transaction = new Row(7L, 1L, 4L, new BigDecimal("25.00"), LocalDateTime.of(2025, 1, 15, 10, 30), new BigDecimal("125.00"));
+            when(transactionServicePort.search(any(), eq("abc"), eq(20)))
+                    .thenReturn(new TransactionSearchResult(List.of(transaction), "next"));
+
+            // When & Then
+            mockMvc.perform(get(TRANSACTION_URI + "/search")
+                            .param("account_id", "1")
+                            .param("operation_type_id", "4")
+                            .param("min_amount", "10.00")
+                            .param("from", "2025-01-01T00:00:00")
+                            .param("cursor", "abc")
+                            .param("limit", "20"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Transactions found successfully."))
+                    .andExpect(jsonPath("$.data.transactions[0].id").value(7))
+                    .andExpect(jsonPath("$.data.transactions[0].operation_type_id").value(4))
+                    .andExpect(jsonPath("$.data.next_cursor").value("next"));
+
+            verify(transactionServicePort).search(argThat((TransactionSearchCriteria criteria) ->
+                    criteria.getAccountId() == 1L
+                            && criteria.getOperationTypeId() == 4L
+                            && criteria.getMinAmount().compareTo(new BigDecimal("10.00")) == 0
+                            && criteria.getMaxAmount() == null
+                            && LocalDateTime.of(2025, 1, 1, 0, 0).equals(criteria.getFrom())
+                            && criteria.getTo() == null), eq("abc"), eq(20));
+        }
+
+        @Test
+        @DisplayName("Given an invalid search, it should return 400 BAD REQUEST")
+        void shouldReturn400ForInvalidSearch() throws Exception {
+            when(transactionServicePort.search(any(), any(), anyInt()))
+                    .thenThrow(new InvalidTransactionSearchException("Search requires an account id, an operation type id or a start date"));
+
+            mockMvc.perform(get(TRANSACTION_URI + "/search").param("min_amount", "10"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Search requires an account id, an operation type id or a start date"));
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /v1/transactions/async")
+    class CreateTransactionAsync {
+
+        private final UUID trackingId = UUID.fromString("3f2b8c1e-6a4d-4e0b-9c57-1d2e3f4a5b6c");
+
+        @Test
+        @DisplayName("Given a valid transaction request, it should queue it and return 202 Accepted with its status location")
+        void shouldAcceptTransaction() throws Exception {
+            // Given
+            when(transactionQueuePort.accept(any(TransactionRequest.class))).thenReturn(QueuedTransaction.queued(trackingId));
+
+            // When & Then
+            mockMvc.perform(post(TRANSACTION_URI + "/async")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(TransactionFixture.withValidPayload()))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Location", "http://localhost" + TRANSACTION_URI + "/async/" + trackingId))
+                    .andExpect(jsonPath("$.status").value(HttpStatus.ACCEPTED.value()))
+                    .andExpect(jsonPath("$.message").value("Transaction accepted for processing."))
+                    .andExpect(jsonPath("$.data.tracking_id").value(trackingId.toString()))
+                    .andExpect(jsonPath("$.data.status").value("QUEUED"));
+
+            verifyNoInteractions(transactionServicePort);
+        }
+
+        @Test
+        @DisplayName("Given a full queue, it should return 429 TOO MANY REQUESTS with a Retry-After header")
+        void shouldReturn429WhenQueueIsFull() throws Exception {
+            // Given
+            when(transactionQueuePort.accept(any(TransactionRequest.class)))
+                    .thenThrow(new TransactionQueueFullException("Transaction queue is full, retry later"));
+
+            // When & Then
+            mockMvc.perform(post(TRANSACTION_URI + "/async")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(TransactionFixture.withValidPayload()))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.message").value("Transaction queue is full, retry later"));
+        }
+
+        @Test
+        @DisplayName("Given a completed queued transaction, it should return its transaction id")
+        void shouldReturnQueuedTransactionStatus() throws Exception {
+            // Given
+            when(transactionQueuePort.findByTrackingId(trackingId)).thenReturn(QueuedTransaction.completed(trackingId, 42L));
+
+            // When & Then
+            mockMvc.perform(get(TRANSACTION_URI + "/async/" + trackingId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Queued transaction found successfully."))
+                    .andExpect(jsonPath("$.data.status").value("COMPLETED"))
+                    .andExpect(jsonPath("$.data.transaction_id").value(42));
+        }
+
+        @Test
+        @DisplayName("Given an unknown tracking id, it should return 404 NOT FOUND")
+        void shouldReturn404ForUnknownTrackingId() throws Exception {
+            // Given
+            when(transactionQueuePort.findByTrackingId(trackingId))
+                    .thenThrow(new QueuedTransactionNotFoundException("Queued transaction not found with tracking id: " + trackingId));
+
+            // When & Then
+            mockMvc.perform(get(TRANSACTION_URI + "/async/" + trackingId))
+                    .andExpect(status().isNotFound());
+        }
+    }
 }
@@ -28,4 +28,14 @@ public class OperationTypeFixture {
                 .build();
     }
 
+    public static OperationType validInstallmentOperationType() {
+        return OperationType.builder()
+                .id(2L)
+                .description("Purchase with installments")
+                .credit(false)
+                .createdAt(FIXED_TIMESTAMP)
+                .updatedAt(FIXED_TIMESTAMP)
+                .build();
+    }
+
 }
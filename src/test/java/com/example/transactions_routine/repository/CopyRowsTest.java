@@ -0,0 +1,68 @@
+package com.example.transactions_routine.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.postgresql.copy.CopyIn;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class CopyRowsTest {
+
+    private static long micros(LocalDateTime dateTime) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), dateTime);
+    }
+
+    private static String copied(CopyRows rows) throws Exception {
+        var copied = new ByteArrayOutputStream();
+        var copyIn = mock(CopyIn.class);
+        doAnswer(invocation -> {
+            copied.write(invocation.<byte[]>getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        var target = new CopyRows(copyIn);
+        target.append(rows);
+        target.flush();
+        return copied.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Given typed columns, it should write them in the COPY text format")
+    void shouldWriteTextFormat() throws Exception {
+        // Given
+        var rows = new CopyRows();
+
+        // When
+        rows.column(12L).amount(-5L).amount(123_456L).column(true).nullColumn().endRow();
+        rows.timestamp(micros(LocalDateTime.of(2024, 2, 29, 7, 5, 9, 120_000))).date(LocalDateTime.of(1999, 12, 31, 0, 0).toLocalDate().toEpochDay())
+                .column("a\tb\\c").endRow();
+
+        // Then
+        assertEquals("12\t-0.05\t1234.56\tt\t\\N\n2024-02-29 07:05:09.000120\t1999-12-31\ta\\tb\\\\c\n", copied(rows));
+    }
+
+    @Test
+    @DisplayName("Given rows bound to a COPY, it should send them whenever the buffer fills up")
+    void shouldFlushFullBuffer() throws Exception {
+        // Given
+        var copyIn = mock(CopyIn.class);
+        var rows = new CopyRows(copyIn);
+
+        // When
+        for (int i = 0; i < 200_000; i++) {
+            rows.column(1_000_000L + i).endRow();
+        }
+
+        // Then
+        verify(copyIn, atLeastOnce()).writeToCopy(any(byte[].class), eq(0), anyInt());
+        assertFalse(rows.isEmpty());
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.transactions_routine.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires 1,000 debits at once against the PostgreSQL of {@code docker compose up -d db}, through
+ * {@link AccountRepository#updateBalanceWithDailyLimit}, each in its own transaction: one account
+ * bound by the default daily limit, one by its funds and one by a per-account override. Checks that
+ * the usage counter never exceeds {@code COALESCE(daily_limit, defaultLimit)}, that no balance goes
+ * negative and that counter and balance moved by exactly the accepted debits. Run with
+ * {@code ./mvnw test -Dtest=DailyLimitConcurrencyTest -Dconcurrency=true}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "transactions.installments.scheduler.enabled=false",
+        "transactions.holds.expiry.enabled=false",
+        "transactions.recurring-transfers.scheduler.enabled=false"
+})
+@EnabledIfSystemProperty(named = "concurrency", matches = "true")
+class DailyLimitConcurrencyTest {
+
+    private static final String PREFIX = "daily-limit-";
+    private static final int DEBITS = 1_000;
+    private static final int THREADS = 32;
+    private static final long WITHDRAWAL = 3L;
+    private static final BigDecimal DEFAULT_LIMIT = new BigDecimal("500.00");
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("""
+                DELETE FROM account_daily_limits
+                 WHERE account_id IN (SELECT id FROM accounts WHERE document_number LIKE ? || '%')
+                """, PREFIX);
+        jdbcTemplate.update("DELETE FROM accounts WHERE document_number LIKE ? || '%'", PREFIX);
+    }
+
+    @Test
+    void concurrentDebitsNeverExceedTheDailyLimitOrOverdraw() throws Exception {
+        var accountIds = new long[]{
+                createAccount("limit-bound", new BigDecimal("10000.00")),
+                createAccount("funds-bound", new BigDecimal("300.00")),
+                createAccount("override-bound", new BigDecimal("10000.00"))
+        };
+        jdbcTemplate.update("""
+                INSERT INTO account_daily_limits (account_id, operation_type_id, daily_limit)
+                VALUES (?, ?, 200.00)
+                """, accountIds[2], WITHDRAWAL);
+        var initialBalances = balances(accountIds);
+
+        var template = new TransactionTemplate(transactionManager);
+        var start = new CountDownLatch(1);
+        var tasks = new ArrayList<Callable<Debit>>(DEBITS);
+        for (int i = 0; i < DEBITS; i++) {
+            var accountIndex = i % accountIds.length;
+            var amount = BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(100, 5_001), 2);
+            tasks.add(() -> {
+                start.await();
+                var balanceAfter = template.execute(status -> {
+                    var updated = accountRepository.updateBalanceWithDailyLimit(
+                            accountIds[accountIndex], amount.negate(), WITHDRAWAL, today, DEFAULT_LIMIT);
+                    // A rejected debit writes nothing; the service throws, which rolls back the rest
+                    if (updated.isEmpty()) {
+                        status.setRollbackOnly();
+                    }
+                    return updated;
+                });
+                return new Debit(accountIndex, amount, balanceAfter.orElse(null));
+            });
+        }
+
+        var debits = new ArrayList<Debit>(DEBITS);
+        try (var workers = Executors.newFixedThreadPool(THREADS)) {
+            var futures = tasks.stream().map(workers::submit).toList();
+            start.countDown();
+            for (var future : futures) {
+                debits.add(future.get());
+            }
+        }
+
+        var finalBalances = balances(accountIds);
+        for (int index = 0; index < accountIds.length; index++) {
+            var accountIndex = index;
+            var accepted = debits.stream()
+                    .filter(debit -> debit.accountIndex() == accountIndex && debit.balanceAfter() != null)
+                    .toList();
+            var acceptedAmount = accepted.stream().map(Debit::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+            var usage = jdbcTemplate.queryForMap("""
+                    SELECT l.used_amount, COALESCE(l.daily_limit, ?) AS effective_limit
+                      FROM account_daily_limits l
+                     WHERE l.account_id = ? AND l.operation_type_id = ?
+                    """, DEFAULT_LIMIT, accountIds[index], WITHDRAWAL);
+            var usedAmount = (BigDecimal) usage.get("used_amount");
+            var effectiveLimit = (BigDecimal) usage.get("effective_limit");
+
+            assertFalse(accepted.isEmpty(), "Account " + index + " accepted no debit");
+            assertTrue(usedAmount.compareTo(effectiveLimit) <= 0,
+                    "Account " + index + " used " + usedAmount + " of a " + effectiveLimit + " daily limit");
+            assertTrue(finalBalances.get(index).signum() >= 0, "Account " + index + " went negative: " + finalBalances.get(index));
+            assertTrue(accepted.stream().allMatch(debit -> debit.balanceAfter().signum() >= 0),
+                    "Account " + index + " reported a negative balance after a debit");
+            assertEquals(0, acceptedAmount.compareTo(usedAmount), "Account " + index + " usage differs from its accepted debits");
+            assertEquals(0, initialBalances.get(index).subtract(acceptedAmount).compareTo(finalBalances.get(index)),
+                    "Account " + index + " balance differs from its accepted debits");
+        }
+    }
+
+    private long createAccount(String name, BigDecimal balance) {
+        jdbcTemplate.update("""
+                INSERT INTO accounts (document_number, balance, created_at, updated_at)
+                VALUES (?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                """, PREFIX + name, balance);
+        return jdbcTemplate.queryForObject("SELECT id FROM accounts WHERE document_number = ?", Long.class, PREFIX + name);
+    }
+
+    private List<BigDecimal> balances(long[] accountIds) {
+        var balances = new ArrayList<BigDecimal>(accountIds.length);
+        for (var accountId : accountIds) {
+            balances.add(jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE id = ?", BigDecimal.class, accountId));
+        }
+        return balances;
+    }
+
+    private record Debit(int accountIndex, BigDecimal amount, BigDecimal balanceAfter) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.transactions_routine.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks against the PostgreSQL of {@code docker compose up -d db} that every supported search
+ * filter combination is planned as an index-only scan of one of the covering indexes, never a
+ * sequential scan. Seeds 200,000 transactions over 200 accounts, so the planner sees a table
+ * worth indexing, and removes them afterwards. Run with
+ * {@code ./mvnw test -Dtest=TransactionSearchExplainTest -Dexplain=true}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "transactions.installments.scheduler.enabled=false",
+        "transactions.holds.expiry.enabled=false",
+        "transactions.recurring-transfers.scheduler.enabled=false"
+})
+@EnabledIfSystemProperty(named = "explain", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionSearchExplainTest {
+
+    private static final String PREFIX = "explain-";
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 2, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 1, 3, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private Long accountId;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO accounts (document_number, created_at, updated_at)
+                SELECT ? || n, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM generate_series(1, 200) AS n
+                """, PREFIX);
+        jdbcTemplate.update("""
+                INSERT INTO transactions (account_id, operation_type_id, amount, event_date)
+                SELECT a.id, 1 + n % 4, CASE WHEN n % 4 = 3 THEN 1 ELSE -1 END * (n % 1000 + 1),
+                       TIMESTAMP '2024-01-01' + n * INTERVAL '3 minutes'
+                  FROM accounts a, generate_series(1, 1000) AS n
+                 WHERE a.document_number LIKE ? || '%'
+                """, PREFIX);
+        // Index-only scans need an up-to-date visibility map, and the plan needs fresh statistics
+        jdbcTemplate.execute("VACUUM ANALYZE transactions");
+        accountId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM accounts WHERE document_number LIKE ? || '%'", Long.class, PREFIX);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("""
+                DELETE FROM transactions
+                 WHERE account_id IN (SELECT id FROM accounts WHERE document_number LIKE ? || '%')
+                """, PREFIX);
+        jdbcTemplate.update("DELETE FROM accounts WHERE document_number LIKE ? || '%'", PREFIX);
+    }
+
+    Stream<Arguments> supportedFilters() {
+        var after = new TransactionKeyset(LocalDateTime.of(2024, 6, 1, 0, 0), Long.MAX_VALUE);
+        return Stream.of(
+                search("account", null, account -> criteria().accountId(account)),
+                search("account, next page", after, account -> criteria().accountId(account)),
+                search("account, operation type", null, account -> criteria().accountId(account).operationTypeId(1L)),
+                search("account, amount range", null, account -> criteria().accountId(account).minAmount(new BigDecimal("-100")).maxAmount(BigDecimal.ZERO)),
+                search("account, date range", null, account -> criteria().accountId(account).from(FROM).to(TO)),
+                search("operation type", null, account -> criteria().operationTypeId(4L)),
+                search("operation type, date range", null, account -> criteria().operationTypeId(4L).from(FROM).to(TO)),
+                search("operation type, amount range", null, account -> criteria().operationTypeId(4L).minAmount(new BigDecimal("500"))),
+                search("date range", null, account -> criteria().from(FROM).to(TO)),
+                search("date range, amount range", null, account -> criteria().from(FROM).to(TO).maxAmount(new BigDecimal("-900"))),
+                search("start date, next page", after, account -> criteria().from(FROM))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("supportedFilters")
+    void shouldPlanIndexOnlyScan(String name, TransactionKeyset after, Function<Long, TransactionSearchCriteria.Builder> criteria) {
+        // Given
+        var query = TransactionSearchQuery.of(criteria.apply(accountId).build(), after, 51);
+
+        // When
+        var plan = namedParameterJdbcTemplate.queryForList("EXPLAIN " + query.sql(), query.parameters(), String.class)
+                .stream()
+                .collect(Collectors.joining("\n"));
+
+        // Then
+        assertFalse(plan.contains("Seq Scan"), () -> name + " falls back to a sequential scan:\n" + plan);
+        assertTrue(plan.contains("Index Only Scan"), () -> name + " is not an index-only scan:\n" + plan);
+    }
+
+    private static Arguments search(String name, TransactionKeyset after, Function<Long, TransactionSearchCriteria.Builder> criteria) {
+        return Arguments.of(name, after, criteria);
+    }
+
+    private static TransactionSearchCriteria.Builder criteria() {
+        return TransactionSearchCriteria.builder();
+    }
+}
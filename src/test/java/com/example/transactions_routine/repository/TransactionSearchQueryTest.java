@@ -0,0 +1,64 @@
+package com.example.transactions_routine.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionSearchQueryTest {
+
+    @Test
+    @DisplayName("Given only an account id, it should filter on the account alone and order by event date and id")
+    void shouldOnlyFilterOnSetCriteria() {
+        // Given
+        var criteria = TransactionSearchCriteria.builder().accountId(1L).build();
+
+        // When
+        var query = TransactionSearchQuery.of(criteria, null, 51);
+
+        // Then
+        assertTrue(query.sql().contains("WHERE account_id = :accountId"));
+        assertFalse(query.sql().contains("operation_type_id ="));
+        assertFalse(query.sql().contains("amount >="));
+        assertFalse(query.sql().contains("event_date >="));
+        assertTrue(query.sql().contains("ORDER BY event_date DESC, id DESC"));
+        assertEquals(1L, query.parameters().get("accountId"));
+        assertEquals(51, query.parameters().get("limit"));
+        assertEquals(2, query.parameters().size());
+    }
+
+    @Test
+    @DisplayName("Given every filter and a page start, it should bind each of them and seek past the page start")
+    void shouldBindEveryFilterAndPageStart() {
+        // Given
+        var from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        var to = LocalDateTime.of(2025, 2, 1, 0, 0);
+        var after = new TransactionKeyset(LocalDateTime.of(2025, 1, 15, 10, 30), 42L);
+        var criteria = TransactionSearchCriteria.builder()
+                .accountId(1L)
+                .operationTypeId(4L)
+                .minAmount(new BigDecimal("-100.00"))
+                .maxAmount(new BigDecimal("100.00"))
+                .from(from)
+                .to(to)
+                .build();
+
+        // When
+        var query = TransactionSearchQuery.of(criteria, after, 11);
+
+        // Then
+        assertTrue(query.sql().contains("AND operation_type_id = :operationTypeId"));
+        assertTrue(query.sql().contains("AND amount >= :minAmount"));
+        assertTrue(query.sql().contains("AND amount <= :maxAmount"));
+        assertTrue(query.sql().contains("AND event_date >= :from"));
+        assertTrue(query.sql().contains("AND event_date < :to"));
+        assertTrue(query.sql().contains("AND (event_date, id) < (:afterEventDate, :afterId)"));
+        assertEquals(from, query.parameters().get("from"));
+        assertEquals(to, query.parameters().get("to"));
+        assertEquals(after.eventDate(), query.parameters().get("afterEventDate"));
+        assertEquals(42L, query.parameters().get("afterId"));
+    }
+}
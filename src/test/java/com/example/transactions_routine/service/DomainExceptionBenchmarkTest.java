@@ -0,0 +1,80 @@
+package com.example.transactions_routine.service;
+
+import com.example.transactions_routine.controller.ApiErrorResponse;
+import com.example.transactions_routine.service.transaction.InsufficientFundsException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures the failure path of a rejected debit before and after {@link DomainException}: the
+ * exception is thrown {@code benchmark.depth} frames deep, roughly the depth of a Spring MVC
+ * request with transactional proxies, caught and turned into the {@link ApiErrorResponse} of
+ * {@code GlobalExceptionHandler}.
+ * "before" throws a plain exception built with {@code String.format}, as every rejected debit
+ * did, "after" throws {@link InsufficientFundsException}. Run with
+ * {@code ./mvnw test -Dtest=DomainExceptionBenchmarkTest -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DomainExceptionBenchmarkTest {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("-100.00");
+
+    @Test
+    void benchmark() {
+        int depth = Integer.getInteger("benchmark.depth", 150);
+        int iterations = Integer.getInteger("benchmark.iterations", 200_000);
+
+        Supplier<RuntimeException> before = () -> new StackTracedInsufficientFundsException(
+                String.format("Insufficient funds for transaction. Account ID: %d, Requested amount: %s", 1L, AMOUNT));
+        Supplier<RuntimeException> after = () -> new InsufficientFundsException(1L, AMOUNT);
+
+        System.out.printf("depth %d, %,d rejected requests per run%n", depth, iterations);
+        for (int round = 0; round < 2; round++) {
+            // The first round warms up the JIT
+            report(round, "before", run(before, depth, iterations), iterations);
+            report(round, "after", run(after, depth, iterations), iterations);
+        }
+    }
+
+    private long run(Supplier<RuntimeException> exception, int depth, int iterations) {
+        long status = 0;
+        var startedAt = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            try {
+                throwAt(depth, exception);
+            } catch (RuntimeException e) {
+                status += new ApiErrorResponse(HttpStatus.BAD_REQUEST.value(), e.getMessage()).status();
+            }
+        }
+        if (status == 0) {
+            throw new IllegalStateException("Unreachable, keeps the loop from being optimized away");
+        }
+        return System.nanoTime() - startedAt;
+    }
+
+    private static void report(int round, String variant, long elapsedNanos, int iterations) {
+        if (round > 0) {
+            System.out.printf("%-6s %,12.0f rejections/s  %8.2f us each%n", variant,
+                    iterations / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1)),
+                    elapsedNanos / 1_000.0 / iterations);
+        }
+    }
+
+    private static void throwAt(int depth, Supplier<RuntimeException> exception) {
+        if (depth == 0) {
+            throw exception.get();
+        }
+        throwAt(depth - 1, exception);
+    }
+
+    private static final class StackTracedInsufficientFundsException extends RuntimeException {
+        private StackTracedInsufficientFundsException(String message) {
+            super(message);
+        }
+    }
+}
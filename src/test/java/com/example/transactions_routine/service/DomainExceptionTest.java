@@ -0,0 +1,51 @@
+package com.example.transactions_routine.service;
+
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import com.example.transactions_routine.service.transaction.InsufficientFundsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainExceptionTest {
+
+    @Test
+    @DisplayName("Given a domain exception is thrown, it should carry its message but no stack trace")
+    void shouldNotCaptureStackTrace() {
+        // When
+        var exception = assertThrows(AccountNotFoundException.class, () -> {
+            throw new AccountNotFoundException("Account not found with id: 1");
+        });
+
+        // Then
+        assertEquals("Account not found with id: 1", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("Given a cause, it should keep the cause and ignore suppressed exceptions")
+    void shouldKeepCauseAndIgnoreSuppressed() {
+        // Given
+        var cause = new IllegalStateException("boom");
+        var exception = new AccountNotFoundException("Account not found with id: 1", cause);
+
+        // When
+        exception.addSuppressed(new IllegalStateException("ignored"));
+
+        // Then
+        assertSame(cause, exception.getCause());
+        assertEquals(0, exception.getSuppressed().length);
+    }
+
+    @Test
+    @DisplayName("Given an account and amount, it should build the insufficient funds message")
+    void shouldBuildInsufficientFundsMessage() {
+        // When
+        var exception = new InsufficientFundsException(7L, new BigDecimal("-12.50"));
+
+        // Then
+        assertEquals("Insufficient funds for transaction. Account ID: 7, Requested amount: -12.50", exception.getMessage());
+    }
+}
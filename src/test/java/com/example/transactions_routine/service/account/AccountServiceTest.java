@@ -1,12 +1,19 @@
 package com.example.transactions_routine.service.account;
 
+import com.example.transactions_routine.controller.account.BatchTransferLeg;
+import com.example.transactions_routine.controller.account.BatchTransferRequest;
 import com.example.transactions_routine.controller.account.TransferRequest;
 import com.example.transactions_routine.fixture.AccountFixture;
 import com.example.transactions_routine.model.Account;
 import com.example.transactions_routine.model.OperationType;
+import com.example.transactions_routine.repository.AccountBalance;
 import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.AccountView;
 import com.example.transactions_routine.repository.OperationTypeRepository;
 import com.example.transactions_routine.repository.TransactionRepository;
+import com.example.transactions_routine.service.activity.RecentActivityCache;
+import com.example.transactions_routine.service.balance.SplitBalanceServicePort;
+import com.example.transactions_routine.service.summary.AccountSummaryServicePort;
 import com.example.transactions_routine.service.transaction.InsufficientFundsException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,6 +24,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,6 +46,15 @@ class AccountServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private AccountSummaryServicePort accountSummaryServicePort;
+
+    @Mock
+    private SplitBalanceServicePort splitBalanceServicePort;
+
+    @Mock
+    private RecentActivityCache recentActivityCache;
+
     @Nested
     @DisplayName("Create an Account")
     class createAccount {
@@ -113,6 +130,18 @@ class AccountServiceTest {
             verify(accountRepository, times(1)).findById(accountId);
         }
 
+        @Test
+        @DisplayName("Given many IDs, it should resolve them with a single array-bound query")
+        void shouldResolveManyIdsWithOneQuery() {
+            var view = mock(AccountView.class);
+            when(accountRepository.findAllViewsById(new Long[]{1L, 2L})).thenReturn(List.of(view));
+
+            var found = accountService.findAllById(List.of(1L, 2L));
+
+            assertEquals(List.of(view), found);
+            verify(accountRepository, never()).findById(any());
+        }
+
     }
 
     @Nested
@@ -138,8 +167,8 @@ class AccountServiceTest {
             when(accountRepository.findById(destinationAccountId)).thenReturn(Optional.of(destinationAccount));
             when(operationTypeRepository.findByDescription("TRANSFER_OUT")).thenReturn(Optional.of(debitOperationType));
             when(operationTypeRepository.findByDescription("TRANSFER_IN")).thenReturn(Optional.of(creditOperationType));
-            when(accountRepository.updateBalanceWithCheck(sourceAccountId, transferAmount.negate())).thenReturn(1);
-            when(accountRepository.updateBalance(destinationAccountId, transferAmount)).thenReturn(1);
+            when(accountRepository.updateBalanceWithCheck(sourceAccountId, transferAmount.negate())).thenReturn(Optional.of(new BigDecimal("900.00")));
+            when(accountRepository.updateBalance(destinationAccountId, transferAmount)).thenReturn(Optional.of(new BigDecimal("1100.00")));
 
             // When
             var transferResult = accountService.transfer(transferRequest);
@@ -150,12 +179,38 @@ class AccountServiceTest {
             assertNotNull(transferResult.creditTransaction());
             assertEquals(transferAmount.negate(), transferResult.debitTransaction().getAmount());
             assertEquals(transferAmount, transferResult.creditTransaction().getAmount());
+            assertEquals(new BigDecimal("900.00"), transferResult.debitTransaction().getBalanceAfter());
+            assertEquals(new BigDecimal("1100.00"), transferResult.creditTransaction().getBalanceAfter());
 
             verify(accountRepository, times(2)).findById(anyLong());
             verify(operationTypeRepository, times(2)).findByDescription(anyString());
             verify(accountRepository).updateBalanceWithCheck(sourceAccountId, transferAmount.negate());
             verify(accountRepository).updateBalance(destinationAccountId, transferAmount);
             verify(transactionRepository).saveAll(anyList());
+            verify(accountSummaryServicePort, times(2)).recordTransaction(any());
+        }
+
+        @Test
+        @DisplayName("Given a transfer towards a lower account id, it should lock both accounts in ascending id order first")
+        void shouldLockAccountsInAscendingIdOrder() {
+            // Given
+            var transferRequest = new TransferRequest(destinationAccountId, sourceAccountId, transferAmount);
+            var debitOperationType = OperationType.builder().description("TRANSFER_OUT").credit(false).build();
+            var creditOperationType = OperationType.builder().description("TRANSFER_IN").credit(true).build();
+
+            when(accountRepository.findById(destinationAccountId)).thenReturn(Optional.of(AccountFixture.validAccount(destinationAccountId)));
+            when(accountRepository.findById(sourceAccountId)).thenReturn(Optional.of(AccountFixture.validAccount(sourceAccountId)));
+            when(operationTypeRepository.findByDescription("TRANSFER_OUT")).thenReturn(Optional.of(debitOperationType));
+            when(operationTypeRepository.findByDescription("TRANSFER_IN")).thenReturn(Optional.of(creditOperationType));
+            when(accountRepository.updateBalanceWithCheck(destinationAccountId, transferAmount.negate())).thenReturn(Optional.of(BigDecimal.ZERO));
+
+            // When
+            accountService.transfer(transferRequest);
+
+            // Then
+            var inOrder = inOrder(accountRepository);
+            inOrder.verify(accountRepository).lockAllUnsplitByIdOrderById(argThat(ids -> List.copyOf(ids).equals(List.of(1L, 2L))));
+            inOrder.verify(accountRepository).updateBalanceWithCheck(destinationAccountId, transferAmount.negate());
         }
 
         @Test
@@ -170,7 +225,7 @@ class AccountServiceTest {
             when(accountRepository.findById(sourceAccountId)).thenReturn(Optional.of(sourceAccount));
             when(accountRepository.findById(destinationAccountId)).thenReturn(Optional.of(destinationAccount));
             when(operationTypeRepository.findByDescription("TRANSFER_OUT")).thenReturn(Optional.of(debitOperationType));
-            when(accountRepository.updateBalanceWithCheck(sourceAccountId, transferAmount.negate())).thenReturn(0);
+            when(accountRepository.updateBalanceWithCheck(sourceAccountId, transferAmount.negate())).thenReturn(Optional.empty());
 
             // When / Then
             assertThrows(InsufficientFundsException.class, () -> accountService.transfer(transferRequest));
@@ -181,6 +236,59 @@ class AccountServiceTest {
             verify(transactionRepository, never()).saveAll(anyList());
         }
 
+        @Test
+        @DisplayName("Given a split destination account, it should credit one of its balance slots")
+        void shouldCreditBalanceSlotOfSplitDestination() {
+            // Given
+            var sourceAccount = AccountFixture.validAccount(sourceAccountId);
+            var destinationAccount = Account.builder().id(destinationAccountId).balanceSlots(8).build();
+            var transferRequest = new TransferRequest(sourceAccountId, destinationAccountId, transferAmount);
+            var debitOperationType = OperationType.builder().description("TRANSFER_OUT").credit(false).build();
+            var creditOperationType = OperationType.builder().description("TRANSFER_IN").credit(true).build();
+
+            when(accountRepository.findById(sourceAccountId)).thenReturn(Optional.of(sourceAccount));
+            when(accountRepository.findById(destinationAccountId)).thenReturn(Optional.of(destinationAccount));
+            when(operationTypeRepository.findByDescription("TRANSFER_OUT")).thenReturn(Optional.of(debitOperationType));
+            when(operationTypeRepository.findByDescription("TRANSFER_IN")).thenReturn(Optional.of(creditOperationType));
+            when(accountRepository.updateBalanceWithCheck(sourceAccountId, transferAmount.negate())).thenReturn(Optional.of(BigDecimal.ZERO));
+
+            // When
+            accountService.transfer(transferRequest);
+
+            // Then
+            verify(splitBalanceServicePort).credit(destinationAccount, transferAmount);
+            verify(accountRepository, never()).updateBalance(any(), any());
+        }
+
+        @Test
+        @DisplayName("Given a split source account short on its account row, it should sweep its balance slots and retry the debit")
+        void shouldSweepBalanceSlotsOfSplitSourceAndRetry() {
+            // Given
+            var sourceAccount = Account.builder().id(sourceAccountId).balanceSlots(8).build();
+            var destinationAccount = AccountFixture.validAccount(destinationAccountId);
+            var transferRequest = new TransferRequest(sourceAccountId, destinationAccountId, transferAmount);
+            var debitOperationType = OperationType.builder().description("TRANSFER_OUT").credit(false).build();
+            var creditOperationType = OperationType.builder().description("TRANSFER_IN").credit(true).build();
+
+            when(accountRepository.findById(sourceAccountId)).thenReturn(Optional.of(sourceAccount));
+            when(accountRepository.findById(destinationAccountId)).thenReturn(Optional.of(destinationAccount));
+            when(operationTypeRepository.findByDescription("TRANSFER_OUT")).thenReturn(Optional.of(debitOperationType));
+            when(operationTypeRepository.findByDescription("TRANSFER_IN")).thenReturn(Optional.of(creditOperationType));
+            when(accountRepository.updateBalanceWithCheck(sourceAccountId, transferAmount.negate()))
+                    .thenReturn(Optional.empty(), Optional.of(BigDecimal.ZERO));
+            when(splitBalanceServicePort.sweep(sourceAccountId)).thenReturn(true);
+
+            // When
+            accountService.transfer(transferRequest);
+
+            // Then
+            var inOrder = inOrder(accountRepository, splitBalanceServicePort);
+            inOrder.verify(accountRepository).updateBalanceWithCheck(sourceAccountId, transferAmount.negate());
+            inOrder.verify(splitBalanceServicePort).sweep(sourceAccountId);
+            inOrder.verify(accountRepository).updateBalanceWithCheck(sourceAccountId, transferAmount.negate());
+            verify(transactionRepository).saveAll(anyList());
+        }
+
         @Test
         @DisplayName("Given same source and destination account, it should throw SameAccountTransferException")
         void shouldThrowSameAccountTransferExceptionWhenSourceAndDestinationAreSame() {
@@ -206,4 +314,170 @@ class AccountServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Set balance slots")
+    class SetBalanceSlots {
+
+        private final Long accountId = 1L;
+
+        @Test
+        @DisplayName("Given an unsplit account, it should create the empty balance slots under the account lock")
+        void shouldCreateBalanceSlotsUnderAccountLock() {
+            // Given
+            when(accountRepository.lockAllByIdOrderById(List.of(accountId))).thenReturn(List.of(accountId));
+            when(accountRepository.findById(accountId)).thenReturn(Optional.of(AccountFixture.validAccount(accountId)));
+
+            // When
+            accountService.setBalanceSlots(accountId, 16);
+
+            // Then
+            var inOrder = inOrder(accountRepository);
+            inOrder.verify(accountRepository).lockAllByIdOrderById(List.of(accountId));
+            inOrder.verify(accountRepository).insertBalanceSlots(accountId, 16);
+            inOrder.verify(accountRepository).updateBalanceSlots(accountId, 16);
+            inOrder.verify(accountRepository).mergeBalanceSlots(accountId, 16);
+        }
+
+        @Test
+        @DisplayName("Given zero or one balance slot, it should merge every slot back into the account row")
+        void shouldMergeEveryBalanceSlotBackIntoAccountRow() {
+            // Given
+            when(accountRepository.lockAllByIdOrderById(List.of(accountId))).thenReturn(List.of(accountId));
+            when(accountRepository.findById(accountId)).thenReturn(Optional.of(AccountFixture.validAccount(accountId)));
+
+            // When
+            accountService.setBalanceSlots(accountId, 1);
+
+            // Then
+            verify(accountRepository, never()).insertBalanceSlots(any(), anyInt());
+            verify(accountRepository).updateBalanceSlots(accountId, 0);
+            verify(accountRepository).mergeBalanceSlots(accountId, 0);
+        }
+
+        @Test
+        @DisplayName("Given more balance slots than allowed, it should throw InvalidBalanceSlotsException")
+        void shouldThrowInvalidBalanceSlotsExceptionAboveMaximum() {
+            // When / Then
+            assertThrows(InvalidBalanceSlotsException.class,
+                    () -> accountService.setBalanceSlots(accountId, AccountService.MAX_BALANCE_SLOTS + 1));
+
+            verifyNoInteractions(accountRepository);
+        }
+
+        @Test
+        @DisplayName("Given a non-existent account, it should throw AccountNotFoundException")
+        void shouldThrowAccountNotFoundExceptionForUnknownAccount() {
+            // Given
+            when(accountRepository.lockAllByIdOrderById(List.of(accountId))).thenReturn(List.of());
+
+            // When / Then
+            assertThrows(AccountNotFoundException.class, () -> accountService.setBalanceSlots(accountId, 16));
+
+            verify(accountRepository, never()).updateBalanceSlots(any(), anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch transfer from one account to many")
+    class BatchTransfer {
+
+        private record Balance(Long getId, BigDecimal getBalance) implements AccountBalance {
+        }
+
+        private final Long sourceAccountId = 1L;
+        private final BatchTransferRequest batchTransferRequest = new BatchTransferRequest(sourceAccountId, List.of(
+                new BatchTransferLeg(3L, new BigDecimal("10.00")),
+                new BatchTransferLeg(2L, new BigDecimal("15.50"))
+        ));
+        private final BigDecimal totalAmount = new BigDecimal("25.50");
+
+        @Test
+        @DisplayName("Given valid legs and sufficient funds, it should debit the source once and credit every destination")
+        void shouldDebitSourceOnceAndCreditAllDestinations() {
+            // Given
+            var debitOperationType = OperationType.builder().description("TRANSFER_OUT").credit(false).build();
+            var creditOperationType = OperationType.builder().description("TRANSFER_IN").credit(true).build();
+
+            when(accountRepository.lockAllByIdOrderById(any())).thenReturn(List.of(1L, 2L, 3L));
+            when(operationTypeRepository.findByDescription("TRANSFER_OUT")).thenReturn(Optional.of(debitOperationType));
+            when(operationTypeRepository.findByDescription("TRANSFER_IN")).thenReturn(Optional.of(creditOperationType));
+            when(accountRepository.updateBalanceWithCheck(sourceAccountId, totalAmount.negate())).thenReturn(Optional.of(new BigDecimal("974.50")));
+            when(accountRepository.creditAll(any(), any())).thenReturn(List.of(
+                    new Balance(3L, new BigDecimal("110.00")), new Balance(2L, new BigDecimal("115.50"))));
+            when(accountRepository.getReferenceById(anyLong()))
+                    .thenAnswer(invocation -> AccountFixture.validAccount(invocation.getArgument(0)));
+
+            // When
+            var result = accountService.batchTransfer(batchTransferRequest);
+
+            // Then
+            assertAll(
+                    () -> assertEquals(totalAmount, result.totalAmount()),
+                    () -> assertEquals(2, result.debitTransactions().size()),
+                    () -> assertEquals(2, result.creditTransactions().size()),
+                    () -> assertEquals(new BigDecimal("-10.00"), result.debitTransactions().get(0).getAmount()),
+                    () -> assertEquals(3L, result.creditTransactions().get(0).getAccount().getId()),
+                    () -> assertEquals(new BigDecimal("15.50"), result.creditTransactions().get(1).getAmount()),
+                    () -> assertEquals(new BigDecimal("990.00"), result.debitTransactions().get(0).getBalanceAfter()),
+                    () -> assertEquals(new BigDecimal("974.50"), result.debitTransactions().get(1).getBalanceAfter()),
+                    () -> assertEquals(new BigDecimal("110.00"), result.creditTransactions().get(0).getBalanceAfter())
+            );
+
+            verify(accountRepository, never()).findById(anyLong());
+            verify(accountRepository).lockAllByIdOrderById(argThat(ids -> List.copyOf(ids).equals(List.of(1L, 2L, 3L))));
+            verify(accountRepository, times(1)).updateBalanceWithCheck(sourceAccountId, totalAmount.negate());
+            verify(accountRepository, never()).updateBalance(anyLong(), any());
+            verify(transactionRepository, times(1)).saveAll(argThat(transactions -> ((List<?>) transactions).size() == 4));
+            verify(accountRepository, times(1)).creditAll(any(), any());
+            verify(accountSummaryServicePort, times(1)).recordTransactions(anyList());
+        }
+
+        @Test
+        @DisplayName("Given insufficient funds for the total, it should throw InsufficientFundsException and write nothing")
+        void shouldThrowInsufficientFundsExceptionWhenTotalExceedsBalance() {
+            // Given
+            var debitOperationType = OperationType.builder().description("TRANSFER_OUT").credit(false).build();
+            var creditOperationType = OperationType.builder().description("TRANSFER_IN").credit(true).build();
+
+            when(accountRepository.lockAllByIdOrderById(any())).thenReturn(List.of(1L, 2L, 3L));
+            when(operationTypeRepository.findByDescription("TRANSFER_OUT")).thenReturn(Optional.of(debitOperationType));
+            when(operationTypeRepository.findByDescription("TRANSFER_IN")).thenReturn(Optional.of(creditOperationType));
+            when(accountRepository.updateBalanceWithCheck(sourceAccountId, totalAmount.negate())).thenReturn(Optional.empty());
+
+            // When / Then
+            assertThrows(InsufficientFundsException.class, () -> accountService.batchTransfer(batchTransferRequest));
+
+            verify(transactionRepository, never()).saveAll(anyList());
+            verify(accountRepository, never()).creditAll(any(), any());
+        }
+
+        @Test
+        @DisplayName("Given a destination account that does not exist, it should throw AccountNotFoundException")
+        void shouldThrowAccountNotFoundExceptionWhenDestinationIsMissing() {
+            // Given
+            when(accountRepository.lockAllByIdOrderById(any())).thenReturn(List.of(1L, 2L));
+
+            // When / Then
+            var thrown = assertThrows(AccountNotFoundException.class, () -> accountService.batchTransfer(batchTransferRequest));
+
+            assertEquals("Account not found with id: 3", thrown.getMessage());
+            verify(accountRepository, never()).updateBalanceWithCheck(anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("Given a leg targeting the source account, it should throw SameAccountTransferException")
+        void shouldThrowSameAccountTransferExceptionWhenLegTargetsSource() {
+            // Given
+            var request = new BatchTransferRequest(sourceAccountId, List.of(
+                    new BatchTransferLeg(2L, new BigDecimal("10.00")),
+                    new BatchTransferLeg(sourceAccountId, new BigDecimal("5.00"))
+            ));
+
+            // When / Then
+            assertThrows(SameAccountTransferException.class, () -> accountService.batchTransfer(request));
+
+            verify(accountRepository, never()).lockAllByIdOrderById(any());
+        }
+    }
+
 }
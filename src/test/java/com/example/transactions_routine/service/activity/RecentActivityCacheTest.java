@@ -0,0 +1,196 @@
+package com.example.transactions_routine.service.activity;
+
+import com.example.transactions_routine.model.Account;
+import com.example.transactions_routine.model.OperationType;
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.TransactionView;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentActivityCacheTest {
+
+    private static final long ACCOUNT_ID = 1L;
+    private static final LocalDateTime EVENT_DATE = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    private final RecentActivityCache cache = new RecentActivityCache(
+            new RecentActivityProperties(3, 64, 4, Duration.ofMinutes(1)));
+
+    @Nested
+    @DisplayName("Find")
+    class Find {
+
+        @Test
+        @DisplayName("Given a miss, it should load the account once and serve later reads from memory")
+        void shouldLoadOnceOnMiss() {
+            // Given
+            var loads = new AtomicInteger();
+
+            // When
+            cache.find(ACCOUNT_ID, accountId -> {
+                loads.incrementAndGet();
+                return List.of(entry(2), entry(1));
+            });
+            var recent = cache.find(ACCOUNT_ID, accountId -> {
+                loads.incrementAndGet();
+                return List.of();
+            });
+
+            // Then
+            assertEquals(1, loads.get());
+            assertEquals(List.of(2L, 1L), ids(recent));
+        }
+
+        @Test
+        @DisplayName("Given an expired entry, it should load the account again")
+        void shouldReloadExpiredEntry() {
+            // Given
+            var expiring = new RecentActivityCache(new RecentActivityProperties(3, 64, 4, Duration.ZERO));
+            expiring.find(ACCOUNT_ID, accountId -> List.of(entry(1)));
+
+            // When
+            var recent = expiring.find(ACCOUNT_ID, accountId -> List.of(entry(2), entry(1)));
+
+            // Then
+            assertEquals(List.of(2L, 1L), ids(recent));
+        }
+
+        @Test
+        @DisplayName("Given the loader fails, it should not cache the account")
+        void shouldNotCacheFailedLoad() {
+            // When
+            assertThrows(AccountNotFoundException.class, () -> cache.find(ACCOUNT_ID, accountId -> {
+                throw new AccountNotFoundException("Account not found with id: " + accountId);
+            }));
+
+            // Then
+            assertEquals(0, cache.cachedAccounts());
+        }
+
+        @Test
+        @DisplayName("Given more accounts than max-accounts, it should drop the least recently read ones")
+        void shouldEvictLeastRecentlyRead() {
+            // Given
+            var small = new RecentActivityCache(new RecentActivityProperties(3, 2, 1, Duration.ofMinutes(1)));
+            small.find(1L, accountId -> List.of());
+            small.find(2L, accountId -> List.of());
+            small.find(1L, accountId -> List.of());
+
+            // When
+            small.find(3L, accountId -> List.of());
+
+            // Then
+            assertEquals(2, small.cachedAccounts());
+            var reloaded = new AtomicInteger();
+            small.find(1L, accountId -> {
+                reloaded.incrementAndGet();
+                return List.of();
+            });
+            assertEquals(0, reloaded.get());
+        }
+    }
+
+    @Nested
+    @DisplayName("Record")
+    class Record {
+
+        @Test
+        @DisplayName("Given a cached account, it should append its transactions and keep only the last ones")
+        void shouldAppendAndKeepLast() {
+            // Given
+            cache.find(ACCOUNT_ID, accountId -> List.of(entry(2), entry(1)));
+
+            // When
+            cache.record(List.of(transaction(3), transaction(4)));
+
+            // Then
+            assertEquals(List.of(4L, 3L, 2L), ids(cache.find(ACCOUNT_ID, accountId -> List.of())));
+        }
+
+        @Test
+        @DisplayName("Given an account that is not cached, it should skip it")
+        void shouldSkipUncachedAccount() {
+            // When
+            cache.record(List.of(transaction(1)));
+
+            // Then
+            assertEquals(0, cache.cachedAccounts());
+        }
+
+        @Test
+        @DisplayName("Given a write committed while the account loads, it should merge it without duplicates")
+        void shouldMergeWriteDuringLoad() {
+            // When
+            var recent = cache.find(ACCOUNT_ID, accountId -> {
+                // Committed after the load started: 2 is in the loaded rows, 3 is not
+                cache.record(List.of(transaction(2), transaction(3)));
+                return List.of(entry(2), entry(1));
+            });
+
+            // Then
+            assertEquals(List.of(3L, 2L, 1L), ids(recent));
+        }
+
+        @Test
+        @DisplayName("Given a savepoint rolled back after the write, it should drop the write at commit and keep the others")
+        void shouldDropWriteRolledBackToSavepoint() {
+            // Given
+            cache.find(ACCOUNT_ID, accountId -> List.of(entry(1)));
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                var rolledBack = new Object();
+                var released = new Object();
+                savepoint(rolledBack);
+                cache.record(List.of(transaction(2)));
+                savepoint(released);
+                cache.record(List.of(transaction(3)));
+
+                // When
+                TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.savepointRollback(rolledBack));
+                cache.record(List.of(transaction(4)));
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            // Then
+            assertEquals(List.of(4L, 1L), ids(cache.find(ACCOUNT_ID, accountId -> List.of())));
+        }
+
+        private static void savepoint(Object savepoint) {
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.savepoint(savepoint));
+        }
+    }
+
+    private static List<Long> ids(List<TransactionView> transactions) {
+        var ids = new ArrayList<Long>();
+        transactions.forEach(transaction -> ids.add(transaction.getId()));
+        return ids;
+    }
+
+    private static TransactionView entry(long id) {
+        return new ActivityEntry(id, ACCOUNT_ID, 1L, new BigDecimal("-10.00"), EVENT_DATE.plusMinutes(id), null);
+    }
+
+    private static Transaction transaction(long id) {
+        return Transaction.builder()
+                .id(id)
+                .account(Account.builder().id(ACCOUNT_ID).build())
+                .operationType(OperationType.builder().id(1L).build())
+                .amount(new BigDecimal("-10.00"))
+                .eventDate(EVENT_DATE.plusMinutes(id))
+                .build();
+    }
+}
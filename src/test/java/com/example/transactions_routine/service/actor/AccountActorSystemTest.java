@@ -0,0 +1,415 @@
+package com.example.transactions_routine.service.actor;
+
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.AccountView;
+import com.example.transactions_routine.service.transaction.InsufficientFundsException;
+import com.example.transactions_routine.service.velocity.VelocityLimitExceededException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.SavepointManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountActorSystemTest {
+
+    private static final Function<BigDecimal, BigDecimal> SAME = amount -> amount;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AccountActorSystem actors(Duration idleTimeout) {
+        return new AccountActorSystem(accountRepository, transactionManager, 4, 16, idleTimeout, false);
+    }
+
+    private void givenBalances(String... balances) {
+        var views = new ArrayList<List<AccountView>>();
+        for (var balance : balances) {
+            var view = mock(AccountView.class);
+            when(view.getBalance()).thenReturn(new BigDecimal(balance));
+            views.add(List.of(view));
+        }
+        var stubbing = when(accountRepository.findAllViewsById(any()));
+        for (var view : views) {
+            stubbing = stubbing.thenReturn(view);
+        }
+    }
+
+    @Test
+    @DisplayName("Given concurrent operations on one account, it should run them one at a time")
+    void shouldRunOneAtATime() {
+        // Given
+        var actors = actors(Duration.ofMinutes(1));
+        var running = new AtomicInteger();
+        var overlapped = new AtomicBoolean();
+        var applied = new AtomicInteger();
+
+        // When
+        var callers = new ArrayList<CompletableFuture<Void>>();
+        for (int i = 0; i < 50; i++) {
+            callers.add(CompletableFuture.runAsync(() -> actors.execute(1L, null, () -> {
+                if (running.incrementAndGet() > 1) {
+                    overlapped.set(true);
+                }
+                applied.incrementAndGet();
+                running.decrementAndGet();
+                return BigDecimal.ONE;
+            }, SAME)));
+        }
+        callers.forEach(CompletableFuture::join);
+
+        // Then
+        assertFalse(overlapped.get());
+        assertEquals(50, applied.get());
+    }
+
+    @Test
+    @DisplayName("Given operations queued while a batch runs, it should apply them together in one database transaction")
+    void shouldApplyQueuedOperationsInOneTransaction() throws InterruptedException {
+        // Given
+        var actors = actors(Duration.ofMinutes(1));
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var first = CompletableFuture.runAsync(() -> actors.execute(1L, null, () -> {
+            started.countDown();
+            await(release);
+            return BigDecimal.ONE;
+        }, SAME));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        var queued = new ArrayList<CompletableFuture<BigDecimal>>();
+        for (int i = 0; i < 3; i++) {
+            queued.add(CompletableFuture.supplyAsync(() -> actors.execute(1L, null, () -> BigDecimal.TEN, SAME)));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        first.join();
+        queued.forEach(future -> assertEquals(BigDecimal.TEN, future.join()));
+
+        // Then
+        var definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, atLeastOnce()).getTransaction(definitions.capture());
+        var transactions = definitions.getAllValues().stream()
+                .filter(definition -> definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRED)
+                .count();
+        var savepoints = definitions.getAllValues().stream()
+                .filter(definition -> definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_NESTED)
+                .count();
+        assertEquals(2, transactions);
+        assertEquals(4, savepoints);
+    }
+
+    @Test
+    @DisplayName("Given a debit the tracked balance covers, it should run it without reading the balance again")
+    void shouldRunCoveredDebitWithoutRead() {
+        // Given
+        givenBalances("100.00");
+        var actors = actors(Duration.ofMinutes(1));
+
+        // When
+        actors.execute(1L, new BigDecimal("30.00"), () -> new BigDecimal("-30.00"), SAME);
+        actors.execute(1L, new BigDecimal("30.00"), () -> new BigDecimal("-30.00"), SAME);
+
+        // Then
+        verify(accountRepository, times(1)).findAllViewsById(any());
+    }
+
+    @Test
+    @DisplayName("Given a debit the tracked balance cannot cover, it should reject it after one read without running it")
+    void shouldRejectUncoveredDebit() {
+        // Given
+        givenBalances("100.00", "40.00");
+        var actors = actors(Duration.ofMinutes(1));
+        actors.execute(1L, new BigDecimal("60.00"), () -> new BigDecimal("-60.00"), SAME);
+        var ran = new AtomicBoolean();
+
+        // When & Then
+        assertThrows(InsufficientFundsException.class, () -> actors.execute(1L, new BigDecimal("60.00"), () -> {
+            ran.set(true);
+            return new BigDecimal("-60.00");
+        }, SAME));
+        assertFalse(ran.get());
+        verify(accountRepository, times(2)).findAllViewsById(any());
+    }
+
+    @Test
+    @DisplayName("Given a stale tracked balance, it should run the debit once a read shows it is covered")
+    void shouldRunDebitCoveredAfterRead() {
+        // Given
+        givenBalances("10.00", "500.00");
+        var actors = actors(Duration.ofMinutes(1));
+        actors.execute(1L, new BigDecimal("5.00"), () -> new BigDecimal("-5.00"), SAME);
+
+        // When
+        var result = actors.execute(1L, new BigDecimal("60.00"), () -> new BigDecimal("-60.00"), SAME);
+
+        // Then
+        assertEquals(new BigDecimal("-60.00"), result);
+    }
+
+    @Test
+    @DisplayName("Given an operation that fails, it should rethrow its exception to the caller")
+    void shouldRethrowFailure() {
+        // Given
+        var actors = actors(Duration.ofMinutes(1));
+
+        // When & Then
+        var exception = assertThrows(IllegalArgumentException.class, () -> actors.execute(1L, null, () -> {
+            throw new IllegalArgumentException("rejected");
+        }, SAME));
+        assertEquals("rejected", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Given a velocity rejection inside a batch, it should roll back its savepoint alone and commit the rest")
+    void shouldCommitBatchAroundVelocityRejection() throws InterruptedException {
+        // Given
+        var savepointTransactionManager = new SavepointTransactionManager();
+        var actors = new AccountActorSystem(accountRepository, savepointTransactionManager, 4, 16, Duration.ofMinutes(1), false);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var first = CompletableFuture.runAsync(() -> actors.execute(1L, null, () -> {
+            started.countDown();
+            await(release);
+            return BigDecimal.ONE;
+        }, SAME));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        var before = CompletableFuture.supplyAsync(() -> actors.execute(1L, null, () -> BigDecimal.TEN, SAME));
+        Thread.sleep(50);
+        var rejected = CompletableFuture.supplyAsync(() -> actors.execute(1L, null, () -> {
+            throw new VelocityLimitExceededException("Velocity limit exceeded");
+        }, SAME));
+        Thread.sleep(50);
+        var after = CompletableFuture.supplyAsync(() -> actors.execute(1L, null, () -> BigDecimal.TEN, SAME));
+        Thread.sleep(100);
+
+        // When
+        release.countDown();
+        first.join();
+
+        // Then
+        assertEquals(BigDecimal.TEN, before.join());
+        assertEquals(BigDecimal.TEN, after.join());
+        var failure = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(VelocityLimitExceededException.class, failure.getCause());
+        assertEquals(2, savepointTransactionManager.commits.get());
+        assertEquals(1, savepointTransactionManager.savepointRollbacks.get());
+        assertEquals(0, savepointTransactionManager.rollbacks.get());
+    }
+
+    @Test
+    @DisplayName("Given two actors each queuing a debit and a transfer to the other, it should run the transfers without deadlocking")
+    void shouldNotDeadlockOnTransfersBetweenActors() throws InterruptedException {
+        // Given
+        var savepointTransactionManager = new SavepointTransactionManager();
+        var actors = new AccountActorSystem(accountRepository, savepointTransactionManager, 4, 16, Duration.ofMinutes(1), false);
+        var rows = List.of(new ReentrantLock(), new ReentrantLock());
+        var started = new CountDownLatch(2);
+        var release = new CountDownLatch(1);
+        var gates = new ArrayList<CompletableFuture<Void>>();
+        for (long accountId = 1; accountId <= 2; accountId++) {
+            var id = accountId;
+            gates.add(CompletableFuture.runAsync(() -> actors.execute(id, null, () -> {
+                started.countDown();
+                await(release);
+                return BigDecimal.ZERO;
+            }, SAME)));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        var operations = new ArrayList<CompletableFuture<BigDecimal>>();
+        var debited = new CountDownLatch(2);
+        for (int accountIndex = 0; accountIndex < 2; accountIndex++) {
+            var source = rows.get(accountIndex);
+            var sourceId = accountIndex + 1L;
+            // A debit locks the source row only; both are applied at the same time
+            operations.add(CompletableFuture.supplyAsync(() -> actors.execute(sourceId, null, () -> {
+                savepointTransactionManager.lock(source);
+                debited.countDown();
+                await(debited);
+                return BigDecimal.ONE.negate();
+            }, SAME)));
+        }
+        Thread.sleep(50);
+        for (int accountIndex = 0; accountIndex < 2; accountIndex++) {
+            var sourceId = accountIndex + 1L;
+            // A transfer locks both rows in id order
+            operations.add(CompletableFuture.supplyAsync(() -> actors.executeAlone(sourceId, null, () -> {
+                rows.forEach(savepointTransactionManager::lock);
+                return BigDecimal.TEN.negate();
+            }, SAME)));
+        }
+        Thread.sleep(100);
+
+        // When
+        release.countDown();
+        gates.forEach(CompletableFuture::join);
+
+        // Then
+        assertEquals(List.of(BigDecimal.ONE.negate(), BigDecimal.ONE.negate(), BigDecimal.TEN.negate(), BigDecimal.TEN.negate()),
+                operations.stream().map(CompletableFuture::join).toList());
+        assertEquals(0, savepointTransactionManager.rollbacks.get());
+    }
+
+    @Test
+    @DisplayName("Given idle actors, it should evict them")
+    void shouldEvictIdleActors() throws InterruptedException {
+        // Given
+        var actors = actors(Duration.ZERO);
+        actors.execute(1L, null, () -> BigDecimal.ONE, SAME);
+        actors.execute(2L, null, () -> BigDecimal.ONE, SAME);
+
+        // When
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (actors.activeActors() > 0 && System.nanoTime() < deadline) {
+            actors.evictIdle();
+            Thread.sleep(10);
+        }
+
+        // Then
+        assertEquals(0, actors.activeActors());
+    }
+
+    @Test
+    @DisplayName("Given sharding is enabled, it should refuse to start")
+    void shouldRefuseSharding() {
+        assertThrows(IllegalStateException.class, () ->
+                new AccountActorSystem(accountRepository, transactionManager, 4, 16, Duration.ofMinutes(1), true));
+    }
+
+    /**
+     * Runs one transaction per thread with savepoints, and fails the commit of a transaction marked
+     * rollback-only like a real transaction manager would. Row locks taken through {@link #lock} are
+     * held until the transaction ends, and give up after a while as a deadlock.
+     */
+    private static final class SavepointTransactionManager extends AbstractPlatformTransactionManager {
+
+        private final ThreadLocal<Transaction> current = new ThreadLocal<>();
+        private final AtomicInteger commits = new AtomicInteger();
+        private final AtomicInteger rollbacks = new AtomicInteger();
+        private final AtomicInteger savepointRollbacks = new AtomicInteger();
+
+        private SavepointTransactionManager() {
+            setNestedTransactionAllowed(true);
+        }
+
+        @Override
+        protected Object doGetTransaction() {
+            var transaction = current.get();
+            return transaction != null ? transaction : new Transaction();
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return current.get() == transaction;
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            current.set((Transaction) transaction);
+        }
+
+        private void lock(ReentrantLock row) {
+            try {
+                if (!row.tryLock(500, TimeUnit.MILLISECONDS)) {
+                    throw new IllegalStateException("deadlock detected");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            current.get().locks.add(row);
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            commits.incrementAndGet();
+            ((Transaction) status.getTransaction()).unlock();
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            rollbacks.incrementAndGet();
+            ((Transaction) status.getTransaction()).unlock();
+        }
+
+        @Override
+        protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+            ((Transaction) status.getTransaction()).rollbackOnly = true;
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            current.remove();
+        }
+
+        private final class Transaction implements SavepointManager, SmartTransactionObject {
+
+            private final List<ReentrantLock> locks = new ArrayList<>();
+            private boolean rollbackOnly;
+
+            private void unlock() {
+                locks.forEach(ReentrantLock::unlock);
+                locks.clear();
+            }
+
+            @Override
+            public Object createSavepoint() {
+                return new Object();
+            }
+
+            @Override
+            public void rollbackToSavepoint(Object savepoint) {
+                savepointRollbacks.incrementAndGet();
+            }
+
+            @Override
+            public void releaseSavepoint(Object savepoint) {
+            }
+
+            @Override
+            public boolean isRollbackOnly() {
+                return rollbackOnly;
+            }
+
+            @Override
+            public void flush() {
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
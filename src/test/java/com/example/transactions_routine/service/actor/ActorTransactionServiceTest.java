@@ -0,0 +1,80 @@
+package com.example.transactions_routine.service.actor;
+
+import com.example.transactions_routine.controller.transaction.TransactionRequest;
+import com.example.transactions_routine.fixture.OperationTypeFixture;
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.OperationTypeRepository;
+import com.example.transactions_routine.service.transaction.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActorTransactionServiceTest {
+
+    private static final long ACCOUNT_ID = 1L;
+    private static final BigDecimal AMOUNT = new BigDecimal("100.00");
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private AccountActorSystem accountActorSystem;
+
+    @Mock
+    private OperationTypeRepository operationTypeRepository;
+
+    private ActorTransactionService actorTransactionService;
+
+    @BeforeEach
+    void setUp() {
+        actorTransactionService = new ActorTransactionService(transactionService, accountActorSystem, operationTypeRepository);
+    }
+
+    @Test
+    @DisplayName("Given a debit, it should run it on the account's actor through the write path that joins the actor's transaction")
+    @SuppressWarnings("unchecked")
+    void shouldApplyDebitOnActor() {
+        // Given
+        var debitOperationType = OperationTypeFixture.validDebitOperationType();
+        var request = new TransactionRequest(ACCOUNT_ID, debitOperationType.getId(), AMOUNT);
+        var created = Transaction.builder().id(51L).amount(AMOUNT.negate()).build();
+        when(operationTypeRepository.findById(debitOperationType.getId())).thenReturn(Optional.of(debitOperationType));
+        when(transactionService.applyTransaction(request)).thenReturn(created);
+        when(accountActorSystem.execute(eq(ACCOUNT_ID), eq(AMOUNT), any(Supplier.class), any()))
+                .thenAnswer(invocation -> ((Supplier<Transaction>) invocation.getArgument(2)).get());
+
+        // When
+        var result = actorTransactionService.createTransaction(request);
+
+        // Then
+        assertSame(created, result);
+        verify(transactionService, never()).createTransaction(any());
+    }
+
+    @Test
+    @DisplayName("Given no account id, it should create the transaction directly without an actor")
+    void shouldCreateWithoutAccountDirectly() {
+        // Given
+        var request = new TransactionRequest(null, 1L, AMOUNT);
+
+        // When
+        actorTransactionService.createTransaction(request);
+
+        // Then
+        verify(transactionService).createTransaction(request);
+        verifyNoInteractions(accountActorSystem);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.transactions_routine.service.backfill;
+
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.TransactionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceAfterBackfillTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Given an account id range, it should back-fill every partition in chunks and sum the updated rows")
+    void shouldBackfillEveryChunkOfEveryPartition() {
+        // Given
+        var backfill = new BalanceAfterBackfill(accountRepository, transactionRepository, transactionManager, 2500, 1000, 2);
+        when(accountRepository.findMinId()).thenReturn(1L);
+        when(accountRepository.findMaxId()).thenReturn(4000L);
+        when(transactionRepository.backfillBalanceAfter(anyLong(), anyLong())).thenReturn(10);
+
+        // When
+        var updated = backfill.run();
+
+        // Then
+        assertEquals(50, updated);
+        verify(transactionRepository).backfillBalanceAfter(1L, 1000L);
+        verify(transactionRepository).backfillBalanceAfter(1001L, 2000L);
+        verify(transactionRepository).backfillBalanceAfter(2001L, 2500L);
+        verify(transactionRepository).backfillBalanceAfter(2501L, 3500L);
+        verify(transactionRepository).backfillBalanceAfter(3501L, 4000L);
+        verify(transactionManager, times(5)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Given no accounts, it should not touch any transaction")
+    void shouldDoNothingWithoutAccounts() {
+        // Given
+        var backfill = new BalanceAfterBackfill(accountRepository, transactionRepository, transactionManager, 2500, 1000, 2);
+        when(accountRepository.findMinId()).thenReturn(null);
+
+        // When
+        var updated = backfill.run();
+
+        // Then
+        assertEquals(0, updated);
+        verifyNoInteractions(transactionRepository);
+    }
+}
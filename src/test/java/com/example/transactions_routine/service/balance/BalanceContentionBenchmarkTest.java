@@ -0,0 +1,190 @@
+package com.example.transactions_routine.service.balance;
+
+import com.example.transactions_routine.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntSupplier;
+
+/**
+ * Compares the balance update strategies under contention against the PostgreSQL of
+ * {@code docker compose up -d db}: every worker applies random +/-1.00 balance changes, one
+ * transaction each, to accounts picked uniformly or with Zipf skew (a few hot accounts). Reports
+ * throughput, abort rate (optimistic retries exhausted) and p99 latency per strategy. Run with
+ * {@code ./mvnw test -Dtest=BalanceContentionBenchmarkTest -Dbenchmark=true}; tune with
+ * {@code -Dbenchmark.threads}, {@code -Dbenchmark.accounts}, {@code -Dbenchmark.seconds} and
+ * {@code -Dbenchmark.zipf}. Workers beyond {@code spring.datasource.hikari.maximum-pool-size} wait
+ * for a connection, which counts towards their latency.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "transactions.installments.scheduler.enabled=false",
+        "transactions.holds.expiry.enabled=false",
+        "transactions.recurring-transfers.scheduler.enabled=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BalanceContentionBenchmarkTest {
+
+    private static final BigDecimal ONE = new BigDecimal("1.00");
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void benchmark() throws Exception {
+        int threads = Integer.getInteger("benchmark.threads", 32);
+        int accountCount = Integer.getInteger("benchmark.accounts", 1_000);
+        var duration = Duration.ofSeconds(Long.getLong("benchmark.seconds", 10));
+        var skew = Double.parseDouble(System.getProperty("benchmark.zipf", "1.1"));
+
+        var prefix = "contention-" + System.currentTimeMillis() + "-";
+        var accountIds = createAccounts(prefix, accountCount);
+        try {
+            var optimistic = new OptimisticBalanceUpdateStrategy(accountRepository, 5, Duration.ofMillis(2));
+            var strategies = new LinkedHashMap<String, BalanceUpdateStrategy>();
+            strategies.put("guarded-update", new GuardedUpdateBalanceStrategy(accountRepository));
+            strategies.put("optimistic", optimistic);
+            strategies.put("pessimistic", new PessimisticBalanceUpdateStrategy(accountRepository));
+
+            var zipf = zipfCdf(accountCount, skew);
+            var distributions = new LinkedHashMap<String, IntSupplier>();
+            distributions.put("uniform", () -> ThreadLocalRandom.current().nextInt(accountCount));
+            distributions.put("zipf(" + skew + ")", () -> {
+                var index = Arrays.binarySearch(zipf, ThreadLocalRandom.current().nextDouble());
+                return Math.min(index < 0 ? -index - 1 : index, accountCount - 1);
+            });
+
+            System.out.printf("%d threads, %d accounts, %d s per run%n", threads, accountCount, duration.toSeconds());
+            for (var distribution : distributions.entrySet()) {
+                for (var strategy : strategies.entrySet()) {
+                    // Warm up connections, JIT and the buffer cache before measuring
+                    run(strategy.getValue(), distribution.getValue(), accountIds, threads, Duration.ofSeconds(2));
+                    var conflictsBefore = optimistic.conflicts();
+                    var result = run(strategy.getValue(), distribution.getValue(), accountIds, threads, duration);
+                    var conflicts = strategy.getValue() == optimistic ? optimistic.conflicts() - conflictsBefore : 0;
+                    System.out.printf("%-8s %-14s %,10.0f tx/s  abort %6.3f%%  conflicts %,9d  p99 %8.2f ms%n",
+                            distribution.getKey(), strategy.getKey(),
+                            result.committed() / (double) duration.toSeconds(),
+                            100.0 * result.aborted() / Math.max(1, result.committed() + result.aborted()),
+                            conflicts,
+                            result.p99Nanos() / 1_000_000.0);
+                }
+            }
+        } finally {
+            jdbcTemplate.update("DELETE FROM accounts WHERE document_number LIKE ?", prefix + "%");
+        }
+    }
+
+    private Result run(BalanceUpdateStrategy strategy, IntSupplier picker, long[] accountIds, int threads, Duration duration)
+            throws Exception {
+        var template = new TransactionTemplate(transactionManager);
+        var deadline = System.nanoTime() + duration.toNanos();
+        var tasks = new ArrayList<Callable<Result>>(threads);
+        for (int i = 0; i < threads; i++) {
+            tasks.add(() -> {
+                var random = ThreadLocalRandom.current();
+                var latencies = new long[1 << 16];
+                int samples = 0;
+                long committed = 0;
+                long aborted = 0;
+                while (System.nanoTime() < deadline) {
+                    var accountId = accountIds[picker.getAsInt()];
+                    var amount = random.nextBoolean() ? ONE : ONE.negate();
+                    var start = System.nanoTime();
+                    try {
+                        template.executeWithoutResult(status -> strategy.apply(accountId, amount));
+                        committed++;
+                    } catch (ConcurrentBalanceUpdateException | DataAccessException e) {
+                        aborted++;
+                    }
+                    if (samples == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, samples * 2);
+                    }
+                    latencies[samples++] = System.nanoTime() - start;
+                }
+                return new Result(committed, aborted, Arrays.copyOf(latencies, samples));
+            });
+        }
+
+        try (var workers = Executors.newFixedThreadPool(threads)) {
+            var results = new ArrayList<Result>(threads);
+            for (var future : workers.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return Result.merge(results);
+        }
+    }
+
+    private long[] createAccounts(String prefix, int count) {
+        var documentNumbers = new ArrayList<Object[]>(count);
+        for (int i = 0; i < count; i++) {
+            documentNumbers.add(new Object[]{prefix + i});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO accounts (document_number, balance, created_at, updated_at)
+                VALUES (?, 1000000, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                """, documentNumbers);
+        return jdbcTemplate.queryForList("SELECT id FROM accounts WHERE document_number LIKE ? ORDER BY id", Long.class, prefix + "%")
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    // Cumulative probabilities of rank k being picked, proportional to 1 / (k + 1)^skew
+    private static double[] zipfCdf(int n, double skew) {
+        var cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1 / Math.pow(k + 1, skew);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+        return cdf;
+    }
+
+    private record Result(long committed, long aborted, long[] latencies) {
+
+        static Result merge(List<Result> results) {
+            long committed = 0;
+            long aborted = 0;
+            var latencies = new long[results.stream().mapToInt(result -> result.latencies().length).sum()];
+            int offset = 0;
+            for (var result : results) {
+                committed += result.committed();
+                aborted += result.aborted();
+                System.arraycopy(result.latencies(), 0, latencies, offset, result.latencies().length);
+                offset += result.latencies().length;
+            }
+            Arrays.sort(latencies);
+            return new Result(committed, aborted, latencies);
+        }
+
+        long p99Nanos() {
+            return latencies.length == 0 ? 0 : latencies[(int) Math.min(latencies.length - 1, Math.ceil(latencies.length * 0.99) - 1)];
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.transactions_routine.service.balance;
+
+import com.example.transactions_routine.repository.AccountBalanceVersion;
+import com.example.transactions_routine.repository.AccountRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceUpdateStrategyTest {
+
+    private static final Long ACCOUNT_ID = 1L;
+    private static final BigDecimal DEBIT = new BigDecimal("-30.00");
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Nested
+    @DisplayName("Optimistic versioning")
+    class Optimistic {
+
+        @Test
+        @DisplayName("Given a concurrent update between read and write, it should re-read and retry")
+        void shouldRetryOnVersionConflict() {
+            // Given
+            var strategy = new OptimisticBalanceUpdateStrategy(accountRepository, 3, Duration.ZERO);
+            when(accountRepository.findBalanceAndVersion(ACCOUNT_ID)).thenReturn(
+                    Optional.of(new AccountBalanceVersion(new BigDecimal("100.00"), 7L)),
+                    Optional.of(new AccountBalanceVersion(new BigDecimal("80.00"), 8L)));
+            when(accountRepository.updateBalanceIfVersion(ACCOUNT_ID, DEBIT, 7L)).thenReturn(Optional.empty());
+            when(accountRepository.updateBalanceIfVersion(ACCOUNT_ID, DEBIT, 8L)).thenReturn(Optional.of(new BigDecimal("50.00")));
+
+            // When
+            var applied = strategy.apply(ACCOUNT_ID, DEBIT);
+
+            // Then
+            assertEquals(Optional.of(new BigDecimal("50.00")), applied);
+            assertEquals(1, strategy.conflicts());
+        }
+
+        @Test
+        @DisplayName("Given every attempt conflicts, it should give up with ConcurrentBalanceUpdateException")
+        void shouldAbortAfterMaxAttempts() {
+            var strategy = new OptimisticBalanceUpdateStrategy(accountRepository, 3, Duration.ZERO);
+            when(accountRepository.findBalanceAndVersion(ACCOUNT_ID))
+                    .thenReturn(Optional.of(new AccountBalanceVersion(new BigDecimal("100.00"), 7L)));
+            when(accountRepository.updateBalanceIfVersion(ACCOUNT_ID, DEBIT, 7L)).thenReturn(Optional.empty());
+
+            assertThrows(ConcurrentBalanceUpdateException.class, () -> strategy.apply(ACCOUNT_ID, DEBIT));
+
+            verify(accountRepository, times(3)).updateBalanceIfVersion(ACCOUNT_ID, DEBIT, 7L);
+        }
+
+        @Test
+        @DisplayName("Given insufficient funds, it should return false without writing")
+        void shouldRejectInsufficientFunds() {
+            var strategy = new OptimisticBalanceUpdateStrategy(accountRepository, 3, Duration.ZERO);
+            when(accountRepository.findBalanceAndVersion(ACCOUNT_ID))
+                    .thenReturn(Optional.of(new AccountBalanceVersion(new BigDecimal("10.00"), 7L)));
+
+            assertTrue(strategy.apply(ACCOUNT_ID, DEBIT).isEmpty());
+
+            verify(accountRepository, never()).updateBalanceIfVersion(any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Pessimistic locking")
+    class Pessimistic {
+
+        @Test
+        @DisplayName("Given enough funds under the row lock, it should apply the amount")
+        void shouldApplyUnderLock() {
+            var strategy = new PessimisticBalanceUpdateStrategy(accountRepository);
+            when(accountRepository.lockBalanceById(ACCOUNT_ID)).thenReturn(Optional.of(new BigDecimal("30.00")));
+            when(accountRepository.updateBalance(ACCOUNT_ID, DEBIT)).thenReturn(Optional.of(new BigDecimal("0.00")));
+
+            assertEquals(Optional.of(new BigDecimal("0.00")), strategy.apply(ACCOUNT_ID, DEBIT));
+
+            verify(accountRepository).updateBalance(ACCOUNT_ID, DEBIT);
+        }
+
+        @Test
+        @DisplayName("Given insufficient funds under the row lock, it should return false without writing")
+        void shouldRejectInsufficientFunds() {
+            var strategy = new PessimisticBalanceUpdateStrategy(accountRepository);
+            when(accountRepository.lockBalanceById(ACCOUNT_ID)).thenReturn(Optional.of(new BigDecimal("29.99")));
+
+            assertTrue(strategy.apply(ACCOUNT_ID, DEBIT).isEmpty());
+
+            verify(accountRepository, never()).updateBalance(any(), any());
+        }
+    }
+
+    @Test
+    @DisplayName("Given the guarded UPDATE matches no row, it should report insufficient funds")
+    void guardedUpdateShouldMapUpdatedRows() {
+        var strategy = new GuardedUpdateBalanceStrategy(accountRepository);
+        when(accountRepository.updateBalanceWithCheck(ACCOUNT_ID, DEBIT)).thenReturn(Optional.empty());
+
+        assertTrue(strategy.apply(ACCOUNT_ID, DEBIT).isEmpty());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.transactions_routine.service.dataset;
+
+import com.example.transactions_routine.service.dataset.AccountHistory.Operation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountHistoryTest {
+
+    private static final long FIRST_DAY = LocalDate.of(2024, 1, 1).toEpochDay();
+    private static final long LAST_DAY = LocalDate.of(2025, 1, 1).toEpochDay();
+
+    private final AccountHistory history = new AccountHistory(42, FIRST_DAY, LAST_DAY, 2_500, 1.0);
+
+    private record Row(Operation operation, long amountCents, long eventMicros, long balanceAfterCents) {
+    }
+
+    private List<Row> generate(AccountHistory history, long index, long transactions) {
+        var rows = new ArrayList<Row>();
+        history.generate(index, transactions, (operation, amountCents, eventMicros, balanceAfterCents) ->
+                rows.add(new Row(operation, amountCents, eventMicros, balanceAfterCents)));
+        return rows;
+    }
+
+    @Test
+    @DisplayName("Given an account, it should generate its transactions oldest first within the period with a running balance that never goes negative")
+    void shouldGenerateConsistentHistory() {
+        // Given
+        var openedMicros = history.openedDay(3) * AccountHistory.MICROS_PER_DAY;
+
+        // When
+        var rows = generate(history, 3, 20_000);
+
+        // Then
+        assertEquals(20_000, rows.size());
+        long balance = 0;
+        long previousMicros = openedMicros;
+        for (var row : rows) {
+            assertTrue(row.eventMicros() >= previousMicros);
+            assertTrue(row.eventMicros() < LAST_DAY * AccountHistory.MICROS_PER_DAY);
+            assertEquals(row.operation().credit, row.amountCents() > 0);
+            assertTrue(Math.abs(row.amountCents()) <= AccountHistory.MAX_AMOUNT_CENTS);
+            balance += row.amountCents();
+            assertEquals(balance, row.balanceAfterCents());
+            assertTrue(balance >= 0 && balance <= AccountHistory.MAX_BALANCE_CENTS);
+            previousMicros = row.eventMicros();
+        }
+        assertTrue(history.openedDay(3) < FIRST_DAY + 184);
+        assertEquals(balance, history.finalBalance(3, 20_000));
+    }
+
+    @Test
+    @DisplayName("Given the same seed and account, it should generate the same rows; given another account, other ones")
+    void shouldBeDeterministicPerAccount() {
+        var again = new AccountHistory(42, FIRST_DAY, LAST_DAY, 2_500, 1.0);
+
+        assertEquals(generate(history, 7, 500), generate(again, 7, 500));
+        assertNotEquals(generate(history, 7, 500), generate(history, 8, 500));
+    }
+
+    @Test
+    @DisplayName("Given many transactions, it should mostly book purchases and place few of them at night")
+    void shouldFollowOperationMixAndDailyProfile() {
+        var rows = generate(history, 11, 100_000);
+
+        var purchases = rows.stream().filter(row -> row.operation() == Operation.PURCHASE).count();
+        var atNight = rows.stream()
+                .filter(row -> row.eventMicros() % AccountHistory.MICROS_PER_DAY < 5 * AccountHistory.MICROS_PER_DAY / 24)
+                .count();
+        assertTrue(purchases > 40_000, "purchases: " + purchases);
+        // Hours 0 to 4 have 5 of the 157 hourly weights
+        assertTrue(atNight > 1_500 && atNight < 4_000, "at night: " + atNight);
+    }
+}
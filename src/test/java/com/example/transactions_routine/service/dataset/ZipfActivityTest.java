@@ -0,0 +1,61 @@
+package com.example.transactions_routine.service.dataset;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfActivityTest {
+
+    @Test
+    @DisplayName("Given any shape, it should hand out exactly the requested number of transactions")
+    void shouldAddUpToTheTotal() {
+        for (var exponent : new double[]{0.6, 1.0, 1.4}) {
+            var activity = new ZipfActivity(10_007, 1_234_567, exponent, 7);
+            long total = 0;
+            for (long index = 0; index < 10_007; index++) {
+                var transactions = activity.transactions(index);
+                assertTrue(transactions >= 0);
+                total += transactions;
+            }
+            assertEquals(1_234_567, total);
+        }
+    }
+
+    @Test
+    @DisplayName("Given a seed, it should permute the ranks and give the busiest account the Zipf share")
+    void shouldPermuteRanksAndFollowZipfLaw() {
+        var activity = new ZipfActivity(100_000, 10_000_000, 1.0, 42);
+        var ranks = new HashSet<Long>();
+        long busiest = -1;
+        for (long index = 0; index < 100_000; index++) {
+            var rank = activity.rank(index);
+            assertTrue(ranks.add(rank));
+            if (rank == 1) {
+                busiest = index;
+            }
+        }
+        assertEquals(100_000, ranks.size());
+
+        // 1 / H(100000) of all transactions, H(100000) being about 12.09
+        assertEquals(827_000, activity.transactions(busiest), 1_000);
+        assertNotEquals(0, busiest);
+    }
+
+    @Test
+    @DisplayName("Given the same seed, it should produce the same counts; given another one, other ranks")
+    void shouldBeDeterministicBySeed() {
+        var first = new ZipfActivity(1_000, 50_000, 1.0, 1);
+        var again = new ZipfActivity(1_000, 50_000, 1.0, 1);
+        var other = new ZipfActivity(1_000, 50_000, 1.0, 2);
+
+        boolean differs = false;
+        for (long index = 0; index < 1_000; index++) {
+            assertEquals(first.transactions(index), again.transactions(index));
+            differs |= first.rank(index) != other.rank(index);
+        }
+        assertTrue(differs);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.transactions_routine.service.hold;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 100;
+
+    @Test
+    @DisplayName("Given entries on several levels, it should expire each one only once its deadline has passed")
+    void shouldExpireEntriesAtTheirDeadline() {
+        var wheel = new HierarchicalTimingWheel(TICK, 8, 3, 0);
+        wheel.schedule(1, 250);      // level 0
+        wheel.schedule(2, 1_500);    // level 1
+        wheel.schedule(3, 20_000);   // beyond the top level span
+
+        var expired = new ArrayList<Long>();
+        wheel.advance(200, expired::add);
+        assertEquals(List.of(), expired);
+
+        wheel.advance(300, expired::add);
+        assertEquals(List.of(1L), expired);
+
+        wheel.advance(1_499, expired::add);
+        assertEquals(List.of(1L), expired);
+
+        wheel.advance(1_500, expired::add);
+        assertEquals(List.of(1L, 2L), expired);
+
+        wheel.advance(19_900, expired::add);
+        assertEquals(List.of(1L, 2L), expired);
+        assertEquals(1, wheel.size());
+
+        wheel.advance(20_000, expired::add);
+        assertEquals(List.of(1L, 2L, 3L), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Given a deadline in the past, it should expire it on the next advance")
+    void shouldExpirePastDeadlinesOnNextAdvance() {
+        var wheel = new HierarchicalTimingWheel(TICK, 8, 2, 10_000);
+        wheel.schedule(7, 0);
+
+        var expired = new ArrayList<Long>();
+        wheel.advance(10_100, expired::add);
+
+        assertEquals(List.of(7L), expired);
+    }
+
+    @Test
+    @DisplayName("Given many random deadlines, it should never expire early or more than one tick late")
+    void shouldRespectRandomDeadlines() {
+        var wheel = new HierarchicalTimingWheel(TICK, 16, 3, 0);
+        var random = new Random(42);
+        var deadlines = new long[5_000];
+        for (int id = 0; id < deadlines.length; id++) {
+            deadlines[id] = random.nextLong(1, 2_000_000);
+            wheel.schedule(id, deadlines[id]);
+        }
+
+        var expiredAt = new long[deadlines.length];
+        for (long now = 0; now <= 2_000_000; now += 700) {
+            final long current = now;
+            wheel.advance(now, id -> expiredAt[(int) id] = current);
+        }
+
+        for (int id = 0; id < deadlines.length; id++) {
+            assertTrue(expiredAt[id] >= deadlines[id], "expired early: " + id);
+            assertTrue(expiredAt[id] - deadlines[id] < 700 + TICK, "expired late: " + id);
+        }
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.transactions_routine.service.hold;
+
+import com.example.transactions_routine.controller.hold.HoldCaptureRequest;
+import com.example.transactions_routine.controller.hold.HoldRequest;
+import com.example.transactions_routine.fixture.AccountFixture;
+import com.example.transactions_routine.fixture.OperationTypeFixture;
+import com.example.transactions_routine.model.Hold;
+import com.example.transactions_routine.model.HoldStatus;
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.HoldRepository;
+import com.example.transactions_routine.repository.OperationTypeRepository;
+import com.example.transactions_routine.repository.TransactionRepository;
+import com.example.transactions_routine.service.summary.AccountSummaryServicePort;
+import com.example.transactions_routine.service.transaction.InsufficientFundsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HoldServiceTest {
+
+    @Mock
+    private HoldRepository holdRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private OperationTypeRepository operationTypeRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountSummaryServicePort accountSummaryServicePort;
+
+    @Mock
+    private HoldExpiryWheel holdExpiryWheel;
+
+    private HoldService holdService;
+
+    private final Long accountId = 1L;
+    private final BigDecimal amount = new BigDecimal("50.00");
+
+    @BeforeEach
+    void setUp() {
+        holdService = new HoldService(holdRepository, accountRepository, operationTypeRepository, transactionRepository,
+                accountSummaryServicePort, holdExpiryWheel, Duration.ofDays(7));
+    }
+
+    private Hold authorizedHold() {
+        return Hold.builder()
+                .id(9L)
+                .account(AccountFixture.validAccount(accountId))
+                .operationType(OperationTypeFixture.validDebitOperationType())
+                .amount(amount)
+                .status(HoldStatus.AUTHORIZED)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Authorize a hold")
+    class Authorize {
+
+        @Test
+        @DisplayName("Given sufficient funds, it should reserve the amount and schedule the expiry")
+        void shouldReserveAndScheduleExpiry() {
+            var request = new HoldRequest(accountId, 1L, amount, 3600L);
+            when(accountRepository.findById(accountId)).thenReturn(Optional.of(AccountFixture.validAccount(accountId)));
+            when(operationTypeRepository.findById(1L)).thenReturn(Optional.of(OperationTypeFixture.validDebitOperationType()));
+            when(accountRepository.reserve(accountId, amount)).thenReturn(1);
+            when(holdRepository.save(any(Hold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            var hold = holdService.authorize(request);
+
+            assertEquals(HoldStatus.AUTHORIZED, hold.getStatus());
+            assertTrue(hold.getExpiresAt().isAfter(LocalDateTime.now().plusMinutes(59)));
+            verify(holdExpiryWheel).schedule(hold.getId(), hold.getExpiresAt());
+        }
+
+        @Test
+        @DisplayName("Given a running transaction, it should schedule the expiry only once the transaction commits")
+        void shouldScheduleExpiryAfterCommit() {
+            var request = new HoldRequest(accountId, 1L, amount, 3600L);
+            when(accountRepository.findById(accountId)).thenReturn(Optional.of(AccountFixture.validAccount(accountId)));
+            when(operationTypeRepository.findById(1L)).thenReturn(Optional.of(OperationTypeFixture.validDebitOperationType()));
+            when(accountRepository.reserve(accountId, amount)).thenReturn(1);
+            when(holdRepository.save(any(Hold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                var hold = holdService.authorize(request);
+                verifyNoInteractions(holdExpiryWheel);
+
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+                verify(holdExpiryWheel).schedule(hold.getId(), hold.getExpiresAt());
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        @Test
+        @DisplayName("Given insufficient funds, it should throw InsufficientFundsException and not create the hold")
+        void shouldThrowWhenFundsAreInsufficient() {
+            var request = new HoldRequest(accountId, 1L, amount, null);
+            when(accountRepository.findById(accountId)).thenReturn(Optional.of(AccountFixture.validAccount(accountId)));
+            when(operationTypeRepository.findById(1L)).thenReturn(Optional.of(OperationTypeFixture.validDebitOperationType()));
+            when(accountRepository.reserve(accountId, amount)).thenReturn(0);
+
+            assertThrows(InsufficientFundsException.class, () -> holdService.authorize(request));
+
+            verify(holdRepository, never()).save(any());
+            verifyNoInteractions(holdExpiryWheel);
+        }
+
+        @Test
+        @DisplayName("Given a credit operation type, it should throw InvalidHoldException")
+        void shouldRejectCreditOperationTypes() {
+            var request = new HoldRequest(accountId, 4L, amount, null);
+            when(accountRepository.findById(accountId)).thenReturn(Optional.of(AccountFixture.validAccount(accountId)));
+            when(operationTypeRepository.findById(4L)).thenReturn(Optional.of(OperationTypeFixture.validCreditOperationType()));
+
+            assertThrows(InvalidHoldException.class, () -> holdService.authorize(request));
+
+            verify(accountRepository, never()).reserve(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Capture a hold")
+    class Capture {
+
+        @Test
+        @DisplayName("Given a partial capture, it should book the captured amount and release the remainder")
+        void shouldBookCaptureAndReleaseRemainder() {
+            when(holdRepository.findById(9L)).thenReturn(Optional.of(authorizedHold()));
+            when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(holdRepository.markCaptured(eq(9L), eq(new BigDecimal("30.00")), any(), any())).thenReturn(1);
+
+            var transaction = holdService.capture(9L, new HoldCaptureRequest(new BigDecimal("30.00")));
+
+            assertEquals(new BigDecimal("-30.00"), transaction.getAmount());
+            verify(accountRepository).settleHold(accountId, amount, new BigDecimal("20.00"));
+            verify(accountSummaryServicePort).recordTransaction(transaction);
+        }
+
+        @Test
+        @DisplayName("Given a hold that is no longer authorized, it should throw HoldNotActiveException")
+        void shouldRejectSettledHold() {
+            when(holdRepository.findById(9L)).thenReturn(Optional.of(authorizedHold()));
+            when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(holdRepository.markCaptured(eq(9L), any(), any(), any())).thenReturn(0);
+
+            assertThrows(HoldNotActiveException.class, () -> holdService.capture(9L, null));
+
+            verify(accountRepository, never()).settleHold(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Given an amount above the held amount, it should throw InvalidHoldException")
+        void shouldRejectOverCapture() {
+            when(holdRepository.findById(9L)).thenReturn(Optional.of(authorizedHold()));
+
+            assertThrows(InvalidHoldException.class,
+                    () -> holdService.capture(9L, new HoldCaptureRequest(new BigDecimal("50.01"))));
+
+            verify(transactionRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Expire due holds")
+    class ExpireDueHolds {
+
+        @Test
+        @DisplayName("Given holds past their expiry in the table, it should expire them and return how many")
+        void shouldExpireDueHoldsFromTable() {
+            var now = LocalDateTime.now();
+            when(holdRepository.expireDue(now, 100)).thenReturn(List.of(9L, 10L));
+
+            assertEquals(2, holdService.expireDueHolds(now, 100));
+        }
+    }
+
+    @Nested
+    @DisplayName("Release a hold")
+    class Release {
+
+        @Test
+        @DisplayName("Given an authorized hold, it should give the whole amount back")
+        void shouldReleaseWholeAmount() {
+            when(holdRepository.findById(9L)).thenReturn(Optional.of(authorizedHold()));
+            when(holdRepository.markReleased(9L)).thenReturn(1);
+
+            var hold = holdService.release(9L);
+
+            assertEquals(HoldStatus.RELEASED, hold.getStatus());
+            verify(accountRepository).settleHold(accountId, amount, amount);
+        }
+
+        @Test
+        @DisplayName("Given an unknown hold, it should throw HoldNotFoundException")
+        void shouldThrowWhenHoldDoesNotExist() {
+            when(holdRepository.findById(9L)).thenReturn(Optional.empty());
+
+            assertThrows(HoldNotFoundException.class, () -> holdService.release(9L));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.transactions_routine.service.installment;
+
+import com.example.transactions_routine.fixture.AccountFixture;
+import com.example.transactions_routine.fixture.OperationTypeFixture;
+import com.example.transactions_routine.model.Installment;
+import com.example.transactions_routine.model.InstallmentPlan;
+import com.example.transactions_routine.model.InstallmentStatus;
+import com.example.transactions_routine.repository.InstallmentPlanRepository;
+import com.example.transactions_routine.repository.InstallmentRepository;
+import com.example.transactions_routine.service.summary.AccountSummaryServicePort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InstallmentServiceTest {
+
+    @Mock
+    private InstallmentPlanRepository installmentPlanRepository;
+
+    @Mock
+    private InstallmentRepository installmentRepository;
+
+    @Mock
+    private AccountSummaryServicePort accountSummaryServicePort;
+
+    @InjectMocks
+    private InstallmentService installmentService;
+
+    @Nested
+    @DisplayName("Split an amount into installments")
+    class SplitIntoInstallments {
+
+        @Test
+        @DisplayName("Given an amount that does not divide evenly, it should put the remainder on the first installment")
+        void shouldPutRemainderOnFirstInstallment() {
+            var amounts = installmentService.splitIntoInstallments(
+                    OperationTypeFixture.validInstallmentOperationType(), new BigDecimal("-100.00"), 3);
+
+            assertEquals(List.of(new BigDecimal("-33.34"), new BigDecimal("-33.33"), new BigDecimal("-33.33")), amounts);
+            assertEquals(new BigDecimal("-100.00"), amounts.stream().reduce(BigDecimal.ZERO, BigDecimal::add));
+        }
+
+        @Test
+        @DisplayName("Given an operation type other than Purchase with installments, it should throw InvalidInstallmentsException")
+        void shouldRejectInstallmentsForOtherOperationTypes() {
+            assertThrows(InvalidInstallmentsException.class, () -> installmentService.splitIntoInstallments(
+                    OperationTypeFixture.validDebitOperationType(), new BigDecimal("-100.00"), 3));
+        }
+
+        @Test
+        @DisplayName("Given more installments than allowed, it should throw InvalidInstallmentsException")
+        void shouldRejectTooManyInstallments() {
+            assertThrows(InvalidInstallmentsException.class, () -> installmentService.splitIntoInstallments(
+                    OperationTypeFixture.validInstallmentOperationType(), new BigDecimal("-100.00"), InstallmentService.MAX_INSTALLMENTS + 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Create an installment plan")
+    class CreatePlan {
+
+        @Test
+        @DisplayName("Given installment amounts, it should mark the first as posted and schedule the rest monthly")
+        void shouldScheduleRemainingInstallmentsMonthly() {
+            var account = AccountFixture.validAccount(1L);
+            var operationType = OperationTypeFixture.validInstallmentOperationType();
+            var firstDueDate = LocalDate.of(2025, 1, 31);
+            var amounts = List.of(new BigDecimal("-33.34"), new BigDecimal("-33.33"), new BigDecimal("-33.33"));
+
+            when(installmentPlanRepository.save(any(InstallmentPlan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            var plan = installmentService.createPlan(account, operationType, amounts, firstDueDate);
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<Installment>> captor = ArgumentCaptor.forClass(List.class);
+            verify(installmentRepository).saveAll(captor.capture());
+            var installments = captor.getValue();
+
+            assertAll(
+                    () -> assertEquals(new BigDecimal("-100.00"), plan.getTotalAmount()),
+                    () -> assertEquals(3, plan.getInstallmentCount()),
+                    () -> assertEquals(3, installments.size()),
+                    () -> assertEquals(InstallmentStatus.POSTED, installments.get(0).getStatus()),
+                    () -> assertEquals(InstallmentStatus.PENDING, installments.get(1).getStatus()),
+                    () -> assertEquals(LocalDate.of(2025, 2, 28), installments.get(1).getDueDate()),
+                    () -> assertEquals(LocalDate.of(2025, 3, 31), installments.get(2).getDueDate())
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Post due installments")
+    class PostDueInstallments {
+
+        private final LocalDate today = LocalDate.of(2025, 2, 1);
+
+        @Test
+        @DisplayName("Given due installments, it should apply balances, insert transactions and mark the batch posted")
+        void shouldPostClaimedBatchSetWise() {
+            var claimed = List.of(10L, 11L, 12L);
+            when(installmentRepository.claimDueInstallmentIds(today, 500)).thenReturn(claimed);
+
+            var posted = installmentService.postDueInstallments(today, 500);
+
+            assertEquals(3, posted);
+            var inOrder = inOrder(installmentRepository);
+            inOrder.verify(installmentRepository).lockAccounts(claimed);
+            inOrder.verify(installmentRepository).markUnfundedFailed(claimed);
+            inOrder.verify(installmentRepository).applyBalances(claimed);
+            inOrder.verify(installmentRepository).insertTransactions(claimed);
+            inOrder.verify(installmentRepository).markPosted(claimed);
+            verify(accountSummaryServicePort).recordInstallments(claimed);
+        }
+
+        @Test
+        @DisplayName("Given an installment the account cannot cover, it should post only the funded ones")
+        void shouldPostOnlyFundedInstallments() {
+            // Given
+            var claimed = List.of(10L, 11L, 12L);
+            when(installmentRepository.claimDueInstallmentIds(today, 500)).thenReturn(claimed);
+            when(installmentRepository.markUnfundedFailed(claimed)).thenReturn(List.of(11L));
+
+            // When
+            var settled = installmentService.postDueInstallments(today, 500);
+
+            // Then
+            var funded = List.of(10L, 12L);
+            assertEquals(3, settled);
+            verify(installmentRepository).applyBalances(funded);
+            verify(installmentRepository).insertTransactions(funded);
+            verify(installmentRepository).markPosted(funded);
+            verify(accountSummaryServicePort).recordInstallments(funded);
+        }
+
+        @Test
+        @DisplayName("Given no installment the accounts can cover, it should not apply any balance")
+        void shouldNotApplyBalancesWhenAllFail() {
+            // Given
+            var claimed = List.of(10L, 11L);
+            when(installmentRepository.claimDueInstallmentIds(today, 500)).thenReturn(claimed);
+            when(installmentRepository.markUnfundedFailed(claimed)).thenReturn(claimed);
+
+            // When
+            var settled = installmentService.postDueInstallments(today, 500);
+
+            // Then
+            assertEquals(2, settled);
+            verify(installmentRepository, never()).applyBalances(any());
+            verify(installmentRepository, never()).insertTransactions(any());
+            verify(installmentRepository, never()).markPosted(any());
+        }
+
+        @Test
+        @DisplayName("Given nothing is due, it should not issue any write")
+        void shouldDoNothingWhenNothingIsDue() {
+            when(installmentRepository.claimDueInstallmentIds(today, 500)).thenReturn(List.of());
+
+            assertEquals(0, installmentService.postDueInstallments(today, 500));
+
+            verify(installmentRepository, never()).applyBalances(any());
+            verify(installmentRepository, never()).insertTransactions(any());
+            verify(installmentRepository, never()).markPosted(any());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.transactions_routine.service.jdbc;
+
+import com.example.transactions_routine.controller.transaction.TransactionRequest;
+import com.example.transactions_routine.fixture.OperationTypeFixture;
+import com.example.transactions_routine.model.Account;
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.JdbcTransactionWriteRepository;
+import com.example.transactions_routine.service.activity.RecentActivityCache;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import com.example.transactions_routine.service.balance.SplitBalanceServicePort;
+import com.example.transactions_routine.service.limit.DailyLimitServicePort;
+import com.example.transactions_routine.service.transaction.InsufficientFundsException;
+import com.example.transactions_routine.service.transaction.TransactionService;
+import com.example.transactions_routine.service.velocity.VelocityServicePort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JdbcTransactionServiceTest {
+
+    private static final long ACCOUNT_ID = 1L;
+    private static final long TRANSACTION_ID = 51L;
+    private static final BigDecimal AMOUNT = new BigDecimal("100.00");
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private JdbcTransactionWriteRepository jdbcTransactionWriteRepository;
+
+    @Mock
+    private VelocityServicePort velocityServicePort;
+
+    @Mock
+    private DailyLimitServicePort dailyLimitServicePort;
+
+    @Mock
+    private SplitBalanceServicePort splitBalanceServicePort;
+
+    @Mock
+    private RecentActivityCache recentActivityCache;
+
+    private JdbcTransactionService jdbcTransactionService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTransactionService = new JdbcTransactionService(transactionService, jdbcTransactionWriteRepository,
+                velocityServicePort, dailyLimitServicePort, splitBalanceServicePort, recentActivityCache, "guarded-update", false, false);
+        lenient().when(jdbcTransactionWriteRepository.findOperationType(1L))
+                .thenReturn(Optional.of(OperationTypeFixture.validDebitOperationType()));
+        lenient().when(jdbcTransactionWriteRepository.findOperationType(2L))
+                .thenReturn(Optional.of(OperationTypeFixture.validInstallmentOperationType()));
+        lenient().when(jdbcTransactionWriteRepository.findOperationType(4L))
+                .thenReturn(Optional.of(OperationTypeFixture.validCreditOperationType()));
+        lenient().when(jdbcTransactionWriteRepository.nextTransactionId()).thenReturn(TRANSACTION_ID);
+        lenient().when(dailyLimitServicePort.findDefaultLimit(anyLong())).thenReturn(Optional.empty());
+    }
+
+    @Nested
+    @DisplayName("Create transaction")
+    class CreateTransaction {
+
+        @Test
+        @DisplayName("Given a covered debit, it should post it with one statement and return it without reading the account")
+        void shouldPostDebitWithOneStatement() {
+            // Given
+            when(jdbcTransactionWriteRepository.postTransaction(eq(TRANSACTION_ID), eq(ACCOUNT_ID), eq(1L), eq(AMOUNT.negate()), any()))
+                    .thenReturn(Optional.of(new BigDecimal("900.00")));
+
+            // When
+            var transaction = jdbcTransactionService.createTransaction(new TransactionRequest(ACCOUNT_ID, 1L, AMOUNT));
+
+            // Then
+            assertEquals(TRANSACTION_ID, transaction.getId());
+            assertEquals(ACCOUNT_ID, transaction.getAccount().getId());
+            assertEquals(AMOUNT.negate(), transaction.getAmount());
+            assertEquals(new BigDecimal("900.00"), transaction.getBalanceAfter());
+            verify(velocityServicePort).checkAndRecord(ACCOUNT_ID, 1L, AMOUNT.negate());
+            verify(jdbcTransactionWriteRepository, never()).findBalanceSlots(anyLong());
+            verifyNoInteractions(transactionService);
+        }
+
+        @Test
+        @DisplayName("Given a debit the account does not cover, it should throw InsufficientFundsException")
+        void shouldThrowWhenDebitNotCovered() {
+            // Given
+            when(jdbcTransactionWriteRepository.postTransaction(anyLong(), anyLong(), anyLong(), any(), any())).thenReturn(Optional.empty());
+            when(jdbcTransactionWriteRepository.findBalanceSlots(ACCOUNT_ID)).thenReturn(Optional.of(0));
+
+            // When & Then
+            assertThrows(InsufficientFundsException.class,
+                    () -> jdbcTransactionService.createTransaction(new TransactionRequest(ACCOUNT_ID, 1L, AMOUNT)));
+            verifyNoInteractions(splitBalanceServicePort);
+        }
+
+        @Test
+        @DisplayName("Given an account that does not exist, it should throw AccountNotFoundException")
+        void shouldThrowWhenAccountNotFound() {
+            // Given
+            when(jdbcTransactionWriteRepository.postTransaction(anyLong(), anyLong(), anyLong(), any(), any())).thenReturn(Optional.empty());
+            when(jdbcTransactionWriteRepository.findBalanceSlots(ACCOUNT_ID)).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThrows(AccountNotFoundException.class,
+                    () -> jdbcTransactionService.createTransaction(new TransactionRequest(ACCOUNT_ID, 4L, AMOUNT)));
+        }
+
+        @Test
+        @DisplayName("Given a credit to a split account, it should credit a balance slot and insert the transaction")
+        void shouldCreditBalanceSlotOfSplitAccount() {
+            // Given
+            when(jdbcTransactionWriteRepository.postTransaction(anyLong(), anyLong(), anyLong(), any(), any())).thenReturn(Optional.empty());
+            when(jdbcTransactionWriteRepository.findBalanceSlots(ACCOUNT_ID)).thenReturn(Optional.of(8));
+
+            // When
+            jdbcTransactionService.createTransaction(new TransactionRequest(ACCOUNT_ID, 4L, AMOUNT));
+
+            // Then
+            verify(splitBalanceServicePort).credit(any(Account.class), eq(AMOUNT));
+            verify(jdbcTransactionWriteRepository).insertTransaction(eq(TRANSACTION_ID), eq(ACCOUNT_ID), eq(4L), eq(AMOUNT), any());
+        }
+
+        @Test
+        @DisplayName("Given a debit on a split account, it should sweep the slots and post it again")
+        void shouldSweepSplitAccountAndRetryDebit() {
+            // Given
+            when(jdbcTransactionWriteRepository.postTransaction(anyLong(), anyLong(), anyLong(), any(), any()))
+                    .thenReturn(Optional.empty(), Optional.of(new BigDecimal("900.00")));
+            when(jdbcTransactionWriteRepository.findBalanceSlots(ACCOUNT_ID)).thenReturn(Optional.of(8));
+            when(splitBalanceServicePort.sweep(ACCOUNT_ID)).thenReturn(true);
+
+            // When
+            var transaction = jdbcTransactionService.createTransaction(new TransactionRequest(ACCOUNT_ID, 1L, AMOUNT));
+
+            // Then
+            assertEquals(TRANSACTION_ID, transaction.getId());
+            verify(jdbcTransactionWriteRepository, times(2)).postTransaction(eq(TRANSACTION_ID), eq(ACCOUNT_ID), eq(1L), eq(AMOUNT.negate()), any());
+        }
+
+        @Test
+        @DisplayName("Given an installment purchase, it should take the JPA path")
+        void shouldDelegateInstallmentPurchase() {
+            // Given
+            var request = new TransactionRequest(ACCOUNT_ID, 2L, AMOUNT, 3);
+            var expected = Transaction.builder().id(TRANSACTION_ID).build();
+            when(transactionService.createTransaction(request)).thenReturn(expected);
+
+            // When
+            var transaction = jdbcTransactionService.createTransaction(request);
+
+            // Then
+            assertSame(expected, transaction);
+            verify(jdbcTransactionWriteRepository, never()).postTransaction(anyLong(), anyLong(), anyLong(), any(), any());
+        }
+    }
+
+    @Test
+    @DisplayName("Given sharding is enabled, it should refuse to start")
+    void shouldRefuseSharding() {
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> new JdbcTransactionService(transactionService, jdbcTransactionWriteRepository,
+                velocityServicePort, dailyLimitServicePort, splitBalanceServicePort, recentActivityCache, "guarded-update", true, false));
+    }
+}
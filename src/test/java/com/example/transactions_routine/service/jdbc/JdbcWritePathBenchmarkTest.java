@@ -0,0 +1,167 @@
+package com.example.transactions_routine.service.jdbc;
+
+import com.example.transactions_routine.controller.transaction.TransactionRequest;
+import com.example.transactions_routine.service.transaction.TransactionService;
+import com.example.transactions_routine.service.transaction.TransactionServicePort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compares the JPA write path of {@link TransactionService} with the JDBC fast path of
+ * {@link JdbcTransactionService} against the PostgreSQL of {@code docker compose up -d db}: every
+ * worker books alternating credits and covered debits of 1.00 on random accounts. Reports
+ * throughput and p50/p99 latency per path. Run with
+ * {@code ./mvnw test -Dtest=JdbcWritePathBenchmarkTest -Dbenchmark=true}; tune with
+ * {@code -Dbenchmark.threads}, {@code -Dbenchmark.accounts} and {@code -Dbenchmark.seconds}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "transactions.installments.scheduler.enabled=false",
+        "transactions.holds.expiry.enabled=false",
+        "transactions.recurring-transfers.scheduler.enabled=false"
+})
+@ActiveProfiles("jdbc")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JdbcWritePathBenchmarkTest {
+
+    private static final BigDecimal ONE = new BigDecimal("1.00");
+    private static final long NORMAL_PURCHASE = 1L;
+    private static final long CREDIT_VOUCHER = 4L;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTransactionService jdbcTransactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void benchmark() throws Exception {
+        int threads = Integer.getInteger("benchmark.threads", 16);
+        int accountCount = Integer.getInteger("benchmark.accounts", 1_000);
+        var duration = Duration.ofSeconds(Long.getLong("benchmark.seconds", 10));
+
+        var prefix = "write-path-" + System.currentTimeMillis() + "-";
+        var accountIds = createAccounts(prefix, accountCount);
+        try {
+            var paths = new LinkedHashMap<String, TransactionServicePort>();
+            paths.put("jpa", transactionService);
+            paths.put("jdbc", jdbcTransactionService);
+
+            System.out.printf("%d threads, %d accounts, %d s per run%n", threads, accountCount, duration.toSeconds());
+            for (var path : paths.entrySet()) {
+                // Warm up connections, JIT and the buffer cache before measuring
+                run(path.getValue(), accountIds, threads, Duration.ofSeconds(2));
+                var result = run(path.getValue(), accountIds, threads, duration);
+                System.out.printf("%-5s %,10.0f tx/s  failed %,7d  p50 %7.2f ms  p99 %7.2f ms%n",
+                        path.getKey(),
+                        result.committed() / (double) duration.toSeconds(),
+                        result.failed(),
+                        result.percentileNanos(0.50) / 1_000_000.0,
+                        result.percentileNanos(0.99) / 1_000_000.0);
+            }
+        } finally {
+            jdbcTemplate.update("""
+                    DELETE FROM account_daily_summaries
+                     WHERE account_id IN (SELECT id FROM accounts WHERE document_number LIKE ?)
+                    """, prefix + "%");
+            jdbcTemplate.update("""
+                    DELETE FROM transactions
+                     WHERE account_id IN (SELECT id FROM accounts WHERE document_number LIKE ?)
+                    """, prefix + "%");
+            jdbcTemplate.update("DELETE FROM accounts WHERE document_number LIKE ?", prefix + "%");
+        }
+    }
+
+    private Result run(TransactionServicePort path, long[] accountIds, int threads, Duration duration) throws Exception {
+        var deadline = System.nanoTime() + duration.toNanos();
+        var tasks = new ArrayList<Callable<Result>>(threads);
+        for (int i = 0; i < threads; i++) {
+            tasks.add(() -> {
+                var random = ThreadLocalRandom.current();
+                var latencies = new long[1 << 16];
+                int samples = 0;
+                long committed = 0;
+                long failed = 0;
+                while (System.nanoTime() < deadline) {
+                    var accountId = accountIds[random.nextInt(accountIds.length)];
+                    var operationTypeId = (samples & 1) == 0 ? CREDIT_VOUCHER : NORMAL_PURCHASE;
+                    var start = System.nanoTime();
+                    try {
+                        path.createTransaction(new TransactionRequest(accountId, operationTypeId, ONE));
+                        committed++;
+                    } catch (RuntimeException e) {
+                        failed++;
+                    }
+                    if (samples == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, samples * 2);
+                    }
+                    latencies[samples++] = System.nanoTime() - start;
+                }
+                return new Result(committed, failed, Arrays.copyOf(latencies, samples));
+            });
+        }
+
+        try (var workers = Executors.newFixedThreadPool(threads)) {
+            var results = new ArrayList<Result>(threads);
+            for (var future : workers.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return Result.merge(results);
+        }
+    }
+
+    private long[] createAccounts(String prefix, int count) {
+        var documentNumbers = new ArrayList<Object[]>(count);
+        for (int i = 0; i < count; i++) {
+            documentNumbers.add(new Object[]{prefix + i});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO accounts (document_number, balance, created_at, updated_at)
+                VALUES (?, 1000000, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                """, documentNumbers);
+        return jdbcTemplate.queryForList("SELECT id FROM accounts WHERE document_number LIKE ? ORDER BY id", Long.class, prefix + "%")
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private record Result(long committed, long failed, long[] latencies) {
+
+        static Result merge(List<Result> results) {
+            long committed = 0;
+            long failed = 0;
+            var latencies = new long[results.stream().mapToInt(result -> result.latencies().length).sum()];
+            int offset = 0;
+            for (var result : results) {
+                committed += result.committed();
+                failed += result.failed();
+                System.arraycopy(result.latencies(), 0, latencies, offset, result.latencies().length);
+                offset += result.latencies().length;
+            }
+            Arrays.sort(latencies);
+            return new Result(committed, failed, latencies);
+        }
+
+        long percentileNanos(double percentile) {
+            return latencies.length == 0 ? 0 : latencies[(int) Math.min(latencies.length - 1, Math.ceil(latencies.length * percentile) - 1)];
+        }
+    }
+}
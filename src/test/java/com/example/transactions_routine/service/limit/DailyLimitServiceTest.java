@@ -0,0 +1,132 @@
+package com.example.transactions_routine.service.limit;
+
+import com.example.transactions_routine.model.AccountDailyLimit;
+import com.example.transactions_routine.model.AccountDailyLimitId;
+import com.example.transactions_routine.repository.AccountDailyLimitRepository;
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailyLimitServiceTest {
+
+    private static final long PURCHASE = 1L;
+    private static final long WITHDRAWAL = 3L;
+
+    @Mock
+    private AccountDailyLimitRepository accountDailyLimitRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private DailyLimitService dailyLimitService;
+
+    private final LocalDate today = LocalDate.of(2025, 1, 31);
+    private final AccountDailyLimitId withdrawalId = new AccountDailyLimitId(1L, WITHDRAWAL);
+
+    @BeforeEach
+    void setUp() {
+        dailyLimitService = new DailyLimitService(accountDailyLimitRepository, accountRepository,
+                new DailyLimitProperties(Map.of(PURCHASE, new BigDecimal("5000.00"), WITHDRAWAL, new BigDecimal("1000.00"))));
+    }
+
+    @Nested
+    @DisplayName("Explain a rejected debit")
+    class CheckDailyLimit {
+
+        @Test
+        @DisplayName("Given today's usage leaves too little, it should throw DailyLimitExceededException")
+        void shouldThrowWhenLimitIsExhausted() {
+            when(accountDailyLimitRepository.findById(withdrawalId)).thenReturn(Optional.of(AccountDailyLimit.builder()
+                    .id(withdrawalId)
+                    .usageDate(today)
+                    .usedAmount(new BigDecimal("950.00"))
+                    .build()));
+
+            var thrown = assertThrows(DailyLimitExceededException.class,
+                    () -> dailyLimitService.checkDailyLimit(1L, WITHDRAWAL, new BigDecimal("100.00"), today));
+
+            assertEquals("Daily limit exceeded. Account ID: 1, Operation type ID: 3, Remaining today: 50.00", thrown.getMessage());
+        }
+
+        @Test
+        @DisplayName("Given usage recorded on an earlier day, it should count it as zero")
+        void shouldResetUsageLazilyByDate() {
+            when(accountDailyLimitRepository.findById(withdrawalId)).thenReturn(Optional.of(AccountDailyLimit.builder()
+                    .id(withdrawalId)
+                    .usageDate(today.minusDays(1))
+                    .usedAmount(new BigDecimal("1000.00"))
+                    .build()));
+
+            assertDoesNotThrow(() -> dailyLimitService.checkDailyLimit(1L, WITHDRAWAL, new BigDecimal("100.00"), today));
+        }
+
+        @Test
+        @DisplayName("Given an account override, it should use it instead of the default")
+        void shouldUseAccountOverride() {
+            when(accountDailyLimitRepository.findById(withdrawalId)).thenReturn(Optional.of(AccountDailyLimit.builder()
+                    .id(withdrawalId)
+                    .dailyLimit(new BigDecimal("50.00"))
+                    .build()));
+
+            assertThrows(DailyLimitExceededException.class,
+                    () -> dailyLimitService.checkDailyLimit(1L, WITHDRAWAL, new BigDecimal("60.00"), today));
+        }
+    }
+
+    @Nested
+    @DisplayName("List daily limits")
+    class FindDailyLimits {
+
+        @Test
+        @DisplayName("Given one operation type with usage, it should list every limited operation type in id order")
+        void shouldListEveryLimitedOperationType() {
+            when(accountRepository.existsById(1L)).thenReturn(true);
+            when(accountDailyLimitRepository.findByIdAccountId(1L)).thenReturn(List.of(AccountDailyLimit.builder()
+                    .id(withdrawalId)
+                    .usageDate(today)
+                    .usedAmount(new BigDecimal("250.00"))
+                    .build()));
+
+            var limits = dailyLimitService.findDailyLimits(1L, today);
+
+            assertEquals(2, limits.size());
+            assertEquals(PURCHASE, limits.get(0).operationTypeId());
+            assertEquals(BigDecimal.ZERO, limits.get(0).usedAmount());
+            assertEquals(new BigDecimal("750.00"), limits.get(1).remainingAmount());
+        }
+
+        @Test
+        @DisplayName("Given an unknown account, it should throw AccountNotFoundException")
+        void shouldThrowWhenAccountDoesNotExist() {
+            when(accountRepository.existsById(1L)).thenReturn(false);
+
+            assertThrows(AccountNotFoundException.class, () -> dailyLimitService.findDailyLimits(1L, today));
+        }
+    }
+
+    @Test
+    @DisplayName("Given an operation type without a default limit, it should refuse an override")
+    void shouldRefuseOverrideForUnlimitedOperationType() {
+        assertThrows(InvalidDailyLimitException.class,
+                () -> dailyLimitService.setDailyLimit(1L, 4L, BigDecimal.TEN, today));
+
+        verify(accountDailyLimitRepository, never()).setDailyLimit(any(), any(), any());
+    }
+}
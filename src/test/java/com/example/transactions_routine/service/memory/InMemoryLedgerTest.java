@@ -0,0 +1,163 @@
+package com.example.transactions_routine.service.memory;
+
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryLedgerTest {
+
+    private static final long WITHDRAWAL = 3;
+    private static final long CREDIT_VOUCHER = 4;
+    private static final long TRANSFER_IN = 5;
+    private static final long TRANSFER_OUT = 6;
+
+    @TempDir
+    private Path directory;
+
+    private static InMemoryLedger ledger(Path snapshotFile) {
+        return new InMemoryLedger(new InMemoryStorageProperties(8, snapshotFile, Duration.ofMinutes(5)));
+    }
+
+    @Test
+    @DisplayName("Given a debit the balance cannot cover, it should change nothing")
+    void shouldRejectUncoveredDebit() {
+        // Given
+        var ledger = ledger(null);
+        var account = ledger.createAccount("11111111111").getId();
+        ledger.post(account, CREDIT_VOUCHER, 1000, LocalDateTime.now());
+
+        // When
+        var transaction = ledger.post(account, WITHDRAWAL, -1001, LocalDateTime.now());
+
+        // Then
+        assertNull(transaction);
+        assertEquals(new BigDecimal("10.00"), ledger.findAccount(account).getBalance());
+        assertEquals(1, ledger.findAccountTransactions(account).size());
+    }
+
+    @Test
+    @DisplayName("Given concurrent debits, it should never let the balance go negative")
+    void shouldNotOverdrawUnderConcurrency() {
+        // Given
+        var ledger = ledger(null);
+        var account = ledger.createAccount("11111111111").getId();
+        ledger.post(account, CREDIT_VOUCHER, 10_000, LocalDateTime.now());
+        var accepted = new AtomicInteger();
+
+        // When
+        var workers = new ArrayList<CompletableFuture<Void>>();
+        for (int worker = 0; worker < 8; worker++) {
+            workers.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 100; i++) {
+                    if (ledger.post(account, WITHDRAWAL, -100, LocalDateTime.now()) != null) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        workers.forEach(CompletableFuture::join);
+
+        // Then
+        assertEquals(100, accepted.get());
+        assertEquals(0, ledger.findAccount(account).getBalance().signum());
+    }
+
+    @Test
+    @DisplayName("Given a transfer the source cannot cover, it should change neither account")
+    void shouldRejectUncoveredTransfer() {
+        // Given
+        var ledger = ledger(null);
+        var source = ledger.createAccount("11111111111").getId();
+        var destination = ledger.createAccount("22222222222").getId();
+        ledger.post(source, CREDIT_VOUCHER, 5000, LocalDateTime.now());
+
+        // When
+        var transactions = ledger.transfer(source, new long[]{destination, destination}, new long[]{3000, 3000},
+                TRANSFER_OUT, TRANSFER_IN, LocalDateTime.now());
+
+        // Then
+        assertNull(transactions);
+        assertEquals(new BigDecimal("50.00"), ledger.findAccount(source).getBalance());
+        assertEquals(0, ledger.findAccount(destination).getBalance().signum());
+    }
+
+    @Test
+    @DisplayName("Given a transfer to an unknown account, it should throw AccountNotFoundException")
+    void shouldRejectUnknownDestination() {
+        var ledger = ledger(null);
+        var source = ledger.createAccount("11111111111").getId();
+
+        assertThrows(AccountNotFoundException.class, () -> ledger.transfer(source, new long[]{999}, new long[]{100},
+                TRANSFER_OUT, TRANSFER_IN, LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Given a snapshot, it should restore accounts, balances, transactions and ids from it")
+    void shouldRestoreFromSnapshot() {
+        // Given
+        var snapshotFile = directory.resolve("ledger.snapshot");
+        var ledger = ledger(snapshotFile);
+        var source = ledger.createAccount("11111111111").getId();
+        var destination = ledger.createAccount("22222222222").getId();
+        ledger.post(source, CREDIT_VOUCHER, 5000, LocalDateTime.now());
+        var transfer = ledger.transfer(source, new long[]{destination}, new long[]{1250},
+                TRANSFER_OUT, TRANSFER_IN, LocalDateTime.now());
+
+        // When
+        ledger.writeSnapshot();
+        var restored = ledger(snapshotFile);
+
+        // Then
+        assertEquals(new BigDecimal("37.50"), restored.findAccount(source).getBalance());
+        assertEquals(new BigDecimal("12.50"), restored.findAccount(destination).getBalance());
+        assertEquals(transfer.get(1), restored.findTransaction(transfer.get(1).id()));
+        assertEquals(ledger.findAccountTransactions(source), restored.findAccountTransactions(source));
+        assertTrue(restored.createAccount("33333333333").getId() > destination);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("Benchmark: debits and credits over many accounts from all cores")
+    void benchmark() {
+        var ledger = ledger(null);
+        var accounts = new long[100_000];
+        for (int i = 0; i < accounts.length; i++) {
+            accounts[i] = ledger.createAccount(String.valueOf(i)).getId();
+            ledger.post(accounts[i], CREDIT_VOUCHER, 1_000_000_000L, LocalDateTime.now());
+        }
+        var threads = Runtime.getRuntime().availableProcessors();
+        var perThread = 2_000_000;
+        var startedAt = System.nanoTime();
+        var workers = new ArrayList<CompletableFuture<Void>>();
+        for (int t = 0; t < threads; t++) {
+            var seed = t;
+            workers.add(CompletableFuture.runAsync(() -> {
+                var now = LocalDateTime.now();
+                long state = seed * 0x9E3779B97F4A7C15L + 1;
+                for (int i = 0; i < perThread; i++) {
+                    state ^= state << 13;
+                    state ^= state >>> 7;
+                    state ^= state << 17;
+                    var account = accounts[(int) Math.floorMod(state, (long) accounts.length)];
+                    ledger.post(account, (i & 1) == 0 ? WITHDRAWAL : CREDIT_VOUCHER, (i & 1) == 0 ? -100 : 100, now);
+                }
+            }));
+        }
+        workers.forEach(CompletableFuture::join);
+        var seconds = (System.nanoTime() - startedAt) / 1e9;
+        System.out.printf("%d threads, %d operations in %.2f s: %.0f ops/s%n",
+                threads, (long) threads * perThread, seconds, threads * perThread / seconds);
+    }
+}
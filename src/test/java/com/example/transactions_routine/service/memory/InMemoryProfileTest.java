@@ -0,0 +1,79 @@
+package com.example.transactions_routine.service.memory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Boots the whole application with the {@code in-memory} profile, without a database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("in-memory")
+class InMemoryProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Given the in-memory profile, it should create accounts, book transactions and transfer between accounts")
+    void shouldServeAccountsAndTransactions() throws Exception {
+        // Given
+        mockMvc.perform(post("/v1/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"document_number\": \"11111111111\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.id").value(2));
+        mockMvc.perform(post("/v1/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"document_number\": \"22222222222\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.id").value(3));
+
+        // When
+        mockMvc.perform(post("/v1/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"account_id\": 2, \"operation_type_id\": 4, \"amount\": 100.00}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/v1/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"account_id\": 2, \"operation_type_id\": 1, \"amount\": 150.00}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/v1/accounts/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"source_account_id\": 2, \"destination_account_id\": 3, \"amount\": 40.00}"))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/v1/accounts/2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.balance").value(60.0));
+        mockMvc.perform(get("/v1/accounts/3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.balance").value(40.0));
+        mockMvc.perform(get("/v1/transactions/search").param("account_id", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.transactions.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("Given the in-memory profile, it should answer 501 Not Implemented for features that need the database")
+    void shouldRejectDatabaseOnlyFeatures() throws Exception {
+        mockMvc.perform(put("/v1/accounts/1/balance-slots")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"balance_slots\": 4}"))
+                .andExpect(status().is(HttpStatus.NOT_IMPLEMENTED.value()));
+    }
+}
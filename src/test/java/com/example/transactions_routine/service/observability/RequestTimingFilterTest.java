@@ -0,0 +1,175 @@
+package com.example.transactions_routine.service.observability;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingFilterTest {
+
+    private static final String URI_PATTERN = "/v1/accounts/{id}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        meterRegistry = new SimpleMeterRegistry();
+        request = new MockHttpServletRequest("GET", "/v1/accounts/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, URI_PATTERN);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new BudgetedHandler(), BudgetedHandler.class.getMethod("findById")));
+        response = new MockHttpServletResponse();
+    }
+
+    private static FilterChain executing(int statements) {
+        return (request, response) -> {
+            var listener = new StatementTimingListener();
+            listener.jdbcConnectionAcquisitionStart();
+            listener.jdbcConnectionAcquisitionEnd();
+            for (int i = 0; i < statements; i++) {
+                listener.jdbcExecuteStatementStart();
+                listener.jdbcExecuteStatementEnd();
+            }
+            listener.jdbcConnectionReleaseStart();
+            RequestTimings.markSerializationStart();
+            response.getWriter().write("{\"id\":1}");
+        };
+    }
+
+    @Nested
+    @DisplayName("Timing a request")
+    class TimingRequest {
+
+        @Test
+        @DisplayName("Given a request executing statements, it should add the Server-Timing header before the body without buffering it")
+        void shouldAddServerTimingHeader() throws Exception {
+            // Given
+            var filter = new RequestTimingFilter(meterRegistry, new ObservabilityProperties(true, false));
+            var headerBeforeBody = new String[1];
+            FilterChain chain = (request, response) -> {
+                executing(1).doFilter(request, new HttpServletResponseWrapper((HttpServletResponse) response) {
+                    @Override
+                    public PrintWriter getWriter() throws IOException {
+                        headerBeforeBody[0] = getHeader(RequestTimingFilter.SERVER_TIMING_HEADER);
+                        return super.getWriter();
+                    }
+                });
+            };
+
+            // When
+            filter.doFilter(request, response, chain);
+
+            // Then
+            var serverTiming = headerBeforeBody[0];
+            assertNotNull(serverTiming);
+            assertTrue(serverTiming.startsWith("db;dur="));
+            assertTrue(serverTiming.contains("desc=\"1 statements\""));
+            assertTrue(serverTiming.contains("app;dur="));
+            assertNull(response.getHeader("Trailer"));
+            assertEquals("{\"id\":1}", response.getContentAsString());
+            assertNull(RequestTimings.current());
+        }
+
+        @Test
+        @DisplayName("Given a client accepting trailers, it should announce serialization and total as a Server-Timing trailer")
+        void shouldAnnounceServerTimingTrailer() throws Exception {
+            // Given
+            var filter = new RequestTimingFilter(meterRegistry, new ObservabilityProperties(true, false));
+            request.addHeader("TE", "trailers");
+
+            // When
+            filter.doFilter(request, response, executing(1));
+
+            // Then
+            assertEquals(RequestTimingFilter.SERVER_TIMING_HEADER, response.getHeader("Trailer"));
+        }
+
+        @Test
+        @DisplayName("Given Server-Timing is off, it should not add the header")
+        void shouldNotAddServerTimingHeaderByDefault() throws Exception {
+            // Given
+            var filter = new RequestTimingFilter(meterRegistry, new ObservabilityProperties(false, false));
+
+            // When
+            filter.doFilter(request, response, executing(1));
+
+            // Then
+            assertNull(response.getHeader(RequestTimingFilter.SERVER_TIMING_HEADER));
+            assertEquals("{\"id\":1}", response.getContentAsString());
+        }
+
+        @Test
+        @DisplayName("Given a request, it should record its connection and statement metrics by URI pattern")
+        void shouldRecordMetricsByUriPattern() throws Exception {
+            // Given
+            var filter = new RequestTimingFilter(meterRegistry, new ObservabilityProperties(false, false));
+
+            // When
+            filter.doFilter(request, response, executing(1));
+
+            // Then
+            assertNull(response.getHeader(RequestTimingFilter.SERVER_TIMING_HEADER));
+            var statements = meterRegistry.get("transactions.request.db.statements").tag("uri", URI_PATTERN).summary();
+            assertEquals(1, statements.count());
+            assertEquals(1, statements.totalAmount());
+            assertEquals(1, meterRegistry.get("transactions.request.db.hold").tag("uri", URI_PATTERN).timer().count());
+            assertEquals(1, meterRegistry.get("transactions.request.db.acquire").tag("uri", URI_PATTERN).timer().count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Checking the query budget")
+    class CheckingQueryBudget {
+
+        @Test
+        @DisplayName("Given a handler over its query budget in test mode, it should fail the request before the body is written")
+        void shouldFailRequestOverQueryBudget() throws Exception {
+            // Given
+            var filter = new RequestTimingFilter(meterRegistry, new ObservabilityProperties(false, true));
+
+            // When / Then
+            var exception = assertThrows(QueryBudgetExceededException.class,
+                    () -> filter.doFilter(request, response, executing(2)));
+            assertTrue(exception.getMessage().contains("executed 2 SQL statements, over its query budget of 1"));
+            assertEquals("", response.getContentAsString());
+            assertFalse(response.isCommitted());
+            assertEquals(1, meterRegistry.get("transactions.request.query-budget.exceeded").counter().count());
+        }
+
+        @Test
+        @DisplayName("Given a handler over its query budget outside test mode, it should only count the overrun")
+        void shouldCountOverrunOutsideTestMode() throws Exception {
+            // Given
+            var filter = new RequestTimingFilter(meterRegistry, new ObservabilityProperties(true, false));
+
+            // When
+            filter.doFilter(request, response, executing(2));
+
+            // Then
+            assertEquals(1, meterRegistry.get("transactions.request.query-budget.exceeded").counter().count());
+            assertEquals("{\"id\":1}", response.getContentAsString());
+        }
+    }
+
+    static class BudgetedHandler {
+
+        @QueryBudget(1)
+        public void findById() {
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.transactions_routine.service.queue;
+
+import com.example.transactions_routine.controller.transaction.TransactionRequest;
+import com.example.transactions_routine.repository.TransactionView;
+import com.example.transactions_routine.service.activity.RecentActivityCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies a batch of queued transactions with rejected ones in the middle against the PostgreSQL
+ * of {@code docker compose up -d db}. Checks that the rejections only roll back their own savepoint:
+ * the accepted transactions and every outcome are committed by the one batch transaction rather
+ * than replayed one by one, and only committed transactions reach the recent activity cache. Run
+ * with {@code ./mvnw test -Dtest=QueuedTransactionWriterBatchTest -Dqueue=true}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "transactions.installments.scheduler.enabled=false",
+        "transactions.holds.expiry.enabled=false",
+        "transactions.recurring-transfers.scheduler.enabled=false"
+})
+@EnabledIfSystemProperty(named = "queue", matches = "true")
+class QueuedTransactionWriterBatchTest {
+
+    private static final String PREFIX = "queued-batch-";
+    private static final long NORMAL_PURCHASE = 1L;
+    private static final long WITHDRAWAL = 3L;
+
+    @Autowired
+    private QueuedTransactionWriter queuedTransactionWriter;
+
+    @Autowired
+    private RecentActivityCache recentActivityCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<AcceptedTransaction> batch = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM queued_transaction_results WHERE tracking_id IN (" + placeholders() + ")", trackingIds());
+        }
+        for (var table : List.of("account_daily_summaries", "account_daily_limits", "transactions")) {
+            jdbcTemplate.update("DELETE FROM " + table
+                    + " WHERE account_id IN (SELECT id FROM accounts WHERE document_number LIKE ? || '%')", PREFIX);
+        }
+        jdbcTemplate.update("DELETE FROM accounts WHERE document_number LIKE ? || '%'", PREFIX);
+    }
+
+    @Test
+    @DisplayName("Given rejected transactions in a batch, it should commit the rest of the batch in one transaction")
+    void shouldCommitBatchAroundRejections() {
+        // Given
+        var accountId = createAccount(new BigDecimal("100.00"));
+        recentActivityCache.find(accountId, id -> List.of());
+        batch.addAll(List.of(
+                accepted(accountId, WITHDRAWAL, "30.00"),
+                // Over the withdrawal velocity rule, rejected before the database
+                accepted(accountId, WITHDRAWAL, "6000.00"),
+                // Within the daily limit but over the balance, rejected by the guarded update
+                accepted(accountId, NORMAL_PURCHASE, "500.00"),
+                accepted(Long.MAX_VALUE, WITHDRAWAL, "1.00"),
+                accepted(accountId, WITHDRAWAL, "20.00")));
+
+        // When
+        var outcomes = queuedTransactionWriter.apply(batch);
+
+        // Then
+        assertEquals(List.of(QueuedTransactionStatus.COMPLETED, QueuedTransactionStatus.FAILED, QueuedTransactionStatus.FAILED,
+                        QueuedTransactionStatus.FAILED, QueuedTransactionStatus.COMPLETED),
+                outcomes.stream().map(QueuedTransaction::status).toList());
+        assertEquals(0, new BigDecimal("50.00").compareTo(
+                jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE id = ?", BigDecimal.class, accountId)));
+
+        // A replay one by one would commit every transaction and outcome separately
+        var commits = jdbcTemplate.queryForList("""
+                SELECT xmin::text FROM transactions WHERE account_id = %d
+                UNION
+                SELECT xmin::text FROM queued_transaction_results WHERE tracking_id IN (%s)
+                """.formatted(accountId, placeholders()), String.class, trackingIds());
+        assertEquals(1, commits.size());
+        assertEquals(batch.size(), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM queued_transaction_results WHERE tracking_id IN (" + placeholders() + ")",
+                Integer.class, trackingIds()));
+        var cached = recentActivityCache.find(accountId, id -> List.of());
+        assertEquals(List.of(outcomes.get(4).transactionId(), outcomes.get(0).transactionId()),
+                cached.stream().map(TransactionView::getId).toList());
+    }
+
+    private String placeholders() {
+        return String.join(", ", Collections.nCopies(batch.size(), "?"));
+    }
+
+    private Object[] trackingIds() {
+        return batch.stream().map(AcceptedTransaction::trackingId).toArray();
+    }
+
+    private long createAccount(BigDecimal balance) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO accounts (document_number, balance, created_at, updated_at)
+                VALUES (?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                RETURNING id
+                """, Long.class, PREFIX + UUID.randomUUID(), balance);
+    }
+
+    private static AcceptedTransaction accepted(long accountId, long operationTypeId, String amount) {
+        return new AcceptedTransaction(UUID.randomUUID(), new TransactionRequest(accountId, operationTypeId, new BigDecimal(amount)));
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.transactions_routine.service.queue;
+
+import com.example.transactions_routine.controller.transaction.TransactionRequest;
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.OperationTypeRepository;
+import com.example.transactions_routine.repository.QueuedTransactionResultRepository;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionQueueTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private OperationTypeRepository operationTypeRepository;
+
+    @Mock
+    private QueuedTransactionResultRepository queuedTransactionResultRepository;
+
+    @Mock
+    private QueuedTransactionWriter queuedTransactionWriter;
+
+    @TempDir
+    private Path logDirectory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+
+    private TransactionQueue queue;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (queue != null) {
+            queue.shutdown();
+        }
+    }
+
+    private TransactionQueue queue(int bufferSize, int partitions, int batchSize, AsyncWriteDurability durability) {
+        var properties = new AsyncWriteProperties(true, bufferSize, partitions, batchSize, durability, logDirectory, 2);
+        return new TransactionQueue(properties, accountRepository, operationTypeRepository,
+                queuedTransactionResultRepository, queuedTransactionWriter, objectMapper, false);
+    }
+
+    private static TransactionRequest request(long accountId, String amount) {
+        return new TransactionRequest(accountId, 1L, new BigDecimal(amount));
+    }
+
+    private void givenValidReferences() {
+        when(accountRepository.existsById(any())).thenReturn(true);
+        when(operationTypeRepository.existsById(any())).thenReturn(true);
+    }
+
+    private void awaitDrained() throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queue.queuedCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, queue.queuedCount());
+    }
+
+    @Test
+    @DisplayName("Given accepted transactions of an account, it should apply them in batches in the order they were accepted")
+    void shouldApplyInAcceptedOrder() throws InterruptedException {
+        // Given
+        givenValidReferences();
+        var applied = new CopyOnWriteArrayList<AcceptedTransaction>();
+        when(queuedTransactionWriter.apply(anyList())).thenAnswer(invocation -> {
+            List<AcceptedTransaction> batch = invocation.getArgument(0);
+            applied.addAll(batch);
+            return batch.stream().map(accepted -> QueuedTransaction.completed(accepted.trackingId(), 1L)).toList();
+        });
+        queue = queue(100, 4, 10, AsyncWriteDurability.NONE);
+        queue.start();
+
+        // When
+        var trackingIds = new ArrayList<UUID>();
+        for (int i = 1; i <= 20; i++) {
+            var queued = queue.accept(request(7L, i + ".00"));
+            assertEquals(QueuedTransactionStatus.QUEUED, queued.status());
+            trackingIds.add(queued.trackingId());
+        }
+
+        // Then
+        awaitDrained();
+        assertEquals(trackingIds, applied.stream().map(AcceptedTransaction::trackingId).toList());
+    }
+
+    @Test
+    @DisplayName("Given a full partition queue, it should reject the transaction")
+    void shouldRejectWhenFull() throws InterruptedException {
+        // Given
+        givenValidReferences();
+        var release = new CountDownLatch(1);
+        when(queuedTransactionWriter.apply(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        queue = queue(2, 1, 1, AsyncWriteDurability.NONE);
+        queue.start();
+        queue.accept(request(1L, "1.00"));
+        verify(queuedTransactionWriter, timeout(5000)).apply(anyList());
+        queue.accept(request(1L, "2.00"));
+        queue.accept(request(1L, "3.00"));
+
+        // When & Then
+        assertThrows(TransactionQueueFullException.class, () -> queue.accept(request(1L, "4.00")));
+        release.countDown();
+        awaitDrained();
+    }
+
+    @Test
+    @DisplayName("Given an unknown account, it should reject the transaction without queueing it")
+    void shouldRejectUnknownAccount() throws InterruptedException {
+        // Given
+        when(accountRepository.existsById(99L)).thenReturn(false);
+        queue = queue(10, 1, 10, AsyncWriteDurability.NONE);
+        queue.start();
+
+        // When & Then
+        assertThrows(AccountNotFoundException.class, () -> queue.accept(request(99L, "1.00")));
+        assertEquals(0, queue.queuedCount());
+        verifyNoInteractions(queuedTransactionWriter);
+    }
+
+    @Test
+    @DisplayName("Given asynchronous writes are disabled, it should reject the transaction")
+    void shouldRejectWhenDisabled() {
+        // Given
+        queue = new TransactionQueue(new AsyncWriteProperties(false, 10, 1, 10, AsyncWriteDurability.NONE, logDirectory, 2),
+                accountRepository, operationTypeRepository, queuedTransactionResultRepository, queuedTransactionWriter,
+                objectMapper, false);
+
+        // When & Then
+        assertFalse(queue.isEnabled());
+        assertThrows(AsyncWritesDisabledException.class, () -> queue.accept(request(1L, "1.00")));
+    }
+
+    @Test
+    @DisplayName("Given transactions logged by a previous run, it should apply them on startup and delete the applied log")
+    void shouldReplayLog() throws InterruptedException, IOException {
+        // Given
+        var previousRun = new AcceptedTransactionLog(objectMapper, logDirectory, true, 2);
+        var first = new AcceptedTransaction(UUID.randomUUID(), request(1L, "10.00"));
+        var second = new AcceptedTransaction(UUID.randomUUID(), request(1L, "20.00"));
+        var third = new AcceptedTransaction(UUID.randomUUID(), request(1L, "30.00"));
+        previousRun.append(first);
+        previousRun.append(second);
+        previousRun.append(third);
+        previousRun.close();
+        var applied = new CopyOnWriteArrayList<AcceptedTransaction>();
+        when(queuedTransactionWriter.apply(anyList())).thenAnswer(invocation -> {
+            List<AcceptedTransaction> batch = invocation.getArgument(0);
+            applied.addAll(batch);
+            return List.of();
+        });
+        queue = queue(10, 2, 10, AsyncWriteDurability.FSYNC);
+
+        // When
+        queue.start();
+
+        // Then
+        awaitDrained();
+        assertEquals(List.of(first, second, third), applied);
+        try (var files = Files.list(logDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Given an unknown tracking id, it should throw QueuedTransactionNotFoundException")
+    void shouldRejectUnknownTrackingId() {
+        // Given
+        var trackingId = UUID.randomUUID();
+        when(queuedTransactionResultRepository.findById(trackingId)).thenReturn(Optional.empty());
+        queue = queue(10, 1, 10, AsyncWriteDurability.NONE);
+
+        // When & Then
+        assertThrows(QueuedTransactionNotFoundException.class, () -> queue.findByTrackingId(trackingId));
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.transactions_routine.service.recurring;
+
+import com.example.transactions_routine.controller.account.TransferRequest;
+import com.example.transactions_routine.controller.account.TransferResult;
+import com.example.transactions_routine.fixture.TransactionFixture;
+import com.example.transactions_routine.model.RecurringTransferExecution;
+import com.example.transactions_routine.model.RecurringTransferExecutionStatus;
+import com.example.transactions_routine.repository.RecurringTransferRun;
+import com.example.transactions_routine.service.account.AccountServicePort;
+import com.example.transactions_routine.service.transaction.InsufficientFundsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringTransferSchedulerTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    @Mock
+    private RecurringTransferServicePort recurringTransferServicePort;
+
+    @Mock
+    private AccountServicePort accountServicePort;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RecurringTransferScheduler scheduler;
+
+    private final LocalDateTime scheduledFor = LocalDateTime.of(2025, 1, 31, 9, 0);
+    private final BigDecimal amount = new BigDecimal("10.00");
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new RecurringTransferScheduler(recurringTransferServicePort, accountServicePort, transactionManager,
+                BATCH_SIZE, 2, Duration.ofMinutes(15));
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    private RecurringTransferRun run(long id, long sourceAccountId) {
+        return new RecurringTransferRun(id, sourceAccountId, 100L + id, amount, scheduledFor);
+    }
+
+    private TransferResult transferResult(long debitTransactionId) {
+        return new TransferResult(scheduledFor,
+                TransactionFixture.validTransaction(debitTransactionId, 1L, 1L, amount.negate()),
+                TransactionFixture.validTransaction(debitTransactionId + 1, 2L, 1L, amount));
+    }
+
+    @Test
+    @DisplayName("Given full batches, it should keep claiming until a partial batch and record every outcome")
+    void shouldDrainBacklogAndRecordOutcomes() {
+        // Given
+        when(recurringTransferServicePort.claimDueRuns(any(), eq(BATCH_SIZE)))
+                .thenReturn(List.of(run(1, 1), run(2, 2), run(3, 3)))
+                .thenReturn(List.of(run(4, 4)));
+        when(recurringTransferServicePort.lockClaimedRun(any())).thenReturn(true);
+        when(accountServicePort.transfer(any(TransferRequest.class))).thenReturn(transferResult(10));
+
+        // When
+        scheduler.runDueTransfers();
+
+        // Then
+        var captor = ArgumentCaptor.forClass(RecurringTransferExecution.class);
+        verify(recurringTransferServicePort, times(2)).claimDueRuns(any(), eq(BATCH_SIZE));
+        verify(recurringTransferServicePort, times(4)).recordExecution(captor.capture());
+        var recorded = captor.getAllValues();
+        assertEquals(4, recorded.size());
+        assertTrue(recorded.stream().allMatch(execution -> execution.getStatus() == RecurringTransferExecutionStatus.SUCCEEDED
+                && execution.getDebitTransactionId() == 10L
+                && execution.getCreditTransactionId() == 11L
+                && scheduledFor.equals(execution.getScheduledFor())));
+    }
+
+    @Test
+    @DisplayName("Given a failing transfer, it should record the failure and still execute the other runs")
+    void shouldRecordFailures() {
+        // Given
+        when(recurringTransferServicePort.lockClaimedRun(any())).thenReturn(true);
+        when(recurringTransferServicePort.recordExecution(any())).thenReturn(true);
+        when(accountServicePort.transfer(any(TransferRequest.class))).thenAnswer(invocation -> {
+            TransferRequest request = invocation.getArgument(0);
+            if (request.sourceAccountId() == 1L) {
+                throw new InsufficientFundsException("Insufficient funds for transaction. Account ID: 1, Requested amount: 10.00");
+            }
+            return transferResult(20);
+        });
+
+        // When
+        var executions = scheduler.execute(List.of(run(1, 1), run(2, 2)));
+
+        // Then
+        assertEquals(2, executions.size());
+        var failed = executions.stream().filter(execution -> execution.getRecurringTransferId() == 1L).findFirst().orElseThrow();
+        assertEquals(RecurringTransferExecutionStatus.FAILED, failed.getStatus());
+        assertTrue(failed.getFailureReason().startsWith("Insufficient funds"));
+        assertNull(failed.getDebitTransactionId());
+    }
+
+    @Test
+    @DisplayName("Given a run another instance has settled already, it should not transfer it again")
+    void shouldSkipSettledRuns() {
+        // Given
+        when(recurringTransferServicePort.lockClaimedRun(any())).thenAnswer(invocation ->
+                invocation.<RecurringTransferRun>getArgument(0).recurringTransferId() != 1L);
+        when(accountServicePort.transfer(any(TransferRequest.class))).thenReturn(transferResult(40));
+
+        // When
+        var executions = scheduler.execute(List.of(run(1, 1), run(2, 2)));
+
+        // Then
+        assertEquals(List.of(2L), executions.stream().map(RecurringTransferExecution::getRecurringTransferId).toList());
+        verify(accountServicePort, times(1)).transfer(any(TransferRequest.class));
+    }
+
+    @Test
+    @DisplayName("Given runs left claimed, it should reclaim them after the claim timeout and execute them")
+    void shouldRecoverClaimedRuns() {
+        // Given
+        when(recurringTransferServicePort.reclaimStaleRuns(any(), eq(Duration.ofMinutes(15)), eq(BATCH_SIZE)))
+                .thenReturn(List.of(run(5, 5)));
+        when(recurringTransferServicePort.lockClaimedRun(any())).thenReturn(true);
+        when(accountServicePort.transfer(any(TransferRequest.class))).thenReturn(transferResult(50));
+
+        // When
+        scheduler.recoverClaimedRuns();
+
+        // Then
+        var captor = ArgumentCaptor.forClass(RecurringTransferExecution.class);
+        verify(recurringTransferServicePort).recordExecution(captor.capture());
+        assertEquals(5L, captor.getValue().getRecurringTransferId());
+        assertEquals(RecurringTransferExecutionStatus.SUCCEEDED, captor.getValue().getStatus());
+        verify(recurringTransferServicePort, never()).claimDueRuns(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Given several runs debiting the same account, it should execute them one after the other on one worker")
+    void shouldSerializeRunsOfTheSameSource() {
+        // Given
+        var threads = new ArrayList<String>();
+        when(recurringTransferServicePort.lockClaimedRun(any())).thenReturn(true);
+        when(accountServicePort.transfer(any(TransferRequest.class))).thenAnswer(invocation -> {
+            synchronized (threads) {
+                threads.add(Thread.currentThread().getName());
+            }
+            return transferResult(30);
+        });
+        var runs = LongStream.rangeClosed(1, 3).mapToObj(id -> run(id, 1)).toList();
+
+        // When
+        var executions = scheduler.execute(runs);
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L), executions.stream().map(RecurringTransferExecution::getRecurringTransferId).toList());
+        assertEquals(1, threads.stream().distinct().count());
+        assertTrue(threads.getFirst().startsWith("recurring-transfer-"));
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.transactions_routine.service.recurring;
+
+import com.example.transactions_routine.controller.recurring.RecurringTransferRequest;
+import com.example.transactions_routine.fixture.AccountFixture;
+import com.example.transactions_routine.model.RecurringTransfer;
+import com.example.transactions_routine.model.RecurringTransferFrequency;
+import com.example.transactions_routine.model.RecurringTransferStatus;
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.RecurringTransferExecutionRepository;
+import com.example.transactions_routine.repository.RecurringTransferRepository;
+import com.example.transactions_routine.repository.RecurringTransferRun;
+import com.example.transactions_routine.service.account.SameAccountTransferException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringTransferServiceTest {
+
+    @Mock
+    private RecurringTransferRepository recurringTransferRepository;
+
+    @Mock
+    private RecurringTransferExecutionRepository recurringTransferExecutionRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private RecurringTransferService recurringTransferService;
+
+    private final BigDecimal amount = new BigDecimal("100.00");
+
+    @Nested
+    @DisplayName("Create a recurring transfer")
+    class Create {
+
+        @Test
+        @DisplayName("Given no start date, it should schedule the first run now")
+        void shouldScheduleFirstRunNow() {
+            // Given
+            var request = new RecurringTransferRequest(1L, 2L, amount, RecurringTransferFrequency.MONTHLY, null, null);
+            when(accountRepository.findById(1L)).thenReturn(Optional.of(AccountFixture.validAccount(1L)));
+            when(accountRepository.findById(2L)).thenReturn(Optional.of(AccountFixture.validAccount(2L)));
+            when(recurringTransferRepository.save(any(RecurringTransfer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            var before = LocalDateTime.now();
+
+            // When
+            var recurringTransfer = recurringTransferService.create(request);
+
+            // Then
+            assertEquals(RecurringTransferStatus.ACTIVE, recurringTransfer.getStatus());
+            assertEquals(recurringTransfer.getStartAt(), recurringTransfer.getNextRunAt());
+            assertFalse(recurringTransfer.getNextRunAt().isBefore(before));
+            assertEquals(0, recurringTransfer.getRunCount());
+        }
+
+        @Test
+        @DisplayName("Given the same source and destination, it should throw SameAccountTransferException")
+        void shouldRejectSameAccount() {
+            var request = new RecurringTransferRequest(1L, 1L, amount, RecurringTransferFrequency.DAILY, null, null);
+
+            assertThrows(SameAccountTransferException.class, () -> recurringTransferService.create(request));
+
+            verifyNoInteractions(recurringTransferRepository);
+        }
+
+        @Test
+        @DisplayName("Given an end date before the start date, it should throw InvalidRecurringTransferException")
+        void shouldRejectEndBeforeStart() {
+            var startAt = LocalDateTime.now().plusDays(10);
+            var request = new RecurringTransferRequest(1L, 2L, amount, RecurringTransferFrequency.WEEKLY, startAt, startAt.minusDays(1));
+
+            assertThrows(InvalidRecurringTransferException.class, () -> recurringTransferService.create(request));
+
+            verifyNoInteractions(recurringTransferRepository);
+        }
+
+        @Test
+        @DisplayName("Given a start date in the past, it should throw InvalidRecurringTransferException")
+        void shouldRejectPastStart() {
+            var request = new RecurringTransferRequest(1L, 2L, amount, RecurringTransferFrequency.WEEKLY,
+                    LocalDateTime.now().minusDays(1), null);
+
+            assertThrows(InvalidRecurringTransferException.class, () -> recurringTransferService.create(request));
+        }
+    }
+
+    @Nested
+    @DisplayName("Claim due runs")
+    class ClaimDueRuns {
+
+        @Test
+        @DisplayName("Given due transfers, it should read and record the claimed runs before advancing their schedule")
+        void shouldReadRunsBeforeAdvancing() {
+            // Given
+            var now = LocalDateTime.of(2025, 1, 31, 9, 0);
+            var run = new RecurringTransferRun(7L, 1L, 2L, amount, now);
+            when(recurringTransferRepository.claimDueIds(now, 100)).thenReturn(List.of(7L));
+            when(recurringTransferRepository.findRuns(List.of(7L))).thenReturn(List.of(run));
+
+            // When
+            var runs = recurringTransferService.claimDueRuns(now, 100);
+
+            // Then
+            assertEquals(List.of(run), runs);
+            var inOrder = inOrder(recurringTransferRepository, recurringTransferExecutionRepository);
+            inOrder.verify(recurringTransferRepository).findRuns(List.of(7L));
+            inOrder.verify(recurringTransferExecutionRepository).insertClaimed(List.of(7L), now);
+            inOrder.verify(recurringTransferRepository).advanceSchedule(List.of(7L));
+        }
+
+        @Test
+        @DisplayName("Given nothing due, it should not touch the schedule")
+        void shouldDoNothingWhenNothingIsDue() {
+            var now = LocalDateTime.now();
+            when(recurringTransferRepository.claimDueIds(now, 100)).thenReturn(List.of());
+
+            assertTrue(recurringTransferService.claimDueRuns(now, 100).isEmpty());
+
+            verify(recurringTransferRepository, never()).advanceSchedule(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Reclaim stale runs")
+    class ReclaimStaleRuns {
+
+        @Test
+        @DisplayName("Given runs claimed before the timeout, it should reclaim them and return their runs")
+        void shouldReclaimRunsOlderThanTheTimeout() {
+            // Given
+            var now = LocalDateTime.of(2025, 1, 31, 9, 30);
+            var run = new RecurringTransferRun(7L, 1L, 2L, amount, now.minusMinutes(30));
+            when(recurringTransferExecutionRepository.reclaimStaleIds(now.minusMinutes(15), now, 100)).thenReturn(List.of(70L));
+            when(recurringTransferExecutionRepository.findRuns(List.of(70L))).thenReturn(List.of(run));
+
+            // When
+            var runs = recurringTransferService.reclaimStaleRuns(now, Duration.ofMinutes(15), 100);
+
+            // Then
+            assertEquals(List.of(run), runs);
+        }
+
+        @Test
+        @DisplayName("Given no run left claimed, it should not read any run")
+        void shouldDoNothingWhenNothingIsStale() {
+            var now = LocalDateTime.now();
+            when(recurringTransferExecutionRepository.reclaimStaleIds(now.minusMinutes(15), now, 100)).thenReturn(List.of());
+
+            assertTrue(recurringTransferService.reclaimStaleRuns(now, Duration.ofMinutes(15), 100).isEmpty());
+
+            verify(recurringTransferExecutionRepository, never()).findRuns(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Cancel a recurring transfer")
+    class Cancel {
+
+        @Test
+        @DisplayName("Given an already cancelled transfer, it should throw RecurringTransferNotActiveException")
+        void shouldRejectInactiveTransfer() {
+            when(recurringTransferRepository.cancel(7L)).thenReturn(0);
+            when(recurringTransferRepository.findById(7L)).thenReturn(Optional.of(RecurringTransfer.builder()
+                    .id(7L)
+                    .status(RecurringTransferStatus.CANCELLED)
+                    .build()));
+
+            assertThrows(RecurringTransferNotActiveException.class, () -> recurringTransferService.cancel(7L));
+        }
+
+        @Test
+        @DisplayName("Given an unknown transfer, it should throw RecurringTransferNotFoundException")
+        void shouldThrowWhenTransferDoesNotExist() {
+            when(recurringTransferRepository.cancel(7L)).thenReturn(0);
+            when(recurringTransferRepository.findById(7L)).thenReturn(Optional.empty());
+
+            assertThrows(RecurringTransferNotFoundException.class, () -> recurringTransferService.cancel(7L));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.transactions_routine.service.sharding;
+
+import com.example.transactions_routine.controller.account.TransferRequest;
+import com.example.transactions_routine.model.CrossShardTransfer;
+import com.example.transactions_routine.model.OperationType;
+import com.example.transactions_routine.model.Transaction;
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.CrossShardTransferRepository;
+import com.example.transactions_routine.repository.OperationTypeRepository;
+import com.example.transactions_routine.repository.TransactionRepository;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import com.example.transactions_routine.service.summary.AccountSummaryServicePort;
+import com.example.transactions_routine.service.transaction.InsufficientFundsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CrossShardTransferServiceTest {
+
+    private static final long SOURCE_ACCOUNT_ID = 1L;
+    private static final long DESTINATION_ACCOUNT_ID = ShardIds.base(1) + 1;
+    private static final BigDecimal AMOUNT = new BigDecimal("100.00");
+    private static final UUID TRANSFER_ID = UUID.fromString("0b6c3f7e-2f1a-4c55-9a53-6f0d2f4f6a10");
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private OperationTypeRepository operationTypeRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private CrossShardTransferRepository crossShardTransferRepository;
+
+    @Mock
+    private AccountSummaryServicePort accountSummaryServicePort;
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CrossShardTransferService crossShardTransferService;
+
+    @BeforeEach
+    void setUp() {
+        crossShardTransferService = new CrossShardTransferService(accountRepository, operationTypeRepository,
+                transactionRepository, crossShardTransferRepository, accountSummaryServicePort, shardRouter, transactionManager);
+        lenient().when(shardRouter.shardForAccount(SOURCE_ACCOUNT_ID)).thenReturn(0);
+        lenient().when(shardRouter.shardForAccount(DESTINATION_ACCOUNT_ID)).thenReturn(1);
+        lenient().when(operationTypeRepository.findByDescription("TRANSFER_OUT"))
+                .thenReturn(Optional.of(OperationType.builder().description("TRANSFER_OUT").credit(false).build()));
+        lenient().when(operationTypeRepository.findByDescription("TRANSFER_IN"))
+                .thenReturn(Optional.of(OperationType.builder().description("TRANSFER_IN").credit(true).build()));
+        lenient().when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(crossShardTransferRepository.save(any(CrossShardTransfer.class))).thenReturn(
+                CrossShardTransfer.builder().id(TRANSFER_ID).build());
+    }
+
+    @Nested
+    @DisplayName("Transfer between shards")
+    class Transfer {
+
+        @Test
+        @DisplayName("Given both accounts exist, it should debit on the source shard, credit on the destination shard and complete the transfer")
+        void shouldDebitCreditAndComplete() {
+            // Given
+            var shards = new ArrayList<Integer>();
+            when(accountRepository.existsById(DESTINATION_ACCOUNT_ID)).thenReturn(true);
+            when(accountRepository.lockAllByIdOrderById(List.of(SOURCE_ACCOUNT_ID))).thenReturn(List.of(SOURCE_ACCOUNT_ID));
+            when(accountRepository.lockAllByIdOrderById(List.of(DESTINATION_ACCOUNT_ID))).thenReturn(List.of(DESTINATION_ACCOUNT_ID));
+            when(accountRepository.updateBalanceWithCheck(SOURCE_ACCOUNT_ID, AMOUNT.negate())).thenAnswer(invocation -> {
+                shards.add(ShardContext.current());
+                return Optional.of(new BigDecimal("75.00"));
+            });
+            when(accountRepository.updateBalance(DESTINATION_ACCOUNT_ID, AMOUNT)).thenAnswer(invocation -> {
+                shards.add(ShardContext.current());
+                return Optional.of(new BigDecimal("125.00"));
+            });
+            when(crossShardTransferRepository.findCreditTransactionId(TRANSFER_ID)).thenReturn(Optional.empty());
+            when(crossShardTransferRepository.markCompleted(eq(TRANSFER_ID), any())).thenAnswer(invocation -> {
+                shards.add(ShardContext.current());
+                return 1;
+            });
+
+            // When
+            var result = crossShardTransferService.transfer(
+                    new TransferRequest(SOURCE_ACCOUNT_ID, DESTINATION_ACCOUNT_ID, AMOUNT));
+
+            // Then
+            assertEquals(AMOUNT.negate(), result.debitTransaction().getAmount());
+            assertEquals(AMOUNT, result.creditTransaction().getAmount());
+            assertEquals(new BigDecimal("75.00"), result.debitTransaction().getBalanceAfter());
+            assertEquals(new BigDecimal("125.00"), result.creditTransaction().getBalanceAfter());
+            assertEquals(List.of(0, 1, 0), shards);
+            verify(crossShardTransferRepository).insertCredit(eq(TRANSFER_ID), any());
+            verify(crossShardTransferRepository, never()).markCompensated(any(), any());
+            assertNull(ShardContext.current());
+        }
+
+        @Test
+        @DisplayName("Given the destination account is gone when crediting, it should give the debit back and mark the transfer compensated")
+        void shouldCompensateWhenDestinationDisappears() {
+            // Given
+            when(accountRepository.existsById(DESTINATION_ACCOUNT_ID)).thenReturn(true);
+            when(accountRepository.lockAllByIdOrderById(List.of(SOURCE_ACCOUNT_ID))).thenReturn(List.of(SOURCE_ACCOUNT_ID));
+            when(accountRepository.lockAllByIdOrderById(List.of(DESTINATION_ACCOUNT_ID))).thenReturn(List.of());
+            when(accountRepository.updateBalanceWithCheck(SOURCE_ACCOUNT_ID, AMOUNT.negate())).thenReturn(Optional.of(new BigDecimal("75.00")));
+            when(crossShardTransferRepository.findCreditTransactionId(TRANSFER_ID)).thenReturn(Optional.empty());
+            when(crossShardTransferRepository.markCompensated(eq(TRANSFER_ID), any())).thenReturn(1);
+
+            // When
+            assertThrows(AccountNotFoundException.class, () -> crossShardTransferService.transfer(
+                    new TransferRequest(SOURCE_ACCOUNT_ID, DESTINATION_ACCOUNT_ID, AMOUNT)));
+
+            // Then
+            verify(accountRepository).updateBalance(SOURCE_ACCOUNT_ID, AMOUNT);
+            verify(accountRepository, never()).updateBalance(DESTINATION_ACCOUNT_ID, AMOUNT);
+            verify(crossShardTransferRepository, never()).insertCredit(any(), any());
+            verify(crossShardTransferRepository, never()).markCompleted(any(), any());
+        }
+
+        @Test
+        @DisplayName("Given an unknown destination account, it should fail before debiting the source")
+        void shouldRejectUnknownDestinationUpFront() {
+            when(accountRepository.existsById(DESTINATION_ACCOUNT_ID)).thenReturn(false);
+
+            assertThrows(AccountNotFoundException.class, () -> crossShardTransferService.transfer(
+                    new TransferRequest(SOURCE_ACCOUNT_ID, DESTINATION_ACCOUNT_ID, AMOUNT)));
+
+            verify(accountRepository, never()).updateBalanceWithCheck(any(), any());
+            verify(crossShardTransferRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Given insufficient funds, it should fail without recording a transfer")
+        void shouldThrowWhenFundsAreInsufficient() {
+            when(accountRepository.existsById(DESTINATION_ACCOUNT_ID)).thenReturn(true);
+            when(accountRepository.lockAllByIdOrderById(List.of(SOURCE_ACCOUNT_ID))).thenReturn(List.of(SOURCE_ACCOUNT_ID));
+            when(accountRepository.updateBalanceWithCheck(SOURCE_ACCOUNT_ID, AMOUNT.negate())).thenReturn(Optional.empty());
+
+            assertThrows(InsufficientFundsException.class, () -> crossShardTransferService.transfer(
+                    new TransferRequest(SOURCE_ACCOUNT_ID, DESTINATION_ACCOUNT_ID, AMOUNT)));
+
+            verify(crossShardTransferRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Recover pending transfers")
+    class RecoverPending {
+
+        @Test
+        @DisplayName("Given the credit was already applied before a crash, it should only complete the transfer")
+        void shouldNotCreditTwice() {
+            // Given
+            var createdBefore = LocalDateTime.of(2025, 1, 31, 12, 0);
+            var credit = Transaction.builder().id(ShardIds.base(1) + 10).amount(AMOUNT).build();
+            when(crossShardTransferRepository.findPendingIds(createdBefore, 100)).thenReturn(List.of(TRANSFER_ID));
+            when(crossShardTransferRepository.findById(TRANSFER_ID)).thenReturn(Optional.of(CrossShardTransfer.builder()
+                    .id(TRANSFER_ID)
+                    .sourceAccountId(SOURCE_ACCOUNT_ID)
+                    .destinationAccountId(DESTINATION_ACCOUNT_ID)
+                    .amount(AMOUNT)
+                    .createdAt(createdBefore.minusMinutes(5))
+                    .build()));
+            when(crossShardTransferRepository.findCreditTransactionId(TRANSFER_ID)).thenReturn(Optional.of(credit.getId()));
+            when(transactionRepository.findById(credit.getId())).thenReturn(Optional.of(credit));
+            when(crossShardTransferRepository.markCompleted(TRANSFER_ID, credit.getId())).thenReturn(1);
+
+            // When
+            var recovered = crossShardTransferService.recoverPending(0, createdBefore, 100);
+
+            // Then
+            assertEquals(1, recovered);
+            verify(accountRepository, never()).updateBalance(any(), any());
+            verify(crossShardTransferRepository, never()).insertCredit(any(), any());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.transactions_routine.service.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRingTest {
+
+    private static final int KEYS = 100_000;
+
+    @Nested
+    @DisplayName("Place keys on shards")
+    class ShardFor {
+
+        @Test
+        @DisplayName("Given many document numbers, it should spread them evenly over the shards")
+        void shouldSpreadKeysEvenly() {
+            var ring = new ShardRing(4, 128);
+            var counts = new int[4];
+            for (int i = 0; i < KEYS; i++) {
+                counts[ring.shardFor(documentNumber(i))]++;
+            }
+
+            for (int count : counts) {
+                assertEquals(KEYS / 4.0, count, KEYS / 4.0 * 0.15);
+            }
+        }
+
+        @Test
+        @DisplayName("Given the same key, it should always pick the same shard")
+        void shouldBeDeterministic() {
+            var ring = new ShardRing(4, 128);
+            var again = new ShardRing(4, 128);
+
+            for (int i = 0; i < 1_000; i++) {
+                assertEquals(ring.shardFor(documentNumber(i)), again.shardFor(documentNumber(i)));
+            }
+        }
+
+        @Test
+        @DisplayName("Given a shard is appended, it should only move about 1/(n+1) of the keys, all to the new shard")
+        void shouldMoveFewKeysWhenShardIsAppended() {
+            var before = new ShardRing(4, 128);
+            var after = new ShardRing(5, 128);
+            int moved = 0;
+            for (int i = 0; i < KEYS; i++) {
+                var key = documentNumber(i);
+                var shard = after.shardFor(key);
+                if (shard != before.shardFor(key)) {
+                    assertEquals(4, shard);
+                    moved++;
+                }
+            }
+
+            assertEquals(KEYS / 5.0, moved, KEYS / 5.0 * 0.25);
+        }
+    }
+
+    @Test
+    @DisplayName("Given no shard, it should refuse to build the ring")
+    void shouldRejectEmptyRing() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardRing(0, 128));
+    }
+
+    private static String documentNumber(int i) {
+        return String.format("%011d", 10_000_000_000L + i * 7919L);
+    }
+}
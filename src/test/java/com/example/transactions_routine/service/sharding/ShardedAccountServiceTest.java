@@ -0,0 +1,159 @@
+package com.example.transactions_routine.service.sharding;
+
+import com.example.transactions_routine.controller.account.AccountRequest;
+import com.example.transactions_routine.controller.account.BatchTransferLeg;
+import com.example.transactions_routine.controller.account.BatchTransferRequest;
+import com.example.transactions_routine.controller.account.TransferRequest;
+import com.example.transactions_routine.fixture.AccountFixture;
+import com.example.transactions_routine.repository.AccountView;
+import com.example.transactions_routine.service.account.AccountService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardedAccountServiceTest {
+
+    private static final long SHARD_0_ACCOUNT_ID = 1L;
+    private static final long OTHER_SHARD_0_ACCOUNT_ID = 2L;
+    private static final long SHARD_1_ACCOUNT_ID = ShardIds.base(1) + 1;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private CrossShardTransferServicePort crossShardTransferServicePort;
+
+    @Mock
+    private ShardRouter shardRouter;
+
+    private ShardScatterGather shardScatterGather;
+    private ShardedAccountService shardedAccountService;
+
+    @BeforeEach
+    void setUp() {
+        when(shardRouter.shards()).thenReturn(2);
+        lenient().when(shardRouter.shardForAccount(anyLong())).thenAnswer(invocation -> ShardIds.homeShard(invocation.getArgument(0)));
+        shardScatterGather = new ShardScatterGather(shardRouter);
+        shardedAccountService = new ShardedAccountService(accountService, crossShardTransferServicePort, shardRouter, shardScatterGather);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardScatterGather.shutdown();
+    }
+
+    @Test
+    @DisplayName("Given a new account, it should create it on the shard its document number hashes to")
+    void shouldCreateAccountOnDocumentShard() {
+        // Given
+        var request = new AccountRequest(AccountFixture.DOCUMENT_NUMBER);
+        when(shardRouter.shardForDocument(AccountFixture.DOCUMENT_NUMBER)).thenReturn(1);
+        when(accountService.createAccount(request)).thenAnswer(invocation -> {
+            assertEquals(1, ShardContext.current());
+            return AccountFixture.validAccount(SHARD_1_ACCOUNT_ID);
+        });
+
+        // When
+        var account = shardedAccountService.createAccount(request);
+
+        // Then
+        assertEquals(SHARD_1_ACCOUNT_ID, account.getId());
+        assertNull(ShardContext.current());
+    }
+
+    @Test
+    @DisplayName("Given ids on two shards, it should query each shard once with its own ids")
+    void shouldGroupBatchLookupByShard() {
+        // Given
+        when(accountService.findAllById(any())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> view(id)).toList();
+        });
+
+        // When
+        var accounts = shardedAccountService.findAllById(List.of(SHARD_0_ACCOUNT_ID, SHARD_1_ACCOUNT_ID, OTHER_SHARD_0_ACCOUNT_ID));
+
+        // Then
+        assertEquals(Set.of(SHARD_0_ACCOUNT_ID, OTHER_SHARD_0_ACCOUNT_ID, SHARD_1_ACCOUNT_ID),
+                Set.copyOf(accounts.stream().map(AccountView::getId).toList()));
+        verify(accountService).findAllById(List.of(SHARD_0_ACCOUNT_ID, OTHER_SHARD_0_ACCOUNT_ID));
+        verify(accountService).findAllById(List.of(SHARD_1_ACCOUNT_ID));
+    }
+
+    @Nested
+    @DisplayName("Transfer")
+    class Transfer {
+
+        @Test
+        @DisplayName("Given both accounts on one shard, it should run the local transfer on that shard")
+        void shouldTransferLocallyOnSameShard() {
+            var request = new TransferRequest(SHARD_0_ACCOUNT_ID, OTHER_SHARD_0_ACCOUNT_ID, new BigDecimal("10.00"));
+
+            shardedAccountService.transfer(request);
+
+            verify(accountService).transfer(request);
+            verifyNoInteractions(crossShardTransferServicePort);
+        }
+
+        @Test
+        @DisplayName("Given accounts on different shards, it should run the cross-shard transfer")
+        void shouldTransferAcrossShards() {
+            var request = new TransferRequest(SHARD_0_ACCOUNT_ID, SHARD_1_ACCOUNT_ID, new BigDecimal("10.00"));
+
+            shardedAccountService.transfer(request);
+
+            verify(crossShardTransferServicePort).transfer(request);
+            verify(accountService, never()).transfer(any());
+        }
+
+        @Test
+        @DisplayName("Given a batch with a leg on another shard, it should throw CrossShardBatchTransferException")
+        void shouldRejectBatchSpanningShards() {
+            var request = new BatchTransferRequest(SHARD_0_ACCOUNT_ID, List.of(
+                    new BatchTransferLeg(OTHER_SHARD_0_ACCOUNT_ID, new BigDecimal("10.00")),
+                    new BatchTransferLeg(SHARD_1_ACCOUNT_ID, new BigDecimal("10.00"))));
+
+            assertThrows(CrossShardBatchTransferException.class, () -> shardedAccountService.batchTransfer(request));
+
+            verify(accountService, never()).batchTransfer(any());
+        }
+    }
+
+    private static AccountView view(Long id) {
+        return new AccountView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getDocumentNumber() {
+                return AccountFixture.DOCUMENT_NUMBER;
+            }
+
+            @Override
+            public BigDecimal getBalance() {
+                return BigDecimal.ZERO;
+            }
+
+            @Override
+            public BigDecimal getHeldAmount() {
+                return BigDecimal.ZERO;
+            }
+        };
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.transactions_routine.service.sharding;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sends a cross-shard transfer through the whole web stack against the PostgreSQL of
+ * {@code docker compose up -d db}, with {@code transactions_db} as shard 0 and a
+ * {@code transactions_db_shard_1} database, created if missing, as shard 1. Checks on each
+ * shard's own connection that every leg was written to the shard of its account. Run with
+ * {@code ./mvnw test -Dtest=ShardedTransferWebTest -Dsharding=true}.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.open-in-view=false",
+        "transactions.sharding.enabled=true",
+        "transactions.installments.scheduler.enabled=false",
+        "transactions.holds.expiry.enabled=false",
+        "transactions.recurring-transfers.scheduler.enabled=false"
+})
+@AutoConfigureMockMvc
+@EnabledIfSystemProperty(named = "sharding", matches = "true")
+class ShardedTransferWebTest {
+
+    private static final String SERVER_URL = "jdbc:postgresql://localhost:5432/";
+    private static final String SHARD_1_DATABASE = "transactions_db_shard_1";
+    private static final String PREFIX = "sharded-transfer-";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ShardRoutingDataSource dataSource;
+
+    private JdbcTemplate shard0;
+    private JdbcTemplate shard1;
+
+    @DynamicPropertySource
+    static void shards(DynamicPropertyRegistry registry) throws SQLException {
+        try (var connection = DriverManager.getConnection(SERVER_URL + "transactions_db", "postgres", "postgres");
+             var statement = connection.createStatement()) {
+            var exists = statement.executeQuery("SELECT 1 FROM pg_database WHERE datname = '" + SHARD_1_DATABASE + "'");
+            if (!exists.next()) {
+                statement.execute("CREATE DATABASE " + SHARD_1_DATABASE);
+            }
+        }
+        registry.add("transactions.sharding.shards[0].url", () -> SERVER_URL + "transactions_db");
+        registry.add("transactions.sharding.shards[0].username", () -> "postgres");
+        registry.add("transactions.sharding.shards[0].password", () -> "postgres");
+        registry.add("transactions.sharding.shards[1].url", () -> SERVER_URL + SHARD_1_DATABASE);
+        registry.add("transactions.sharding.shards[1].username", () -> "postgres");
+        registry.add("transactions.sharding.shards[1].password", () -> "postgres");
+    }
+
+    @BeforeEach
+    void setUp() {
+        shard0 = new JdbcTemplate(dataSource.shard(0));
+        shard1 = new JdbcTemplate(dataSource.shard(1));
+        cleanUp();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (var shard : new JdbcTemplate[]{shard0, shard1}) {
+            shard.update("""
+                    DELETE FROM cross_shard_transfers
+                     WHERE source_account_id IN (SELECT id FROM accounts WHERE document_number LIKE ? || '%')
+                    """, PREFIX);
+            shard.update("""
+                    DELETE FROM cross_shard_transfer_credits
+                     WHERE credit_transaction_id IN (SELECT t.id
+                                                       FROM transactions t
+                                                       JOIN accounts a ON a.id = t.account_id
+                                                      WHERE a.document_number LIKE ? || '%')
+                    """, PREFIX);
+            shard.update("""
+                    DELETE FROM account_daily_summaries
+                     WHERE account_id IN (SELECT id FROM accounts WHERE document_number LIKE ? || '%')
+                    """, PREFIX);
+            shard.update("""
+                    DELETE FROM transactions
+                     WHERE account_id IN (SELECT id FROM accounts WHERE document_number LIKE ? || '%')
+                    """, PREFIX);
+            shard.update("DELETE FROM accounts WHERE document_number LIKE ? || '%'", PREFIX);
+        }
+    }
+
+    @Test
+    @DisplayName("Given accounts on two shards, it should write the debit on the source shard and the credit on the destination shard")
+    void shouldWriteEachLegOnItsOwnShard() throws Exception {
+        // Given
+        var sourceAccountId = createAccount(shard0, "source", new BigDecimal("100.00"));
+        var destinationAccountId = createAccount(shard1, "destination", BigDecimal.ZERO);
+        assertEquals(0, ShardIds.homeShard(sourceAccountId));
+        assertEquals(1, ShardIds.homeShard(destinationAccountId));
+
+        // When
+        mockMvc.perform(post("/v1/accounts/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"source_account_id\": %d, \"destination_account_id\": %d, \"amount\": 25.00}"
+                                .formatted(sourceAccountId, destinationAccountId)))
+                .andExpect(status().isOk());
+
+        // Then
+        assertEquals(0, new BigDecimal("75.00").compareTo(balance(shard0, sourceAccountId)));
+        assertEquals(0, new BigDecimal("25.00").compareTo(balance(shard1, destinationAccountId)));
+        assertEquals(0, new BigDecimal("-25.00").compareTo(transactionTotal(shard0, sourceAccountId)));
+        assertEquals(0, new BigDecimal("25.00").compareTo(transactionTotal(shard1, destinationAccountId)));
+        assertEquals(0, transactionCount(shard0, destinationAccountId));
+        assertEquals(0, transactionCount(shard1, sourceAccountId));
+        assertEquals("COMPLETED", shard0.queryForObject(
+                "SELECT status FROM cross_shard_transfers WHERE source_account_id = ?", String.class, sourceAccountId));
+    }
+
+    private static long createAccount(JdbcTemplate shard, String name, BigDecimal balance) {
+        return shard.queryForObject("""
+                INSERT INTO accounts (document_number, balance, created_at, updated_at)
+                VALUES (?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                RETURNING id
+                """, Long.class, PREFIX + name, balance);
+    }
+
+    private static BigDecimal balance(JdbcTemplate shard, long accountId) {
+        return shard.queryForObject("SELECT balance FROM accounts WHERE id = ?", BigDecimal.class, accountId);
+    }
+
+    private static BigDecimal transactionTotal(JdbcTemplate shard, long accountId) {
+        return shard.queryForObject("SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE account_id = ?", BigDecimal.class, accountId);
+    }
+
+    private static int transactionCount(JdbcTemplate shard, long accountId) {
+        return shard.queryForObject("SELECT COUNT(*) FROM transactions WHERE account_id = ?", Integer.class, accountId);
+    }
+}
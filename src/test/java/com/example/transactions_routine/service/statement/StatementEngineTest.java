@@ -0,0 +1,265 @@
+package com.example.transactions_routine.service.statement;
+
+import com.example.transactions_routine.model.StatementPartition;
+import com.example.transactions_routine.model.StatementPartitionStatus;
+import com.example.transactions_routine.model.StatementRun;
+import com.example.transactions_routine.model.StatementRunStatus;
+import com.example.transactions_routine.repository.AccountAmount;
+import com.example.transactions_routine.repository.AccountDailySummaryRepository;
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.StatementAccount;
+import com.example.transactions_routine.repository.StatementLine;
+import com.example.transactions_routine.repository.StatementPartitionRepository;
+import com.example.transactions_routine.repository.StatementRunRepository;
+import com.example.transactions_routine.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatementEngineTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 1);
+    private static final LocalDate MONTH_START = LocalDate.of(2025, 1, 1);
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountDailySummaryRepository accountDailySummaryRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private StatementRunRepository statementRunRepository;
+
+    @Mock
+    private StatementPartitionRepository statementPartitionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private StatementWriter statementWriter;
+    private StatementEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        statementWriter = new StatementWriter(objectMapper, directory);
+        engine = new StatementEngine(accountRepository, accountDailySummaryRepository, transactionRepository,
+                statementRunRepository, statementPartitionRepository, statementWriter, transactionManager, 10, 2, 2);
+    }
+
+    private static StatementAccount account(long id) {
+        return new StatementAccount(id, "doc-" + id);
+    }
+
+    private static StatementLine line(long accountId, long transactionId, long operationTypeId, String amount,
+                                      String balanceAfter) {
+        return new StatementLine(accountId, transactionId, operationTypeId, new BigDecimal(amount),
+                LocalDateTime.of(2025, 1, 10, 12, 0).plusMinutes(transactionId),
+                balanceAfter == null ? null : new BigDecimal(balanceAfter));
+    }
+
+    private List<JsonNode> read(long firstAccountId) throws IOException {
+        var statements = new ArrayList<JsonNode>();
+        try (var reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(statementWriter.path(MONTH, firstAccountId)))))) {
+            String json;
+            while ((json = reader.readLine()) != null) {
+                statements.add(objectMapper.readTree(json));
+            }
+        }
+        return statements;
+    }
+
+    private static void assertAmount(String expected, JsonNode amount) {
+        assertEquals(0, new BigDecimal(expected).compareTo(amount.decimalValue()), () -> expected + " != " + amount);
+    }
+
+    @Test
+    @DisplayName("Given a new month, it should partition the accounts, write a statement file per chunk and checkpoint each chunk")
+    void shouldGenerateStatementsInCheckpointedChunks() throws IOException {
+        // Given
+        when(statementRunRepository.findById(MONTH_START)).thenReturn(Optional.empty());
+        when(accountRepository.findMinId()).thenReturn(1L);
+        when(accountRepository.findMaxId()).thenReturn(3L);
+        when(statementPartitionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(accountRepository.findStatementAccounts(eq(0L), eq(3L), any(), any(Limit.class)))
+                .thenReturn(List.of(account(1), account(2)));
+        when(accountRepository.findStatementAccounts(eq(2L), eq(3L), any(), any(Limit.class)))
+                .thenReturn(List.of(account(3)));
+        when(accountRepository.findStatementAccounts(eq(3L), eq(3L), any(), any(Limit.class)))
+                .thenReturn(List.of());
+        when(accountDailySummaryRepository.sumBefore(3L, 3L, MONTH_START))
+                .thenReturn(List.of(new AccountAmount(3L, new BigDecimal("40.00"))));
+        when(transactionRepository.streamStatementLines(eq(1L), eq(2L), any(), any())).thenReturn(Stream.of(
+                line(1, 10, 1, "-30.00", "70.00"), line(1, 11, 4, "50.00", "120.00"), line(1, 12, 1, "-20.00", "100.00"),
+                line(2, 13, 4, "5.00", "5.00")));
+        when(transactionRepository.streamStatementLines(eq(3L), eq(3L), any(), any())).thenReturn(Stream.empty());
+
+        // When
+        var written = engine.generate(MONTH);
+
+        // Then
+        assertEquals(3, written);
+        var firstChunk = read(1);
+        assertEquals(2, firstChunk.size());
+        var first = firstChunk.getFirst();
+        assertEquals(1, first.get("account_id").asLong());
+        assertEquals("2025-01", first.get("month").asText());
+        assertAmount("100.00", first.get("opening_balance"));
+        assertAmount("100.00", first.get("closing_balance"));
+        assertEquals(3, first.get("lines").size());
+        assertEquals(1, first.get("totals").get(0).get("operation_type_id").asLong());
+        assertAmount("-50.00", first.get("totals").get(0).get("total_amount"));
+        assertEquals(2, first.get("totals").get(0).get("transaction_count").asLong());
+        assertAmount("0", firstChunk.get(1).get("opening_balance"));
+        assertAmount("5.00", firstChunk.get(1).get("closing_balance"));
+
+        // Only the chunk of an account without transactions in the month falls back to the summaries
+        var secondChunk = read(3);
+        assertEquals(1, secondChunk.size());
+        assertAmount("40.00", secondChunk.getFirst().get("opening_balance"));
+        assertAmount("40.00", secondChunk.getFirst().get("closing_balance"));
+        assertEquals(0, secondChunk.getFirst().get("lines").size());
+        verify(accountDailySummaryRepository, never()).sumBefore(eq(1L), eq(2L), any());
+
+        verify(statementPartitionRepository).checkpoint(any(), eq(2L), eq(2L));
+        verify(statementPartitionRepository).checkpoint(any(), eq(3L), eq(1L));
+        verify(statementPartitionRepository).complete(any());
+        verify(statementRunRepository).complete(MONTH_START);
+    }
+
+    @Test
+    @DisplayName("Given an interrupted run, it should resume every pending partition after its checkpoint")
+    void shouldResumeAfterCheckpoint() throws IOException {
+        // Given
+        var partition = StatementPartition.builder()
+                .id(7L)
+                .month(MONTH_START)
+                .firstAccountId(1L)
+                .lastAccountId(10L)
+                .checkpointAccountId(4L)
+                .statementsWritten(4)
+                .status(StatementPartitionStatus.PENDING)
+                .build();
+        when(statementRunRepository.findById(MONTH_START)).thenReturn(Optional.of(
+                StatementRun.builder().month(MONTH_START).status(StatementRunStatus.RUNNING).build()));
+        when(statementPartitionRepository.findByMonthAndStatusOrderById(MONTH_START, StatementPartitionStatus.PENDING))
+                .thenReturn(List.of(partition));
+        when(accountRepository.findStatementAccounts(eq(4L), eq(10L), any(), any(Limit.class)))
+                .thenReturn(List.of(account(5)));
+        when(accountRepository.findStatementAccounts(eq(5L), eq(10L), any(), any(Limit.class)))
+                .thenReturn(List.of());
+        when(transactionRepository.streamStatementLines(eq(5L), eq(5L), any(), any()))
+                .thenReturn(Stream.of(line(5, 20, 4, "12.50", "12.50")));
+
+        // When
+        var written = engine.generate(MONTH);
+
+        // Then
+        assertEquals(1, written);
+        assertAmount("12.50", read(5).getFirst().get("closing_balance"));
+        verify(accountRepository, never()).findStatementAccounts(eq(0L), anyLong(), any(), any(Limit.class));
+        verify(statementPartitionRepository).checkpoint(7L, 5L, 1L);
+        verify(statementPartitionRepository).complete(7L);
+        verify(statementRunRepository).complete(MONTH_START);
+        verify(statementPartitionRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Given lines without a balance_after ahead of the first with one, it should work the opening balance back past them")
+    void shouldDeriveOpeningBalanceFromFirstStoredBalance() throws IOException {
+        // Given
+        var partition = StatementPartition.builder()
+                .id(8L)
+                .month(MONTH_START)
+                .firstAccountId(1L)
+                .lastAccountId(10L)
+                .status(StatementPartitionStatus.PENDING)
+                .build();
+        when(statementRunRepository.findById(MONTH_START)).thenReturn(Optional.of(
+                StatementRun.builder().month(MONTH_START).status(StatementRunStatus.RUNNING).build()));
+        when(statementPartitionRepository.findByMonthAndStatusOrderById(MONTH_START, StatementPartitionStatus.PENDING))
+                .thenReturn(List.of(partition));
+        when(accountRepository.findStatementAccounts(eq(0L), eq(10L), any(), any(Limit.class)))
+                .thenReturn(List.of(account(1), account(2)));
+        when(accountRepository.findStatementAccounts(eq(2L), eq(10L), any(), any(Limit.class)))
+                .thenReturn(List.of());
+        when(accountDailySummaryRepository.sumBefore(1L, 2L, MONTH_START))
+                .thenReturn(List.of(new AccountAmount(2L, new BigDecimal("7.00"))));
+        // A credit parked on a balance slot carries no balance_after
+        when(transactionRepository.streamStatementLines(eq(1L), eq(2L), any(), any())).thenReturn(Stream.of(
+                line(1, 30, 4, "25.00", null), line(1, 31, 1, "-10.00", "215.00"), line(2, 32, 4, "3.00", null)));
+
+        // When
+        engine.generate(MONTH);
+
+        // Then
+        var statements = read(1);
+        assertAmount("200.00", statements.get(0).get("opening_balance"));
+        assertAmount("215.00", statements.get(0).get("closing_balance"));
+        assertAmount("7.00", statements.get(1).get("opening_balance"));
+        assertAmount("10.00", statements.get(1).get("closing_balance"));
+        verify(accountDailySummaryRepository, times(1)).sumBefore(1L, 2L, MONTH_START);
+    }
+
+    @Test
+    @DisplayName("Given a completed run, it should write nothing")
+    void shouldSkipCompletedRun() {
+        // Given
+        when(statementRunRepository.findById(MONTH_START)).thenReturn(Optional.of(
+                StatementRun.builder().month(MONTH_START).status(StatementRunStatus.COMPLETED).build()));
+
+        // When
+        var written = engine.generate(MONTH);
+
+        // Then
+        assertEquals(0, written);
+        verifyNoInteractions(accountRepository, transactionRepository);
+        verify(statementRunRepository, never()).complete(any());
+    }
+}
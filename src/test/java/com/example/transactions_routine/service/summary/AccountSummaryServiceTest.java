@@ -0,0 +1,99 @@
+package com.example.transactions_routine.service.summary;
+
+import com.example.transactions_routine.fixture.TransactionFixture;
+import com.example.transactions_routine.repository.AccountDailySummaryRepository;
+import com.example.transactions_routine.repository.AccountRepository;
+import com.example.transactions_routine.repository.OperationTypeTotal;
+import com.example.transactions_routine.service.account.AccountNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountSummaryServiceTest {
+
+    @Mock
+    private AccountDailySummaryRepository accountDailySummaryRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private AccountSummaryService accountSummaryService;
+
+    @Nested
+    @DisplayName("Record transactions into the daily rollup")
+    class Record {
+
+        @Test
+        @DisplayName("Given a transaction, it should upsert its account, day and operation type bucket")
+        void shouldUpsertBucketOfTransaction() {
+            var transaction = TransactionFixture.validTransaction(1L, 7L, 3L, new BigDecimal("-20.00"));
+
+            accountSummaryService.recordTransaction(transaction);
+
+            verify(accountDailySummaryRepository).addTransaction(7L, transaction.getEventDate().toLocalDate(), 3L, new BigDecimal("-20.00"));
+        }
+
+        @Test
+        @DisplayName("Given no transaction ids, it should not issue any statement")
+        void shouldSkipEmptyBatch() {
+            accountSummaryService.recordTransactions(List.of());
+
+            verify(accountDailySummaryRepository, never()).addTransactions(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Summarize an account")
+    class Summarize {
+
+        private final LocalDate from = LocalDate.of(2025, 1, 1);
+        private final LocalDate to = LocalDate.of(2025, 1, 31);
+
+        @Test
+        @DisplayName("Given an existing account, it should return the totals from the rollup")
+        void shouldReturnTotalsFromRollup() {
+            var totals = List.of(new OperationTypeTotal(3L, new BigDecimal("-250.00"), 4L));
+            when(accountRepository.existsById(1L)).thenReturn(true);
+            when(accountDailySummaryRepository.sumByOperationType(1L, from, to)).thenReturn(totals);
+
+            assertEquals(totals, accountSummaryService.summarize(1L, from, to));
+        }
+
+        @Test
+        @DisplayName("Given a start date after the end date, it should throw InvalidSummaryPeriodException")
+        void shouldRejectInvertedPeriod() {
+            assertThrows(InvalidSummaryPeriodException.class, () -> accountSummaryService.summarize(1L, to, from));
+
+            verify(accountDailySummaryRepository, never()).sumByOperationType(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Given a period longer than allowed, it should throw InvalidSummaryPeriodException")
+        void shouldRejectTooLongPeriod() {
+            assertThrows(InvalidSummaryPeriodException.class,
+                    () -> accountSummaryService.summarize(1L, from, from.plusDays(AccountSummaryService.MAX_PERIOD_DAYS)));
+        }
+
+        @Test
+        @DisplayName("Given an unknown account, it should throw AccountNotFoundException")
+        void shouldThrowWhenAccountDoesNotExist() {
+            when(accountRepository.existsById(1L)).thenReturn(false);
+
+            assertThrows(AccountNotFoundException.class, () -> accountSummaryService.summarize(1L, from, to));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.transactions_routine.service.transaction;
+
+import com.example.transactions_routine.controller.transaction.TransactionRequest;
+import com.example.transactions_routine.service.account.AccountService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Books debits of an operation type under a daily limit through {@link TransactionService} against
+ * the PostgreSQL of {@code docker compose up -d db}, checking that the usage counter only moves by
+ * the debits that went through. Run with {@code ./mvnw test -Dtest=DailyLimitDebitTest -Ddaily-limits=true}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "transactions.installments.scheduler.enabled=false",
+        "transactions.holds.expiry.enabled=false",
+        "transactions.recurring-transfers.scheduler.enabled=false"
+})
+@EnabledIfSystemProperty(named = "daily-limits", matches = "true")
+class DailyLimitDebitTest {
+
+    private static final String PREFIX = "daily-limit-debit-";
+    // Normal purchases are under a daily limit of 5000 and no velocity rule
+    private static final long NORMAL_PURCHASE = 1L;
+    private static final long CREDIT_VOUCHER = 4L;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (var table : List.of("account_daily_summaries", "account_daily_limits", "account_balance_slots", "transactions")) {
+            jdbcTemplate.update("DELETE FROM " + table
+                    + " WHERE account_id IN (SELECT id FROM accounts WHERE document_number LIKE ? || '%')", PREFIX);
+        }
+        jdbcTemplate.update("DELETE FROM accounts WHERE document_number LIKE ? || '%'", PREFIX);
+    }
+
+    @Test
+    @DisplayName("Given a debit under the daily limit but over the balance, it should reject it for insufficient funds without counting it")
+    void shouldRejectInsufficientFundsUnderLimit() {
+        // Given
+        var accountId = createAccount(new BigDecimal("100.00"));
+
+        // When & Then
+        assertThrows(InsufficientFundsException.class, () -> transactionService.createTransaction(
+                new TransactionRequest(accountId, NORMAL_PURCHASE, new BigDecimal("3000.00"))));
+        assertEquals(0, BigDecimal.ZERO.compareTo(usedAmount(accountId)));
+
+        transactionService.createTransaction(new TransactionRequest(accountId, NORMAL_PURCHASE, new BigDecimal("80.00")));
+        assertEquals(0, new BigDecimal("80.00").compareTo(usedAmount(accountId)));
+        assertEquals(0, new BigDecimal("20.00").compareTo(
+                jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE id = ?", BigDecimal.class, accountId)));
+    }
+
+    @Test
+    @DisplayName("Given a split account whose row only covers the debit after a sweep, it should count the debit once")
+    void shouldCountDebitOnceAfterSweep() {
+        // Given
+        var accountId = createAccount(BigDecimal.ZERO);
+        accountService.setBalanceSlots(accountId, 4);
+        transactionService.createTransaction(new TransactionRequest(accountId, CREDIT_VOUCHER, new BigDecimal("200.00")));
+
+        // When
+        transactionService.createTransaction(new TransactionRequest(accountId, NORMAL_PURCHASE, new BigDecimal("150.00")));
+
+        // Then
+        assertEquals(0, new BigDecimal("150.00").compareTo(usedAmount(accountId)));
+        assertEquals(0, new BigDecimal("50.00").compareTo(jdbcTemplate.queryForObject("""
+                SELECT a.balance + COALESCE((SELECT SUM(s.balance) FROM account_balance_slots s WHERE s.account_id = a.id), 0)
+                  FROM accounts a
+                 WHERE a.id = ?
+                """, BigDecimal.class, accountId)));
+    }
+
+    private BigDecimal usedAmount(long accountId) {
+        return jdbcTemplate.queryForObject("""
+                SELECT COALESCE(SUM(used_amount), 0)
+                  FROM account_daily_limits
+                 WHERE account_id = ? AND operation_type_id = ?
+                """, BigDecimal.class, accountId, NORMAL_PURCHASE);
+    }
+
+    private long createAccount(BigDecimal balance) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO accounts (document_number, balance, created_at, updated_at)
+                VALUES (?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+                RETURNING id
+                """, Long.class, PREFIX + UUID.randomUUID(), balance);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.transactions_routine.service.transaction;
 
+import com.example.transactions_routine.controller.transaction.TransactionRequest;
 import com.example.transactions_routine.fixture.AccountFixture;
 import com.example.transactions_routine.fixture.OperationTypeFixture;
 import com.example.transactions_routine.fixture.TransactionFixture;
@@ -8,8 +9,20 @@ import com.example.transactions_routine.model.OperationType;
 import com.example.transactions_routine.model.Transaction;
 import com.example.transactions_routine.repository.AccountRepository;
 import com.example.transactions_routine.repository.OperationTypeRepository;
+import com.example.transactions_routine.repository.TransactionKeyset;
 import com.example.transactions_routine.repository.TransactionRepository;
+import com.example.transactions_routine.repository.TransactionSearchCriteria;
+import com.example.transactions_routine.repository.TransactionView;
 import com.example.transactions_routine.service.account.AccountNotFoundException;
+import com.example.transactions_routine.service.activity.RecentActivityCache;
+import com.example.transactions_routine.service.balance.BalanceUpdateStrategy;
+import com.example.transactions_routine.service.balance.SplitBalanceServicePort;
+import com.example.transactions_routine.service.installment.InstallmentServicePort;
+import com.example.transactions_routine.service.limit.DailyLimitExceededException;
+import com.example.transactions_routine.service.limit.DailyLimitServicePort;
+import com.example.transactions_routine.service.summary.AccountSummaryServicePort;
+import com.example.transactions_routine.service.velocity.VelocityLimitExceededException;
+import com.example.transactions_routine.service.velocity.VelocityServicePort;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -18,10 +31,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +53,27 @@ class TransactionServiceTest {
     @Mock
     private OperationTypeRepository operationTypeRepository;
 
+    @Mock
+    private InstallmentServicePort installmentServicePort;
+
+    @Mock
+    private AccountSummaryServicePort accountSummaryServicePort;
+
+    @Mock
+    private VelocityServicePort velocityServicePort;
+
+    @Mock
+    private DailyLimitServicePort dailyLimitServicePort;
+
+    @Mock
+    private BalanceUpdateStrategy balanceUpdateStrategy;
+
+    @Mock
+    private SplitBalanceServicePort splitBalanceServicePort;
+
+    @Mock
+    private RecentActivityCache recentActivityCache;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -63,7 +101,7 @@ class TransactionServiceTest {
 
             when(accountRepository.findById(mockAccountId)).thenReturn(Optional.of(mockAccount));
             when(operationTypeRepository.findById(mockOperationTypeCredit.getId())).thenReturn(Optional.of(mockOperationTypeCredit));
-            when(accountRepository.updateBalanceWithCheck(mockAccountId, request.amount())).thenReturn(1);
+            when(balanceUpdateStrategy.apply(mockAccountId, request.amount())).thenReturn(Optional.of(new BigDecimal("1100.00")));
             when(transactionRepository.save(any(Transaction.class))).thenReturn(expectedTransaction);
 
             // When
@@ -81,6 +119,28 @@ class TransactionServiceTest {
             verify(accountRepository, times(1)).findById(mockAccountId);
             verify(operationTypeRepository, times(1)).findById(mockOperationTypeCredit.getId());
             verify(transactionRepository, times(1)).save(any(Transaction.class));
+            verify(accountSummaryServicePort, times(1)).recordTransaction(any(Transaction.class));
+        }
+
+        @Test
+        @DisplayName("Given a credit to a split account, it should credit one of its balance slots")
+        void shouldCreditBalanceSlotOfSplitAccount() {
+            // Given
+            var splitAccount = Account.builder().id(mockAccountId).balanceSlots(8).build();
+            var request = TransactionFixture.validTransactionRequest(mockAccountId,
+                    mockOperationTypeCredit.getId(),
+                    TransactionFixture.SAMPLE_AMOUNT);
+
+            when(accountRepository.findById(mockAccountId)).thenReturn(Optional.of(splitAccount));
+            when(operationTypeRepository.findById(mockOperationTypeCredit.getId())).thenReturn(Optional.of(mockOperationTypeCredit));
+            when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            transactionService.createTransaction(request);
+
+            // Then
+            verify(splitBalanceServicePort).credit(splitAccount, request.amount());
+            verify(balanceUpdateStrategy, never()).apply(any(), any());
         }
 
         @Test
@@ -99,7 +159,7 @@ class TransactionServiceTest {
             when(accountRepository.findById(mockAccountId)).thenReturn(Optional.of(mockAccount));
             when(operationTypeRepository.findById(mockOperationTypeDebit.getId()))
                     .thenReturn(Optional.of(mockOperationTypeDebit));
-            when(accountRepository.updateBalanceWithCheck(mockAccountId, request.amount().negate())).thenReturn(1);
+            when(balanceUpdateStrategy.apply(mockAccountId, request.amount().negate())).thenReturn(Optional.of(new BigDecimal("900.00")));
             when(transactionRepository.save(any(Transaction.class))).thenReturn(expectedTransaction);
 
             // When
@@ -175,7 +235,7 @@ class TransactionServiceTest {
 
             when(accountRepository.findById(mockAccountId)).thenReturn(Optional.of(mockAccount));
             when(operationTypeRepository.findById(mockOperationTypeDebit.getId())).thenReturn(Optional.of(mockOperationTypeDebit));
-            when(accountRepository.updateBalanceWithCheck(mockAccountId, amountToDebit)).thenReturn(0);
+            when(balanceUpdateStrategy.apply(mockAccountId, amountToDebit)).thenReturn(Optional.empty());
 
             // When / Then
             var thrown = assertThrows(InsufficientFundsException.class, () -> {
@@ -187,8 +247,198 @@ class TransactionServiceTest {
 
             verify(accountRepository, times(1)).findById(mockAccountId);
             verify(operationTypeRepository, times(1)).findById(mockOperationTypeDebit.getId());
-            verify(accountRepository, times(1)).updateBalanceWithCheck(mockAccountId, amountToDebit);
+            verify(balanceUpdateStrategy, times(1)).apply(mockAccountId, amountToDebit);
+            verify(transactionRepository, never()).save(any(Transaction.class));
+        }
+
+        @Test
+        @DisplayName("Given a velocity limit already reached, it should throw VelocityLimitExceededException before touching the balance")
+        void shouldThrowVelocityLimitExceededExceptionBeforeUpdatingBalance() {
+            // Given
+            var request = TransactionFixture.validTransactionRequest(mockAccountId,
+                    mockOperationTypeDebit.getId(),
+                    TransactionFixture.SAMPLE_AMOUNT);
+
+            when(accountRepository.findById(mockAccountId)).thenReturn(Optional.of(mockAccount));
+            when(operationTypeRepository.findById(mockOperationTypeDebit.getId())).thenReturn(Optional.of(mockOperationTypeDebit));
+            doThrow(new VelocityLimitExceededException("Velocity limit exceeded"))
+                    .when(velocityServicePort).checkAndRecord(mockAccountId, mockOperationTypeDebit.getId(), request.amount().negate());
+
+            // When / Then
+            assertThrows(VelocityLimitExceededException.class, () -> transactionService.createTransaction(request));
+
+            verify(balanceUpdateStrategy, never()).apply(any(), any());
             verify(transactionRepository, never()).save(any(Transaction.class));
         }
+
+        @Test
+        @DisplayName("Given an operation type under a daily limit, it should debit through the limit-guarded update")
+        void shouldDebitThroughDailyLimitGuardedUpdate() {
+            // Given
+            var request = TransactionFixture.validTransactionRequest(mockAccountId,
+                    mockOperationTypeDebit.getId(),
+                    TransactionFixture.SAMPLE_AMOUNT);
+            var amountToDebit = request.amount().negate();
+            var defaultLimit = new BigDecimal("1000.00");
+
+            when(accountRepository.findById(mockAccountId)).thenReturn(Optional.of(mockAccount));
+            when(operationTypeRepository.findById(mockOperationTypeDebit.getId())).thenReturn(Optional.of(mockOperationTypeDebit));
+            when(dailyLimitServicePort.findDefaultLimit(mockOperationTypeDebit.getId())).thenReturn(Optional.of(defaultLimit));
+            when(accountRepository.updateBalanceWithDailyLimit(eq(mockAccountId), eq(amountToDebit), eq(mockOperationTypeDebit.getId()), any(), eq(defaultLimit)))
+                    .thenReturn(Optional.of(new BigDecimal("900.00")));
+            when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            var transaction = transactionService.createTransaction(request);
+
+            // Then
+            assertEquals(amountToDebit, transaction.getAmount());
+            assertEquals(new BigDecimal("900.00"), transaction.getBalanceAfter());
+            verify(balanceUpdateStrategy, never()).apply(any(), any());
+            verify(dailyLimitServicePort, never()).checkDailyLimit(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Given a daily-limited debit a split account only covers after a sweep, it should retry the guarded update once")
+        void shouldRetryDailyLimitedDebitAfterSweep() {
+            // Given
+            var splitAccount = Account.builder().id(mockAccountId).balanceSlots(8).build();
+            var request = TransactionFixture.validTransactionRequest(mockAccountId,
+                    mockOperationTypeDebit.getId(),
+                    TransactionFixture.SAMPLE_AMOUNT);
+            var amountToDebit = request.amount().negate();
+            var defaultLimit = new BigDecimal("1000.00");
+
+            when(accountRepository.findById(mockAccountId)).thenReturn(Optional.of(splitAccount));
+            when(operationTypeRepository.findById(mockOperationTypeDebit.getId())).thenReturn(Optional.of(mockOperationTypeDebit));
+            when(dailyLimitServicePort.findDefaultLimit(mockOperationTypeDebit.getId())).thenReturn(Optional.of(defaultLimit));
+            when(accountRepository.updateBalanceWithDailyLimit(eq(mockAccountId), eq(amountToDebit), eq(mockOperationTypeDebit.getId()), any(), eq(defaultLimit)))
+                    .thenReturn(Optional.empty(), Optional.of(new BigDecimal("50.00")));
+            when(splitBalanceServicePort.sweep(mockAccountId)).thenReturn(true);
+            when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            var transaction = transactionService.createTransaction(request);
+
+            // Then
+            assertEquals(new BigDecimal("50.00"), transaction.getBalanceAfter());
+            verify(accountRepository, times(2)).updateBalanceWithDailyLimit(any(), any(), any(), any(), any());
+            verify(dailyLimitServicePort, never()).checkDailyLimit(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Given the daily limit is exhausted, it should throw DailyLimitExceededException")
+        void shouldThrowDailyLimitExceededException() {
+            // Given
+            var request = TransactionFixture.validTransactionRequest(mockAccountId,
+                    mockOperationTypeDebit.getId(),
+                    TransactionFixture.SAMPLE_AMOUNT);
+            var defaultLimit = new BigDecimal("100.00");
+
+            when(accountRepository.findById(mockAccountId)).thenReturn(Optional.of(mockAccount));
+            when(operationTypeRepository.findById(mockOperationTypeDebit.getId())).thenReturn(Optional.of(mockOperationTypeDebit));
+            when(dailyLimitServicePort.findDefaultLimit(mockOperationTypeDebit.getId())).thenReturn(Optional.of(defaultLimit));
+            when(accountRepository.updateBalanceWithDailyLimit(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+            doThrow(new DailyLimitExceededException("Daily limit exceeded"))
+                    .when(dailyLimitServicePort).checkDailyLimit(eq(mockAccountId), eq(mockOperationTypeDebit.getId()), eq(request.amount()), any());
+
+            // When / Then
+            assertThrows(DailyLimitExceededException.class, () -> transactionService.createTransaction(request));
+
+            verify(transactionRepository, never()).save(any(Transaction.class));
+        }
+
+        @Test
+        @DisplayName("Given a purchase with installments, it should book only the first installment and schedule the rest")
+        void shouldBookFirstInstallmentAndCreatePlan() {
+            // Given
+            var installmentOperationType = OperationTypeFixture.validInstallmentOperationType();
+            var request = new TransactionRequest(
+                    mockAccountId, installmentOperationType.getId(), new BigDecimal("100.00"), 3);
+            var installmentAmounts = List.of(new BigDecimal("-33.34"), new BigDecimal("-33.33"), new BigDecimal("-33.33"));
+
+            when(accountRepository.findById(mockAccountId)).thenReturn(Optional.of(mockAccount));
+            when(operationTypeRepository.findById(installmentOperationType.getId())).thenReturn(Optional.of(installmentOperationType));
+            when(installmentServicePort.splitIntoInstallments(installmentOperationType, new BigDecimal("-100.00"), 3))
+                    .thenReturn(installmentAmounts);
+            when(balanceUpdateStrategy.apply(mockAccountId, new BigDecimal("-33.34"))).thenReturn(Optional.of(new BigDecimal("66.66")));
+            when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            var createdTransaction = transactionService.createTransaction(request);
+
+            // Then
+            assertEquals(new BigDecimal("-33.34"), createdTransaction.getAmount());
+            verify(balanceUpdateStrategy, times(1)).apply(mockAccountId, new BigDecimal("-33.34"));
+            verify(installmentServicePort, times(1)).createPlan(eq(mockAccount), eq(installmentOperationType), eq(installmentAmounts), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Search Transactions")
+    class SearchTransactions {
+
+        private final LocalDateTime eventDate = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+        private record Row(Long getId, Long getAccountId, Long getOperationTypeId, BigDecimal getAmount,
+                           LocalDateTime getEventDate, BigDecimal getBalanceAfter) implements TransactionView {
+        }
+
+        private TransactionView row(long id) {
+            return new Row(id, 1L, 1L, new BigDecimal("-10.00"), eventDate.minusMinutes(id), null);
+        }
+
+        @Test
+        @DisplayName("Given more matches than the limit, it should return one page and a cursor after its last transaction")
+        void shouldReturnPageWithNextCursor() {
+            // Given
+            var criteria = TransactionSearchCriteria.builder().accountId(1L).build();
+            when(transactionRepository.search(criteria, null, 3)).thenReturn(List.of(row(1), row(2), row(3)));
+
+            // When
+            var result = transactionService.search(criteria, null, 2);
+
+            // Then
+            assertEquals(2, result.transactions().size());
+            assertEquals(new TransactionKeyset(row(2).getEventDate(), 2L), TransactionSearchCursor.decode(result.nextCursor()));
+        }
+
+        @Test
+        @DisplayName("Given a cursor, it should continue after it and return no cursor on the last page")
+        void shouldContinueAfterCursor() {
+            // Given
+            var criteria = TransactionSearchCriteria.builder().operationTypeId(1L).build();
+            var cursor = TransactionSearchCursor.encode(row(2));
+            when(transactionRepository.search(criteria, new TransactionKeyset(row(2).getEventDate(), 2L), 3))
+                    .thenReturn(List.of(row(3)));
+
+            // When
+            var result = transactionService.search(criteria, cursor, 2);
+
+            // Then
+            assertEquals(List.of(row(3)), result.transactions());
+            assertNull(result.nextCursor());
+        }
+
+        @Test
+        @DisplayName("Given only an amount range, it should throw InvalidTransactionSearchException")
+        void shouldRejectSearchWithoutSelectiveFilter() {
+            // Given
+            var criteria = TransactionSearchCriteria.builder().minAmount(BigDecimal.ONE).build();
+
+            // When / Then
+            assertThrows(InvalidTransactionSearchException.class, () -> transactionService.search(criteria, null, 50));
+            verify(transactionRepository, never()).search(any(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Given a malformed cursor, it should throw InvalidTransactionSearchException")
+        void shouldRejectMalformedCursor() {
+            // Given
+            var criteria = TransactionSearchCriteria.builder().accountId(1L).build();
+
+            // When / Then
+            assertThrows(InvalidTransactionSearchException.class, () -> transactionService.search(criteria, "not-a-cursor", 50));
+        }
     }
-}
\ No newline at end of file
+}
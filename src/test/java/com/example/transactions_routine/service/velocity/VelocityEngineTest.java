@@ -0,0 +1,98 @@
+package com.example.transactions_routine.service.velocity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VelocityEngineTest {
+
+    private static final long WITHDRAWAL = 3L;
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+
+    private final VelocityEngine engine = new VelocityEngine(new VelocityProperties(60, 4, Map.of(
+            WITHDRAWAL, new VelocityProperties.Rule(Duration.ofHours(1), 3, new BigDecimal("100.00")))));
+
+    @Nested
+    @DisplayName("Check and record")
+    class TryRecord {
+
+        @Test
+        @DisplayName("Given the count limit is reached, it should reject the next operation until the window slides past")
+        void shouldEnforceCountLimitOverSlidingWindow() {
+            var start = 10 * HOUR;
+            assertTrue(engine.tryRecord(1L, WITHDRAWAL, 100, start));
+            assertTrue(engine.tryRecord(1L, WITHDRAWAL, 100, start + 10 * 60_000));
+            assertTrue(engine.tryRecord(1L, WITHDRAWAL, 100, start + 20 * 60_000));
+
+            assertFalse(engine.tryRecord(1L, WITHDRAWAL, 100, start + 30 * 60_000));
+            // Other accounts are independent
+            assertTrue(engine.tryRecord(2L, WITHDRAWAL, 100, start + 30 * 60_000));
+
+            // The first operation has left the window, the next two are still in it
+            assertTrue(engine.tryRecord(1L, WITHDRAWAL, 100, start + HOUR + 60_000));
+            assertFalse(engine.tryRecord(1L, WITHDRAWAL, 100, start + HOUR + 2 * 60_000));
+        }
+
+        @Test
+        @DisplayName("Given the amount limit would be exceeded, it should reject the operation")
+        void shouldEnforceAmountLimit() {
+            assertTrue(engine.tryRecord(1L, WITHDRAWAL, 9_000, HOUR));
+            assertFalse(engine.tryRecord(1L, WITHDRAWAL, 1_001, HOUR));
+            assertTrue(engine.tryRecord(1L, WITHDRAWAL, 1_000, HOUR));
+        }
+
+        @Test
+        @DisplayName("Given an operation type without a rule, it should always accept")
+        void shouldIgnoreOperationTypesWithoutRule() {
+            for (int i = 0; i < 100; i++) {
+                assertTrue(engine.tryRecord(1L, 1L, 1_000_000, HOUR));
+            }
+            assertEquals(0, engine.trackedAccounts());
+        }
+
+        @Test
+        @DisplayName("Given a recorded operation is removed, it should free its share of the limit")
+        void shouldReleaseRemovedOperation() {
+            assertTrue(engine.tryRecord(1L, WITHDRAWAL, 10_000, HOUR));
+            assertFalse(engine.tryRecord(1L, WITHDRAWAL, 1, HOUR));
+
+            engine.remove(1L, WITHDRAWAL, 10_000, HOUR);
+
+            assertTrue(engine.tryRecord(1L, WITHDRAWAL, 1, HOUR));
+        }
+    }
+
+    @Test
+    @DisplayName("Given replayed operations, it should count them against the limit")
+    void shouldCountReplayedOperations() {
+        engine.record(1L, WITHDRAWAL, 100, 5 * HOUR);
+        engine.record(1L, WITHDRAWAL, 100, 5 * HOUR + 1);
+        engine.record(1L, WITHDRAWAL, 100, 5 * HOUR + 2);
+
+        assertFalse(engine.tryRecord(1L, WITHDRAWAL, 100, 5 * HOUR + 3));
+    }
+
+    @Test
+    @DisplayName("Given accounts idle for longer than the longest window, it should evict them")
+    void shouldEvictIdleAccounts() {
+        engine.tryRecord(1L, WITHDRAWAL, 100, HOUR);
+        engine.tryRecord(2L, WITHDRAWAL, 100, 2 * HOUR);
+
+        assertEquals(1, engine.evictIdle(2 * HOUR + HOUR / 2));
+        assertEquals(1, engine.trackedAccounts());
+    }
+
+    @Test
+    @DisplayName("Given a rule without a window, it should fail fast")
+    void shouldRejectRuleWithoutWindow() {
+        var properties = new VelocityProperties(60, 4, Map.of(WITHDRAWAL, new VelocityProperties.Rule(null, 1, null)));
+
+        assertThrows(IllegalArgumentException.class, () -> new VelocityEngine(properties));
+    }
+}